@@ -1,6 +1,5 @@
 package org.prebid.server.analytics.reporter.pubstack;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.MultiMap;
@@ -10,31 +9,22 @@ import io.vertx.core.http.HttpMethod;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import org.prebid.server.analytics.reporter.pubstack.model.PubstackAnalyticsProperties;
-import org.prebid.server.exception.PreBidException;
+import org.prebid.server.analytics.reporter.pubstack.model.ScopedEvent;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.util.HttpUtil;
 import org.prebid.server.vertx.http.HttpClient;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.Objects;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
-import java.util.zip.GZIPOutputStream;
 
 public class PubstackEventHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(PubstackEventHandler.class);
-    private static final String SCOPE_FIELD_NAME = "scope";
     private static final String APPLICATION_OCTET_STREAM = "application/octet-stream";
     private static final String GZIP = "gzip";
-    private static final String NEW_LINE = "\n";
 
     private volatile boolean enabled;
     private volatile String endpoint;
@@ -47,11 +37,9 @@ public class PubstackEventHandler {
     private final JacksonMapper jacksonMapper;
     private final HttpClient httpClient;
 
-    private final ReentrantLock lockOnSend;
-    private final AtomicReference<Queue<String>> events;
+    private final AtomicReference<PubstackEventsBatch> events;
     private final MultiMap headers;
-    private final AtomicLong byteSize;
-    private volatile long reportTimerId;
+    private final AtomicLong reportTimerId = new AtomicLong(-1);
 
     public PubstackEventHandler(PubstackAnalyticsProperties pubstackAnalyticsProperties,
                                 boolean enabled,
@@ -70,26 +58,23 @@ public class PubstackEventHandler {
         this.httpClient = Objects.requireNonNull(httpClient);
         this.vertx = Objects.requireNonNull(vertx);
 
-        this.lockOnSend = new ReentrantLock();
-        this.events = new AtomicReference<>(new ConcurrentLinkedQueue<>());
+        this.events = new AtomicReference<>(new PubstackEventsBatch());
         this.headers = makeHeaders();
-        this.byteSize = new AtomicLong();
         if (enabled) {
-            this.reportTimerId = setReportTtlTimer();
+            reportTimerId.set(setReportTtlTimer());
         }
     }
 
     public <T> void handle(T event) {
         if (enabled) {
             buffer(event);
-            reportEventsOnCondition(byteSize -> byteSize.get() > maxByteSize, byteSize);
-            reportEventsOnCondition(eventsReference -> eventsReference.get().size() > maxEventCount, events);
+            reportEventsOnCondition(batch -> batch.byteSize() > maxByteSize || batch.count() > maxEventCount);
         }
     }
 
     public void reportEvents() {
         if (enabled) {
-            reportEventsOnCondition(events -> events.get().size() > 0, events);
+            reportEventsOnCondition(batch -> batch.count() > 0);
         }
     }
 
@@ -101,64 +86,44 @@ public class PubstackEventHandler {
     }
 
     private <T> void buffer(T event) {
-        final ObjectNode eventNode = jacksonMapper.mapper().valueToTree(event);
-        eventNode.put(SCOPE_FIELD_NAME, scopeId);
-        final String jsonEvent = jacksonMapper.encodeToString(eventNode);
-        events.get().add(jsonEvent);
-        byteSize.getAndAdd(jsonEvent.getBytes().length);
+        events.get().add(jacksonMapper.encodeToBytes(ScopedEvent.of(event, scopeId)));
     }
 
-    private <T> boolean reportEventsOnCondition(Predicate<T> conditionToSend, T conditionValue) {
-        boolean requestWasSent = false;
-        if (conditionToSend.test(conditionValue)) {
-            lockOnSend.lock();
-            try {
-                if (conditionToSend.test(conditionValue)) {
-                    requestWasSent = true;
-                    sendEvents(events);
-                }
-            } catch (Exception exception) {
-                logger.error("[pubstack] Failed to send analytics report to endpoint {0} with a reason {1}",
-                        endpoint, exception.getMessage());
-            } finally {
-                lockOnSend.unlock();
+    /**
+     * Replaces current batch with the new one if condition is met, the thread succeeded in replacing sends it.
+     */
+    private boolean reportEventsOnCondition(Predicate<PubstackEventsBatch> conditionToSend) {
+        final PubstackEventsBatch batch = events.get();
+        if (!conditionToSend.test(batch)) {
+            return false;
+        }
+
+        try {
+            final String url = HttpUtil.validateUrl(endpoint);
+            if (events.compareAndSet(batch, new PubstackEventsBatch())) {
+                sendEvents(url, batch);
             }
+        } catch (Exception exception) {
+            logger.error("[pubstack] Failed to send analytics report to endpoint {0} with a reason {1}",
+                    endpoint, exception.getMessage());
         }
-        return requestWasSent;
+        return true;
     }
 
-    private void sendEvents(AtomicReference<Queue<String>> events) {
-        final String url = HttpUtil.validateUrl(endpoint);
-        final Queue<String> copyToSend = events.getAndSet(new ConcurrentLinkedQueue<>());
-
-        resetReportEventsConditions();
+    private void sendEvents(String url, PubstackEventsBatch batch) {
+        rescheduleReportTimer();
 
-        httpClient.request(HttpMethod.POST, url, headers, toGzippedBytes(copyToSend), timeoutMs)
+        httpClient.request(HttpMethod.POST, url, headers, batch.toGzippedBytes(), timeoutMs)
                 .onComplete(this::handleReportResponse);
     }
 
-    private void resetReportEventsConditions() {
-        byteSize.set(0);
-        vertx.cancelTimer(reportTimerId);
-        reportTimerId = setReportTtlTimer();
-    }
-
-    private static byte[] toGzippedBytes(Queue<String> events) {
-        return gzip(String.join(NEW_LINE, events));
-    }
-
-    private static byte[] gzip(String value) {
-        try (
-                ByteArrayOutputStream obj = new ByteArrayOutputStream();
-                GZIPOutputStream gzip = new GZIPOutputStream(obj)) {
-
-            gzip.write(value.getBytes(StandardCharsets.UTF_8));
-            gzip.finish();
-
-            return obj.toByteArray();
-        } catch (IOException e) {
-            throw new PreBidException("[pubstack] failed to compress, skip the events : " + e.getMessage());
-        }
+    /**
+     * Replaces current report timer with the new one. Timer being replaced is cancelled by the thread that replaced
+     * it, so concurrent calls never leave a timer running.
+     */
+    private void rescheduleReportTimer() {
+        final long replacedTimerId = reportTimerId.getAndSet(setReportTtlTimer());
+        vertx.cancelTimer(replacedTimerId);
     }
 
     private void handleReportResponse(AsyncResult<HttpClientResponse> result) {
@@ -179,17 +144,17 @@ public class PubstackEventHandler {
     }
 
     private void sendOnTimer() {
-        final boolean requestWasSent = reportEventsOnCondition(events -> events.get().size() > 0, events);
+        final boolean requestWasSent = reportEventsOnCondition(batch -> batch.count() > 0);
         if (!requestWasSent) {
-            setReportTtlTimer();
+            rescheduleReportTimer();
         }
     }
 
     private void updateTimerOnEnabling(boolean enabled) {
         if (this.enabled && !enabled) {
-            vertx.cancelTimer(reportTimerId);
+            vertx.cancelTimer(reportTimerId.get());
         } else if (!this.enabled && enabled) {
-            reportTimerId = setReportTtlTimer();
+            reportTimerId.set(setReportTtlTimer());
         }
     }
 
@@ -0,0 +1,62 @@
+package org.prebid.server.analytics.reporter.pubstack;
+
+import org.prebid.server.exception.PreBidException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoded events collected to be sent in one report.
+ * <p>
+ * Keeps number and size of events in counters, so checking if batch should be sent does not traverse events.
+ */
+class PubstackEventsBatch {
+
+    private static final int NEW_LINE = '\n';
+
+    private final Queue<byte[]> events = new ConcurrentLinkedQueue<>();
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong byteSize = new AtomicLong();
+
+    void add(byte[] event) {
+        events.add(event);
+        byteSize.addAndGet(event.length);
+        count.incrementAndGet();
+    }
+
+    long count() {
+        return count.get();
+    }
+
+    long byteSize() {
+        return byteSize.get();
+    }
+
+    /**
+     * Returns gzipped events separated by new line, events are written to gzip stream as is without joining them.
+     */
+    byte[] toGzippedBytes() {
+        try (
+                ByteArrayOutputStream obj = new ByteArrayOutputStream();
+                GZIPOutputStream gzip = new GZIPOutputStream(obj)) {
+
+            boolean first = true;
+            for (byte[] event : events) {
+                if (!first) {
+                    gzip.write(NEW_LINE);
+                }
+                gzip.write(event);
+                first = false;
+            }
+            gzip.finish();
+
+            return obj.toByteArray();
+        } catch (IOException e) {
+            throw new PreBidException("[pubstack] failed to compress, skip the events : " + e.getMessage());
+        }
+    }
+}
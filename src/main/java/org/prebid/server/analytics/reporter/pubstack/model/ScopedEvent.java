@@ -0,0 +1,13 @@
+package org.prebid.server.analytics.reporter.pubstack.model;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.Value;
+
+@Value(staticConstructor = "of")
+public class ScopedEvent<T> {
+
+    @JsonUnwrapped
+    T event;
+
+    String scope;
+}
@@ -0,0 +1,164 @@
+package org.prebid.server.auction;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import org.apache.commons.collections4.CollectionUtils;
+import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.bidder.model.BidderError;
+import org.prebid.server.bidder.model.BidderSeatBid;
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.metric.Metrics;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Assigns each bidder a timeout based on its recent response times instead of the whole remaining auction time.
+ * <p>
+ * Response times of each bidder are kept in exponentially decaying histogram, so recent responses prevail. Bidder
+ * timeout is the configured percentile of its response times, but not less than configured minimum and not more
+ * than remaining auction time. Until enough responses of bidder are gathered it gets the whole auction time.
+ * <p>
+ * Bidder timed out is considered to respond at the end of the whole auction time, so its timeout grows back when
+ * it becomes slower than the shortened timeout. Errors are not recorded, since they are usually returned faster
+ * than bids. Configured share of requests gets the whole auction time anyway, so response times of bidder
+ * are not limited by its own timeout.
+ */
+public class AdaptiveTimeoutController {
+
+    private final double percentile;
+    private final long minTimeoutMs;
+    private final long minSamples;
+    private final long refreshPeriodMs;
+    private final double explorationRate;
+    private final Metrics metrics;
+    private final Clock clock;
+
+    private final Map<String, BidderLatency> bidderLatencies = new ConcurrentHashMap<>();
+
+    public AdaptiveTimeoutController(double percentile,
+                                     long minTimeoutMs,
+                                     long minSamples,
+                                     long refreshPeriodMs,
+                                     double explorationRate,
+                                     Metrics metrics,
+                                     Clock clock) {
+
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("Percentile should be greater than 0 and not greater than 1");
+        }
+        if (minTimeoutMs <= 0) {
+            throw new IllegalArgumentException("Min timeout should be positive");
+        }
+        if (explorationRate < 0 || explorationRate > 1) {
+            throw new IllegalArgumentException("Exploration rate should be between 0 and 1");
+        }
+
+        this.percentile = percentile;
+        this.minTimeoutMs = minTimeoutMs;
+        this.minSamples = minSamples;
+        this.refreshPeriodMs = refreshPeriodMs;
+        this.explorationRate = explorationRate;
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Returns timeout for given bidder, which is never later than given auction timeout.
+     */
+    public Timeout bidderTimeout(String bidder, Timeout timeout) {
+        final BidderLatency latency = bidderLatencies.get(bidder);
+        final long latencyMs = latency != null ? latency.percentile() : -1;
+        if (latencyMs < 0 || isExploration()) {
+            return timeout;
+        }
+
+        final long remaining = timeout.remaining();
+        final long bidderTimeoutMs = Math.max(latencyMs, minTimeoutMs);
+        if (bidderTimeoutMs >= remaining) {
+            return timeout;
+        }
+
+        metrics.updateAdapterAdaptiveTimeout(bidder, bidderTimeoutMs);
+        return timeout.minus(remaining - bidderTimeoutMs);
+    }
+
+    /**
+     * Records response time of given bidder and whether its bids were lost because of shortened timeout.
+     */
+    public void updateBidderResponse(String bidder,
+                                     BidderResponse bidderResponse,
+                                     Timeout timeout,
+                                     Timeout bidderTimeout) {
+
+        final int responseTime = bidderResponse.getResponseTime();
+        // bidder was not requested at all, e.g. rejected by hooks
+        if (responseTime <= 0) {
+            return;
+        }
+
+        final boolean timedOut = hasTimeoutError(bidderResponse);
+        if (timedOut) {
+            // real response time is unknown, but not less than the whole auction time bidder could be given
+            updateLatency(bidder, responseTime + timeout.remaining());
+        } else if (!isError(bidderResponse)) {
+            updateLatency(bidder, responseTime);
+        }
+
+        if (bidderTimeout != timeout && timedOut) {
+            metrics.updateAdapterAdaptiveTimeoutLost(bidder);
+        }
+    }
+
+    private boolean isExploration() {
+        return explorationRate > 0 && ThreadLocalRandom.current().nextDouble() < explorationRate;
+    }
+
+    private void updateLatency(String bidder, long responseTime) {
+        bidderLatencies.computeIfAbsent(bidder, ignored -> new BidderLatency()).update(responseTime);
+    }
+
+    private static boolean hasTimeoutError(BidderResponse bidderResponse) {
+        final List<BidderError> errors = bidderResponse.getSeatBid().getErrors();
+        return errors.stream().anyMatch(error -> error.getType() == BidderError.Type.timeout);
+    }
+
+    private static boolean isError(BidderResponse bidderResponse) {
+        final BidderSeatBid seatBid = bidderResponse.getSeatBid();
+        return CollectionUtils.isEmpty(seatBid.getBids()) && CollectionUtils.isNotEmpty(seatBid.getErrors());
+    }
+
+    private class BidderLatency {
+
+        private final Histogram histogram = new Histogram(new ExponentiallyDecayingReservoir());
+
+        private volatile long percentileMs = -1;
+        private volatile long refreshedAt;
+
+        void update(long responseTime) {
+            histogram.update(responseTime);
+        }
+
+        /**
+         * Returns percentile of response times or -1 if there are not enough of them.
+         * <p>
+         * Percentile is recalculated at most once per refresh period, since taking snapshot of histogram is costly.
+         */
+        long percentile() {
+            final long now = clock.millis();
+            if (now - refreshedAt >= refreshPeriodMs) {
+                // concurrent calls may recalculate value twice, it is fine since result is almost the same
+                refreshedAt = now;
+                percentileMs = histogram.getCount() >= minSamples
+                        ? (long) Math.ceil(histogram.getSnapshot().getValue(percentile))
+                        : -1;
+            }
+
+            return percentileMs;
+        }
+    }
+}
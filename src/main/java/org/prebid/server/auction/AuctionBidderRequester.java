@@ -0,0 +1,73 @@
+package org.prebid.server.auction;
+
+import com.iab.openrtb.request.BidRequest;
+import io.vertx.core.Future;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.BidderRequest;
+import org.prebid.server.auction.versionconverter.BidRequestOrtbVersionConversionManager;
+import org.prebid.server.bidder.Bidder;
+import org.prebid.server.bidder.HttpBidderRequester;
+import org.prebid.server.bidder.model.BidderSeatBid;
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.model.CaseInsensitiveMultiMap;
+
+import java.util.Objects;
+
+/**
+ * Sends requests of the auction to bidders using caches of the auction shared by requests of all bidders.
+ */
+public class AuctionBidderRequester {
+
+    private final HttpBidderRequester httpBidderRequester;
+    private final BidRequestOrtbVersionConversionManager ortbVersionConversionManager;
+    private final Metrics metrics;
+    private final boolean encodingCacheEnabled;
+
+    public AuctionBidderRequester(HttpBidderRequester httpBidderRequester,
+                                  BidRequestOrtbVersionConversionManager ortbVersionConversionManager,
+                                  Metrics metrics,
+                                  boolean encodingCacheEnabled) {
+
+        this.httpBidderRequester = Objects.requireNonNull(httpBidderRequester);
+        this.ortbVersionConversionManager = Objects.requireNonNull(ortbVersionConversionManager);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.encodingCacheEnabled = encodingCacheEnabled;
+    }
+
+    /**
+     * Converts request to OpenRTB version of the bidder and sends it.
+     * <p>
+     * Bidders encode their requests while making HTTP requests, which is done before returning the future, so
+     * encoding cache of auction is applied to encodings of all bidders.
+     */
+    public Future<BidderSeatBid> requestBids(Bidder<?> bidder,
+                                             BidderRequest bidderRequest,
+                                             AuctionContext auctionContext,
+                                             Timeout timeout,
+                                             CaseInsensitiveMultiMap requestHeaders,
+                                             boolean debugEnabled) {
+
+        final BidRequest convertedBidRequest = ortbVersionConversionManager.convertFromAuctionSupportedVersion(
+                bidderRequest.getBidRequest(),
+                bidderRequest.getOrtbVersion(),
+                auctionContext.getOrtbConversionCache());
+        final BidderRequest convertedBidderRequest = bidderRequest.with(convertedBidRequest);
+
+        return encodingCacheEnabled
+                ? auctionContext.getEncodingCache().use(() -> httpBidderRequester.requestBids(
+                        bidder, convertedBidderRequest, timeout, requestHeaders, debugEnabled))
+                : httpBidderRequester.requestBids(
+                        bidder, convertedBidderRequest, timeout, requestHeaders, debugEnabled);
+    }
+
+    /**
+     * Reports total time spent converting requests of all bidders of the auction to their OpenRTB versions.
+     */
+    public void updateOrtbConversionMetrics(AuctionContext auctionContext) {
+        final long conversionTimeNanos = auctionContext.getOrtbConversionCache().conversionTimeNanos();
+        if (conversionTimeNanos > 0) {
+            metrics.updateOrtbConversionTimeMetric(conversionTimeNanos);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.prebid.server.auction;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.DataObject;
 import com.iab.openrtb.request.ImageObject;
@@ -18,6 +19,7 @@ import com.iab.openrtb.response.SeatBid;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.ObjectUtils;
@@ -32,6 +34,7 @@ import org.prebid.server.auction.model.BidderResponseInfo;
 import org.prebid.server.auction.model.CachedDebugLog;
 import org.prebid.server.auction.model.CategoryMappingResult;
 import org.prebid.server.auction.model.DebugContext;
+import org.prebid.server.auction.model.ImpIndex;
 import org.prebid.server.auction.model.MultiBidConfig;
 import org.prebid.server.auction.model.TargetingInfo;
 import org.prebid.server.auction.requestfactory.Ortb2ImplicitParametersResolver;
@@ -117,6 +120,7 @@ public class BidResponseCreator {
     private static final String CACHE = "cache";
     private static final String PREBID_EXT = "prebid";
     private static final Integer DEFAULT_BID_LIMIT_MIN = 1;
+    private static final int PRICE_GRANULARITY_CACHE_SIZE = 100;
 
     private final CacheService cacheService;
     private final BidderCatalog bidderCatalog;
@@ -134,7 +138,13 @@ public class BidResponseCreator {
     private final String cacheHost;
     private final String cachePath;
     private final String cacheAssetUrlTemplate;
+    private final Map<JsonNode, PriceGranularity> priceGranularityCache;
+    private final Map<String, Map<Integer, com.iab.openrtb.request.Asset>> nativeRequestAssetsCache;
 
+    /**
+     * Creates {@link BidResponseCreator} with cache of parsed native requests of given size,
+     * cache is disabled if size is not positive.
+     */
     public BidResponseCreator(CacheService cacheService,
                               BidderCatalog bidderCatalog,
                               VastModifier vastModifier,
@@ -145,6 +155,7 @@ public class BidResponseCreator {
                               HookStageExecutor hookStageExecutor,
                               CategoryMappingService categoryMappingService,
                               int truncateAttrChars,
+                              int nativeRequestCacheSize,
                               Clock clock,
                               JacksonMapper mapper) {
 
@@ -164,6 +175,16 @@ public class BidResponseCreator {
         cacheHost = Objects.requireNonNull(cacheService.getEndpointHost());
         cachePath = Objects.requireNonNull(cacheService.getEndpointPath());
         cacheAssetUrlTemplate = Objects.requireNonNull(cacheService.getCachedAssetURLTemplate());
+        priceGranularityCache = Caffeine.newBuilder()
+                .maximumSize(PRICE_GRANULARITY_CACHE_SIZE)
+                .<JsonNode, PriceGranularity>build()
+                .asMap();
+        nativeRequestAssetsCache = nativeRequestCacheSize > 0
+                ? Caffeine.newBuilder()
+                .maximumSize(nativeRequestCacheSize)
+                .<String, Map<Integer, com.iab.openrtb.request.Asset>>build()
+                .asMap()
+                : null;
     }
 
     private static int validateTruncateAttrChars(int truncateAttrChars) {
@@ -182,7 +203,7 @@ public class BidResponseCreator {
                                BidRequestCacheInfo cacheInfo,
                                Map<String, MultiBidConfig> bidderToMultiBids) {
 
-        final List<Imp> imps = auctionContext.getBidRequest().getImp();
+        final ImpIndex impIndex = auctionContext.getImpIndex();
         final EventsContext eventsContext = createEventsContext(auctionContext);
 
         final List<BidderResponse> bidderResponses = auctionParticipations.stream()
@@ -192,7 +213,7 @@ public class BidResponseCreator {
 
         return videoStoredDataResult(auctionContext).compose(videoStoredDataResult ->
                 invokeProcessedBidderResponseHooks(
-                        updateBids(bidderResponses, videoStoredDataResult, auctionContext, eventsContext, imps),
+                        updateBids(bidderResponses, videoStoredDataResult, auctionContext, eventsContext, impIndex),
                         auctionContext)
 
                         .compose(updatedResponses ->
@@ -202,7 +223,7 @@ public class BidResponseCreator {
                                 createCategoryMapping(auctionContext, updatedResponses))
 
                         .compose(categoryMappingResult -> cacheBidsAndCreateResponse(
-                                toBidderResponseInfos(categoryMappingResult, imps),
+                                toBidderResponseInfos(categoryMappingResult, impIndex),
                                 auctionContext,
                                 cacheInfo,
                                 bidderToMultiBids,
@@ -214,7 +235,7 @@ public class BidResponseCreator {
                                             VideoStoredDataResult videoStoredDataResult,
                                             AuctionContext auctionContext,
                                             EventsContext eventsContext,
-                                            List<Imp> imps) {
+                                            ImpIndex impIndex) {
 
         final List<BidderResponse> result = new ArrayList<>();
 
@@ -227,7 +248,7 @@ public class BidResponseCreator {
                 final Bid receivedBid = bidderBid.getBid();
                 final BidType bidType = bidderBid.getType();
 
-                final Imp correspondingImp = correspondingImp(receivedBid, imps);
+                final Imp correspondingImp = correspondingImp(receivedBid, impIndex);
                 final ExtDealLine extDealLine = LineItemUtil.extDealLineFrom(receivedBid, correspondingImp, mapper);
                 final String lineItemId = extDealLine != null ? extDealLine.getLineItemId() : null;
 
@@ -374,7 +395,7 @@ public class BidResponseCreator {
     }
 
     private List<BidderResponseInfo> toBidderResponseInfos(CategoryMappingResult categoryMappingResult,
-                                                           List<Imp> imps) {
+                                                           ImpIndex impIndex) {
 
         final List<BidderResponseInfo> result = new ArrayList<>();
 
@@ -388,7 +409,7 @@ public class BidResponseCreator {
             for (final BidderBid bidderBid : seatBid.getBids()) {
                 final Bid bid = bidderBid.getBid();
                 final BidType type = bidderBid.getType();
-                final BidInfo bidInfo = toBidInfo(bid, type, imps, bidder, categoryMappingResult);
+                final BidInfo bidInfo = toBidInfo(bid, type, impIndex, bidder, categoryMappingResult);
                 bidInfos.add(bidInfo);
             }
 
@@ -406,11 +427,11 @@ public class BidResponseCreator {
 
     private BidInfo toBidInfo(Bid bid,
                               BidType type,
-                              List<Imp> imps,
+                              ImpIndex impIndex,
                               String bidder,
                               CategoryMappingResult categoryMappingResult) {
 
-        final Imp correspondingImp = correspondingImp(bid, imps);
+        final Imp correspondingImp = correspondingImp(bid, impIndex);
         final ExtDealLine extDealLine = LineItemUtil.extDealLineFrom(bid, correspondingImp, mapper);
         final String lineItemId = extDealLine != null ? extDealLine.getLineItemId() : null;
 
@@ -425,14 +446,14 @@ public class BidResponseCreator {
                 .build();
     }
 
-    private static Imp correspondingImp(Bid bid, List<Imp> imps) {
+    private static Imp correspondingImp(Bid bid, ImpIndex impIndex) {
         final String impId = bid.getImpid();
-        return imps.stream()
-                .filter(imp -> Objects.equals(impId, imp.getId()))
-                .findFirst()
-                // Should never occur. See ResponseBidValidator
-                .orElseThrow(
-                        () -> new PreBidException("Bid with impId %s doesn't have matched imp".formatted(impId)));
+        final Imp imp = impIndex.get(impId);
+        if (imp == null) {
+            // Should never occur. See ResponseBidValidator
+            throw new PreBidException("Bid with impId %s doesn't have matched imp".formatted(impId));
+        }
+        return imp;
     }
 
     private Future<List<BidderResponse>> invokeProcessedBidderResponseHooks(List<BidderResponse> bidderResponses,
@@ -1121,7 +1142,9 @@ public class BidResponseCreator {
         final BidRequest bidRequest = auctionContext.getBidRequest();
         final Account account = auctionContext.getAccount();
 
+        final ImpIndex impIndex = auctionContext.getImpIndex();
         final Map<String, List<ExtBidderError>> bidErrors = new HashMap<>();
+        final Map<BidType, TargetingKeywordsCreator> keywordsCreators = new EnumMap<>(BidType.class);
         final List<SeatBid> seatBids = bidderResponseInfos.stream()
                 .map(BidderResponseInfo::getSeatBid)
                 .map(BidderSeatBidInfo::getBidsInfos)
@@ -1133,6 +1156,8 @@ public class BidResponseCreator {
                         requestCacheInfo,
                         cacheResult.getCacheBids(),
                         account,
+                        impIndex,
+                        keywordsCreators,
                         bidErrors))
                 .toList();
 
@@ -1210,6 +1235,8 @@ public class BidResponseCreator {
                               BidRequestCacheInfo requestCacheInfo,
                               Map<Bid, CacheInfo> bidToCacheInfo,
                               Account account,
+                              ImpIndex impIndex,
+                              Map<BidType, TargetingKeywordsCreator> keywordsCreators,
                               Map<String, List<ExtBidderError>> bidErrors) {
 
         final String bidder = bidInfos.stream()
@@ -1223,13 +1250,16 @@ public class BidResponseCreator {
                         bidInfo,
                         requestCacheInfo,
                         bidToCacheInfo,
+                        impIndex,
                         bidErrors))
                 .filter(Objects::nonNull)
                 .map(bidInfo -> toBid(
                         bidInfo,
                         targeting,
                         bidRequest,
-                        account))
+                        account,
+                        impIndex,
+                        keywordsCreators))
                 .filter(Objects::nonNull)
                 .toList();
 
@@ -1243,6 +1273,7 @@ public class BidResponseCreator {
     private BidInfo injectAdmWithCacheInfo(BidInfo bidInfo,
                                            BidRequestCacheInfo requestCacheInfo,
                                            Map<Bid, CacheInfo> bidsWithCacheIds,
+                                           ImpIndex impIndex,
                                            Map<String, List<ExtBidderError>> bidErrors) {
 
         final Bid bid = bidInfo.getBid();
@@ -1262,7 +1293,7 @@ public class BidResponseCreator {
 
         if (bidType.equals(BidType.xNative) && modifiedBidAdm != null) {
             try {
-                modifiedBidAdm = createNativeMarkup(modifiedBidAdm, correspondingImp);
+                modifiedBidAdm = createNativeMarkup(modifiedBidAdm, correspondingImp, impIndex);
             } catch (PreBidException e) {
                 bidErrors.computeIfAbsent(bidder, ignored -> new ArrayList<>())
                         .add(ExtBidderError.of(BidderError.Type.bad_server_response.getCode(), e.getMessage()));
@@ -1280,7 +1311,13 @@ public class BidResponseCreator {
     /**
      * Returns an OpenRTB {@link Bid} with "prebid" and "bidder" extension fields populated.
      */
-    private Bid toBid(BidInfo bidInfo, ExtRequestTargeting targeting, BidRequest bidRequest, Account account) {
+    private Bid toBid(BidInfo bidInfo,
+                      ExtRequestTargeting targeting,
+                      BidRequest bidRequest,
+                      Account account,
+                      ImpIndex impIndex,
+                      Map<BidType, TargetingKeywordsCreator> keywordsCreators) {
+
         final TargetingInfo targetingInfo = bidInfo.getTargetingInfo();
         final BidType bidType = bidInfo.getBidType();
         final Bid bid = bidInfo.getBid();
@@ -1295,7 +1332,7 @@ public class BidResponseCreator {
         final String bidderCode = targetingInfo.getBidderCode();
         if (targeting != null && targetingInfo.isTargetingEnabled() && targetingInfo.isBidderWinningBid()) {
             final TargetingKeywordsCreator keywordsCreator = resolveKeywordsCreator(
-                    bidType, targeting, isApp, bidRequest, account);
+                    bidType, targeting, isApp, bidRequest, account, keywordsCreators);
 
             final boolean isWinningBid = targetingInfo.isWinningBid();
             final String categoryDuration = bidInfo.getCategory();
@@ -1322,7 +1359,7 @@ public class BidResponseCreator {
                         .targetBidderCode(targetingInfo.isAddTargetBidderCode() ? bidderCode : null)
                         .dealTierSatisfied(dealsTierSatisfied)
                         .cache(cache)
-                        .passThrough(extractPassThrough(bidInfo.getCorrespondingImp()))
+                        .passThrough(extractPassThrough(bidInfo.getCorrespondingImp(), impIndex))
                         .build();
 
         final ObjectNode updatedBidExt =
@@ -1337,14 +1374,23 @@ public class BidResponseCreator {
                 .build();
     }
 
-    private JsonNode extractPassThrough(Imp imp) {
+    /**
+     * Returns imp.ext.prebid.passthrough, parsed imp.ext.prebid is shared by all bids of the imp.
+     */
+    private JsonNode extractPassThrough(Imp imp, ImpIndex impIndex) {
+        final ExtImpPrebid extImpPrebid = impIndex.get(imp.getId()) == imp
+                ? impIndex.extImpPrebid(imp.getId(), this::extImpPrebid)
+                : extImpPrebid(imp);
+        return extImpPrebid != null ? extImpPrebid.getPassthrough() : null;
+    }
+
+    private ExtImpPrebid extImpPrebid(Imp imp) {
         return Optional.ofNullable(imp.getExt())
                 .flatMap(ext -> getExtPrebid(ext, ExtImpPrebid.class))
-                .map(ExtImpPrebid::getPassthrough)
                 .orElse(null);
     }
 
-    private String createNativeMarkup(String bidAdm, Imp correspondingImp) {
+    private String createNativeMarkup(String bidAdm, Imp correspondingImp, ImpIndex impIndex) {
         final Response nativeMarkup;
         try {
             nativeMarkup = mapper.decodeValue(bidAdm, Response.class);
@@ -1354,26 +1400,65 @@ public class BidResponseCreator {
 
         final List<Asset> responseAssets = nativeMarkup.getAssets();
         if (CollectionUtils.isNotEmpty(responseAssets)) {
-            final Native nativeImp = correspondingImp != null ? correspondingImp.getXNative() : null;
-            if (nativeImp == null) {
-                throw new PreBidException("Could not find native imp");
-            }
+            final Map<Integer, com.iab.openrtb.request.Asset> requestAssets =
+                    correspondingImp != null && impIndex.get(correspondingImp.getId()) == correspondingImp
+                            ? impIndex.nativeAssets(correspondingImp.getId(), this::nativeRequestAssets)
+                            : nativeRequestAssets(correspondingImp);
 
-            final Request nativeRequest;
-            try {
-                nativeRequest = mapper.mapper().readValue(nativeImp.getRequest(), Request.class);
-            } catch (JsonProcessingException e) {
-                throw new PreBidException(e.getMessage());
-            }
-
-            responseAssets.forEach(asset -> setAssetTypes(asset, nativeRequest.getAssets()));
+            responseAssets.forEach(asset -> setAssetTypes(asset, requestAssets));
             return mapper.encodeToString(nativeMarkup);
         }
 
         return bidAdm;
     }
 
-    private static void setAssetTypes(Asset responseAsset, List<com.iab.openrtb.request.Asset> requestAssets) {
+    /**
+     * Returns assets of imp native request by their ids.
+     * <p>
+     * Native requests are usually taken from a few stored templates, so parsed ones are cached by request string.
+     */
+    private Map<Integer, com.iab.openrtb.request.Asset> nativeRequestAssets(Imp imp) {
+        final Native nativeImp = imp != null ? imp.getXNative() : null;
+        if (nativeImp == null) {
+            throw new PreBidException("Could not find native imp");
+        }
+
+        final String nativeRequest = nativeImp.getRequest();
+        if (nativeRequestAssetsCache == null || nativeRequest == null) {
+            return parseNativeRequestAssets(nativeRequest);
+        }
+
+        final Map<Integer, com.iab.openrtb.request.Asset> cachedAssets = nativeRequestAssetsCache.get(nativeRequest);
+        if (cachedAssets != null) {
+            return cachedAssets;
+        }
+
+        final Map<Integer, com.iab.openrtb.request.Asset> assets = parseNativeRequestAssets(nativeRequest);
+        nativeRequestAssetsCache.put(nativeRequest, assets);
+
+        return assets;
+    }
+
+    private Map<Integer, com.iab.openrtb.request.Asset> parseNativeRequestAssets(String nativeRequest) {
+        final Request parsedNativeRequest;
+        try {
+            parsedNativeRequest = mapper.mapper().readValue(nativeRequest, Request.class);
+        } catch (JsonProcessingException e) {
+            throw new PreBidException(e.getMessage());
+        }
+
+        final Map<Integer, com.iab.openrtb.request.Asset> assets = new HashMap<>();
+        for (com.iab.openrtb.request.Asset asset : ListUtils.emptyIfNull(parsedNativeRequest.getAssets())) {
+            // the first asset wins, the same as for lookup by scanning assets
+            if (asset != null) {
+                assets.putIfAbsent(asset.getId(), asset);
+            }
+        }
+
+        return Collections.unmodifiableMap(assets);
+    }
+
+    private static void setAssetTypes(Asset responseAsset, Map<Integer, com.iab.openrtb.request.Asset> requestAssets) {
         if (responseAsset.getImg() != null) {
             final ImageObject img = getAssetById(responseAsset.getId(), requestAssets).getImg();
             final Integer type = img != null ? img.getType() : null;
@@ -1399,13 +1484,10 @@ public class BidResponseCreator {
         }
     }
 
-    private static com.iab.openrtb.request.Asset getAssetById(Integer assetId,
-                                                              List<com.iab.openrtb.request.Asset> requestAssets) {
+    private static com.iab.openrtb.request.Asset getAssetById(
+            Integer assetId, Map<Integer, com.iab.openrtb.request.Asset> requestAssets) {
 
-        return requestAssets.stream()
-                .filter(asset -> Objects.equals(assetId, asset.getId()))
-                .findFirst()
-                .orElse(com.iab.openrtb.request.Asset.EMPTY);
+        return requestAssets.getOrDefault(assetId, com.iab.openrtb.request.Asset.EMPTY);
     }
 
     private EventsContext createEventsContext(AuctionContext auctionContext) {
@@ -1512,16 +1594,30 @@ public class BidResponseCreator {
                 : null;
     }
 
+    /**
+     * Returns {@link TargetingKeywordsCreator} for given {@link BidType}.
+     * <p>
+     * Creators of all bid types are created on the first call and then reused for the rest of bids of the response.
+     */
     private TargetingKeywordsCreator resolveKeywordsCreator(BidType bidType,
                                                             ExtRequestTargeting targeting,
                                                             boolean isApp,
                                                             BidRequest bidRequest,
-                                                            Account account) {
+                                                            Account account,
+                                                            Map<BidType, TargetingKeywordsCreator> keywordsCreators) {
 
-        final Map<BidType, TargetingKeywordsCreator> keywordsCreatorByBidType =
-                keywordsCreatorByBidType(targeting, isApp, bidRequest, account);
+        if (keywordsCreators.isEmpty()) {
+            final Map<BidType, TargetingKeywordsCreator> keywordsCreatorByBidType =
+                    keywordsCreatorByBidType(targeting, isApp, bidRequest, account);
+            final TargetingKeywordsCreator defaultKeywordsCreator =
+                    keywordsCreator(targeting, isApp, bidRequest, account);
 
-        return keywordsCreatorByBidType.getOrDefault(bidType, keywordsCreator(targeting, isApp, bidRequest, account));
+            for (BidType type : BidType.values()) {
+                keywordsCreators.put(type, keywordsCreatorByBidType.getOrDefault(type, defaultKeywordsCreator));
+            }
+        }
+
+        return keywordsCreators.get(bidType);
     }
 
     /**
@@ -1583,7 +1679,7 @@ public class BidResponseCreator {
                                                            Account account) {
 
         return TargetingKeywordsCreator.create(
-                parsePriceGranularity(priceGranularity),
+                resolvePriceGranularity(priceGranularity),
                 BooleanUtils.toBoolean(targeting.getIncludewinners()),
                 BooleanUtils.toBoolean(targeting.getIncludebidderkeys()),
                 BooleanUtils.toBoolean(targeting.getAlwaysincludedeals()),
@@ -1617,6 +1713,27 @@ public class BidResponseCreator {
         return cachedDebugLog != null && cachedDebugLog.isEnabled();
     }
 
+    /**
+     * Returns compiled {@link PriceGranularity} for given {@link JsonNode}.
+     * <p>
+     * Requests usually share a few granularities, so they are parsed and compiled once and cached by their JSON.
+     * Errors are not cached.
+     */
+    private PriceGranularity resolvePriceGranularity(JsonNode priceGranularityNode) {
+        final PriceGranularity cachedPriceGranularity = priceGranularityCache.get(priceGranularityNode);
+        if (cachedPriceGranularity != null) {
+            return cachedPriceGranularity;
+        }
+
+        final PriceGranularity priceGranularity =
+                PriceGranularity.createFromExtPriceGranularity(parsePriceGranularity(priceGranularityNode))
+                        .compiled();
+        // node is copied, so cache key is not changed by further processing of request
+        priceGranularityCache.put(priceGranularityNode.deepCopy(), priceGranularity);
+
+        return priceGranularity;
+    }
+
     /**
      * Parse {@link JsonNode} to {@link List} of {@link ExtPriceGranularity}.
      * <p>
@@ -23,6 +23,12 @@ public class CpmRange {
      * Rounding price by specified rules defined in {@link PriceGranularity} object and returns it in string format
      */
     public static String fromCpm(BigDecimal cpm, PriceGranularity priceGranularity) {
+        final PriceBuckets buckets = priceGranularity.getBuckets();
+        final String bucket = buckets != null ? buckets.lookup(cpm) : null;
+        if (bucket != null) {
+            return bucket;
+        }
+
         final BigDecimal value = fromCpmAsNumber(cpm, priceGranularity);
         return value != null
                 ? format(value, ObjectUtils.defaultIfNull(priceGranularity.getPrecision(), 2))
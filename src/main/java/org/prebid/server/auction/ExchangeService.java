@@ -36,14 +36,13 @@ import org.prebid.server.auction.model.BidRequestCacheInfo;
 import org.prebid.server.auction.model.BidderPrivacyResult;
 import org.prebid.server.auction.model.BidderRequest;
 import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.auction.model.ImpIndex;
 import org.prebid.server.auction.model.MultiBidConfig;
 import org.prebid.server.auction.model.StoredResponseResult;
 import org.prebid.server.auction.model.Tuple2;
-import org.prebid.server.auction.versionconverter.BidRequestOrtbVersionConversionManager;
 import org.prebid.server.auction.versionconverter.OrtbVersion;
 import org.prebid.server.bidder.Bidder;
 import org.prebid.server.bidder.BidderCatalog;
-import org.prebid.server.bidder.HttpBidderRequester;
 import org.prebid.server.bidder.Usersyncer;
 import org.prebid.server.bidder.model.BidderBid;
 import org.prebid.server.bidder.model.BidderError;
@@ -156,6 +155,7 @@ public class ExchangeService {
     private static final BigDecimal THOUSAND = BigDecimal.valueOf(1000);
 
     private final long expectedCacheTime;
+    private final boolean processBidsOnArrival;
     private final BidderCatalog bidderCatalog;
     private final StoredResponseProcessor storedResponseProcessor;
     private final DealsProcessor dealsProcessor;
@@ -164,12 +164,12 @@ public class ExchangeService {
     private final SupplyChainResolver supplyChainResolver;
     private final DebugResolver debugResolver;
     private final MediaTypeProcessor mediaTypeProcessor;
-    private final BidRequestOrtbVersionConversionManager ortbVersionConversionManager;
-    private final HttpBidderRequester httpBidderRequester;
+    private final AuctionBidderRequester auctionBidderRequester;
     private final ResponseBidValidator responseBidValidator;
     private final CurrencyConversionService currencyService;
     private final BidResponseCreator bidResponseCreator;
     private final ApplicationEventService applicationEventService;
+    private final AdaptiveTimeoutController adaptiveTimeoutController;
     private final BidResponsePostProcessor bidResponsePostProcessor;
     private final HookStageExecutor hookStageExecutor;
     private final HttpInteractionLogger httpInteractionLogger;
@@ -182,6 +182,7 @@ public class ExchangeService {
     private final CriteriaLogManager criteriaLogManager;
 
     public ExchangeService(long expectedCacheTime,
+                           boolean processBidsOnArrival,
                            BidderCatalog bidderCatalog,
                            StoredResponseProcessor storedResponseProcessor,
                            DealsProcessor dealsProcessor,
@@ -190,14 +191,14 @@ public class ExchangeService {
                            SupplyChainResolver supplyChainResolver,
                            DebugResolver debugResolver,
                            MediaTypeProcessor mediaTypeProcessor,
-                           BidRequestOrtbVersionConversionManager ortbVersionConversionManager,
-                           HttpBidderRequester httpBidderRequester,
+                           AuctionBidderRequester auctionBidderRequester,
                            ResponseBidValidator responseBidValidator,
                            CurrencyConversionService currencyService,
                            BidResponseCreator bidResponseCreator,
                            BidResponsePostProcessor bidResponsePostProcessor,
                            HookStageExecutor hookStageExecutor,
                            ApplicationEventService applicationEventService,
+                           AdaptiveTimeoutController adaptiveTimeoutController,
                            HttpInteractionLogger httpInteractionLogger,
                            PriceFloorAdjuster priceFloorAdjuster,
                            PriceFloorEnforcer priceFloorEnforcer,
@@ -211,6 +212,7 @@ public class ExchangeService {
             throw new IllegalArgumentException("Expected cache time should be positive");
         }
         this.expectedCacheTime = expectedCacheTime;
+        this.processBidsOnArrival = processBidsOnArrival;
         this.bidderCatalog = Objects.requireNonNull(bidderCatalog);
         this.storedResponseProcessor = Objects.requireNonNull(storedResponseProcessor);
         this.dealsProcessor = Objects.requireNonNull(dealsProcessor);
@@ -219,14 +221,14 @@ public class ExchangeService {
         this.supplyChainResolver = Objects.requireNonNull(supplyChainResolver);
         this.debugResolver = Objects.requireNonNull(debugResolver);
         this.mediaTypeProcessor = Objects.requireNonNull(mediaTypeProcessor);
-        this.ortbVersionConversionManager = Objects.requireNonNull(ortbVersionConversionManager);
-        this.httpBidderRequester = Objects.requireNonNull(httpBidderRequester);
+        this.auctionBidderRequester = Objects.requireNonNull(auctionBidderRequester);
         this.responseBidValidator = Objects.requireNonNull(responseBidValidator);
         this.currencyService = Objects.requireNonNull(currencyService);
         this.bidResponseCreator = Objects.requireNonNull(bidResponseCreator);
         this.bidResponsePostProcessor = Objects.requireNonNull(bidResponsePostProcessor);
         this.hookStageExecutor = Objects.requireNonNull(hookStageExecutor);
         this.applicationEventService = applicationEventService;
+        this.adaptiveTimeoutController = adaptiveTimeoutController;
         this.httpInteractionLogger = Objects.requireNonNull(httpInteractionLogger);
         this.priceFloorAdjuster = Objects.requireNonNull(priceFloorAdjuster);
         this.priceFloorEnforcer = Objects.requireNonNull(priceFloorEnforcer);
@@ -279,24 +281,12 @@ public class ExchangeService {
 
                 .map(auctionParticipation -> updateRequestMetric(
                         auctionParticipation, uidsCookie, aliases, account, requestTypeMetric))
-                .compose(auctionParticipations -> CompositeFuture.join(
-                        auctionParticipations.stream()
-                                .map(auctionParticipation -> invokeHooksAndRequestBids(
-                                        receivedContext,
-                                        auctionParticipation.getBidderRequest(),
-                                        auctionTimeout(timeout, cacheInfo.isDoCaching()),
-                                        aliases)
-                                        .map(auctionParticipation::with))
-                                .collect(Collectors.toCollection(ArrayList::new))))
-                // send all the requests to the bidders and gathers results
-                .map(CompositeFuture::<AuctionParticipation>list)
-
-                .map(storedResponseProcessor::updateStoredBidResponse)
-                .map(auctionParticipations -> storedResponseProcessor.mergeWithBidderResponses(
-                        auctionParticipations, storedAuctionResponses, bidRequest.getImp()))
-                .map(auctionParticipations -> dropZeroNonDealBids(auctionParticipations, debugWarnings))
-                .map(auctionParticipations -> validateAndAdjustBids(auctionParticipations, receivedContext, aliases))
-                .map(auctionParticipations -> updateMetricsFromResponses(auctionParticipations, account, aliases))
+                .compose(auctionParticipations -> requestAndProcessBids(
+                        auctionParticipations,
+                        receivedContext,
+                        storedAuctionResponses,
+                        auctionTimeout(timeout, cacheInfo.isDoCaching()),
+                        aliases))
 
                 .map(receivedContext::with)
                 // produce response from bidder results
@@ -1218,6 +1208,91 @@ public class ExchangeService {
         return auctionParticipations;
     }
 
+    /**
+     * Sends the requests to the bidders and gathers results.
+     * <p>
+     * If processing of bids on arrival is enabled, bids of each bidder are validated and adjusted as soon as its
+     * response is received, so only the work involving all bidders is left to be done after the last response.
+     * Stored auction responses are merged with responses of all bidders, so bids are processed after gathering all
+     * responses if there are any.
+     */
+    private Future<List<AuctionParticipation>> requestAndProcessBids(List<AuctionParticipation> auctionParticipations,
+                                                                     AuctionContext auctionContext,
+                                                                     List<SeatBid> storedAuctionResponses,
+                                                                     Timeout timeout,
+                                                                     BidderAliases aliases) {
+
+        final boolean processOnArrival = processBidsOnArrival && storedAuctionResponses.isEmpty();
+
+        return CompositeFuture.join(auctionParticipations.stream()
+                        .map(auctionParticipation -> requestBidsWithAdaptiveTimeout(
+                                auctionParticipation, auctionContext, timeout, aliases)
+                                .map(receivedParticipation -> processOnArrival
+                                        ? processBids(receivedParticipation, auctionContext, aliases)
+                                        : receivedParticipation))
+                        .collect(Collectors.toCollection(ArrayList::new)))
+                .map(CompositeFuture::<AuctionParticipation>list)
+                .onSuccess(ignored -> auctionBidderRequester.updateOrtbConversionMetrics(auctionContext))
+                .map(receivedParticipations -> processOnArrival
+                        ? receivedParticipations
+                        : processBids(receivedParticipations, auctionContext, storedAuctionResponses, aliases));
+    }
+
+    private Future<AuctionParticipation> requestBidsWithAdaptiveTimeout(AuctionParticipation auctionParticipation,
+                                                                        AuctionContext auctionContext,
+                                                                        Timeout timeout,
+                                                                        BidderAliases aliases) {
+
+        final BidderRequest bidderRequest = auctionParticipation.getBidderRequest();
+        if (adaptiveTimeoutController == null) {
+            return invokeHooksAndRequestBids(auctionContext, bidderRequest, timeout, aliases)
+                    .map(auctionParticipation::with);
+        }
+
+        final String bidder = aliases.resolveBidder(bidderRequest.getBidder());
+        final Timeout bidderTimeout = adaptiveTimeoutController.bidderTimeout(bidder, timeout);
+
+        return invokeHooksAndRequestBids(auctionContext, bidderRequest, bidderTimeout, aliases)
+                .map(bidderResponse -> {
+                    adaptiveTimeoutController.updateBidderResponse(bidder, bidderResponse, timeout, bidderTimeout);
+                    return auctionParticipation.with(bidderResponse);
+                });
+    }
+
+    private List<AuctionParticipation> processBids(List<AuctionParticipation> auctionParticipations,
+                                                   AuctionContext auctionContext,
+                                                   List<SeatBid> storedAuctionResponses,
+                                                   BidderAliases aliases) {
+
+        final List<AuctionParticipation> updatedParticipations = storedResponseProcessor.mergeWithBidderResponses(
+                storedResponseProcessor.updateStoredBidResponse(auctionParticipations),
+                storedAuctionResponses,
+                auctionContext.getBidRequest().getImp());
+
+        return updateMetricsFromResponses(
+                validateAndAdjustBids(
+                        dropZeroNonDealBids(updatedParticipations, auctionContext.getDebugWarnings()),
+                        auctionContext,
+                        aliases),
+                auctionContext.getAccount(),
+                aliases);
+    }
+
+    private AuctionParticipation processBids(AuctionParticipation auctionParticipation,
+                                             AuctionContext auctionContext,
+                                             BidderAliases aliases) {
+
+        final AuctionParticipation updatedParticipation = dropZeroNonDealBids(
+                storedResponseProcessor.updateParticipationStoredBidResponse(auctionParticipation),
+                auctionContext.getDebugWarnings());
+
+        final AuctionParticipation validParticipation =
+                validateAndAdjustBids(updatedParticipation, auctionContext, aliases);
+        updateMetricsFromResponse(validParticipation, auctionContext.getAccount(), aliases);
+
+        return validParticipation;
+    }
+
     private Future<BidderResponse> invokeHooksAndRequestBids(AuctionContext auctionContext,
                                                              BidderRequest bidderRequest,
                                                              Timeout timeout,
@@ -1280,13 +1355,11 @@ public class ExchangeService {
             return Future.succeededFuture(BidderResponse.of(bidderName, bidderSeatBid, 0));
         }
 
-        final BidRequest convertedBidRequest = ortbVersionConversionManager.convertFromAuctionSupportedVersion(
-                mediaTypeProcessingResult.getBidRequest(), bidderRequest.getOrtbVersion());
-
-        final BidderRequest modifiedBidderRequest = bidderRequest.with(convertedBidRequest);
+        final BidderRequest modifiedBidderRequest = bidderRequest.with(mediaTypeProcessingResult.getBidRequest());
 
-        return httpBidderRequester
-                .requestBids(bidder, modifiedBidderRequest, timeout, requestHeaders, debugEnabledForBidder)
+        return auctionBidderRequester
+                .requestBids(
+                        bidder, modifiedBidderRequest, auctionContext, timeout, requestHeaders, debugEnabledForBidder)
                 .map(seatBid -> BidderSeatBid.of(
                         seatBid.getBids(),
                         seatBid.getHttpCalls(),
@@ -1347,15 +1420,22 @@ public class ExchangeService {
                                                              BidderAliases aliases) {
 
         return auctionParticipations.stream()
-                .map(auctionParticipation -> validBidderResponse(auctionParticipation, auctionContext, aliases))
-                .map(auctionParticipation -> applyBidPriceChanges(auctionParticipation, auctionContext.getBidRequest()))
-                .map(auctionParticipation -> priceFloorEnforcer.enforce(
-                        auctionContext.getBidRequest(),
-                        auctionParticipation,
-                        auctionContext.getAccount()))
+                .map(auctionParticipation -> validateAndAdjustBids(auctionParticipation, auctionContext, aliases))
                 .toList();
     }
 
+    private AuctionParticipation validateAndAdjustBids(AuctionParticipation auctionParticipation,
+                                                       AuctionContext auctionContext,
+                                                       BidderAliases aliases) {
+
+        return priceFloorEnforcer.enforce(
+                auctionContext.getBidRequest(),
+                applyBidPriceChanges(
+                        validBidderResponse(auctionParticipation, auctionContext, aliases),
+                        auctionContext),
+                auctionContext.getAccount());
+    }
+
     /**
      * Validates bid response from exchange.
      * <p>
@@ -1387,9 +1467,11 @@ public class ExchangeService {
 
         final TxnLog txnLog = auctionContext.getTxnLog();
         final String bidder = bidderResponse.getBidder();
+        final ImpIndex impIndex = auctionContext.getImpIndex();
 
         for (final BidderBid bid : bids) {
-            final String lineItemId = LineItemUtil.lineItemIdFrom(bid.getBid(), bidRequest.getImp(), mapper);
+            final Imp correspondingImp = impIndex.get(bid.getBid().getImpid());
+            final String lineItemId = LineItemUtil.lineItemIdFrom(bid.getBid(), correspondingImp, mapper);
             maybeRecordInTxnLog(lineItemId, () -> txnLog.lineItemsReceivedFromBidder().get(bidder));
 
             final ValidationResult validationResult =
@@ -1446,11 +1528,14 @@ public class ExchangeService {
      * {@link Bid#getPrice()} is not empty.
      */
     private AuctionParticipation applyBidPriceChanges(AuctionParticipation auctionParticipation,
-                                                      BidRequest bidRequest) {
+                                                      AuctionContext auctionContext) {
         if (auctionParticipation.isRequestBlocked()) {
             return auctionParticipation;
         }
 
+        final BidRequest bidRequest = auctionContext.getBidRequest();
+        final ImpIndex impIndex = auctionContext.getImpIndex();
+
         final BidderResponse bidderResponse = auctionParticipation.getBidderResponse();
         final BidderSeatBid seatBid = bidderResponse.getSeatBid();
 
@@ -1466,8 +1551,8 @@ public class ExchangeService {
 
         for (final BidderBid bidderBid : bidderBids) {
             try {
-                final BidderBid updatedBidderBid =
-                        updateBidderBidWithBidPriceChanges(bidderBid, bidderResponse, bidRequest, adServerCurrency);
+                final BidderBid updatedBidderBid = updateBidderBidWithBidPriceChanges(
+                        bidderBid, bidderResponse, bidRequest, impIndex, adServerCurrency);
                 updatedBidderBids.add(updatedBidderBid);
             } catch (PreBidException e) {
                 errors.add(BidderError.generic(e.getMessage()));
@@ -1482,6 +1567,7 @@ public class ExchangeService {
     private BidderBid updateBidderBidWithBidPriceChanges(BidderBid bidderBid,
                                                          BidderResponse bidderResponse,
                                                          BidRequest bidRequest,
+                                                         ImpIndex impIndex,
                                                          String adServerCurrency) {
         final Bid bid = bidderBid.getBid();
         final String bidCurrency = bidderBid.getBidCurrency();
@@ -1491,7 +1577,7 @@ public class ExchangeService {
                 price, bidRequest, StringUtils.stripToNull(bidCurrency), adServerCurrency);
 
         final BigDecimal priceAdjustmentFactor =
-                bidAdjustmentForBidder(bidderResponse.getBidder(), bidRequest, bidderBid);
+                bidAdjustmentForBidder(bidderResponse.getBidder(), bidRequest, impIndex, bidderBid);
         final BigDecimal adjustedPrice = adjustPrice(priceAdjustmentFactor, priceInAdServerCurrency);
 
         final ObjectNode bidExt = bid.getExt();
@@ -1511,13 +1597,17 @@ public class ExchangeService {
         return bidderBid.toBuilder().bid(bidBuilder.build()).build();
     }
 
-    private BigDecimal bidAdjustmentForBidder(String bidder, BidRequest bidRequest, BidderBid bidderBid) {
+    private BigDecimal bidAdjustmentForBidder(String bidder,
+                                              BidRequest bidRequest,
+                                              ImpIndex impIndex,
+                                              BidderBid bidderBid) {
+
         final ExtRequestBidAdjustmentFactors adjustmentFactors = extBidAdjustmentFactors(bidRequest);
         if (adjustmentFactors == null) {
             return null;
         }
         final ImpMediaType mediaType = ImpMediaTypeResolver.resolve(
-                bidderBid.getBid().getImpid(), bidRequest.getImp(), bidderBid.getType());
+                impIndex.get(bidderBid.getBid().getImpid()), bidderBid.getType());
 
         return bidAdjustmentFactorResolver.resolve(mediaType, adjustmentFactors, bidder);
     }
@@ -1572,42 +1662,49 @@ public class ExchangeService {
                                                                   Account account,
                                                                   BidderAliases aliases) {
 
-        final List<BidderResponse> bidderResponses = auctionParticipations.stream()
-                .filter(auctionParticipation -> !auctionParticipation.isRequestBlocked())
-                .map(AuctionParticipation::getBidderResponse)
-                .toList();
+        for (AuctionParticipation auctionParticipation : auctionParticipations) {
+            updateMetricsFromResponse(auctionParticipation, account, aliases);
+        }
+
+        return auctionParticipations;
+    }
 
-        for (BidderResponse bidderResponse : bidderResponses) {
-            final String bidder = aliases.resolveBidder(bidderResponse.getBidder());
+    private void updateMetricsFromResponse(AuctionParticipation auctionParticipation,
+                                           Account account,
+                                           BidderAliases aliases) {
 
-            metrics.updateAdapterResponseTime(bidder, account, bidderResponse.getResponseTime());
+        if (auctionParticipation.isRequestBlocked()) {
+            return;
+        }
 
-            final List<BidderBid> bidderBids = bidderResponse.getSeatBid().getBids();
-            if (CollectionUtils.isEmpty(bidderBids)) {
-                metrics.updateAdapterRequestNobidMetrics(bidder, account);
-            } else {
-                metrics.updateAdapterRequestGotbidsMetrics(bidder, account);
+        final BidderResponse bidderResponse = auctionParticipation.getBidderResponse();
+        final String bidder = aliases.resolveBidder(bidderResponse.getBidder());
 
-                for (final BidderBid bidderBid : bidderBids) {
-                    final Bid bid = bidderBid.getBid();
+        metrics.updateAdapterResponseTime(bidder, account, bidderResponse.getResponseTime());
 
-                    final long cpm = bid.getPrice().multiply(THOUSAND).longValue();
-                    metrics.updateAdapterBidMetrics(bidder, account, cpm, bid.getAdm() != null,
-                            bidderBid.getType().toString());
-                }
-            }
+        final List<BidderBid> bidderBids = bidderResponse.getSeatBid().getBids();
+        if (CollectionUtils.isEmpty(bidderBids)) {
+            metrics.updateAdapterRequestNobidMetrics(bidder, account);
+        } else {
+            metrics.updateAdapterRequestGotbidsMetrics(bidder, account);
 
-            final List<BidderError> errors = bidderResponse.getSeatBid().getErrors();
-            if (CollectionUtils.isNotEmpty(errors)) {
-                errors.stream()
-                        .map(BidderError::getType)
-                        .distinct()
-                        .map(ExchangeService::bidderErrorTypeToMetric)
-                        .forEach(errorMetric -> metrics.updateAdapterRequestErrorMetric(bidder, errorMetric));
+            for (final BidderBid bidderBid : bidderBids) {
+                final Bid bid = bidderBid.getBid();
+
+                final long cpm = bid.getPrice().multiply(THOUSAND).longValue();
+                metrics.updateAdapterBidMetrics(bidder, account, cpm, bid.getAdm() != null,
+                        bidderBid.getType().toString());
             }
         }
 
-        return auctionParticipations;
+        final List<BidderError> errors = bidderResponse.getSeatBid().getErrors();
+        if (CollectionUtils.isNotEmpty(errors)) {
+            errors.stream()
+                    .map(BidderError::getType)
+                    .distinct()
+                    .map(ExchangeService::bidderErrorTypeToMetric)
+                    .forEach(errorMetric -> metrics.updateAdapterRequestErrorMetric(bidder, errorMetric));
+        }
     }
 
     private Future<AuctionContext> invokeResponseHooks(AuctionContext auctionContext) {
@@ -22,6 +22,15 @@ public class ImpMediaTypeResolver {
         };
     }
 
+    public static ImpMediaType resolve(Imp bidImp, BidType bidType) {
+        return switch (bidType) {
+            case banner -> ImpMediaType.banner;
+            case xNative -> ImpMediaType.xNative;
+            case audio -> ImpMediaType.audio;
+            case video -> resolveBidAdjustmentVideoMediaType(bidImp != null ? bidImp.getVideo() : null);
+        };
+    }
+
     private static ImpMediaType resolveBidAdjustmentVideoMediaType(String bidImpId, List<Imp> imps) {
         final Video bidImpVideo = imps.stream()
                 .filter(imp -> imp.getId().equals(bidImpId))
@@ -30,6 +39,10 @@ public class ImpMediaTypeResolver {
                 .findFirst()
                 .orElse(null);
 
+        return resolveBidAdjustmentVideoMediaType(bidImpVideo);
+    }
+
+    private static ImpMediaType resolveBidAdjustmentVideoMediaType(Video bidImpVideo) {
         if (bidImpVideo == null) {
             return null;
         }
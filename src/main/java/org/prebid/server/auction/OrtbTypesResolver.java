@@ -86,8 +86,19 @@ public class OrtbTypesResolver {
      * Mutates both parameters, {@param fpdContainerNode} and {@param warnings}.
      */
     public void normalizeBidRequest(JsonNode bidRequest, List<String> warnings, String referer) {
+        normalizeBidRequest(bidRequest, getOriginalRowContainerNode(bidRequest), warnings, referer);
+    }
+
+    /**
+     * Does the same as {@link #normalizeBidRequest(JsonNode, List, String)}, but uses already available
+     * {@param rowOriginBidRequest} for warnings logging instead of serializing {@param bidRequest} one more time.
+     */
+    public void normalizeBidRequest(JsonNode bidRequest,
+                                    String rowOriginBidRequest,
+                                    List<String> warnings,
+                                    String referer) {
+
         final List<String> resolverWarnings = new ArrayList<>();
-        final String rowOriginBidRequest = getOriginalRowContainerNode(bidRequest);
         normalizeRequestFpdFields(bidRequest, resolverWarnings);
         final JsonNode bidderConfigs = bidRequest.path("ext").path("prebid").path("bidderconfig");
         if (!bidderConfigs.isMissingNode() && bidderConfigs.isArray()) {
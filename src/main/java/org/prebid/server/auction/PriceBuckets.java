@@ -0,0 +1,155 @@
+package org.prebid.server.auction;
+
+import org.prebid.server.proto.openrtb.ext.request.ExtGranularityRange;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Rounded prices of {@link PriceGranularity} kept by bucket, so price bucket is looked up by price in micros
+ * instead of dividing and formatting {@link BigDecimal} for each bid.
+ * <p>
+ * Bucket is rendered on its first lookup, so compiling granularity is cheap even if it has many buckets and only
+ * a few of them are ever used.
+ * <p>
+ * Granularity is compiled only if all its ranges and increments are whole number of micros and ranges are in
+ * ascending order. Lookup result is the same as {@link CpmRange#fromCpm} gives.
+ */
+class PriceBuckets {
+
+    private static final int MAX_BUCKETS = 5000;
+    private static final int MICROS_SCALE = 6;
+
+    private final BigDecimal rangesMax;
+    private final String rangesMaxBucket;
+    private final long[] rangeMaxMicros;
+    private final long[] incrementMicros;
+    private final long[] firstBucketIndex;
+    private final BigDecimal[] increments;
+    private final int precision;
+    private final String[][] buckets;
+
+    private PriceBuckets(BigDecimal rangesMax,
+                         String rangesMaxBucket,
+                         long[] rangeMaxMicros,
+                         long[] incrementMicros,
+                         long[] firstBucketIndex,
+                         BigDecimal[] increments,
+                         int precision,
+                         String[][] buckets) {
+
+        this.rangesMax = rangesMax;
+        this.rangesMaxBucket = rangesMaxBucket;
+        this.rangeMaxMicros = rangeMaxMicros;
+        this.incrementMicros = incrementMicros;
+        this.firstBucketIndex = firstBucketIndex;
+        this.increments = increments;
+        this.precision = precision;
+        this.buckets = buckets;
+    }
+
+    /**
+     * Returns compiled buckets of given granularity or null if it cannot be compiled.
+     */
+    static PriceBuckets compile(List<ExtGranularityRange> ranges, BigDecimal rangesMax, Integer precision) {
+        if (ranges == null || ranges.isEmpty() || rangesMax == null || precision == null || precision < 0) {
+            return null;
+        }
+
+        final int size = ranges.size();
+        final long[] rangeMaxMicros = new long[size];
+        final long[] incrementMicros = new long[size];
+        final long[] firstBucketIndex = new long[size];
+        final long[] bucketsCount = new long[size];
+
+        long minMicros = 0;
+        long totalBucketsCount = 0;
+        for (int i = 0; i < size; i++) {
+            final ExtGranularityRange range = ranges.get(i);
+            final Long maxMicros = range != null ? toMicros(range.getMax()) : null;
+            final Long increment = range != null ? toMicros(range.getIncrement()) : null;
+            if (maxMicros == null || increment == null || increment <= 0 || maxMicros <= minMicros) {
+                return null;
+            }
+
+            rangeMaxMicros[i] = maxMicros;
+            incrementMicros[i] = increment;
+            firstBucketIndex[i] = minMicros / increment;
+            bucketsCount[i] = maxMicros / increment - firstBucketIndex[i] + 1;
+
+            totalBucketsCount += bucketsCount[i];
+            if (totalBucketsCount > MAX_BUCKETS) {
+                return null;
+            }
+            minMicros = maxMicros;
+        }
+
+        final BigDecimal[] increments = new BigDecimal[size];
+        final String[][] buckets = new String[size][];
+        for (int i = 0; i < size; i++) {
+            increments[i] = ranges.get(i).getIncrement();
+            buckets[i] = new String[(int) bucketsCount[i]];
+        }
+
+        return new PriceBuckets(rangesMax, CpmRange.format(rangesMax, precision), rangeMaxMicros, incrementMicros,
+                firstBucketIndex, increments, precision, buckets);
+    }
+
+    /**
+     * Returns rounded price or null if given price cannot be looked up and should be rounded as usual.
+     */
+    String lookup(BigDecimal cpm) {
+        if (cpm.compareTo(rangesMax) > 0) {
+            return rangesMaxBucket;
+        }
+
+        final Long cpmMicros = cpm.signum() >= 0 ? toMicros(cpm) : null;
+        if (cpmMicros == null) {
+            return null;
+        }
+
+        for (int i = 0; i < rangeMaxMicros.length; i++) {
+            if (cpmMicros <= rangeMaxMicros[i]) {
+                return bucket(i, (int) (cpmMicros / incrementMicros[i] - firstBucketIndex[i]));
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Bucket may be rendered by concurrent lookups more than once, which is harmless since they render the same value.
+     */
+    private String bucket(int rangeIndex, int bucketIndex) {
+        final String cachedBucket = buckets[rangeIndex][bucketIndex];
+        if (cachedBucket != null) {
+            return cachedBucket;
+        }
+
+        final BigDecimal value = BigDecimal.valueOf(firstBucketIndex[rangeIndex] + bucketIndex)
+                .multiply(increments[rangeIndex]);
+        final String bucket = CpmRange.format(value, precision);
+        buckets[rangeIndex][bucketIndex] = bucket;
+        return bucket;
+    }
+
+    /**
+     * Returns given value in micros or null if it is not a whole number of micros.
+     */
+    private static Long toMicros(BigDecimal value) {
+        if (value == null) {
+            return null;
+        }
+
+        final BigDecimal micros = value.movePointRight(MICROS_SCALE);
+        if (micros.scale() > 0 && micros.stripTrailingZeros().scale() > 0) {
+            return null;
+        }
+
+        try {
+            return micros.longValueExact();
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+}
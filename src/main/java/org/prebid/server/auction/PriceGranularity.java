@@ -3,6 +3,7 @@ package org.prebid.server.auction;
 import lombok.NoArgsConstructor;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.EnumUtils;
+import org.apache.commons.lang3.ObjectUtils;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.proto.openrtb.ext.request.ExtGranularityRange;
 import org.prebid.server.proto.openrtb.ext.request.ExtPriceGranularity;
@@ -47,11 +48,17 @@ public class PriceGranularity {
     private List<ExtGranularityRange> ranges;
     private BigDecimal rangesMax;
     private Integer precision;
+    private PriceBuckets buckets;
+
+    private PriceGranularity(List<ExtGranularityRange> ranges,
+                             BigDecimal rangesMax,
+                             Integer precision,
+                             PriceBuckets buckets) {
 
-    private PriceGranularity(List<ExtGranularityRange> ranges, BigDecimal rangesMax, Integer precision) {
         this.ranges = ranges;
         this.rangesMax = rangesMax;
         this.precision = precision;
+        this.buckets = buckets;
     }
 
     /**
@@ -93,6 +100,31 @@ public class PriceGranularity {
         return precision;
     }
 
+    /**
+     * Returns rounded prices kept by bucket or null if granularity is not compiled.
+     */
+    PriceBuckets getBuckets() {
+        return buckets;
+    }
+
+    /**
+     * Returns {@link PriceGranularity} which keeps rounded prices by bucket, so it is cheaper to round prices
+     * with it. Buckets are rendered on first use, so it makes sense only for granularity used for many bids.
+     * <p>
+     * Returns the same instance if granularity is already compiled or cannot be compiled.
+     */
+    public PriceGranularity compiled() {
+        if (buckets != null) {
+            return this;
+        }
+
+        final PriceBuckets compiledBuckets =
+                PriceBuckets.compile(ranges, rangesMax, ObjectUtils.defaultIfNull(precision, 2));
+        return compiledBuckets != null
+                ? new PriceGranularity(ranges, rangesMax, precision, compiledBuckets)
+                : this;
+    }
+
     /**
      * Creates {@link PriceGranularity} for string representation and puts it to
      * {@link EnumMap<PriceGranularityType, PriceGranularity>}.
@@ -102,7 +134,7 @@ public class PriceGranularity {
                                                   ExtGranularityRange... ranges) {
 
         STRING_TO_CUSTOM_PRICE_GRANULARITY.put(type,
-                PriceGranularity.createFromRanges(precision, Arrays.asList(ranges)));
+                PriceGranularity.createFromRanges(precision, Arrays.asList(ranges)).compiled());
     }
 
     /**
@@ -119,7 +151,7 @@ public class PriceGranularity {
                         "Price granularity error: "
                                 + "Max value among all ranges was not found. Please check if ranges are valid"));
 
-        return new PriceGranularity(ranges, rangeMax, precision);
+        return new PriceGranularity(ranges, rangeMax, precision, null);
     }
 
     /**
@@ -1,6 +1,7 @@
 package org.prebid.server.auction;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Imp;
 import com.iab.openrtb.request.Video;
@@ -14,6 +15,7 @@ import org.prebid.server.exception.InvalidStoredRequestException;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.identity.IdGenerator;
+import org.prebid.server.json.DecodeException;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.json.JsonMerger;
 import org.prebid.server.metric.Metrics;
@@ -23,6 +25,7 @@ import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebid;
 import org.prebid.server.proto.openrtb.ext.request.ExtStoredRequest;
 import org.prebid.server.settings.ApplicationSettings;
+import org.prebid.server.settings.StoredDataTreeCache;
 import org.prebid.server.settings.model.StoredDataResult;
 import org.prebid.server.settings.model.VideoStoredDataResult;
 import org.prebid.server.util.ObjectUtil;
@@ -44,9 +47,10 @@ import java.util.stream.Collectors;
 public class StoredRequestProcessor {
 
     private static final String OVERRIDE_BID_REQUEST_ID_TEMPLATE = "{{UUID}}";
+    private static final String DEFAULT_BID_REQUEST_ID = "default";
 
     private final long defaultTimeout;
-    private final BidRequest defaultBidRequest;
+    private final JsonNode defaultBidRequestNode;
     private final boolean generateBidRequestId;
     private final ApplicationSettings applicationSettings;
     private final IdGenerator idGenerator;
@@ -54,6 +58,7 @@ public class StoredRequestProcessor {
     private final TimeoutFactory timeoutFactory;
     private final JacksonMapper mapper;
     private final JsonMerger jsonMerger;
+    private final StoredDataTreeCache storedDataTreeCache;
 
     public StoredRequestProcessor(long defaultTimeout,
                                   String defaultBidRequestPath,
@@ -64,10 +69,11 @@ public class StoredRequestProcessor {
                                   Metrics metrics,
                                   TimeoutFactory timeoutFactory,
                                   JacksonMapper mapper,
-                                  JsonMerger jsonMerger) {
+                                  JsonMerger jsonMerger,
+                                  StoredDataTreeCache storedDataTreeCache) {
 
         this.defaultTimeout = defaultTimeout;
-        this.defaultBidRequest = readBidRequest(
+        this.defaultBidRequestNode = readBidRequestNode(
                 defaultBidRequestPath, Objects.requireNonNull(fileSystem), Objects.requireNonNull(mapper));
         this.generateBidRequestId = generateBidRequestId;
         this.applicationSettings = Objects.requireNonNull(applicationSettings);
@@ -76,6 +82,7 @@ public class StoredRequestProcessor {
         this.timeoutFactory = Objects.requireNonNull(timeoutFactory);
         this.mapper = Objects.requireNonNull(mapper);
         this.jsonMerger = Objects.requireNonNull(jsonMerger);
+        this.storedDataTreeCache = storedDataTreeCache;
     }
 
     public Future<BidRequest> processAuctionRequest(String accountId, BidRequest bidRequest) {
@@ -181,13 +188,20 @@ public class StoredRequestProcessor {
                 id -> metrics.updateStoredImpsMetric(storedDataResult.getStoredIdToImp().containsKey(id)));
     }
 
-    private static BidRequest readBidRequest(String defaultBidRequestPath,
-                                             FileSystem fileSystem,
-                                             JacksonMapper mapper) {
+    /**
+     * Reads default {@link BidRequest} and converts it to tree once, so it is ready to be merged with each request.
+     */
+    private static JsonNode readBidRequestNode(String defaultBidRequestPath,
+                                               FileSystem fileSystem,
+                                               JacksonMapper mapper) {
+
+        if (StringUtils.isBlank(defaultBidRequestPath)) {
+            return null;
+        }
 
-        return StringUtils.isNotBlank(defaultBidRequestPath)
-                ? mapper.decodeValue(fileSystem.readFileBlocking(defaultBidRequestPath), BidRequest.class)
-                : null;
+        final BidRequest defaultBidRequest = mapper.decodeValue(
+                fileSystem.readFileBlocking(defaultBidRequestPath), BidRequest.class);
+        return mapper.mapper().valueToTree(defaultBidRequest);
     }
 
     private VideoStoredDataResult makeVideoStoredDataResult(StoredDataResult storedDataResult,
@@ -261,7 +275,9 @@ public class StoredRequestProcessor {
     }
 
     private BidRequest mergeDefaultRequest(BidRequest bidRequest) {
-        return jsonMerger.merge(bidRequest, defaultBidRequest, BidRequest.class);
+        return defaultBidRequestNode != null
+                ? jsonMerger.merge(bidRequest, defaultBidRequestNode, DEFAULT_BID_REQUEST_ID, BidRequest.class)
+                : bidRequest;
     }
 
     /**
@@ -274,7 +290,7 @@ public class StoredRequestProcessor {
 
         final String storedRequest = storedDataResult.getStoredIdToRequest().get(storedRequestId);
         return StringUtils.isNotBlank(storedRequestId)
-                ? jsonMerger.merge(originalRequest, storedRequest, storedRequestId, BidRequest.class)
+                ? mergeWithStoredData(originalRequest, storedRequest, storedRequestId, BidRequest.class)
                 : originalRequest;
     }
 
@@ -295,13 +311,31 @@ public class StoredRequestProcessor {
             final String storedRequestId = impToStoredId.get(imp);
             if (storedRequestId != null) {
                 final String storedImp = storedDataResult.getStoredIdToImp().get(storedRequestId);
-                final Imp mergedImp = jsonMerger.merge(imp, storedImp, storedRequestId, Imp.class);
+                final Imp mergedImp = mergeWithStoredData(imp, storedImp, storedRequestId, Imp.class);
                 mergedImps.set(i, mergedImp);
             }
         }
         return bidRequest.toBuilder().imp(mergedImps).build();
     }
 
+    /**
+     * Merges given object with stored data, taking already parsed stored data from cache if it is enabled.
+     */
+    private <T> T mergeWithStoredData(T originalObject, String storedData, String storedId, Class<T> classToCast) {
+        if (storedDataTreeCache == null || storedData == null) {
+            return jsonMerger.merge(originalObject, storedData, storedId, classToCast);
+        }
+
+        final JsonNode storedDataNode;
+        try {
+            storedDataNode = storedDataTreeCache.get(storedData);
+        } catch (DecodeException e) {
+            throw new InvalidRequestException("Can't parse Json for stored request with id " + storedId);
+        }
+
+        return jsonMerger.merge(originalObject, storedDataNode, storedId, classToCast);
+    }
+
     private BidRequest generateBidRequestIdForApp(BidRequest bidRequest) {
         return bidRequest.getApp() != null
                 ? generateBidRequestId(bidRequest)
@@ -104,11 +104,11 @@ public class StoredResponseProcessor {
 
     public List<AuctionParticipation> updateStoredBidResponse(List<AuctionParticipation> auctionParticipations) {
         return auctionParticipations.stream()
-                .map(StoredResponseProcessor::updateStoredBidResponse)
+                .map(this::updateParticipationStoredBidResponse)
                 .collect(Collectors.toList());
     }
 
-    private static AuctionParticipation updateStoredBidResponse(AuctionParticipation auctionParticipation) {
+    public AuctionParticipation updateParticipationStoredBidResponse(AuctionParticipation auctionParticipation) {
         final BidderRequest bidderRequest = auctionParticipation.getBidderRequest();
         final BidRequest bidRequest = bidderRequest.getBidRequest();
 
@@ -130,7 +130,7 @@ public class TargetingKeywordsCreator {
                                                   String cachePath,
                                                   TargetingKeywordsResolver resolver) {
 
-        return new TargetingKeywordsCreator(
+        return create(
                 PriceGranularity.createFromExtPriceGranularity(extPriceGranularity),
                 includeWinners,
                 includeBidderKeys,
@@ -143,6 +143,33 @@ public class TargetingKeywordsCreator {
                 resolver);
     }
 
+    /**
+     * Creates {@link TargetingKeywordsCreator} for the given params with already created {@link PriceGranularity}.
+     */
+    public static TargetingKeywordsCreator create(PriceGranularity priceGranularity,
+                                                  boolean includeWinners,
+                                                  boolean includeBidderKeys,
+                                                  boolean alwaysIncludeDeals,
+                                                  boolean includeFormat,
+                                                  boolean isApp,
+                                                  int truncateAttrChars,
+                                                  String cacheHost,
+                                                  String cachePath,
+                                                  TargetingKeywordsResolver resolver) {
+
+        return new TargetingKeywordsCreator(
+                priceGranularity,
+                includeWinners,
+                includeBidderKeys,
+                alwaysIncludeDeals,
+                includeFormat,
+                isApp,
+                truncateAttrChars,
+                cacheHost,
+                cachePath,
+                resolver);
+    }
+
     /**
      * Creates map of keywords for the given {@link Bid}.
      */
@@ -4,7 +4,11 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.response.BidResponse;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
+import org.prebid.server.auction.versionconverter.OrtbConversionCache;
 import org.prebid.server.cache.model.DebugHttpCall;
 import org.prebid.server.cookie.UidsCookie;
 import org.prebid.server.deals.model.DeepDebugLog;
@@ -12,6 +16,7 @@ import org.prebid.server.deals.model.TxnLog;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.geolocation.model.GeoInfo;
 import org.prebid.server.hooks.execution.model.HookExecutionContext;
+import org.prebid.server.json.EncodingCache;
 import org.prebid.server.metric.MetricName;
 import org.prebid.server.model.HttpRequestContext;
 import org.prebid.server.privacy.model.PrivacyContext;
@@ -68,6 +73,34 @@ public class AuctionContext {
 
     CachedDebugLog cachedDebugLog;
 
+    /**
+     * Built from bid request of this context on the first access, so it is never outdated.
+     */
+    @JsonIgnore
+    @Getter(lazy = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final ImpIndex impIndex = ImpIndex.of(bidRequest);
+
+    /**
+     * Shared by requests of all bidders of this auction, so their common parts are encoded only once.
+     */
+    @JsonIgnore
+    @Getter(lazy = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final EncodingCache encodingCache = new EncodingCache();
+
+    /**
+     * Shared by requests of all bidders of this auction, so their common parts are converted to other OpenRTB
+     * versions only once.
+     */
+    @JsonIgnore
+    @Getter(lazy = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final OrtbConversionCache ortbConversionCache = new OrtbConversionCache();
+
     public AuctionContext with(Account account) {
         return this.toBuilder().account(account).build();
     }
@@ -0,0 +1,108 @@
+package org.prebid.server.auction.model;
+
+import com.iab.openrtb.request.Asset;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Imp;
+import org.apache.commons.collections4.CollectionUtils;
+import org.prebid.server.proto.openrtb.ext.request.ExtImpPrebid;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Index of {@link Imp}s of bid request by their ids, so bids are matched with imps without scanning all imps of
+ * the request for each bid.
+ * <p>
+ * Values derived from imp are resolved on the first access and then shared by all bids of this imp.
+ */
+public class ImpIndex {
+
+    private static final ImpIndex EMPTY = new ImpIndex(Collections.emptyMap());
+
+    private final Map<String, Entry> entries;
+
+    private ImpIndex(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    public static ImpIndex of(BidRequest bidRequest) {
+        final List<Imp> imps = bidRequest != null ? bidRequest.getImp() : null;
+        if (CollectionUtils.isEmpty(imps)) {
+            return EMPTY;
+        }
+
+        final Map<String, Entry> entries = new HashMap<>();
+        for (Imp imp : imps) {
+            // the first imp wins, the same as for lookup by scanning imps
+            if (imp != null) {
+                entries.putIfAbsent(imp.getId(), new Entry(imp));
+            }
+        }
+
+        return new ImpIndex(entries);
+    }
+
+    /**
+     * Returns {@link Imp} with given id or null if there is no such imp.
+     */
+    public Imp get(String impId) {
+        final Entry entry = entries.get(impId);
+        return entry != null ? entry.imp : null;
+    }
+
+    /**
+     * Returns {@link ExtImpPrebid} of imp with given id or null if there is no such imp.
+     * <p>
+     * Given resolver is applied to imp only once, its result is reused for subsequent calls.
+     */
+    public ExtImpPrebid extImpPrebid(String impId, Function<Imp, ExtImpPrebid> resolver) {
+        final Entry entry = entries.get(impId);
+        if (entry == null) {
+            return null;
+        }
+
+        if (!entry.extImpPrebidResolved) {
+            // concurrent calls may resolve value twice, it is fine since result is the same
+            entry.extImpPrebid = resolver.apply(entry.imp);
+            entry.extImpPrebidResolved = true;
+        }
+
+        return entry.extImpPrebid;
+    }
+
+    /**
+     * Returns native request assets by their ids of imp with given id or null if there is no such imp.
+     * <p>
+     * Given resolver is applied to imp only once, its result is reused for subsequent calls. Resolver failures are
+     * not kept, so they are repeated for each call.
+     */
+    public Map<Integer, Asset> nativeAssets(String impId, Function<Imp, Map<Integer, Asset>> resolver) {
+        final Entry entry = entries.get(impId);
+        if (entry == null) {
+            return null;
+        }
+
+        if (!entry.nativeAssetsResolved) {
+            entry.nativeAssets = resolver.apply(entry.imp);
+            entry.nativeAssetsResolved = true;
+        }
+
+        return entry.nativeAssets;
+    }
+
+    private static class Entry {
+
+        private final Imp imp;
+        private volatile ExtImpPrebid extImpPrebid;
+        private volatile boolean extImpPrebidResolved;
+        private volatile Map<Integer, Asset> nativeAssets;
+        private volatile boolean nativeAssetsResolved;
+
+        private Entry(Imp imp) {
+            this.imp = imp;
+        }
+    }
+}
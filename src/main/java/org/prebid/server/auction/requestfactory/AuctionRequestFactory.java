@@ -3,7 +3,9 @@ package org.prebid.server.auction.requestfactory;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.iab.openrtb.request.BidRequest;
+import io.netty.buffer.ByteBufInputStream;
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.ext.web.RoutingContext;
 import org.prebid.server.auction.DebugResolver;
 import org.prebid.server.auction.ImplicitParametersExtractor;
@@ -76,18 +78,20 @@ public class AuctionRequestFactory {
      * Creates {@link AuctionContext} based on {@link RoutingContext}.
      */
     public Future<AuctionContext> fromRequest(RoutingContext routingContext, long startTime) {
-        final String body;
+        final Buffer body;
         try {
             body = extractAndValidateBody(routingContext);
         } catch (InvalidRequestException e) {
             return Future.failedFuture(e);
         }
 
+        final String bodyAsString = body.toString();
         final AuctionContext initialAuctionContext = ortb2RequestFactory.createAuctionContext(
                 Endpoint.openrtb2_auction, MetricName.openrtb2web);
 
-        return ortb2RequestFactory.executeEntrypointHooks(routingContext, body, initialAuctionContext)
-                .compose(httpRequest -> parseBidRequest(httpRequest, initialAuctionContext.getPrebidErrors())
+        return ortb2RequestFactory.executeEntrypointHooks(routingContext, bodyAsString, initialAuctionContext)
+                .compose(httpRequest -> parseBidRequest(
+                        httpRequest, body, bodyAsString, initialAuctionContext.getPrebidErrors())
 
                         .map(bidRequest -> ortb2RequestFactory
                                 .enrichAuctionContext(initialAuctionContext, httpRequest, bidRequest, startTime)
@@ -120,8 +124,8 @@ public class AuctionRequestFactory {
                 .recover(ortb2RequestFactory::restoreResultFromRejection);
     }
 
-    private String extractAndValidateBody(RoutingContext routingContext) {
-        final String body = routingContext.getBodyAsString();
+    private Buffer extractAndValidateBody(RoutingContext routingContext) {
+        final Buffer body = routingContext.getBody();
         if (body == null) {
             throw new InvalidRequestException("Incoming request has no body");
         }
@@ -133,12 +137,21 @@ public class AuctionRequestFactory {
         return body;
     }
 
-    private Future<BidRequest> parseBidRequest(HttpRequestContext httpRequest, List<String> errors) {
+    private Future<BidRequest> parseBidRequest(HttpRequestContext httpRequest,
+                                               Buffer originalBody,
+                                               String originalBodyAsString,
+                                               List<String> errors) {
         try {
-            final JsonNode bidRequestNode = bodyAsJsonNode(httpRequest.getBody());
+            final String body = httpRequest.getBody();
+            // entrypoint hooks usually pass body through as is, so parse it right from the incoming buffer
+            // to avoid decoding chars back to bytes inside the parser
+            final boolean bodyModifiedByHooks = !originalBodyAsString.equals(body);
+            final JsonNode bidRequestNode = bodyModifiedByHooks
+                    ? bodyAsJsonNode(body)
+                    : bodyAsJsonNode(originalBody);
 
             final String referer = paramsExtractor.refererFrom(httpRequest);
-            ortbTypesResolver.normalizeBidRequest(bidRequestNode, errors, referer);
+            ortbTypesResolver.normalizeBidRequest(bidRequestNode, body, errors, referer);
 
             return Future.succeededFuture(jsonNodeAsBidRequest(bidRequestNode));
         } catch (Exception e) {
@@ -146,6 +159,14 @@ public class AuctionRequestFactory {
         }
     }
 
+    private JsonNode bodyAsJsonNode(Buffer body) {
+        try {
+            return mapper.mapper().readTree(new ByteBufInputStream(body.getByteBuf()));
+        } catch (IOException e) {
+            throw new InvalidRequestException("Error decoding bidRequest: " + e.getMessage());
+        }
+    }
+
     private JsonNode bodyAsJsonNode(String body) {
         try {
             return mapper.mapper().readTree(body);
@@ -26,4 +26,25 @@ public class BidRequestOrtbVersionConversionManager {
                 .getConverter(AUCTION_VERSION, ortbVersion)
                 .convert(bidRequest);
     }
+
+    /**
+     * Converts given {@link BidRequest} reusing parts converted earlier with given {@link OrtbConversionCache} and
+     * records time spent on conversion to this cache. Nothing is recorded if request is already of given version.
+     */
+    public BidRequest convertFromAuctionSupportedVersion(BidRequest bidRequest,
+                                                         OrtbVersion ortbVersion,
+                                                         OrtbConversionCache conversionCache) {
+
+        if (ortbVersion == AUCTION_VERSION) {
+            return convertFromAuctionSupportedVersion(bidRequest, ortbVersion);
+        }
+
+        final long startTime = System.nanoTime();
+        final BidRequest convertedBidRequest = ortbVersionConverterFactory
+                .getConverter(AUCTION_VERSION, ortbVersion)
+                .convert(bidRequest, conversionCache);
+        conversionCache.recordConversionTime(System.nanoTime() - startTime);
+
+        return convertedBidRequest;
+    }
 }
@@ -0,0 +1,49 @@
+package org.prebid.server.auction.versionconverter;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps results of conversion of bid request parts to other OpenRTB version during single auction, so parts shared
+ * by requests of several bidders are converted only once.
+ * <p>
+ * Parts are cached by identity, so conversion of the part must depend only on the part itself.
+ */
+public class OrtbConversionCache {
+
+    private static final Object NOT_CONVERTED = new Object();
+
+    // the same cache may be used by different threads, e.g. when bidders are requested after asynchronous hooks
+    private final Map<Object, Object> convertedValues = Collections.synchronizedMap(new IdentityHashMap<>());
+    // plain field keeps the cache comparable by fields along with the rest of auction context
+    private long conversionTimeNanos;
+
+    /**
+     * Returns result of given converter for given value, which is calculated only on the first call for this value.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T converted(T value, UnaryOperator<T> converter) {
+        if (value == null) {
+            return converter.apply(null);
+        }
+
+        final Object cached = convertedValues.get(value);
+        if (cached != null) {
+            return cached != NOT_CONVERTED ? (T) cached : null;
+        }
+
+        final T converted = converter.apply(value);
+        convertedValues.put(value, converted != null ? converted : NOT_CONVERTED);
+        return converted;
+    }
+
+    public synchronized void recordConversionTime(long nanos) {
+        conversionTimeNanos += nanos;
+    }
+
+    public synchronized long conversionTimeNanos() {
+        return conversionTimeNanos;
+    }
+}
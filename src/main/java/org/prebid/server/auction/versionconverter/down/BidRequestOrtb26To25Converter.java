@@ -20,6 +20,7 @@ import com.iab.openrtb.request.Video;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.prebid.server.auction.versionconverter.BidRequestOrtbVersionConverter;
+import org.prebid.server.auction.versionconverter.OrtbConversionCache;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.proto.openrtb.ext.FlexibleExtension;
 import org.prebid.server.proto.openrtb.ext.request.ExtRegs;
@@ -29,6 +30,7 @@ import org.prebid.server.proto.openrtb.ext.request.ExtUser;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 import java.util.stream.IntStream;
 
 public class BidRequestOrtb26To25Converter implements BidRequestOrtbVersionConverter {
@@ -47,26 +49,39 @@ public class BidRequestOrtb26To25Converter implements BidRequestOrtbVersionConve
 
     @Override
     public BidRequest convert(BidRequest bidRequest) {
+        return modifyBidRequest(bidRequest, null);
+    }
+
+    /**
+     * Converts request-level parts, imps and their video and audio once per given {@link OrtbConversionCache}, so
+     * requests of bidders converted with the same cache share them.
+     */
+    @Override
+    public BidRequest convert(BidRequest bidRequest, OrtbConversionCache conversionCache) {
+        return modifyBidRequest(bidRequest, Objects.requireNonNull(conversionCache));
+    }
+
+    private BidRequest modifyBidRequest(BidRequest bidRequest, OrtbConversionCache conversionCache) {
         final List<Imp> imps = bidRequest.getImp();
-        final List<Imp> modifiedImps = modifyImps(imps);
+        final List<Imp> modifiedImps = modifyImps(imps, conversionCache);
 
         final Site site = bidRequest.getSite();
-        final Site modifiedSite = modifySite(site);
+        final Site modifiedSite = converted(conversionCache, site, BidRequestOrtb26To25Converter::modifySite);
 
         final App app = bidRequest.getApp();
-        final App modifiedApp = modifyApp(app);
+        final App modifiedApp = converted(conversionCache, app, BidRequestOrtb26To25Converter::modifyApp);
 
         final Device device = bidRequest.getDevice();
-        final Device modifiedDevice = modifyDevice(device);
+        final Device modifiedDevice = converted(conversionCache, device, BidRequestOrtb26To25Converter::modifyDevice);
 
         final User user = bidRequest.getUser();
-        final User modifiedUser = modifyUser(user);
+        final User modifiedUser = converted(conversionCache, user, BidRequestOrtb26To25Converter::modifyUser);
 
         final Source source = bidRequest.getSource();
-        final Source modifiedSource = modifySource(source);
+        final Source modifiedSource = converted(conversionCache, source, BidRequestOrtb26To25Converter::modifySource);
 
         final Regs regs = bidRequest.getRegs();
-        final Regs modifiedRegs = modifyRegs(regs);
+        final Regs modifiedRegs = converted(conversionCache, regs, BidRequestOrtb26To25Converter::modifyRegs);
 
         return ObjectUtils.anyNotNull(
                 modifiedImps,
@@ -94,9 +109,16 @@ public class BidRequestOrtb26To25Converter implements BidRequestOrtbVersionConve
                 : bidRequest;
     }
 
-    private List<Imp> modifyImps(List<Imp> imps) {
+    /**
+     * Returns result of given converter for given value, converted earlier one is reused if cache is present.
+     */
+    private static <T> T converted(OrtbConversionCache conversionCache, T value, UnaryOperator<T> converter) {
+        return conversionCache != null ? conversionCache.converted(value, converter) : converter.apply(value);
+    }
+
+    private List<Imp> modifyImps(List<Imp> imps, OrtbConversionCache conversionCache) {
         final List<Imp> modifiedImps = imps.stream()
-                .map(this::modifyImp)
+                .map(imp -> converted(conversionCache, imp, cachedImp -> modifyImp(cachedImp, conversionCache)))
                 .toList();
 
         if (modifiedImps.stream().allMatch(Objects::isNull)) {
@@ -108,12 +130,12 @@ public class BidRequestOrtb26To25Converter implements BidRequestOrtbVersionConve
                 .toList();
     }
 
-    private Imp modifyImp(Imp imp) {
+    private Imp modifyImp(Imp imp, OrtbConversionCache conversionCache) {
         final Video video = imp.getVideo();
-        final Video modifiedVideo = modifyVideo(video);
+        final Video modifiedVideo = converted(conversionCache, video, BidRequestOrtb26To25Converter::modifyVideo);
 
         final Audio audio = imp.getAudio();
-        final Audio modifiedAudio = modifyAudio(audio);
+        final Audio modifiedAudio = converted(conversionCache, audio, BidRequestOrtb26To25Converter::modifyAudio);
 
         final ObjectNode impExt = imp.getExt();
         final ObjectNode modifiedImpExt = modifyImpExt(impExt, imp.getRwdd());
@@ -21,17 +21,16 @@ import org.prebid.server.bidder.model.BidderSeatBid;
 import org.prebid.server.bidder.model.HttpRequest;
 import org.prebid.server.bidder.model.HttpResponse;
 import org.prebid.server.bidder.model.Result;
-import org.prebid.server.exception.PreBidException;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.model.CaseInsensitiveMultiMap;
 import org.prebid.server.proto.openrtb.ext.response.ExtHttpCall;
+import org.prebid.server.util.GzipUtil;
 import org.prebid.server.util.HttpUtil;
 import org.prebid.server.vertx.http.HttpClient;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -41,7 +40,6 @@ import java.util.Objects;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.stream.Stream;
-import java.util.zip.GZIPOutputStream;
 
 /**
  * Implements HTTP communication functionality common for {@link Bidder}'s.
@@ -198,24 +196,10 @@ public class HttpBidderRequester {
     private static byte[] compressIfRequired(byte[] body, MultiMap headers) {
         final String contentEncodingHeader = headers.get(HttpUtil.CONTENT_ENCODING_HEADER);
         return Objects.equals(contentEncodingHeader, HttpHeaderValues.GZIP.toString())
-                ? gzip(body)
+                ? GzipUtil.gzip(body)
                 : body;
     }
 
-    private static byte[] gzip(byte[] value) {
-        try (
-                ByteArrayOutputStream obj = new ByteArrayOutputStream();
-                GZIPOutputStream gzip = new GZIPOutputStream(obj)) {
-
-            gzip.write(value);
-            gzip.finish();
-
-            return obj.toByteArray();
-        } catch (IOException e) {
-            throw new PreBidException("Failed to compress request : " + e.getMessage());
-        }
-    }
-
     /**
      * Produces {@link Future} with {@link BidderCall} containing request and error description.
      */
@@ -242,7 +226,8 @@ public class HttpBidderRequester {
                                                              HttpRequest<T> httpRequest) {
 
         final int statusCode = response.getStatusCode();
-        final HttpResponse httpResponse = HttpResponse.of(statusCode, response.getHeaders(), response.getBody());
+        final HttpResponse httpResponse =
+                HttpResponse.ofBytes(statusCode, response.getHeaders(), response.getBodyBytes());
         return Future.succeededFuture(BidderCall.succeededHttp(httpRequest, httpResponse, errorOrNull(statusCode)));
     }
 
@@ -375,7 +360,7 @@ public class HttpBidderRequester {
             final ExtHttpCall.ExtHttpCallBuilder builder = ExtHttpCall.builder()
                     .uri(request.getUri())
                     .calltype(callType != BidderCallType.HTTP ? callType : null)
-                    .requestbody(mapper.encodeToString(request.getPayload()))
+                    .requestbody(toRequestBody(request))
                     .requestheaders(HttpUtil.toDebugHeaders(request.getHeaders()));
 
             final HttpResponse response = httpCall.getResponse();
@@ -387,6 +372,16 @@ public class HttpBidderRequester {
             return builder.build();
         }
 
+        /**
+         * Returns body sent to bidder, falls back to encoded payload for requests without body.
+         */
+        private String toRequestBody(HttpRequest<T> request) {
+            final byte[] body = request.getBody();
+            return body != null
+                    ? new String(body, StandardCharsets.UTF_8)
+                    : mapper.encodeToString(request.getPayload());
+        }
+
         /**
          * Assembles all errors for {@link BidderSeatBid} into the list of {@link BidderError}s.
          */
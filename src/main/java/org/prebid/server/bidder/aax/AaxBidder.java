@@ -57,7 +57,8 @@ public class AaxBidder implements Bidder<BidRequest> {
     public final Result<List<BidderBid>> makeBids(BidderCall<BidRequest> httpCall, BidRequest bidRequest) {
         final List<BidderError> errors = new ArrayList<>();
         try {
-            final BidResponse bidResponse = mapper.decodeValue(httpCall.getResponse().getBody(), BidResponse.class);
+            final BidResponse bidResponse =
+                    mapper.decodeValue(httpCall.getResponse().getBodyBytes(), BidResponse.class);
             List<BidderBid> bidderBids = extractBids(httpCall.getRequest().getPayload(), bidResponse, errors);
             return Result.of(bidderBids, errors);
         } catch (DecodeException e) {
@@ -128,7 +128,7 @@ public class DeepintentBidder implements Bidder<BidRequest> {
     private List<BidderBid> extractBids(BidderCall<BidRequest> httpCall) {
         final BidResponse bidResponse;
         try {
-            bidResponse = mapper.decodeValue(httpCall.getResponse().getBody(), BidResponse.class);
+            bidResponse = mapper.decodeValue(httpCall.getResponse().getBodyBytes(), BidResponse.class);
         } catch (DecodeException e) {
             throw new PreBidException(e.getMessage());
         }
@@ -189,7 +189,8 @@ public class IxBidder implements Bidder<BidRequest> {
     public Result<List<BidderBid>> makeBids(BidderCall<BidRequest> httpCall, BidRequest bidRequest) {
         try {
             final List<BidderError> errors = new ArrayList<>();
-            final BidResponse bidResponse = mapper.decodeValue(httpCall.getResponse().getBody(), BidResponse.class);
+            final BidResponse bidResponse =
+                    mapper.decodeValue(httpCall.getResponse().getBodyBytes(), BidResponse.class);
             final BidRequest payload = httpCall.getRequest().getPayload();
             return Result.of(extractBids(bidResponse, payload, errors), errors);
         } catch (DecodeException e) {
@@ -1,13 +1,23 @@
 package org.prebid.server.bidder.model;
 
 import io.vertx.core.MultiMap;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
+import lombok.experimental.NonFinal;
+
+import java.nio.charset.StandardCharsets;
 
 /**
  * Packages together information from the server's http response.
+ * <p>
+ * Body is kept as received bytes, so bidders can decode it without intermediate {@link String}.
+ * {@link String} representation is created on first {@link #getBody()} call, e.g. for debug output.
  */
-@AllArgsConstructor(staticName = "of")
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 @Value
 public class HttpResponse {
 
@@ -15,5 +25,29 @@ public class HttpResponse {
 
     MultiMap headers;
 
+    @ToString.Exclude
+    byte[] bodyBytes;
+
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     String body;
+
+    public static HttpResponse of(int statusCode, MultiMap headers, String body) {
+        final byte[] bodyBytes = body != null ? body.getBytes(StandardCharsets.UTF_8) : null;
+        return new HttpResponse(statusCode, headers, bodyBytes, body);
+    }
+
+    public static HttpResponse ofBytes(int statusCode, MultiMap headers, byte[] bodyBytes) {
+        return new HttpResponse(statusCode, headers, bodyBytes, null);
+    }
+
+    @ToString.Include(name = "body")
+    public String getBody() {
+        if (body == null && bodyBytes != null) {
+            body = new String(bodyBytes, StandardCharsets.UTF_8);
+        }
+        return body;
+    }
 }
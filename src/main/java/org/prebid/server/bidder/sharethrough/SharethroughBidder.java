@@ -179,7 +179,8 @@ public class SharethroughBidder implements Bidder<BidRequest> {
     @Override
     public final Result<List<BidderBid>> makeBids(BidderCall<BidRequest> httpCall, BidRequest bidRequest) {
         try {
-            final BidResponse bidResponse = mapper.decodeValue(httpCall.getResponse().getBody(), BidResponse.class);
+            final BidResponse bidResponse =
+                    mapper.decodeValue(httpCall.getResponse().getBodyBytes(), BidResponse.class);
             final BidType bidType = resolveBidType(httpCall.getRequest().getPayload());
 
             return Result.withValues(extractBids(bidResponse, bidType));
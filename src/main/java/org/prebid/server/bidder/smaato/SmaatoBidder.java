@@ -323,7 +323,8 @@ public class SmaatoBidder implements Bidder<BidRequest> {
     @Override
     public Result<List<BidderBid>> makeBids(BidderCall<BidRequest> httpCall, BidRequest bidRequest) {
         try {
-            final BidResponse bidResponse = mapper.decodeValue(httpCall.getResponse().getBody(), BidResponse.class);
+            final BidResponse bidResponse =
+                    mapper.decodeValue(httpCall.getResponse().getBodyBytes(), BidResponse.class);
             return extractBids(bidResponse, httpCall.getResponse().getHeaders());
         } catch (PreBidException | DecodeException e) {
             return Result.withError(BidderError.badInput(e.getMessage()));
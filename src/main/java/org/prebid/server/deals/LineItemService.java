@@ -1,5 +1,6 @@
 package org.prebid.server.deals;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Imp;
@@ -28,6 +29,7 @@ import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebid;
 import org.prebid.server.proto.openrtb.ext.request.ExtUser;
 import org.prebid.server.proto.openrtb.ext.response.ExtTraceDeal.Category;
+import org.prebid.server.snapshot.Snapshottable;
 import org.prebid.server.util.StreamUtil;
 
 import java.math.BigDecimal;
@@ -50,11 +52,19 @@ import java.util.stream.Collectors;
 
 /**
  * Works with {@link LineItem} related information.
+ * <p>
+ * Metadata of tracked line items can be saved to snapshot, so they are matched right after restart, before
+ * Planner responds.
  */
-public class LineItemService {
+public class LineItemService implements Snapshottable<List<LineItemMetaData>> {
 
     private static final Logger logger = LoggerFactory.getLogger(LineItemService.class);
 
+    private static final String SNAPSHOT_NAME = "line-items";
+    private static final TypeReference<List<LineItemMetaData>> SNAPSHOT_TYPE_REFERENCE =
+            new TypeReference<>() {
+            };
+
     private static final DateTimeFormatter UTC_MILLIS_FORMATTER = new DateTimeFormatterBuilder()
             .appendPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
             .toFormatter();
@@ -80,6 +90,8 @@ public class LineItemService {
     protected final Map<String, LineItem> idToLineItems;
     protected volatile boolean isPlannerResponsive;
 
+    private volatile Map<String, Map<String, List<LineItem>>> accountToSourceToLineItems;
+
     public LineItemService(int maxDealsPerBidder,
                            TargetingService targetingService,
                            BidderCatalog bidderCatalog,
@@ -99,6 +111,7 @@ public class LineItemService {
         this.criteriaLogManager = Objects.requireNonNull(criteriaLogManager);
 
         idToLineItems = new ConcurrentHashMap<>();
+        accountToSourceToLineItems = Collections.emptyMap();
     }
 
     /**
@@ -120,8 +133,9 @@ public class LineItemService {
      */
     public boolean accountHasDeals(String account, ZonedDateTime now) {
         return StringUtils.isNotEmpty(account)
-                && idToLineItems.values().stream().anyMatch(lineItem -> Objects.equals(lineItem.getAccountId(), account)
-                && lineItem.isActive(now));
+                && accountToSourceToLineItems.getOrDefault(account, Collections.emptyMap()).values().stream()
+                .flatMap(Collection::stream)
+                .anyMatch(lineItem -> lineItem.isActive(now));
     }
 
     /**
@@ -162,27 +176,79 @@ public class LineItemService {
     public void updateLineItems(List<LineItemMetaData> planResponse, boolean isPlannerResponsive, ZonedDateTime now) {
         this.isPlannerResponsive = isPlannerResponsive;
         if (isPlannerResponsive) {
-            final List<LineItemMetaData> lineItemsMetaData = ListUtils.emptyIfNull(planResponse).stream()
-                    .filter(lineItemMetaData -> !isExpired(now, lineItemMetaData.getEndTimeStamp()))
-                    .filter(lineItemMetaData -> Objects.equals(lineItemMetaData.getStatus(), ACTIVE))
-                    .toList();
-
-            removeInactiveLineItems(planResponse, now);
-            lineItemsMetaData.forEach(lineItemMetaData -> updateLineItem(lineItemMetaData, now));
+            applyPlanResponse(planResponse, now);
         }
     }
 
+    private void applyPlanResponse(List<LineItemMetaData> planResponse, ZonedDateTime now) {
+        final List<LineItemMetaData> lineItemsMetaData = ListUtils.emptyIfNull(planResponse).stream()
+                .filter(lineItemMetaData -> !isExpired(now, lineItemMetaData.getEndTimeStamp()))
+                .filter(lineItemMetaData -> Objects.equals(lineItemMetaData.getStatus(), ACTIVE))
+                .toList();
+
+        removeInactiveLineItems(planResponse, now);
+        lineItemsMetaData.forEach(lineItemMetaData -> updateLineItem(lineItemMetaData, now));
+        rebuildLineItemsIndex();
+    }
+
+    @Override
+    public String snapshotName() {
+        return SNAPSHOT_NAME;
+    }
+
+    @Override
+    public TypeReference<List<LineItemMetaData>> snapshotType() {
+        return SNAPSHOT_TYPE_REFERENCE;
+    }
+
+    @Override
+    public List<LineItemMetaData> snapshot() {
+        return idToLineItems.values().stream()
+                .map(LineItem::getMetaData)
+                .toList();
+    }
+
+    /**
+     * Starts tracking line items from snapshot as if they were received from Planner, expired ones are skipped.
+     * Responsiveness of Planner is not changed.
+     */
+    @Override
+    public void restore(List<LineItemMetaData> snapshot) {
+        applyPlanResponse(snapshot, ZonedDateTime.now(clock));
+        logger.info("Line Items {0} were restored from snapshot", String.join(", ", idToLineItems.keySet()));
+    }
+
     public void invalidateLineItemsByIds(List<String> lineItemIds) {
         idToLineItems.entrySet().removeIf(stringLineItemEntry -> lineItemIds.contains(stringLineItemEntry.getKey()));
+        rebuildLineItemsIndex();
         logger.info("Line Items with ids {0} were removed", String.join(", ", lineItemIds));
     }
 
     public void invalidateLineItems() {
         final String lineItemsToRemove = String.join(", ", idToLineItems.keySet());
         idToLineItems.clear();
+        rebuildLineItemsIndex();
         logger.info("Line Items with ids {0} were removed", lineItemsToRemove);
     }
 
+    /**
+     * Replaces index of {@link LineItem}s by account and source with the one built from current line items.
+     * <p>
+     * Index is immutable, so requests see either previous or new state of line items, never a partial update.
+     * Rebuilds are serialized, so the latest one always reflects all preceding modifications.
+     */
+    private synchronized void rebuildLineItemsIndex() {
+        accountToSourceToLineItems = idToLineItems.values().stream()
+                .filter(lineItem -> lineItem.getAccountId() != null && lineItem.getSource() != null)
+                .collect(Collectors.collectingAndThen(
+                        Collectors.groupingBy(
+                                LineItem::getAccountId,
+                                Collectors.collectingAndThen(
+                                        Collectors.groupingBy(LineItem::getSource, Collectors.toUnmodifiableList()),
+                                        Collections::unmodifiableMap)),
+                        Collections::unmodifiableMap));
+    }
+
     private boolean isExpired(ZonedDateTime now, ZonedDateTime endTime) {
         return now.isAfter(endTime);
     }
@@ -298,11 +364,9 @@ public class LineItemService {
             return Collections.emptyList();
         }
 
-        final List<LineItem> accountsLineItems = idToLineItems.values().stream()
-                .filter(lineItem -> lineItem.getAccountId().equals(accountId))
-                .toList();
+        final Map<String, List<LineItem>> sourceToLineItems = accountToSourceToLineItems.get(accountId);
 
-        if (accountsLineItems.isEmpty()) {
+        if (sourceToLineItems == null) {
             criteriaLogManager.log(
                     logger,
                     accountId,
@@ -316,8 +380,10 @@ public class LineItemService {
                 .distinct()
                 .toList();
 
-        return accountsLineItems.stream()
-                .filter(lineItem -> containBidderCodeConsideringAliases(bidders, lineItem.getSource(), aliases))
+        return sourceToLineItems.entrySet().stream()
+                .filter(entry -> containBidderCodeConsideringAliases(bidders, entry.getKey(), aliases))
+                .map(Map.Entry::getValue)
+                .flatMap(Collection::stream)
                 .toList();
     }
 
@@ -145,6 +145,10 @@ public class LineItem {
         return null;
     }
 
+    public LineItemMetaData getMetaData() {
+        return metaData;
+    }
+
     public String getLineItemId() {
         return metaData.getLineItemId();
     }
@@ -1,7 +1,11 @@
 package org.prebid.server.deals.targeting;
 
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.iab.openrtb.request.App;
 import com.iab.openrtb.request.Banner;
 import com.iab.openrtb.request.BidRequest;
@@ -14,6 +18,9 @@ import com.iab.openrtb.request.Publisher;
 import com.iab.openrtb.request.Segment;
 import com.iab.openrtb.request.Site;
 import com.iab.openrtb.request.User;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import lombok.Value;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -43,7 +50,8 @@ import java.beans.FeatureDescriptor;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -57,21 +65,31 @@ import java.util.stream.Stream;
 
 public class RequestContext {
 
+    private static final Logger logger = LoggerFactory.getLogger(RequestContext.class);
+
     private static final String EXT_PREBID_BIDDER = "prebid.bidder.";
     private static final String EXT_CONTEXT_DATA = "context.data.";
+    private static final String EXT_DATA = "ext.data.";
+
+    private static final AttributeReader<Imp> IMP_READER = AttributeReader.forImp();
+    private static final AttributeReader<User> USER_READER = AttributeReader.forUser();
+    private static final AttributeReader<Site> SITE_READER = AttributeReader.forSite();
+    private static final AttributeReader<App> APP_READER = AttributeReader.forApp();
+
+    // paths come from targeting of line items, so they are limited, but may change over time
+    private static final Cache<String, JsonPointer> PATH_TO_JSON_POINTER = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .build();
 
     private final BidRequest bidRequest;
     private final Imp imp;
     private final String bidder;
     private final BidderAliases aliases;
     private final TxnLog txnLog;
+    private final JacksonMapper mapper;
 
-    private final AttributeReader<Imp> impReader;
-    private final AttributeReader<Geo> geoReader;
-    private final AttributeReader<Device> deviceReader;
-    private final AttributeReader<User> userReader;
-    private final AttributeReader<Site> siteReader;
-    private final AttributeReader<App> appReader;
+    private JsonNode geoExt;
+    private JsonNode deviceExt;
 
     public RequestContext(BidRequest bidRequest,
                           Imp imp,
@@ -85,24 +103,7 @@ public class RequestContext {
         this.bidder = bidder;
         this.aliases = Objects.requireNonNull(aliases);
         this.txnLog = Objects.requireNonNull(txnLog);
-
-        impReader = AttributeReader.forImp();
-        geoReader = AttributeReader.forGeo(getExtNode(
-                bidRequest.getDevice(),
-                device -> getIfNotNull(getIfNotNull(device, Device::getGeo), Geo::getExt),
-                mapper));
-        deviceReader = AttributeReader.forDevice(getExtNode(bidRequest.getDevice(), Device::getExt, mapper));
-        userReader = AttributeReader.forUser();
-        siteReader = AttributeReader.forSite();
-        appReader = AttributeReader.forApp();
-    }
-
-    private static <T> ObjectNode getExtNode(T target,
-                                             Function<T, FlexibleExtension> extExtractor,
-                                             JacksonMapper mapper) {
-
-        final FlexibleExtension ext = target != null ? extExtractor.apply(target) : null;
-        return ext != null ? (ObjectNode) mapper.mapper().valueToTree(ext) : null;
+        this.mapper = Objects.requireNonNull(mapper);
     }
 
     public LookupResult<String> lookupString(TargetingCategory category) {
@@ -118,18 +119,16 @@ public class RequestContext {
             case referrer -> lookupResult(getIfNotNull(bidRequest.getSite(), Site::getPage));
             case appBundle -> lookupResult(getIfNotNull(bidRequest.getApp(), App::getBundle));
             case adslot -> lookupResult(
-                    impReader.readFromExt(imp, "context.data.pbadslot", RequestContext::nodeToString),
-                    impReader.readFromExt(imp, "context.data.adserver.adslot", RequestContext::nodeToString),
-                    impReader.readFromExt(imp, "data.pbadslot", RequestContext::nodeToString),
-                    impReader.readFromExt(imp, "data.adserver.adslot", RequestContext::nodeToString));
-            case deviceGeoExt -> lookupResult(geoReader.readFromExt(
-                    getIfNotNull(bidRequest.getDevice(), Device::getGeo), path, RequestContext::nodeToString));
-            case deviceExt -> lookupResult(
-                    deviceReader.readFromExt(bidRequest.getDevice(), path, RequestContext::nodeToString));
+                    IMP_READER.readFromExt(imp, "context.data.pbadslot", RequestContext::nodeToString),
+                    IMP_READER.readFromExt(imp, "context.data.adserver.adslot", RequestContext::nodeToString),
+                    IMP_READER.readFromExt(imp, "data.pbadslot", RequestContext::nodeToString),
+                    IMP_READER.readFromExt(imp, "data.adserver.adslot", RequestContext::nodeToString));
+            case deviceGeoExt -> lookupResult(readFromNode(geoExt(), path, RequestContext::nodeToString));
+            case deviceExt -> lookupResult(readFromNode(deviceExt(), path, RequestContext::nodeToString));
             case bidderParam -> lookupResult(
-                    impReader.readFromExt(imp, EXT_PREBID_BIDDER + path, RequestContext::nodeToString));
+                    IMP_READER.readFromExt(imp, EXT_PREBID_BIDDER + path, RequestContext::nodeToString));
             case userFirstPartyData ->
-                    userReader.read(bidRequest.getUser(), path, RequestContext::nodeToString, String.class)
+                    USER_READER.read(bidRequest.getUser(), path, RequestContext::nodeToString, String.class)
                             .orElse(getFirstPartyDataFromRequestExt(
                                     ExtBidderConfigOrtb::getUser, path, RequestContext::nodeToString));
             case siteFirstPartyData -> getSiteFirstPartyData(path, RequestContext::nodeToString);
@@ -149,12 +148,11 @@ public class RequestContext {
             case hour -> lookupResult(getIfNotNull(
                     getIfNotNull(getIfNotNull(bidRequest.getUser(), User::getExt), ExtUser::getTime),
                     ExtUserTime::getUserhour));
-            case deviceGeoExt -> lookupResult(geoReader.readFromExt(
-                    getIfNotNull(bidRequest.getDevice(), Device::getGeo), path, RequestContext::nodeToInteger));
+            case deviceGeoExt -> lookupResult(readFromNode(geoExt(), path, RequestContext::nodeToInteger));
             case bidderParam -> lookupResult(
-                    impReader.readFromExt(imp, EXT_PREBID_BIDDER + path, RequestContext::nodeToInteger));
+                    IMP_READER.readFromExt(imp, EXT_PREBID_BIDDER + path, RequestContext::nodeToInteger));
             case userFirstPartyData ->
-                    userReader.read(bidRequest.getUser(), path, RequestContext::nodeToInteger, Integer.class)
+                    USER_READER.read(bidRequest.getUser(), path, RequestContext::nodeToInteger, Integer.class)
                             .orElse(getFirstPartyDataFromRequestExt(
                                     ExtBidderConfigOrtb::getUser, path, RequestContext::nodeToInteger));
             case siteFirstPartyData -> getSiteFirstPartyData(path, RequestContext::nodeToInteger);
@@ -169,13 +167,13 @@ public class RequestContext {
         return switch (type) {
             case mediaType -> lookupResult(getMediaTypes());
             case bidderParam -> lookupResult(
-                    impReader.readFromExt(imp, EXT_PREBID_BIDDER + path, RequestContext::nodeToListOfStrings));
+                    IMP_READER.readFromExt(imp, EXT_PREBID_BIDDER + path, RequestContext::nodeToListOfStrings));
             case userSegment -> lookupResult(getSegments(category));
             case userFirstPartyData -> {
                 final User user = bidRequest.getUser();
                 yield lookupResult(
-                        listOfNonNulls(userReader.readFromObject(user, path, String.class)),
-                        userReader.readFromExt(user, path, RequestContext::nodeToListOfStrings))
+                        listOfNonNulls(USER_READER.readFromObject(user, path, String.class)),
+                        USER_READER.readFromExt(user, path, RequestContext::nodeToListOfStrings))
                         .orElse(getFirstPartyDataFromRequestExt(
                                 ExtBidderConfigOrtb::getUser, path, RequestContext::nodeToListOfStrings));
             }
@@ -190,12 +188,12 @@ public class RequestContext {
 
         return switch (type) {
             case bidderParam -> lookupResult(
-                    impReader.readFromExt(imp, EXT_PREBID_BIDDER + path, RequestContext::nodeToListOfIntegers));
+                    IMP_READER.readFromExt(imp, EXT_PREBID_BIDDER + path, RequestContext::nodeToListOfIntegers));
             case userFirstPartyData -> {
                 final User user = bidRequest.getUser();
                 yield lookupResult(
-                        listOfNonNulls(userReader.readFromObject(user, path, Integer.class)),
-                        userReader.readFromExt(user, path, RequestContext::nodeToListOfIntegers))
+                        listOfNonNulls(USER_READER.readFromObject(user, path, Integer.class)),
+                        USER_READER.readFromExt(user, path, RequestContext::nodeToListOfIntegers))
                         .orElse(getFirstPartyDataFromRequestExt(
                                 ExtBidderConfigOrtb::getUser, path, RequestContext::nodeToListOfIntegers));
             }
@@ -251,6 +249,27 @@ public class RequestContext {
         return source != null ? getter.apply(source) : null;
     }
 
+    /**
+     * Ext of device and its geo are converted to tree only when they are targeted, and at most once.
+     */
+    private JsonNode geoExt() {
+        if (geoExt == null) {
+            geoExt = toExtNode(getIfNotNull(getIfNotNull(bidRequest.getDevice(), Device::getGeo), Geo::getExt));
+        }
+        return geoExt;
+    }
+
+    private JsonNode deviceExt() {
+        if (deviceExt == null) {
+            deviceExt = toExtNode(getIfNotNull(bidRequest.getDevice(), Device::getExt));
+        }
+        return deviceExt;
+    }
+
+    private JsonNode toExtNode(FlexibleExtension ext) {
+        return ext != null ? mapper.mapper().valueToTree(ext) : MissingNode.getInstance();
+    }
+
     private List<String> getMediaTypes() {
         final List<String> mediaTypes = new ArrayList<>();
         if (imp.getBanner() != null) {
@@ -280,7 +299,7 @@ public class RequestContext {
                 .filter(Objects::nonNull)
                 .map(sourceExtractor)
                 .filter(Objects::nonNull)
-                .map(siteNode -> siteNode.at("/ext/data" + toJsonPointer(path)))
+                .map(siteNode -> siteNode.at(toJsonPointer(EXT_DATA + path)))
                 .map(valueExtractor)
                 .filter(Objects::nonNull)
                 .toList();
@@ -299,9 +318,9 @@ public class RequestContext {
 
     private <T> LookupResult<T> getSiteFirstPartyData(String path, Function<JsonNode, T> valueExtractor) {
         return lookupResult(
-                impReader.readFromExt(imp, EXT_CONTEXT_DATA + path, valueExtractor),
-                siteReader.readFromExt(bidRequest.getSite(), path, valueExtractor),
-                appReader.readFromExt(bidRequest.getApp(), path, valueExtractor))
+                IMP_READER.readFromExt(imp, EXT_CONTEXT_DATA + path, valueExtractor),
+                SITE_READER.readFromExt(bidRequest.getSite(), path, valueExtractor),
+                APP_READER.readFromExt(bidRequest.getApp(), path, valueExtractor))
                 .orElse(getFirstPartyDataFromRequestExt(ExtBidderConfigOrtb::getSite, path, valueExtractor));
     }
 
@@ -320,9 +339,13 @@ public class RequestContext {
         return !segments.isEmpty() ? segments : null;
     }
 
-    private static String toJsonPointer(String path) {
-        return Arrays.stream(path.split("\\."))
-                .collect(Collectors.joining("/", "/", StringUtils.EMPTY));
+    private static <A> A readFromNode(JsonNode node, String path, Function<JsonNode, A> valueExtractor) {
+        return valueExtractor.apply(node.at(toJsonPointer(path)));
+    }
+
+    private static JsonPointer toJsonPointer(String path) {
+        return PATH_TO_JSON_POINTER.get(path, key -> JsonPointer.compile(Arrays.stream(key.split("\\."))
+                .collect(Collectors.joining("/", "/", StringUtils.EMPTY))));
     }
 
     private static String nodeToString(JsonNode node) {
@@ -362,7 +385,7 @@ public class RequestContext {
 
         private static final Set<Class<?>> SUPPORTED_PROPERTY_TYPES = Set.of(String.class, Integer.class, int.class);
 
-        private final Map<String, PropertyDescriptor> properties;
+        private final Map<String, Property> properties;
         private final Function<T, JsonNode> extPathExtractor;
 
         private AttributeReader(Class<T> type, Function<T, JsonNode> extPathExtractor) {
@@ -376,18 +399,6 @@ public class RequestContext {
                     imp -> getIfNotNull(imp, Imp::getExt));
         }
 
-        public static AttributeReader<Geo> forGeo(ObjectNode geoExt) {
-            return new AttributeReader<>(
-                    Geo.class,
-                    ignored -> geoExt);
-        }
-
-        public static AttributeReader<Device> forDevice(ObjectNode deviceExt) {
-            return new AttributeReader<>(
-                    Device.class,
-                    ignored -> deviceExt);
-        }
-
         public static AttributeReader<User> forUser() {
             return new AttributeReader<>(
                     User.class,
@@ -434,30 +445,54 @@ public class RequestContext {
             return !path.contains(".");
         }
 
-        private static Map<String, PropertyDescriptor> supportedBeanProperties(Class<?> beanClass) {
+        /**
+         * Resolves getters of supported properties once, so reading them does not involve bean introspection.
+         */
+        private static Map<String, Property> supportedBeanProperties(Class<?> beanClass) {
             try {
                 final BeanInfo beanInfo = Introspector.getBeanInfo(beanClass, Object.class);
                 return Arrays.stream(beanInfo.getPropertyDescriptors())
                         .filter(descriptor -> SUPPORTED_PROPERTY_TYPES.contains(descriptor.getPropertyType()))
-                        .collect(Collectors.toMap(FeatureDescriptor::getName, Function.identity()));
+                        .collect(Collectors.toMap(FeatureDescriptor::getName, AttributeReader::toProperty));
             } catch (IntrospectionException e) {
                 return ExceptionUtils.rethrow(e);
             }
         }
 
+        private static Property toProperty(PropertyDescriptor descriptor) {
+            try {
+                return Property.of(
+                        descriptor.getPropertyType(),
+                        MethodHandles.publicLookup().unreflect(descriptor.getReadMethod()));
+            } catch (IllegalAccessException e) {
+                return ExceptionUtils.rethrow(e);
+            }
+        }
+
         @SuppressWarnings("unchecked")
         private <A> A readProperty(T target, String path, Class<A> attributeType) {
-            final PropertyDescriptor descriptor = properties.get(path);
+            final Property property = properties.get(path);
 
-            if (descriptor != null && descriptor.getPropertyType().equals(attributeType)) {
+            if (property != null && property.getType().equals(attributeType)) {
                 try {
-                    return (A) descriptor.getReadMethod().invoke(target);
-                } catch (IllegalAccessException | InvocationTargetException e) {
-                    // just ignore
+                    return (A) property.getGetter().invoke(target);
+                } catch (RuntimeException e) {
+                    logger.debug("Failed to read property {0} of {1}: {2}", path, target.getClass(), e.getMessage());
+                } catch (Throwable e) {
+                    // getters declare no checked exceptions, so only errors are left
+                    return ExceptionUtils.rethrow(e);
                 }
             }
 
             return null;
         }
     }
+
+    @Value(staticConstructor = "of")
+    private static class Property {
+
+        Class<?> type;
+
+        MethodHandle getter;
+    }
 }
@@ -0,0 +1,279 @@
+package org.prebid.server.execution;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.prebid.server.metric.Metrics;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Schedules handlers to be called when operation deadline is reached, e.g. to fail request by timeout.
+ * <p>
+ * Deadlines scheduled on event loop context are kept in hashed timer wheel of this context, driven by single periodic
+ * Vert.x timer running while wheel has pending deadlines. So scheduling and cancelling deadline is a constant time
+ * operation that doesn't touch Vert.x timers. The price is precision: handler is never called before deadline, but
+ * can be called up to one tick later.
+ * <p>
+ * Deadlines scheduled outside of event loop context or when tick is not positive fall back to Vert.x timers.
+ * <p>
+ * Handler is called on the context deadline was scheduled on.
+ */
+public class DeadlineScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadlineScheduler.class);
+
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private final Vertx vertx;
+    private final long tickMs;
+    private final Metrics metrics;
+    private final Clock clock;
+
+    private final String wheelKey;
+    private final LongAdder pendingDeadlines = new LongAdder();
+
+    public DeadlineScheduler(Vertx vertx, long tickMs, Metrics metrics, Clock clock) {
+        this.vertx = Objects.requireNonNull(vertx);
+        this.tickMs = tickMs;
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+
+        wheelKey = DeadlineScheduler.class.getName() + '@' + Integer.toHexString(System.identityHashCode(this));
+
+        if (tickMs > 0) {
+            metrics.createDeadlinesPendingGauge(pendingDeadlines::sum);
+        }
+    }
+
+    private DeadlineScheduler(Vertx vertx) {
+        this.vertx = Objects.requireNonNull(vertx);
+        this.tickMs = 0;
+        this.metrics = null;
+        this.clock = null;
+
+        wheelKey = null;
+    }
+
+    /**
+     * Returns {@link DeadlineScheduler} which always schedules deadlines with Vert.x timers.
+     */
+    public static DeadlineScheduler vertxTimers(Vertx vertx) {
+        return new DeadlineScheduler(vertx);
+    }
+
+    /**
+     * Schedules given handler to be called when given {@link Timeout} expires.
+     */
+    public Deadline schedule(Timeout timeout, Handler<Void> handler) {
+        return schedule(timeout.remaining(), handler);
+    }
+
+    /**
+     * Schedules given handler to be called after given amount of milliseconds.
+     */
+    public Deadline schedule(long delayMs, Handler<Void> handler) {
+        final Context context = tickMs > 0 ? Vertx.currentContext() : null;
+        if (context == null || !context.isEventLoopContext()) {
+            // Vert.x doesn't allow timers shorter than 1ms
+            final long timerId = vertx.setTimer(Math.max(delayMs, 1), id -> handler.handle(null));
+            return () -> vertx.cancelTimer(timerId);
+        }
+
+        return wheel(context).schedule(delayMs, handler);
+    }
+
+    private Wheel wheel(Context context) {
+        final Wheel existingWheel = context.get(wheelKey);
+        if (existingWheel != null) {
+            return existingWheel;
+        }
+
+        final Wheel wheel = new Wheel(context);
+        context.put(wheelKey, wheel);
+        return wheel;
+    }
+
+    /**
+     * Scheduled deadline, which handler is not called if deadline is cancelled before it is reached.
+     */
+    @FunctionalInterface
+    public interface Deadline {
+
+        /**
+         * Cancels this deadline. Does nothing if deadline is already reached or cancelled. Can be called from any
+         * thread.
+         */
+        void cancel();
+    }
+
+    /**
+     * Timer wheel of single context. Must be accessed only on thread of this context.
+     */
+    private class Wheel {
+
+        private final Context context;
+        private final long startMillis;
+        private final WheelDeadline[] buckets = new WheelDeadline[WHEEL_SIZE];
+
+        private long processedTick;
+        private int size;
+        private long timerId = -1;
+
+        Wheel(Context context) {
+            this.context = context;
+            this.startMillis = clock.millis();
+        }
+
+        Deadline schedule(long delayMs, Handler<Void> handler) {
+            final long now = clock.millis();
+            if (size == 0) {
+                // wheel is idle, so nothing is left to process up to current tick
+                processedTick = tickAt(now);
+            }
+
+            final long deadlineMillis = now + Math.max(delayMs, 0);
+            // rounded up, so handler is never called before deadline
+            final long tick = Math.max(
+                    (deadlineMillis - startMillis + tickMs - 1) / tickMs,
+                    processedTick + 1);
+
+            final WheelDeadline deadline = new WheelDeadline(this, deadlineMillis, tick, handler);
+            link(deadline);
+
+            if (timerId == -1) {
+                timerId = vertx.setPeriodic(tickMs, id -> advance());
+            }
+
+            return deadline;
+        }
+
+        void cancel(WheelDeadline deadline) {
+            if (Vertx.currentContext() == context) {
+                unlink(deadline);
+            } else {
+                context.runOnContext(ignored -> unlink(deadline));
+            }
+        }
+
+        private long tickAt(long millis) {
+            return (millis - startMillis) / tickMs;
+        }
+
+        private void advance() {
+            final long now = clock.millis();
+            final long currentTick = tickAt(now);
+
+            List<WheelDeadline> expired = null;
+            while (processedTick < currentTick && size > 0) {
+                processedTick++;
+
+                WheelDeadline deadline = buckets[(int) (processedTick & WHEEL_MASK)];
+                while (deadline != null) {
+                    final WheelDeadline next = deadline.next;
+                    if (deadline.tick <= processedTick) {
+                        unlink(deadline);
+                        if (expired == null) {
+                            expired = new ArrayList<>();
+                        }
+                        expired.add(deadline);
+                    }
+                    deadline = next;
+                }
+            }
+            processedTick = Math.max(processedTick, currentTick);
+
+            if (size == 0) {
+                vertx.cancelTimer(timerId);
+                timerId = -1;
+            }
+
+            if (expired != null) {
+                // handlers are called after wheel is updated, since they may schedule or cancel other deadlines
+                for (WheelDeadline deadline : expired) {
+                    expire(deadline, now);
+                }
+            }
+        }
+
+        private void expire(WheelDeadline deadline, long now) {
+            metrics.updateDeadlineLatenessMetric(now - deadline.deadlineMillis);
+
+            try {
+                deadline.handler.handle(null);
+            } catch (Exception e) {
+                logger.warn("Deadline handler failed", e);
+            }
+        }
+
+        private void link(WheelDeadline deadline) {
+            final int index = (int) (deadline.tick & WHEEL_MASK);
+            final WheelDeadline head = buckets[index];
+
+            deadline.next = head;
+            if (head != null) {
+                head.prev = deadline;
+            }
+            buckets[index] = deadline;
+            deadline.linked = true;
+
+            size++;
+            pendingDeadlines.increment();
+        }
+
+        private void unlink(WheelDeadline deadline) {
+            if (!deadline.linked) {
+                return;
+            }
+
+            final WheelDeadline prev = deadline.prev;
+            final WheelDeadline next = deadline.next;
+            if (prev != null) {
+                prev.next = next;
+            } else {
+                buckets[(int) (deadline.tick & WHEEL_MASK)] = next;
+            }
+            if (next != null) {
+                next.prev = prev;
+            }
+
+            deadline.prev = null;
+            deadline.next = null;
+            deadline.linked = false;
+
+            size--;
+            pendingDeadlines.decrement();
+        }
+    }
+
+    private static class WheelDeadline implements Deadline {
+
+        private final Wheel wheel;
+        private final long deadlineMillis;
+        private final long tick;
+        private final Handler<Void> handler;
+
+        private WheelDeadline prev;
+        private WheelDeadline next;
+        private boolean linked;
+
+        WheelDeadline(Wheel wheel, long deadlineMillis, long tick, Handler<Void> handler) {
+            this.wheel = wheel;
+            this.deadlineMillis = deadlineMillis;
+            this.tick = tick;
+            this.handler = handler;
+        }
+
+        @Override
+        public void cancel() {
+            wheel.cancel(this);
+        }
+    }
+}
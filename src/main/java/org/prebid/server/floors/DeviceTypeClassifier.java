@@ -0,0 +1,64 @@
+package org.prebid.server.floors;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.prebid.server.floors.model.DeviceType;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Classifies device by User-Agent string.
+ * <p>
+ * Patterns of each device type are compiled once into a single alternation and classification results are kept
+ * per User-Agent, so the same User-Agent is not matched against patterns for every imp and auction.
+ */
+public class DeviceTypeClassifier {
+
+    private static final Pattern PHONE_PATTERN = compileAlternation(
+            Set.of("Phone", "iPhone", "Android.*Mobile", "Mobile.*Android"));
+    private static final Pattern TABLET_PATTERN = compileAlternation(
+            Set.of("tablet", "iPad", "Windows NT.*touch", "touch.*Windows NT", "Android"));
+
+    private final Map<String, DeviceType> cache;
+
+    public DeviceTypeClassifier(int cacheSize) {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("cacheSize must be positive");
+        }
+
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .<String, DeviceType>build()
+                .asMap();
+    }
+
+    /**
+     * Returns type of device for the given not blank User-Agent.
+     */
+    public DeviceType classify(String userAgent) {
+        return cache.computeIfAbsent(userAgent, DeviceTypeClassifier::classifyUncached);
+    }
+
+    private static DeviceType classifyUncached(String userAgent) {
+        if (PHONE_PATTERN.matcher(userAgent).matches()) {
+            return DeviceType.phone;
+        }
+
+        if (TABLET_PATTERN.matcher(userAgent).matches()) {
+            return DeviceType.tablet;
+        }
+
+        return DeviceType.desktop;
+    }
+
+    /**
+     * Matching the whole input against alternation is the same as matching it against any of given patterns.
+     */
+    private static Pattern compileAlternation(Set<String> patterns) {
+        return Pattern.compile(patterns.stream()
+                .map(pattern -> "(?:" + pattern + ")")
+                .collect(Collectors.joining("|")));
+    }
+}
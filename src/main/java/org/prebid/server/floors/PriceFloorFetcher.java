@@ -1,5 +1,6 @@
 package org.prebid.server.floors;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import io.netty.channel.ConnectTimeoutException;
 import io.vertx.core.Future;
@@ -29,11 +30,13 @@ import org.prebid.server.settings.model.Account;
 import org.prebid.server.settings.model.AccountAuctionConfig;
 import org.prebid.server.settings.model.AccountPriceFloorsConfig;
 import org.prebid.server.settings.model.AccountPriceFloorsFetchConfig;
+import org.prebid.server.snapshot.Snapshottable;
 import org.prebid.server.util.HttpUtil;
 import org.prebid.server.util.ObjectUtil;
 import org.prebid.server.vertx.http.HttpClient;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -42,10 +45,15 @@ import java.util.concurrent.TimeoutException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public class PriceFloorFetcher {
+public class PriceFloorFetcher implements Snapshottable<Map<String, PriceFloorData>> {
 
     private static final Logger logger = LoggerFactory.getLogger(PriceFloorFetcher.class);
 
+    private static final String SNAPSHOT_NAME = "price-floors";
+    private static final TypeReference<Map<String, PriceFloorData>> SNAPSHOT_TYPE_REFERENCE =
+            new TypeReference<>() {
+            };
+
     private static final int ACCOUNT_FETCH_TIMEOUT_MS = 5000;
     private static final int MAXIMUM_CACHE_SIZE = 300;
     private static final int MIN_MAX_AGE_SEC_VALUE = 600;
@@ -88,10 +96,30 @@ public class PriceFloorFetcher {
 
     public FetchResult fetch(Account account) {
         final AccountFetchContext accountFetchContext = fetchedData.get(account.getId());
+        if (accountFetchContext == null) {
+            return fetchPriceFloorData(account);
+        }
+
+        if (accountFetchContext.isRestored()) {
+            refreshRestored(account);
+        }
 
-        return accountFetchContext != null
-                ? FetchResult.of(accountFetchContext.getRulesData(), accountFetchContext.getFetchStatus())
-                : fetchPriceFloorData(account);
+        return FetchResult.of(accountFetchContext.getRulesData(), accountFetchContext.getFetchStatus());
+    }
+
+    /**
+     * Starts fetching of rules restored from snapshot, they are still served until fetch is finished.
+     */
+    private void refreshRestored(Account account) {
+        final String accountId = account.getId();
+        if (fetchInProgress.contains(accountId)) {
+            return;
+        }
+
+        if (fetchPriceFloorData(account).getFetchStatus() != FetchStatus.inprogress) {
+            // fetching is disabled or misconfigured for account, so restored rules should not be used anymore
+            fetchedData.remove(accountId);
+        }
     }
 
     private FetchResult fetchPriceFloorData(Account account) {
@@ -224,10 +252,15 @@ public class PriceFloorFetcher {
 
         long maxAgeTimerId = createMaxAgeTimer(accountId, resolveCacheTtl(cacheInfo, fetchConfig));
         final AccountFetchContext fetchContext =
-                AccountFetchContext.of(cacheInfo.getRulesData(), cacheInfo.getFetchStatus(), maxAgeTimerId);
+                AccountFetchContext.of(cacheInfo.getRulesData(), cacheInfo.getFetchStatus(), maxAgeTimerId, false);
 
-        if (cacheInfo.getFetchStatus() == FetchStatus.success || !fetchedData.containsKey(accountId)) {
+        final AccountFetchContext previousFetchContext = fetchedData.get(accountId);
+        if (cacheInfo.getFetchStatus() == FetchStatus.success || previousFetchContext == null) {
             fetchedData.put(accountId, fetchContext);
+        } else if (previousFetchContext.isRestored()) {
+            // restored rules are kept until the next periodic fetch, but are not refreshed on each request anymore
+            fetchedData.put(accountId, AccountFetchContext.of(previousFetchContext.getRulesData(),
+                    previousFetchContext.getFetchStatus(), maxAgeTimerId, false));
         }
 
         fetchInProgress.remove(accountId);
@@ -317,6 +350,44 @@ public class PriceFloorFetcher {
                 .recover(ignored -> Future.succeededFuture());
     }
 
+    @Override
+    public String snapshotName() {
+        return SNAPSHOT_NAME;
+    }
+
+    @Override
+    public TypeReference<Map<String, PriceFloorData>> snapshotType() {
+        return SNAPSHOT_TYPE_REFERENCE;
+    }
+
+    /**
+     * Returns successfully fetched rules by account.
+     */
+    @Override
+    public Map<String, PriceFloorData> snapshot() {
+        final Map<String, PriceFloorData> snapshot = new HashMap<>();
+        fetchedData.forEach((accountId, fetchContext) -> {
+            if (fetchContext.getFetchStatus() == FetchStatus.success && fetchContext.getRulesData() != null) {
+                snapshot.put(accountId, fetchContext.getRulesData());
+            }
+        });
+        return snapshot;
+    }
+
+    /**
+     * Restores rules fetched before restart, they expire after minimal max age and are fetched again on the first
+     * request of account.
+     */
+    @Override
+    public void restore(Map<String, PriceFloorData> snapshot) {
+        snapshot.forEach((accountId, rulesData) -> {
+            if (rulesData != null) {
+                final long maxAgeTimerId = createMaxAgeTimer(accountId, MIN_MAX_AGE_SEC_VALUE);
+                fetchedData.put(accountId, AccountFetchContext.of(rulesData, FetchStatus.success, maxAgeTimerId, true));
+            }
+        });
+    }
+
     @Value(staticConstructor = "of")
     private static class AccountFetchContext {
 
@@ -325,6 +396,8 @@ public class PriceFloorFetcher {
         FetchStatus fetchStatus;
 
         Long maxAgeTimerId;
+
+        boolean restored;
     }
 
     @Value(staticConstructor = "of")
@@ -0,0 +1,356 @@
+package org.prebid.server.floors;
+
+import org.apache.commons.collections4.IterableUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.math3.util.CombinatoricsUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Floor rules of a single model group prepared for lookups.
+ * <p>
+ * Rule keys are lowercased once and split by schema delimiter into a tree of segments, so rule key candidates
+ * are matched segment by segment instead of being joined into strings and looked up in rules map.
+ * Candidates are checked in the same order as {@link RuleKeyCandidateIterator} produces them.
+ */
+class PriceFloorRulesIndex {
+
+    private static final String WILDCARD_CATCH_ALL = "*";
+
+    private static final Map<Integer, int[]> WILDCARD_MASKS_BY_SEGMENTS_NUM = new ConcurrentHashMap<>();
+
+    private final String delimiter;
+    private final Map<String, BigDecimal> rules;
+    private final Node root;
+
+    private PriceFloorRulesIndex(String delimiter, Map<String, BigDecimal> rules) {
+        this.delimiter = Objects.requireNonNull(delimiter);
+        this.rules = Objects.requireNonNull(rules);
+
+        root = new Node();
+        final Pattern delimiterPattern = Pattern.compile(Pattern.quote(delimiter));
+        rules.keySet().forEach(rule -> root.add(delimiterPattern.split(rule, -1), rule));
+    }
+
+    static PriceFloorRulesIndex of(String delimiter, Map<String, BigDecimal> rules) {
+        return new PriceFloorRulesIndex(delimiter, keysToLowerCase(rules));
+    }
+
+    BigDecimal floorForRule(String rule) {
+        return rules.get(rule);
+    }
+
+    /**
+     * Returns the first rule matching the desired rule key, where each element of desired rule key holds
+     * lowercased values acceptable for the corresponding schema field.
+     */
+    String findRule(List<List<String>> desiredRuleKey) {
+        // values containing delimiter chars can't be reliably matched by segments, so fallback to comparing whole keys
+        if (delimiter.isEmpty() || containsDelimiter(desiredRuleKey)) {
+            return RuleKeyCandidateIterator.from(desiredRuleKey, delimiter).asStream()
+                    .filter(rules::containsKey)
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        final int segmentsNum = desiredRuleKey.size();
+        final int implicitWildcardsMask = implicitWildcardsMask(desiredRuleKey);
+        final int biggestRuleKeySize = desiredRuleKey.stream().mapToInt(List::size).max().orElse(0);
+
+        for (int wildcardsMask : wildcardMasks(segmentsNum)) {
+            if ((wildcardsMask & implicitWildcardsMask) == implicitWildcardsMask) {
+                final String rule = findRuleForWildcards(desiredRuleKey, wildcardsMask, biggestRuleKeySize);
+                if (rule != null) {
+                    return rule;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private boolean containsDelimiter(List<List<String>> desiredRuleKey) {
+        for (List<String> values : desiredRuleKey) {
+            for (String value : values) {
+                if (StringUtils.containsAny(value, delimiter)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int implicitWildcardsMask(List<List<String>> desiredRuleKey) {
+        final int segmentsNum = desiredRuleKey.size();
+
+        int mask = 0;
+        for (int i = 0; i < segmentsNum; i++) {
+            if (desiredRuleKey.get(i).get(0).equals(WILDCARD_CATCH_ALL)) {
+                mask |= positionBit(i, segmentsNum);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Position bits are assigned so that masks with fewer wildcards go first and, among masks with the same number
+     * of wildcards, numeric order matches {@link RuleKeyCandidateIterator} weights: the later positions are
+     * replaced with wildcard first.
+     */
+    private static int positionBit(int position, int segmentsNum) {
+        return 1 << (segmentsNum - 1 - position);
+    }
+
+    private static int[] wildcardMasks(int segmentsNum) {
+        return WILDCARD_MASKS_BY_SEGMENTS_NUM.computeIfAbsent(segmentsNum, key -> IntStream.range(0, 1 << key)
+                .boxed()
+                .sorted(Comparator.comparingInt(Integer::bitCount).thenComparingInt(Integer::intValue))
+                .mapToInt(Integer::intValue)
+                .toArray());
+    }
+
+    /**
+     * Checks the same candidates {@link RuleKeyCandidateIterator} builds for a single wildcards combination.
+     */
+    private String findRuleForWildcards(List<List<String>> desiredRuleKey,
+                                        int wildcardsMask,
+                                        int biggestRuleKeySize) {
+
+        final int segmentsNum = desiredRuleKey.size();
+
+        String foundRule = null;
+        for (int position = 0; position < segmentsNum; position++) {
+            for (String value : desiredRuleKey.get(position)) {
+                for (int index = 0; index < biggestRuleKeySize; index++) {
+                    final String rule = findRuleForCandidate(desiredRuleKey, wildcardsMask, position, value, index);
+                    if (rule == null || rule.equals(foundRule)) {
+                        continue;
+                    }
+                    if (foundRule != null) {
+                        return resolveAmbiguousRule(desiredRuleKey, wildcardsMask);
+                    }
+                    foundRule = rule;
+                }
+            }
+        }
+
+        return foundRule;
+    }
+
+    private String findRuleForCandidate(List<List<String>> desiredRuleKey,
+                                        int wildcardsMask,
+                                        int position,
+                                        String value,
+                                        int index) {
+
+        final int segmentsNum = desiredRuleKey.size();
+
+        Node node = root;
+        for (int i = 0; i < segmentsNum && node != null; i++) {
+            final String segment;
+            if ((wildcardsMask & positionBit(i, segmentsNum)) != 0) {
+                segment = WILDCARD_CATCH_ALL;
+            } else if (i == position) {
+                segment = value;
+            } else {
+                segment = getLastOrNext(desiredRuleKey.get(i), index);
+            }
+
+            node = node.children.get(segment);
+        }
+
+        return node != null ? node.rule : null;
+    }
+
+    /**
+     * Several rules match candidates of the same wildcards combination, so the choice between them depends on
+     * candidates iteration order, which is reproduced as is.
+     */
+    private String resolveAmbiguousRule(List<List<String>> desiredRuleKey, int wildcardsMask) {
+        final int segmentsNum = desiredRuleKey.size();
+        final List<Integer> combination = IntStream.range(0, segmentsNum)
+                .filter(i -> (wildcardsMask & positionBit(i, segmentsNum)) != 0)
+                .boxed()
+                .toList();
+
+        return RuleKeyCandidateIterator.combinationToCandidate(combination, desiredRuleKey, delimiter).stream()
+                .filter(rules::containsKey)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static String getLastOrNext(List<String> ruleKeys, int index) {
+        if (ruleKeys.size() <= index) {
+            return ruleKeys.get(ruleKeys.size() - 1);
+        }
+
+        return IterableUtils.get(ruleKeys, index);
+    }
+
+    private static <V> Map<String, V> keysToLowerCase(Map<String, V> map) {
+        return map.entrySet().stream()
+                .collect(Collectors.toMap(entry -> entry.getKey().toLowerCase(), Map.Entry::getValue));
+    }
+
+    private static class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+
+        private String rule;
+
+        private void add(String[] segments, String rule) {
+            Node node = this;
+            for (String segment : segments) {
+                node = node.children.computeIfAbsent(segment, key -> new Node());
+            }
+            node.rule = rule;
+        }
+    }
+
+    private static class RuleKeyCandidateIterator implements Iterator<String> {
+
+        private final List<List<String>> desiredRuleKey;
+        private final String delimiter;
+
+        private int wildcardNum;
+        private Iterator<String> currentIterator = null;
+        private final List<Integer> implicitWildcardIndexes;
+
+        private RuleKeyCandidateIterator(List<List<String>> desiredRuleKey, String delimiter) {
+            this.desiredRuleKey = desiredRuleKey;
+            this.delimiter = delimiter;
+
+            implicitWildcardIndexes = findImplicitWildcards(desiredRuleKey);
+            wildcardNum = implicitWildcardIndexes.size();
+        }
+
+        public static RuleKeyCandidateIterator from(List<List<String>> desiredRuleKey, String delimiter) {
+            return new RuleKeyCandidateIterator(desiredRuleKey, delimiter);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return wildcardNum <= desiredRuleKey.size();
+        }
+
+        @Override
+        public String next() {
+            if (currentIterator == null && wildcardNum <= desiredRuleKey.size()) {
+                currentIterator = createIterator(wildcardNum, desiredRuleKey, delimiter);
+            }
+
+            if (currentIterator != null) {
+                final String candidate = currentIterator.next();
+
+                if (!currentIterator.hasNext()) {
+                    currentIterator = null;
+                    wildcardNum++;
+                }
+
+                return candidate;
+            }
+
+            throw new NoSuchElementException();
+        }
+
+        public Stream<String> asStream() {
+            return asStream(this);
+        }
+
+        private static <T> Stream<T> asStream(Iterator<T> iterator) {
+            return StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
+        }
+
+        private static List<Integer> findImplicitWildcards(List<List<String>> desiredRuleKey) {
+            return IntStream.range(0, desiredRuleKey.size())
+                    .filter(i -> desiredRuleKey.get(i).get(0).equals(WILDCARD_CATCH_ALL))
+                    .boxed()
+                    .toList();
+        }
+
+        private Iterator<String> createIterator(int wildcardNum, List<List<String>> desiredRuleKey, String delimiter) {
+            final int ruleSegmentsNum = desiredRuleKey.size();
+
+            return asStream(CombinatoricsUtils.combinationsIterator(ruleSegmentsNum, wildcardNum))
+                    .map(combination -> IntStream.of(combination).boxed().toList())
+                    .filter(combination -> combination.containsAll(implicitWildcardIndexes))
+                    .sorted(Comparator.comparingInt(combination -> calculateWeight(combination, ruleSegmentsNum)))
+                    .flatMap(combination -> combinationToCandidate(combination, desiredRuleKey, delimiter).stream())
+                    .iterator();
+        }
+
+        private static Integer calculateWeight(List<Integer> combination, int ruleSegmentsNum) {
+            return combination.stream()
+                    .mapToInt(i -> 1 << (ruleSegmentsNum - i))
+                    .sum();
+        }
+
+        private static Set<String> combinationToCandidate(List<Integer> combination,
+                                                          List<List<String>> desiredRuleKey,
+                                                          String delimiter) {
+
+            int biggestRuleKeySize = desiredRuleKey.stream().mapToInt(List::size)
+                    .boxed()
+                    .max(Integer::compare)
+                    .orElse(0);
+
+            final List<List<String>> candidates = IntStream.range(0, desiredRuleKey.size())
+                    .boxed()
+                    .map(position -> candidatesForPosition(position, desiredRuleKey, biggestRuleKeySize))
+                    .flatMap(Collection::stream)
+                    .toList();
+
+            for (final int positionToReplace : combination) {
+                candidates.forEach(candidate -> candidate.set(positionToReplace, WILDCARD_CATCH_ALL));
+            }
+
+            return candidates.stream()
+                    .map(candidate -> String.join(delimiter, candidate))
+                    .collect(Collectors.toSet());
+        }
+
+        private static List<List<String>> candidatesForPosition(int multPosition,
+                                                                List<List<String>> desiredRuleKey,
+                                                                int biggestRuleKeySize) {
+            return desiredRuleKey.get(multPosition).stream()
+                    .flatMap(ruleKey -> IntStream.range(0, biggestRuleKeySize)
+                            .mapToObj(i -> candidateForPosition(desiredRuleKey, ruleKey, multPosition, i)))
+                    .toList();
+        }
+
+        private static List<String> candidateForPosition(List<List<String>> desiredRuleKey,
+                                                         String currentRuleKey,
+                                                         int currentPosition,
+                                                         int position) {
+
+            return IntStream.range(0, desiredRuleKey.size())
+                    .mapToObj(index -> {
+                        if (index == currentPosition) {
+                            return currentRuleKey;
+                        } else {
+                            return getLastOrNext(desiredRuleKey.get(index), position);
+                        }
+                    })
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+}
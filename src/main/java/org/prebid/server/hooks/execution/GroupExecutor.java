@@ -3,8 +3,9 @@ package org.prebid.server.hooks.execution;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
-import io.vertx.core.Vertx;
 import io.vertx.core.logging.LoggerFactory;
+import org.prebid.server.execution.DeadlineScheduler;
+import org.prebid.server.execution.DeadlineScheduler.Deadline;
 import org.prebid.server.hooks.execution.model.ExecutionGroup;
 import org.prebid.server.hooks.execution.model.HookExecutionContext;
 import org.prebid.server.hooks.execution.model.HookId;
@@ -23,7 +24,7 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
     private static final ConditionalLogger conditionalLogger =
             new ConditionalLogger(LoggerFactory.getLogger(GroupExecutor.class));
 
-    private final Vertx vertx;
+    private final DeadlineScheduler deadlineScheduler;
     private final Clock clock;
 
     private ExecutionGroup group;
@@ -33,16 +34,16 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
     private HookExecutionContext hookExecutionContext;
     private boolean rejectAllowed;
 
-    private GroupExecutor(Vertx vertx, Clock clock) {
-        this.vertx = vertx;
+    private GroupExecutor(DeadlineScheduler deadlineScheduler, Clock clock) {
+        this.deadlineScheduler = deadlineScheduler;
         this.clock = clock;
     }
 
     public static <PAYLOAD, CONTEXT extends InvocationContext> GroupExecutor<PAYLOAD, CONTEXT> create(
-            Vertx vertx,
+            DeadlineScheduler deadlineScheduler,
             Clock clock) {
 
-        return new GroupExecutor<>(vertx, clock);
+        return new GroupExecutor<>(deadlineScheduler, clock);
     }
 
     public GroupExecutor<PAYLOAD, CONTEXT> withGroup(ExecutionGroup group) {
@@ -117,10 +118,10 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
     private <T> Future<T> executeWithTimeout(Supplier<Future<T>> action, Long timeout) {
         final Promise<T> promise = Promise.promise();
 
-        final long timeoutTimerId = vertx.setTimer(timeout, id -> failWithTimeout(promise));
+        final Deadline deadline = deadlineScheduler.schedule(timeout, ignored -> failWithTimeout(promise));
 
         executeSafely(action)
-                .onComplete(result -> completeWithActionResult(promise, timeoutTimerId, result));
+                .onComplete(result -> completeWithActionResult(promise, deadline, result));
 
         return promise.future();
     }
@@ -141,8 +142,8 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
         }
     }
 
-    private <T> void completeWithActionResult(Promise<T> promise, long timeoutTimerId, AsyncResult<T> result) {
-        vertx.cancelTimer(timeoutTimerId);
+    private static <T> void completeWithActionResult(Promise<T> promise, Deadline deadline, AsyncResult<T> result) {
+        deadline.cancel();
 
         // check is to avoid harmless exception if timeout exceeds before successful result becomes ready
         if (!promise.future().isComplete()) {
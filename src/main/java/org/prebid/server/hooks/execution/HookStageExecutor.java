@@ -4,12 +4,12 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.response.BidResponse;
 import io.vertx.core.Future;
-import io.vertx.core.Vertx;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.BidderRequest;
 import org.prebid.server.auction.model.BidderResponse;
 import org.prebid.server.bidder.model.BidderBid;
+import org.prebid.server.execution.DeadlineScheduler;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.hooks.execution.model.EndpointExecutionPlan;
@@ -66,21 +66,21 @@ public class HookStageExecutor {
     private final ExecutionPlan defaultAccountExecutionPlan;
     private final HookCatalog hookCatalog;
     private final TimeoutFactory timeoutFactory;
-    private final Vertx vertx;
+    private final DeadlineScheduler deadlineScheduler;
     private final Clock clock;
 
     private HookStageExecutor(ExecutionPlan hostExecutionPlan,
                               ExecutionPlan defaultAccountExecutionPlan,
                               HookCatalog hookCatalog,
                               TimeoutFactory timeoutFactory,
-                              Vertx vertx,
+                              DeadlineScheduler deadlineScheduler,
                               Clock clock) {
 
         this.hostExecutionPlan = hostExecutionPlan;
         this.defaultAccountExecutionPlan = defaultAccountExecutionPlan;
         this.hookCatalog = hookCatalog;
         this.timeoutFactory = timeoutFactory;
-        this.vertx = vertx;
+        this.deadlineScheduler = deadlineScheduler;
         this.clock = clock;
     }
 
@@ -88,7 +88,7 @@ public class HookStageExecutor {
                                            String defaultAccountExecutionPlan,
                                            HookCatalog hookCatalog,
                                            TimeoutFactory timeoutFactory,
-                                           Vertx vertx,
+                                           DeadlineScheduler deadlineScheduler,
                                            Clock clock,
                                            JacksonMapper mapper) {
 
@@ -100,7 +100,7 @@ public class HookStageExecutor {
                 parseAndValidateExecutionPlan(defaultAccountExecutionPlan, mapper, hookCatalog),
                 hookCatalog,
                 Objects.requireNonNull(timeoutFactory),
-                Objects.requireNonNull(vertx),
+                Objects.requireNonNull(deadlineScheduler),
                 Objects.requireNonNull(clock));
     }
 
@@ -252,7 +252,7 @@ public class HookStageExecutor {
             String entity,
             HookExecutionContext context) {
 
-        return StageExecutor.<PAYLOAD, CONTEXT>create(hookCatalog, vertx, clock)
+        return StageExecutor.<PAYLOAD, CONTEXT>create(hookCatalog, deadlineScheduler, clock)
                 .withStage(stage)
                 .withEntity(entity)
                 .withHookExecutionContext(context);
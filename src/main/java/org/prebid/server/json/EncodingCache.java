@@ -0,0 +1,63 @@
+package org.prebid.server.json;
+
+import com.fasterxml.jackson.core.SerializableString;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Keeps JSON of objects encoded while this cache is in use, so the same object instance shared by several encoded
+ * values is serialized only once and its JSON is copied into the others.
+ * <p>
+ * Objects are cached by identity, so only objects that are never modified after the first encoding may be cached.
+ * Which types are cached is defined by {@link EncodingCacheModule}.
+ */
+public class EncodingCache {
+
+    private static final ThreadLocal<EncodingCache> CURRENT = new ThreadLocal<>();
+
+    // the same cache may be used by different threads, e.g. when bidders are requested after asynchronous hooks
+    private final Map<Object, SerializableString> encodedValues = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * Calls given supplier with this cache used by all encodings made by the calling thread until supplier returns.
+     */
+    public <T> T use(Supplier<T> supplier) {
+        final EncodingCache previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return supplier.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    static EncodingCache current() {
+        return CURRENT.get();
+    }
+
+    SerializableString encoded(Object value, Encoder encoder) throws IOException {
+        final SerializableString cached = encodedValues.get(value);
+        if (cached != null) {
+            return cached;
+        }
+
+        // encoded outside of map lock, so other threads are not blocked while encoding
+        final SerializableString encoded = encoder.encode(value);
+        encodedValues.put(value, encoded);
+        return encoded;
+    }
+
+    @FunctionalInterface
+    interface Encoder {
+
+        SerializableString encode(Object value) throws IOException;
+    }
+}
@@ -0,0 +1,128 @@
+package org.prebid.server.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.iab.openrtb.request.App;
+import com.iab.openrtb.request.Device;
+import com.iab.openrtb.request.Regs;
+import com.iab.openrtb.request.Site;
+import com.iab.openrtb.request.Source;
+import com.iab.openrtb.request.User;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Set;
+
+/**
+ * Serializes request parts usually shared by requests of all bidders with {@link EncodingCache} in use, if any.
+ */
+class EncodingCacheModule extends SimpleModule {
+
+    private static final Set<Class<?>> CACHED_TYPES =
+            Set.of(Device.class, User.class, Site.class, App.class, Regs.class, Source.class);
+
+    EncodingCacheModule() {
+        setSerializerModifier(new EncodingCacheSerializerModifier());
+    }
+
+    private static class EncodingCacheSerializerModifier extends BeanSerializerModifier {
+
+        @Override
+        public JsonSerializer<?> modifySerializer(SerializationConfig config,
+                                                  BeanDescription beanDesc,
+                                                  JsonSerializer<?> serializer) {
+
+            return CACHED_TYPES.contains(beanDesc.getBeanClass())
+                    ? new EncodingCacheSerializer(serializer)
+                    : serializer;
+        }
+    }
+
+    private static class EncodingCacheSerializer extends JsonSerializer<Object>
+            implements ContextualSerializer, ResolvableSerializer {
+
+        private final JsonSerializer<Object> serializer;
+
+        @SuppressWarnings("unchecked")
+        EncodingCacheSerializer(JsonSerializer<?> serializer) {
+            this.serializer = (JsonSerializer<Object>) serializer;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            final EncodingCache encodingCache = EncodingCache.current();
+            // raw value can't be converted to tree or other objects, e.g. by ObjectMapper.valueToTree
+            if (encodingCache == null || generator.getCodec() == null || generator instanceof TokenBuffer) {
+                serializer.serialize(value, generator, provider);
+                return;
+            }
+
+            generator.writeRawValue(encodingCache.encoded(value, ignored -> encode(value, generator, provider)));
+        }
+
+        private SerializableString encode(Object value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+
+            final ObjectCodec codec = generator.getCodec();
+            final StringWriter writer = new StringWriter();
+            try (JsonGenerator valueGenerator = codec.getFactory().createGenerator(writer)) {
+                valueGenerator.setCodec(codec);
+                provider.getConfig().initialize(valueGenerator);
+                serializer.serialize(value, valueGenerator, provider);
+            }
+
+            return new SerializedString(writer.toString());
+        }
+
+        @Override
+        public void serializeWithType(Object value,
+                                      JsonGenerator generator,
+                                      SerializerProvider provider,
+                                      TypeSerializer typeSerializer) throws IOException {
+
+            serializer.serializeWithType(value, generator, provider, typeSerializer);
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, Object value) {
+            return serializer.isEmpty(provider, value);
+        }
+
+        @Override
+        public Class<Object> handledType() {
+            return serializer.handledType();
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+
+            if (serializer instanceof ContextualSerializer contextualSerializer) {
+                final JsonSerializer<?> contextual = contextualSerializer.createContextual(provider, property);
+                return contextual != serializer ? new EncodingCacheSerializer(contextual) : this;
+            }
+            return this;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (serializer instanceof ResolvableSerializer resolvableSerializer) {
+                resolvableSerializer.resolve(provider);
+            }
+        }
+    }
+}
@@ -2,12 +2,15 @@ package org.prebid.server.json;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.github.fge.jsonpatch.JsonPatchException;
 import com.github.fge.jsonpatch.mergepatch.JsonMergePatch;
 import org.apache.commons.lang3.ObjectUtils;
 import org.prebid.server.exception.InvalidRequestException;
 
 import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Objects;
 
 public class JsonMerger {
@@ -24,21 +27,25 @@ public class JsonMerger {
      * with reason message.
      */
     public <T> T merge(T originalObject, String storedData, String id, Class<T> classToCast) {
-        final JsonNode originJsonNode = mapper.mapper().valueToTree(originalObject);
         final JsonNode storedRequestJsonNode;
         try {
             storedRequestJsonNode = mapper.mapper().readTree(storedData);
         } catch (IOException e) {
             throw new InvalidRequestException("Can't parse Json for stored request with id " + id);
         }
+        return merge(originalObject, storedRequestJsonNode, id, classToCast);
+    }
+
+    /**
+     * Does the same as {@link #merge(Object, String, String, Class)} but for already parsed stored data.
+     * Passed stored data node stays untouched, so it can be shared between requests.
+     */
+    public <T> T merge(T originalObject, JsonNode storedData, String id, Class<T> classToCast) {
+        final JsonNode originJsonNode = mapper.mapper().valueToTree(originalObject);
         try {
             // Http request fields have higher priority and will override fields from stored requests
             // in case they have different values
-            return mapper.mapper().treeToValue(JsonMergePatch.fromJson(originJsonNode).apply(storedRequestJsonNode),
-                    classToCast);
-        } catch (JsonPatchException e) {
-            throw new InvalidRequestException(
-                    "Couldn't create merge patch from origin object node for id %s: %s".formatted(id, e.getMessage()));
+            return mapper.mapper().treeToValue(applyMergePatch(storedData, originJsonNode), classToCast);
         } catch (JsonProcessingException e) {
             throw new InvalidRequestException(
                     "Can't convert merging result for id %s: %s".formatted(id, e.getMessage()));
@@ -53,11 +60,8 @@ public class JsonMerger {
         final JsonNode originJsonNode = mapper.mapper().valueToTree(originalObject);
         final JsonNode mergingObjectJsonNode = mapper.mapper().valueToTree(mergingObject);
         try {
-            final JsonNode mergedNode = JsonMergePatch.fromJson(originJsonNode).apply(mergingObjectJsonNode);
+            final JsonNode mergedNode = applyMergePatch(mergingObjectJsonNode, originJsonNode);
             return mapper.mapper().treeToValue(mergedNode, classToCast);
-        } catch (JsonPatchException e) {
-            throw new InvalidRequestException(
-                    "Couldn't create merge patch for objects with class " + classToCast.getName());
         } catch (JsonProcessingException e) {
             throw new InvalidRequestException("Can't convert merging result class " + classToCast.getName());
         }
@@ -75,4 +79,35 @@ public class JsonMerger {
             throw new InvalidRequestException("Couldn't create merge patch for json nodes");
         }
     }
+
+    /**
+     * Applies JSON merge patch (RFC 7386) to the target the same way {@link JsonMergePatch} does, but without
+     * deep copying the whole target: only objects on the patched paths are copied, all other target nodes are
+     * shared with the result. Neither target nor patch is modified, but the result must be used as read-only.
+     */
+    private JsonNode applyMergePatch(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch;
+        }
+
+        final ObjectNode result = mapper.mapper().createObjectNode();
+        if (target != null && target.isObject()) {
+            result.setAll((ObjectNode) target);
+        }
+
+        final Iterator<Map.Entry<String, JsonNode>> patchFields = patch.fields();
+        while (patchFields.hasNext()) {
+            final Map.Entry<String, JsonNode> patchField = patchFields.next();
+            final String fieldName = patchField.getKey();
+            final JsonNode patchValue = patchField.getValue();
+
+            if (patchValue.isNull()) {
+                result.remove(fieldName);
+            } else {
+                result.set(fieldName, applyMergePatch(result.get(fieldName), patchValue));
+            }
+        }
+
+        return result;
+    }
 }
@@ -2,9 +2,9 @@ package org.prebid.server.metric;
 
 import com.codahale.metrics.MetricRegistry;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -12,9 +12,6 @@ import java.util.function.Function;
  */
 class AccountMetrics extends UpdatableMetrics {
 
-    // not thread-safe maps are intentionally used here because it's harmless in this particular case - eventually
-    // this all boils down to metrics lookup by underlying metric registry and that operation is guaranteed to be
-    // thread-safe
     private final Function<MetricName, RequestTypeMetrics> requestTypeMetricsCreator;
     private final Map<MetricName, RequestTypeMetrics> requestTypeMetrics;
     private final AdapterMetrics adapterMetrics;
@@ -29,7 +26,7 @@ class AccountMetrics extends UpdatableMetrics {
         requestTypeMetricsCreator = requestType ->
                 new RequestTypeMetrics(metricRegistry, counterType, createPrefix(account), requestType);
         adapterMetrics = new AdapterMetrics(metricRegistry, counterType, createPrefix(account));
-        requestTypeMetrics = new HashMap<>();
+        requestTypeMetrics = new ConcurrentHashMap<>();
         requestsMetrics = new RequestMetrics(metricRegistry, counterType, createPrefix(account));
         cacheMetrics = new CacheMetrics(metricRegistry, counterType, createPrefix(account));
         responseMetrics = new ResponseMetrics(metricRegistry, counterType, createPrefix(account));
@@ -4,21 +4,39 @@ import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
 import org.prebid.server.settings.model.Account;
 import org.prebid.server.settings.model.AccountMetricsConfig;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 public class AccountMetricsVerbosityResolver {
 
+    static final String OTHER_ACCOUNTS = "other";
+
     private final AccountMetricsVerbosityLevel defaultVerbosity;
     private final Map<String, AccountMetricsVerbosityLevel> accountVerbosityLevels;
+    private final TopAccountsTracker topAccountsTracker;
 
     public AccountMetricsVerbosityResolver(AccountMetricsVerbosityLevel defaultVerbosity,
                                            List<String> basicVerbosity,
                                            List<String> detailedVerbosity) {
 
+        this(defaultVerbosity, basicVerbosity, detailedVerbosity, null);
+    }
+
+    /**
+     * When {@link TopAccountsTracker} is given, only top accounts and accounts listed in configuration get their own
+     * metrics, metrics of other accounts are aggregated with at most basic verbosity.
+     */
+    public AccountMetricsVerbosityResolver(AccountMetricsVerbosityLevel defaultVerbosity,
+                                           List<String> basicVerbosity,
+                                           List<String> detailedVerbosity,
+                                           TopAccountsTracker topAccountsTracker) {
+
         this.defaultVerbosity = Objects.requireNonNull(defaultVerbosity);
+        this.topAccountsTracker = topAccountsTracker;
 
         this.accountVerbosityLevels = new HashMap<>();
         Objects.requireNonNull(basicVerbosity)
@@ -32,8 +50,34 @@ public class AccountMetricsVerbosityResolver {
         final AccountMetricsVerbosityLevel accountVerbosity = metricsConfig != null
                 ? metricsConfig.getVerbosityLevel()
                 : null;
-        return accountVerbosity != null
+        final AccountMetricsVerbosityLevel verbosity = accountVerbosity != null
                 ? accountVerbosity
                 : accountVerbosityLevels.getOrDefault(account.getId(), defaultVerbosity);
+
+        return isAggregated(account.getId()) && verbosity.isAtLeast(AccountMetricsVerbosityLevel.basic)
+                ? AccountMetricsVerbosityLevel.basic
+                : verbosity;
+    }
+
+    /**
+     * Returns account id metrics of given account should be submitted with.
+     */
+    public String metricsAccountId(String accountId) {
+        return isAggregated(accountId) ? OTHER_ACCOUNTS : accountId;
+    }
+
+    /**
+     * Records request of given account, returns accounts which metrics are aggregated from now on.
+     */
+    public Set<String> recordRequest(String accountId) {
+        return isTracked(accountId) ? topAccountsTracker.record(accountId) : Collections.emptySet();
+    }
+
+    private boolean isAggregated(String accountId) {
+        return isTracked(accountId) && !topAccountsTracker.isTop(accountId);
+    }
+
+    private boolean isTracked(String accountId) {
+        return topAccountsTracker != null && !accountVerbosityLevels.containsKey(accountId);
     }
 }
@@ -2,9 +2,9 @@ package org.prebid.server.metric;
 
 import com.codahale.metrics.MetricRegistry;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -19,7 +19,7 @@ class AdapterMetrics extends UpdatableMetrics {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
                 nameCreator(createAdapterSuffix(Objects.requireNonNull(accountPrefix))));
 
-        adapterMetrics = new HashMap<>();
+        adapterMetrics = new ConcurrentHashMap<>();
         adapterMetricsCreator = adapterType -> new AdapterTypeMetrics(metricRegistry, counterType,
                 createAdapterSuffix(Objects.requireNonNull(accountPrefix)), adapterType);
     }
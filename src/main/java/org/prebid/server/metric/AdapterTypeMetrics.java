@@ -2,9 +2,9 @@ package org.prebid.server.metric;
 
 import com.codahale.metrics.MetricRegistry;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -27,9 +27,9 @@ class AdapterTypeMetrics extends UpdatableMetrics {
                 new BidTypeMetrics(metricRegistry, counterType, createAdapterPrefix(adapterType), bidType);
         requestTypeMetricsCreator = requestType ->
                 new RequestTypeMetrics(metricRegistry, counterType, createAdapterPrefix(adapterType), requestType);
-        requestTypeMetrics = new HashMap<>();
+        requestTypeMetrics = new ConcurrentHashMap<>();
         requestMetrics = new RequestMetrics(metricRegistry, counterType, createAdapterPrefix(adapterType));
-        bidTypeMetrics = new HashMap<>();
+        bidTypeMetrics = new ConcurrentHashMap<>();
         responseMetrics = new ResponseMetrics(metricRegistry, counterType, createAdapterPrefix(adapterType));
     }
 
@@ -5,6 +5,10 @@ public enum MetricName {
     // connection
     connection_accept_errors,
 
+    // deadlines
+    deadlines_pending,
+    deadline_lateness,
+
     // circuit breaker
     db,
     geo,
@@ -14,6 +18,8 @@ public enum MetricName {
 
     // database
     db_query_time,
+    db_batch_size,
+    db_batch_time,
 
     // geo location
     geolocation_requests,
@@ -26,6 +32,9 @@ public enum MetricName {
     app_requests,
     no_cookie_requests,
     request_time,
+    adaptive_timeout,
+    adaptive_timeout_lost,
+    ortb_conversion_time,
     prices,
     imps_requested,
     imps_banner,
@@ -101,6 +110,10 @@ public enum MetricName {
     missing,
     fallback,
 
+    // tcf caches
+    consent_cache("consent-cache"),
+    permissions_cache("permissions-cache"),
+
     // stored data
     stored_requests_found,
     stored_requests_missing,
@@ -122,11 +135,20 @@ public enum MetricName {
     // settings cache
     stored_request("stored-request"),
     amp_stored_request("amp-stored-request"),
+    stored_data_tree("stored-data-tree"),
     account,
     initialize,
     update,
     hit,
     miss,
+    coalesced,
+    background,
+    size,
+    weight,
+
+    // snapshot
+    saved,
+    restored,
 
     // hooks
     call,
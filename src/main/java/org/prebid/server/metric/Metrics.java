@@ -1,6 +1,12 @@
 package org.prebid.server.metric;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricRegistryListener;
+import com.codahale.metrics.Timer;
 import com.iab.openrtb.request.Imp;
 import org.prebid.server.hooks.execution.model.ExecutionAction;
 import org.prebid.server.hooks.execution.model.ExecutionStatus;
@@ -11,10 +17,12 @@ import org.prebid.server.settings.model.Account;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumMap;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.function.LongSupplier;
@@ -26,7 +34,9 @@ import java.util.stream.Collectors;
 public class Metrics extends UpdatableMetrics {
 
     private static final String ALL_REQUEST_BIDDERS = "all";
+    private static final String ACCOUNT_METRIC_PREFIX = "account.";
 
+    private final MetricRegistry metricRegistry;
     private final AccountMetricsVerbosityResolver accountMetricsVerbosityResolver;
 
     private final Function<MetricName, RequestStatusMetrics> requestMetricsCreator;
@@ -38,11 +48,10 @@ public class Metrics extends UpdatableMetrics {
     private final Function<Integer, BidderCardinalityMetrics> bidderCardinalityMetricsCreator;
     private final Function<MetricName, CircuitBreakerMetrics> circuitBreakerMetricsCreator;
     private final Function<MetricName, SettingsCacheMetrics> settingsCacheMetricsCreator;
-    // not thread-safe maps are intentionally used here because it's harmless in this particular case - eventually
-    // this all boils down to metrics lookup by underlying metric registry and that operation is guaranteed to be
-    // thread-safe
+    private final Function<String, SnapshotMetrics> snapshotMetricsCreator;
     private final Map<MetricName, RequestStatusMetrics> requestMetrics;
     private final Map<String, AccountMetrics> accountMetrics;
+    private final Map<String, Set<String>> accountMetricNames;
     private final Map<String, AdapterTypeMetrics> adapterMetrics;
     private final Map<String, AnalyticsReporterMetrics> analyticMetrics;
     private final Map<String, PriceFloorMetrics> priceFloorsMetrics;
@@ -56,6 +65,7 @@ public class Metrics extends UpdatableMetrics {
     private final TimeoutNotificationMetrics timeoutNotificationMetrics;
     private final CurrencyRatesMetrics currencyRatesMetrics;
     private final Map<MetricName, SettingsCacheMetrics> settingsCacheMetrics;
+    private final Map<String, SnapshotMetrics> snapshotMetrics;
     private final HooksMetrics hooksMetrics;
     private final PgMetrics pgMetrics;
 
@@ -63,6 +73,7 @@ public class Metrics extends UpdatableMetrics {
                    AccountMetricsVerbosityResolver accountMetricsVerbosityResolver) {
         super(metricRegistry, counterType, MetricName::toString);
 
+        this.metricRegistry = metricRegistry;
         this.accountMetricsVerbosityResolver = Objects.requireNonNull(accountMetricsVerbosityResolver);
 
         requestMetricsCreator = requestType -> new RequestStatusMetrics(metricRegistry, counterType, requestType);
@@ -78,23 +89,28 @@ public class Metrics extends UpdatableMetrics {
                 metricRegistry, counterType, account);
         circuitBreakerMetricsCreator = type -> new CircuitBreakerMetrics(metricRegistry, counterType, type);
         settingsCacheMetricsCreator = type -> new SettingsCacheMetrics(metricRegistry, counterType, type);
-        requestMetrics = new EnumMap<>(MetricName.class);
-        accountMetrics = new HashMap<>();
-        adapterMetrics = new HashMap<>();
-        analyticMetrics = new HashMap<>();
-        priceFloorsMetrics = new HashMap<>();
-        alertsMetrics = new HashMap<>();
-        bidderCardinailtyMetrics = new HashMap<>();
+        snapshotMetricsCreator = name -> new SnapshotMetrics(metricRegistry, counterType, name);
+        requestMetrics = new ConcurrentHashMap<>();
+        accountMetrics = new ConcurrentHashMap<>();
+        accountMetricNames = new ConcurrentHashMap<>();
+        adapterMetrics = new ConcurrentHashMap<>();
+        analyticMetrics = new ConcurrentHashMap<>();
+        priceFloorsMetrics = new ConcurrentHashMap<>();
+        alertsMetrics = new ConcurrentHashMap<>();
+        bidderCardinailtyMetrics = new ConcurrentHashMap<>();
         userSyncMetrics = new UserSyncMetrics(metricRegistry, counterType);
         cookieSyncMetrics = new CookieSyncMetrics(metricRegistry, counterType);
         privacyMetrics = new PrivacyMetrics(metricRegistry, counterType);
-        circuitBreakerMetrics = new HashMap<>();
+        circuitBreakerMetrics = new ConcurrentHashMap<>();
         cacheMetrics = new CacheMetrics(metricRegistry, counterType);
         timeoutNotificationMetrics = new TimeoutNotificationMetrics(metricRegistry, counterType);
         currencyRatesMetrics = new CurrencyRatesMetrics(metricRegistry, counterType);
-        settingsCacheMetrics = new HashMap<>();
+        settingsCacheMetrics = new ConcurrentHashMap<>();
+        snapshotMetrics = new ConcurrentHashMap<>();
         hooksMetrics = new HooksMetrics(metricRegistry, counterType);
         pgMetrics = new PgMetrics(metricRegistry, counterType);
+
+        metricRegistry.addListener(new AccountMetricNamesListener());
     }
 
     RequestStatusMetrics forRequestType(MetricName requestType) {
@@ -106,7 +122,8 @@ public class Metrics extends UpdatableMetrics {
     }
 
     AccountMetrics forAccount(String accountId) {
-        return accountMetrics.computeIfAbsent(accountId, accountMetricsCreator);
+        return accountMetrics.computeIfAbsent(
+                accountMetricsVerbosityResolver.metricsAccountId(accountId), accountMetricsCreator);
     }
 
     AdapterTypeMetrics forAdapter(String adapterType) {
@@ -161,6 +178,10 @@ public class Metrics extends UpdatableMetrics {
         return settingsCacheMetrics.computeIfAbsent(type, settingsCacheMetricsCreator);
     }
 
+    SnapshotMetrics forSnapshot(String name) {
+        return snapshotMetrics.computeIfAbsent(name, snapshotMetricsCreator);
+    }
+
     HooksMetrics hooks() {
         return hooksMetrics;
     }
@@ -219,6 +240,10 @@ public class Metrics extends UpdatableMetrics {
         updateTimer(requestType, millis);
     }
 
+    public void updateOrtbConversionTimeMetric(long nanos) {
+        updateTimer(MetricName.ortb_conversion_time, nanos, TimeUnit.NANOSECONDS);
+    }
+
     public void updateRequestTypeMetric(MetricName requestType, MetricName requestStatus) {
         forRequestType(requestType).incCounter(requestStatus);
     }
@@ -228,6 +253,8 @@ public class Metrics extends UpdatableMetrics {
     }
 
     public void updateAccountRequestMetrics(Account account, MetricName requestType) {
+        accountMetricsVerbosityResolver.recordRequest(account.getId()).forEach(this::removeAccountMetrics);
+
         final AccountMetricsVerbosityLevel verbosityLevel = accountMetricsVerbosityResolver.forAccount(account);
         if (verbosityLevel.isAtLeast(AccountMetricsVerbosityLevel.basic)) {
             final AccountMetrics accountMetrics = forAccount(account.getId());
@@ -239,6 +266,50 @@ public class Metrics extends UpdatableMetrics {
         }
     }
 
+    /**
+     * Removes registry entries of account by their names indexed on registration, so eviction does not scan whole
+     * registry on request path.
+     */
+    private void removeAccountMetrics(String accountId) {
+        // registry entries are removed while mapping of account is locked, so metrics of account created again
+        // right after eviction can't lose their registry entries
+        accountMetrics.compute(accountId, (ignored, evictedAccountMetrics) -> {
+            final Set<String> names = accountMetricNames.remove(accountId);
+            if (names != null) {
+                names.forEach(metricRegistry::remove);
+            }
+            return null;
+        });
+    }
+
+    private void indexAccountMetricName(String name) {
+        if (!name.startsWith(ACCOUNT_METRIC_PREFIX)) {
+            return;
+        }
+
+        final String accountId = resolveMetricAccountId(name);
+        if (accountId != null) {
+            accountMetricNames.computeIfAbsent(accountId, ignored -> ConcurrentHashMap.newKeySet()).add(name);
+        }
+    }
+
+    /**
+     * Account ID may contain dots, so the longest prefix of metric name known as account is taken. Metric may be
+     * registered by account which was just evicted, in this case account ID is considered to be without dots.
+     */
+    private String resolveMetricAccountId(String name) {
+        final int accountIdStart = ACCOUNT_METRIC_PREFIX.length();
+        for (int end = name.lastIndexOf('.'); end > accountIdStart; end = name.lastIndexOf('.', end - 1)) {
+            final String accountId = name.substring(accountIdStart, end);
+            if (accountMetrics.containsKey(accountId)) {
+                return accountId;
+            }
+        }
+
+        final int accountIdEnd = name.indexOf('.', accountIdStart);
+        return accountIdEnd > accountIdStart ? name.substring(accountIdStart, accountIdEnd) : null;
+    }
+
     public void updateAccountRequestRejectedByInvalidAccountMetrics(String accountId) {
         updateAccountRequestsMetrics(accountId, MetricName.rejected_by_invalid_account);
     }
@@ -276,6 +347,14 @@ public class Metrics extends UpdatableMetrics {
         }
     }
 
+    public void updateAdapterAdaptiveTimeout(String bidder, long timeoutMs) {
+        forAdapter(bidder).updateTimer(MetricName.adaptive_timeout, timeoutMs);
+    }
+
+    public void updateAdapterAdaptiveTimeoutLost(String bidder) {
+        forAdapter(bidder).incCounter(MetricName.adaptive_timeout_lost);
+    }
+
     public void updateAdapterRequestNobidMetrics(String bidder, Account account) {
         forAdapter(bidder).request().incCounter(MetricName.nobid);
         if (accountMetricsVerbosityResolver.forAccount(account).isAtLeast(AccountMetricsVerbosityLevel.detailed)) {
@@ -438,6 +517,14 @@ public class Metrics extends UpdatableMetrics {
         versionMetrics.incCounter(metricName);
     }
 
+    public void updatePrivacyTcfConsentCacheMetric(boolean hit) {
+        privacy().tcf().consentCache().incCounter(hit ? MetricName.hit : MetricName.miss);
+    }
+
+    public void updatePrivacyTcfPermissionsCacheMetric(boolean hit) {
+        privacy().tcf().permissionsCache().incCounter(hit ? MetricName.hit : MetricName.miss);
+    }
+
     public void updatePrivacyTcfVendorListMissingMetric(int version) {
         updatePrivacyTcfVendorListMetric(version, MetricName.missing);
     }
@@ -463,10 +550,26 @@ public class Metrics extends UpdatableMetrics {
         incCounter(MetricName.connection_accept_errors);
     }
 
+    public void createDeadlinesPendingGauge(LongSupplier numberSupplier) {
+        createGauge(MetricName.deadlines_pending, numberSupplier);
+    }
+
+    public void updateDeadlineLatenessMetric(long millis) {
+        updateTimer(MetricName.deadline_lateness, millis);
+    }
+
     public void updateDatabaseQueryTimeMetric(long millis) {
         updateTimer(MetricName.db_query_time, millis);
     }
 
+    public void updateDatabaseBatchSizeMetric(int batchSize) {
+        updateHistogram(MetricName.db_batch_size, batchSize);
+    }
+
+    public void updateDatabaseBatchTimeMetric(long millis) {
+        updateTimer(MetricName.db_batch_time, millis);
+    }
+
     public void createDatabaseCircuitBreakerGauge(BooleanSupplier stateSupplier) {
         forCircuitBreakerType(MetricName.db)
                 .createGauge(MetricName.opened, () -> stateSupplier.getAsBoolean() ? 1 : 0);
@@ -607,6 +710,14 @@ public class Metrics extends UpdatableMetrics {
         forSettingsCacheType(cacheType).incCounter(event);
     }
 
+    public void createSettingsCacheGauge(MetricName cacheType, MetricName gaugeName, LongSupplier supplier) {
+        forSettingsCacheType(cacheType).createGauge(gaugeName, supplier);
+    }
+
+    public void updateSnapshotMetric(String name, MetricName event) {
+        forSnapshot(name).incCounter(event);
+    }
+
     public void updateHooksMetrics(
             String moduleCode,
             Stage stage,
@@ -688,4 +799,32 @@ public class Metrics extends UpdatableMetrics {
     public void updateUserDetailsRequestPreparationFailed() {
         incCounter(MetricName.user_details_request_preparation_failed);
     }
+
+    private class AccountMetricNamesListener extends MetricRegistryListener.Base {
+
+        @Override
+        public void onGaugeAdded(String name, Gauge<?> gauge) {
+            indexAccountMetricName(name);
+        }
+
+        @Override
+        public void onCounterAdded(String name, Counter counter) {
+            indexAccountMetricName(name);
+        }
+
+        @Override
+        public void onHistogramAdded(String name, Histogram histogram) {
+            indexAccountMetricName(name);
+        }
+
+        @Override
+        public void onMeterAdded(String name, Meter meter) {
+            indexAccountMetricName(name);
+        }
+
+        @Override
+        public void onTimerAdded(String name, Timer timer) {
+            indexAccountMetricName(name);
+        }
+    }
 }
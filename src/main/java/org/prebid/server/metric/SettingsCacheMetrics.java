@@ -2,9 +2,9 @@ package org.prebid.server.metric;
 
 import com.codahale.metrics.MetricRegistry;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -21,7 +21,7 @@ class SettingsCacheMetrics extends UpdatableMetrics {
 
         refreshSettingsCacheMetricsCreator = refreshType ->
                 new RefreshSettingsCacheMetrics(metricRegistry, counterType, createPrefix(type), refreshType);
-        refreshSettingsCacheMetrics = new HashMap<>();
+        refreshSettingsCacheMetrics = new ConcurrentHashMap<>();
     }
 
     RefreshSettingsCacheMetrics forRefreshType(MetricName refreshType) {
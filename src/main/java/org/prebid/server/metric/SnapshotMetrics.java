@@ -0,0 +1,21 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Snapshot metrics support.
+ */
+class SnapshotMetrics extends UpdatableMetrics {
+
+    SnapshotMetrics(MetricRegistry metricRegistry, CounterType counterType, String name) {
+        super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                nameCreator(Objects.requireNonNull(name)));
+    }
+
+    private static Function<MetricName, String> nameCreator(String name) {
+        return metricName -> "snapshot.%s.%s".formatted(name, metricName);
+    }
+}
@@ -16,6 +16,8 @@ class TcfMetrics extends UpdatableMetrics {
 
     private final TcfVersionMetrics tcfVersion1Metrics;
     private final TcfVersionMetrics tcfVersion2Metrics;
+    private final TcfCacheMetrics consentCacheMetrics;
+    private final TcfCacheMetrics permissionsCacheMetrics;
 
     TcfMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix) {
         super(
@@ -25,6 +27,10 @@ class TcfMetrics extends UpdatableMetrics {
 
         tcfVersion1Metrics = new TcfVersionMetrics(metricRegistry, counterType, createTcfPrefix(prefix), "v1");
         tcfVersion2Metrics = new TcfVersionMetrics(metricRegistry, counterType, createTcfPrefix(prefix), "v2");
+        consentCacheMetrics = new TcfCacheMetrics(
+                metricRegistry, counterType, createTcfPrefix(prefix), MetricName.consent_cache);
+        permissionsCacheMetrics = new TcfCacheMetrics(
+                metricRegistry, counterType, createTcfPrefix(prefix), MetricName.permissions_cache);
     }
 
     TcfVersionMetrics fromVersion(int version) {
@@ -35,6 +41,14 @@ class TcfMetrics extends UpdatableMetrics {
         };
     }
 
+    TcfCacheMetrics consentCache() {
+        return consentCacheMetrics;
+    }
+
+    TcfCacheMetrics permissionsCache() {
+        return permissionsCacheMetrics;
+    }
+
     private static String createTcfPrefix(String prefix) {
         return prefix + ".tcf";
     }
@@ -87,4 +101,22 @@ class TcfMetrics extends UpdatableMetrics {
             return metricName -> "%s.%s".formatted(prefix, metricName);
         }
     }
+
+    static class TcfCacheMetrics extends UpdatableMetrics {
+
+        TcfCacheMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix, MetricName cacheType) {
+            super(
+                    Objects.requireNonNull(metricRegistry),
+                    Objects.requireNonNull(counterType),
+                    nameCreator(createCachePrefix(Objects.requireNonNull(prefix), Objects.requireNonNull(cacheType))));
+        }
+
+        private static String createCachePrefix(String prefix, MetricName cacheType) {
+            return "%s.%s".formatted(prefix, cacheType);
+        }
+
+        private static Function<MetricName, String> nameCreator(String prefix) {
+            return metricName -> "%s.%s".formatted(prefix, metricName);
+        }
+    }
 }
@@ -0,0 +1,257 @@
+package org.prebid.server.metric;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks accounts with the most requests using Space-Saving algorithm.
+ * <p>
+ * Sketch monitors fixed number of accounts, so its memory does not depend on number of accounts seen.
+ * Requests are recorded without locking into sketch of the recording thread. Once per refresh period sketches of
+ * threads are merged into the shared one and set of top accounts is published, which is read without locking.
+ * Thread hands its sketch over to refresh on its first request after the previous refresh, so requests of other
+ * threads are taken into account with a delay of up to one refresh period. For the same reason top accounts are
+ * published starting from the second refresh, until then they are the first accounts seen. Counts are halved on
+ * each publishing, so recent traffic outweighs old one.
+ */
+public class TopAccountsTracker {
+
+    private static final int MONITORED_PER_TOP_ACCOUNT = 4;
+
+    private final int topSize;
+    private final long refreshPeriodMs;
+    private final Clock clock;
+
+    private final int sketchSize;
+    private final Sketch sketch;
+    private final ThreadLocal<Sketch> threadSketches;
+    private final Queue<Sketch> handedOverSketches = new ConcurrentLinkedQueue<>();
+    private volatile long epoch;
+
+    private final AtomicLong nextRefreshMillis;
+    private final AtomicReference<Set<String>> topAccounts;
+
+    public TopAccountsTracker(int topSize, long refreshPeriodMs, Clock clock) {
+        if (topSize <= 0) {
+            throw new IllegalArgumentException("topSize must be positive");
+        }
+        if (refreshPeriodMs <= 0) {
+            throw new IllegalArgumentException("refreshPeriodMs must be positive");
+        }
+
+        this.topSize = topSize;
+        this.refreshPeriodMs = refreshPeriodMs;
+        this.clock = Objects.requireNonNull(clock);
+
+        sketchSize = topSize * MONITORED_PER_TOP_ACCOUNT;
+        sketch = new Sketch(sketchSize, 0);
+        threadSketches = ThreadLocal.withInitial(() -> new Sketch(sketchSize, epoch));
+        nextRefreshMillis = new AtomicLong(clock.millis() + refreshPeriodMs);
+        topAccounts = new AtomicReference<>(Collections.emptySet());
+    }
+
+    public boolean isTop(String accountId) {
+        return topAccounts.get().contains(accountId);
+    }
+
+    /**
+     * Records request of given account.
+     * <p>
+     * Returns accounts that are not in top anymore, it is not empty only when top accounts are refreshed.
+     */
+    public Set<String> record(String accountId) {
+        // top is not full yet, so there is no need to wait for refresh to give account its own metrics,
+        // published top is checked first, so requests of accounts already in full top do not write to it
+        if (isAddableToTop(topAccounts.get(), accountId)) {
+            topAccounts.updateAndGet(currentTopAccounts -> isAddableToTop(currentTopAccounts, accountId)
+                    ? withAccount(currentTopAccounts, accountId)
+                    : currentTopAccounts);
+        }
+
+        threadSketch().offer(accountId, 1);
+
+        final long now = clock.millis();
+        final long refreshMillis = nextRefreshMillis.get();
+        // only the thread that moved refresh time refreshes top accounts
+        if (now < refreshMillis || !nextRefreshMillis.compareAndSet(refreshMillis, now + refreshPeriodMs)) {
+            return Collections.emptySet();
+        }
+
+        return refresh();
+    }
+
+    private boolean isAddableToTop(Set<String> currentTopAccounts, String accountId) {
+        return currentTopAccounts.size() < topSize && !currentTopAccounts.contains(accountId);
+    }
+
+    private static Set<String> withAccount(Set<String> accounts, String accountId) {
+        final Set<String> updatedAccounts = new HashSet<>(accounts);
+        updatedAccounts.add(accountId);
+        return Collections.unmodifiableSet(updatedAccounts);
+    }
+
+    private Sketch threadSketch() {
+        final Sketch threadSketch = threadSketches.get();
+        if (threadSketch.epoch == epoch) {
+            return threadSketch;
+        }
+
+        // sketch is not modified by this thread after it is handed over
+        final Sketch newThreadSketch = new Sketch(sketchSize, epoch);
+        threadSketches.set(newThreadSketch);
+        handedOverSketches.add(threadSketch);
+        return newThreadSketch;
+    }
+
+    private synchronized Set<String> refresh() {
+        epoch++;
+        // hands over sketch of the refreshing thread right away
+        threadSketch();
+
+        Sketch handedOverSketch;
+        while ((handedOverSketch = handedOverSketches.poll()) != null) {
+            sketch.merge(handedOverSketch);
+        }
+
+        // other threads hand their sketches over only after the first refresh, so top is kept until the next one
+        if (epoch == 1) {
+            return Collections.emptySet();
+        }
+
+        final Set<String> refreshedTopAccounts = sketch.top(topSize);
+        sketch.halve();
+
+        final Set<String> previousTopAccounts =
+                topAccounts.getAndSet(Collections.unmodifiableSet(refreshedTopAccounts));
+
+        return previousTopAccounts.stream()
+                .filter(accountId -> !refreshedTopAccounts.contains(accountId))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Space-Saving sketch, which monitored accounts are kept in min-heap by count. Not thread-safe.
+     */
+    private static class Sketch {
+
+        private final long epoch;
+        private final Map<String, Entry> monitored;
+        private final Entry[] heap;
+        private int heapSize;
+
+        Sketch(int size, long epoch) {
+            this.epoch = epoch;
+            heap = new Entry[size];
+            monitored = new HashMap<>(size * 2);
+        }
+
+        void offer(String accountId, long count) {
+            final Entry existing = monitored.get(accountId);
+            if (existing != null) {
+                existing.count += count;
+                siftDown(existing.index);
+                return;
+            }
+
+            if (heapSize < heap.length) {
+                final Entry entry = new Entry(accountId, heapSize);
+                entry.count = count;
+                heap[heapSize++] = entry;
+                monitored.put(accountId, entry);
+                siftUp(entry.index);
+                return;
+            }
+
+            // account with the least count is replaced, new account inherits its count as possible overestimation
+            final Entry min = heap[0];
+            monitored.remove(min.accountId);
+            min.accountId = accountId;
+            min.count += count;
+            monitored.put(accountId, min);
+            siftDown(0);
+        }
+
+        void merge(Sketch other) {
+            for (int i = 0; i < other.heapSize; i++) {
+                offer(other.heap[i].accountId, other.heap[i].count);
+            }
+        }
+
+        Set<String> top(int size) {
+            return Arrays.stream(heap, 0, heapSize)
+                    .sorted(Comparator.comparingLong((Entry entry) -> entry.count).reversed())
+                    .limit(size)
+                    .map(entry -> entry.accountId)
+                    .collect(Collectors.toSet());
+        }
+
+        void halve() {
+            // halving keeps order of counts, so heap stays valid
+            for (int i = 0; i < heapSize; i++) {
+                heap[i].count >>>= 1;
+            }
+        }
+
+        private void siftUp(int index) {
+            final Entry entry = heap[index];
+            while (index > 0) {
+                final int parentIndex = (index - 1) >>> 1;
+                final Entry parent = heap[parentIndex];
+                if (parent.count <= entry.count) {
+                    break;
+                }
+                place(parent, index);
+                index = parentIndex;
+            }
+            place(entry, index);
+        }
+
+        private void siftDown(int index) {
+            final Entry entry = heap[index];
+            final int half = heapSize >>> 1;
+            while (index < half) {
+                int childIndex = (index << 1) + 1;
+                final int rightIndex = childIndex + 1;
+                if (rightIndex < heapSize && heap[rightIndex].count < heap[childIndex].count) {
+                    childIndex = rightIndex;
+                }
+                final Entry child = heap[childIndex];
+                if (entry.count <= child.count) {
+                    break;
+                }
+                place(child, index);
+                index = childIndex;
+            }
+            place(entry, index);
+        }
+
+        private void place(Entry entry, int index) {
+            heap[index] = entry;
+            entry.index = index;
+        }
+    }
+
+    private static class Entry {
+
+        private String accountId;
+        private long count;
+        private int index;
+
+        private Entry(String accountId, int index) {
+            this.accountId = accountId;
+            this.index = index;
+        }
+    }
+}
@@ -1,36 +1,40 @@
 package org.prebid.server.metric;
 
+import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 
-import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.LongConsumer;
 import java.util.function.LongSupplier;
 
+/**
+ * Metrics of single prefix.
+ * <p>
+ * Metric names and metrics itself are resolved from registry once per {@link MetricName} and kept in concurrent maps,
+ * so updating metric does not build its name and does not look it up in registry.
+ */
 class UpdatableMetrics {
 
     private final MetricRegistry metricRegistry;
     private final Function<MetricName, String> nameCreator;
-    private final MetricIncrementer incrementer;
     private final CounterType counterType;
-    // not thread-safe maps are intentionally used here because it's harmless in this particular case - eventually
-    // this all boils down to metrics lookup by underlying metric registry and that operation is guaranteed to be
-    // thread-safe
     private final Map<MetricName, String> metricNames;
+    private final Map<MetricName, LongConsumer> counters;
+    private final Map<MetricName, Timer> timers;
+    private final Map<MetricName, Histogram> histograms;
 
     UpdatableMetrics(MetricRegistry metricRegistry, CounterType counterType, Function<MetricName, String> nameCreator) {
         this.metricRegistry = metricRegistry;
         this.counterType = counterType;
         this.nameCreator = nameCreator;
-        metricNames = new EnumMap<>(MetricName.class);
-
-        incrementer = switch (counterType) {
-            case flushingCounter -> (registry, metricName, value) ->
-                    registry.counter(metricName, ResettingCounter::new).inc(value);
-            case counter -> (registry, metricName, value) -> registry.counter(metricName).inc(value);
-            case meter -> (registry, metricName, value) -> registry.meter(metricName).mark(value);
-        };
+        metricNames = new ConcurrentHashMap<>();
+        counters = new ConcurrentHashMap<>();
+        timers = new ConcurrentHashMap<>();
+        histograms = new ConcurrentHashMap<>();
     }
 
     /**
@@ -44,14 +48,22 @@ class UpdatableMetrics {
      * Increments metric's counter on a given value.
      */
     void incCounter(MetricName metricName, long value) {
-        incrementer.accept(metricRegistry, name(metricName), value);
+        counters.computeIfAbsent(metricName, this::createCounter).accept(value);
     }
 
     /**
      * Updates metric's timer with a given value.
      */
     void updateTimer(MetricName metricName, long millis) {
-        metricRegistry.timer(name(metricName)).update(millis, TimeUnit.MILLISECONDS);
+        updateTimer(metricName, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Updates metric's timer with a given value in given units, for operations too short to be measured in millis.
+     */
+    void updateTimer(MetricName metricName, long duration, TimeUnit timeUnit) {
+        timers.computeIfAbsent(metricName, key -> metricRegistry.timer(name(key)))
+                .update(duration, timeUnit);
     }
 
     /**
@@ -59,7 +71,7 @@ class UpdatableMetrics {
      */
     void updateHistogram(MetricName metricName, long value) {
         // by default histograms with exponentially decaying reservoir (size=1028, alpha=0.015) are created
-        metricRegistry.histogram(name(metricName)).update(value);
+        histograms.computeIfAbsent(metricName, key -> metricRegistry.histogram(name(key))).update(value);
     }
 
     void createGauge(MetricName metricName, LongSupplier supplier) {
@@ -67,19 +79,26 @@ class UpdatableMetrics {
     }
 
     void removeMetric(MetricName metricName) {
+        counters.remove(metricName);
+        timers.remove(metricName);
+        histograms.remove(metricName);
         metricRegistry.remove(name(metricName));
     }
 
+    private LongConsumer createCounter(MetricName metricName) {
+        final String name = name(metricName);
+        return switch (counterType) {
+            case flushingCounter -> metricRegistry.counter(name, ResettingCounter::new)::inc;
+            case counter -> metricRegistry.counter(name)::inc;
+            case meter -> metricRegistry.meter(name)::mark;
+        };
+    }
+
     private String name(MetricName metricName) {
-        return metricNames.computeIfAbsent(metricName, key -> nameCreator.apply(metricName));
+        return metricNames.computeIfAbsent(metricName, nameCreator);
     }
 
     public CounterType getCounterType() {
         return counterType;
     }
-
-    @FunctionalInterface
-    private interface MetricIncrementer {
-        void accept(MetricRegistry metricRegistry, String metricName, long value);
-    }
 }
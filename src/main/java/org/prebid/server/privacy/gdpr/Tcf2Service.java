@@ -1,11 +1,14 @@
 package org.prebid.server.privacy.gdpr;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.iabtcf.decoder.TCString;
 import io.vertx.core.Future;
 import lombok.Value;
 import org.apache.commons.collections4.CollectionUtils;
 import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
+import org.prebid.server.privacy.gdpr.model.TCStringEmpty;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
 import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
 import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.PurposeStrategy;
@@ -40,6 +43,8 @@ public class Tcf2Service {
     private final List<SpecialFeaturesStrategy> specialFeaturesStrategies;
     private final BidderCatalog bidderCatalog;
     private final PurposeOneTreatmentInterpretation purposeOneTreatmentInterpretation;
+    private final Metrics metrics;
+    private final Map<PermissionsKey, Collection<VendorPermission>> permissionsCache;
 
     public Tcf2Service(GdprConfig gdprConfig,
                        List<PurposeStrategy> purposeStrategies,
@@ -47,6 +52,24 @@ public class Tcf2Service {
                        VendorListServiceV2 vendorListServiceV2,
                        BidderCatalog bidderCatalog) {
 
+        this(gdprConfig, purposeStrategies, specialFeaturesStrategies, vendorListServiceV2, bidderCatalog, null, 0);
+    }
+
+    /**
+     * Creates service caching resolved vendor permissions, cache is disabled if its size is not positive.
+     * <p>
+     * Permissions are cached per decoded consent, vendor list, account GDPR config and requested vendors.
+     * Consent and vendor list are compared by reference, so cache hits only if decoded consent strings are cached
+     * as well.
+     */
+    public Tcf2Service(GdprConfig gdprConfig,
+                       List<PurposeStrategy> purposeStrategies,
+                       List<SpecialFeaturesStrategy> specialFeaturesStrategies,
+                       VendorListServiceV2 vendorListServiceV2,
+                       BidderCatalog bidderCatalog,
+                       Metrics metrics,
+                       int permissionsCacheSize) {
+
         this.defaultPurposes = gdprConfig.getPurposes() == null ? Purposes.builder().build() : gdprConfig.getPurposes();
         this.defaultSpecialFeatures = gdprConfig.getSpecialFeatures() == null
                 ? SpecialFeatures.builder().build()
@@ -56,6 +79,15 @@ public class Tcf2Service {
         this.bidderCatalog = Objects.requireNonNull(bidderCatalog);
         this.purposeStrategies = Objects.requireNonNull(purposeStrategies);
         this.specialFeaturesStrategies = Objects.requireNonNull(specialFeaturesStrategies);
+        this.metrics = permissionsCacheSize > 0 ? Objects.requireNonNull(metrics) : metrics;
+        this.permissionsCache = permissionsCacheSize > 0 ? createPermissionsCache(permissionsCacheSize) : null;
+    }
+
+    private static Map<PermissionsKey, Collection<VendorPermission>> createPermissionsCache(int size) {
+        return Caffeine.newBuilder()
+                .maximumSize(size)
+                .<PermissionsKey, Collection<VendorPermission>>build()
+                .asMap();
     }
 
     public Future<Collection<VendorPermission>> permissionsFor(Set<Integer> vendorIds, TCString tcfConsent) {
@@ -101,17 +133,73 @@ public class Tcf2Service {
                 vendorPermissions, accountGdprConfig);
 
         return vendorListServiceV2.forVersion(tcfConsent.getVendorListVersion())
-                .map(vendorGvlPermissions -> wrapWithGVL(vendorPermissionsByType, vendorGvlPermissions))
-
-                .compose(gvlResult -> processSupportedPurposeStrategies(tcfConsent, gvlResult, mergedPurposes,
-                                purposeOneTreatmentInterpretation),
+                .compose(vendorGvlPermissions -> permissionsForGvl(vendorPermissions, vendorPermissionsByType,
+                                vendorGvlPermissions, tcfConsent, accountGdprConfig, mergedPurposes,
+                                mergedSpecialFeatures),
                         ignoredFailed -> processDowngradedSupportedPurposeStrategies(tcfConsent,
-                                vendorPermissionsByType, mergedPurposes, mergedPurposeOneTreatmentInterpretation))
+                                vendorPermissionsByType, mergedPurposes, mergedPurposeOneTreatmentInterpretation)
+                                .map(changedVendorPermissions -> processSupportedSpecialFeatureStrategies(
+                                        tcfConsent, changedVendorPermissions, mergedSpecialFeatures)));
+    }
+
+    /**
+     * Resolves permissions with vendor list found, result is cached if cache is enabled.
+     */
+    private Future<Collection<VendorPermission>> permissionsForGvl(
+            Collection<VendorPermission> vendorPermissions,
+            VendorPermissionsByType<VendorPermission> vendorPermissionsByType,
+            Map<Integer, VendorV2> vendorGvlPermissions,
+            TCString tcfConsent,
+            AccountGdprConfig accountGdprConfig,
+            Purposes mergedPurposes,
+            SpecialFeatures mergedSpecialFeatures) {
+
+        if (permissionsCache == null || tcfConsent instanceof TCStringEmpty) {
+            return resolvePermissionsForGvl(vendorPermissionsByType, vendorGvlPermissions, tcfConsent,
+                    mergedPurposes, mergedSpecialFeatures);
+        }
+
+        final PermissionsKey permissionsKey =
+                PermissionsKey.of(tcfConsent, vendorGvlPermissions, accountGdprConfig, vendorPermissions);
+        final Collection<VendorPermission> cachedPermissions = permissionsCache.get(permissionsKey);
+        metrics.updatePrivacyTcfPermissionsCacheMetric(cachedPermissions != null);
+        if (cachedPermissions != null) {
+            return Future.succeededFuture(copyOf(cachedPermissions));
+        }
+
+        return resolvePermissionsForGvl(vendorPermissionsByType, vendorGvlPermissions, tcfConsent,
+                mergedPurposes, mergedSpecialFeatures)
+                .map(resolvedPermissions -> {
+                    permissionsCache.put(permissionsKey, copyOf(resolvedPermissions));
+                    return resolvedPermissions;
+                });
+    }
+
+    private Future<Collection<VendorPermission>> resolvePermissionsForGvl(
+            VendorPermissionsByType<VendorPermission> vendorPermissionsByType,
+            Map<Integer, VendorV2> vendorGvlPermissions,
+            TCString tcfConsent,
+            Purposes mergedPurposes,
+            SpecialFeatures mergedSpecialFeatures) {
 
+        return processSupportedPurposeStrategies(tcfConsent, wrapWithGVL(vendorPermissionsByType,
+                        vendorGvlPermissions), mergedPurposes, purposeOneTreatmentInterpretation)
                 .map(changedVendorPermissions -> processSupportedSpecialFeatureStrategies(tcfConsent,
                         changedVendorPermissions, mergedSpecialFeatures));
     }
 
+    /**
+     * Copies given permissions, since their enforcement actions are modified by strategies and callers.
+     */
+    private static Collection<VendorPermission> copyOf(Collection<VendorPermission> vendorPermissions) {
+        return vendorPermissions.stream()
+                .map(vendorPermission -> VendorPermission.of(
+                        vendorPermission.getVendorId(),
+                        vendorPermission.getBidderName(),
+                        vendorPermission.getPrivacyEnforcementAction().toBuilder().build()))
+                .toList();
+    }
+
     private static VendorPermissionsByType<VendorPermission> toVendorPermissionsByType(
             Collection<VendorPermission> vendorPermissions,
             AccountGdprConfig accountGdprConfig) {
@@ -156,11 +244,11 @@ public class Tcf2Service {
                                                        Map<Integer, VendorV2> vendorGvlPermissions) {
 
         final Integer vendorId = vendorPermission.getVendorId();
-        final VendorV2 vendorGvlByVendorId = vendorId != null
-                ? vendorGvlPermissions.getOrDefault(vendorId, VendorV2.empty(vendorId))
-                : VendorV2.empty(vendorId);
+        final VendorV2 vendorGvlByVendorId = vendorId != null ? vendorGvlPermissions.get(vendorId) : null;
 
-        return VendorPermissionWithGvl.of(vendorPermission, vendorGvlByVendorId);
+        // empty vendor is created only if needed, since it allocates sets for all GVL fields
+        return VendorPermissionWithGvl.of(
+                vendorPermission, vendorGvlByVendorId != null ? vendorGvlByVendorId : VendorV2.empty(vendorId));
     }
 
     private Future<Collection<VendorPermission>> processSupportedPurposeStrategies(
@@ -371,4 +459,70 @@ public class Tcf2Service {
                     .toList();
         }
     }
+
+    /**
+     * Key of cached permissions, consent and vendor list are compared by reference to keep lookup cheap.
+     */
+    private static final class PermissionsKey {
+
+        private final TCString consent;
+        private final Map<Integer, VendorV2> vendorList;
+        private final AccountGdprConfig accountGdprConfig;
+        private final List<VendorKey> vendors;
+        private final int hashCode;
+
+        private PermissionsKey(TCString consent,
+                               Map<Integer, VendorV2> vendorList,
+                               AccountGdprConfig accountGdprConfig,
+                               List<VendorKey> vendors) {
+
+            this.consent = consent;
+            this.vendorList = vendorList;
+            this.accountGdprConfig = accountGdprConfig;
+            this.vendors = vendors;
+            this.hashCode = Objects.hash(System.identityHashCode(consent), System.identityHashCode(vendorList),
+                    accountGdprConfig, vendors);
+        }
+
+        private static PermissionsKey of(TCString consent,
+                                         Map<Integer, VendorV2> vendorList,
+                                         AccountGdprConfig accountGdprConfig,
+                                         Collection<VendorPermission> vendorPermissions) {
+
+            final List<VendorKey> vendors = vendorPermissions.stream()
+                    .map(vendorPermission -> VendorKey.of(
+                            vendorPermission.getVendorId(), vendorPermission.getBidderName()))
+                    .toList();
+
+            return new PermissionsKey(consent, vendorList, accountGdprConfig, vendors);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final PermissionsKey that = (PermissionsKey) o;
+            return consent == that.consent
+                    && vendorList == that.vendorList
+                    && Objects.equals(accountGdprConfig, that.accountGdprConfig)
+                    && vendors.equals(that.vendors);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    @Value(staticConstructor = "of")
+    private static class VendorKey {
+
+        Integer vendorId;
+
+        String bidderName;
+    }
 }
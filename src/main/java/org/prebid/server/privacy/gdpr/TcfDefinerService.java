@@ -1,5 +1,6 @@
 package org.prebid.server.privacy.gdpr;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.iabtcf.decoder.TCString;
 import io.vertx.core.Future;
 import io.vertx.core.logging.Logger;
@@ -61,6 +62,7 @@ public class TcfDefinerService {
     private final BidderCatalog bidderCatalog;
     private final IpAddressHelper ipAddressHelper;
     private final Metrics metrics;
+    private final Map<String, TCString> consentCache;
 
     public TcfDefinerService(GdprConfig gdprConfig,
                              Set<String> eeaCountries,
@@ -70,6 +72,22 @@ public class TcfDefinerService {
                              IpAddressHelper ipAddressHelper,
                              Metrics metrics) {
 
+        this(gdprConfig, eeaCountries, tcf2Service, geoLocationService, bidderCatalog, ipAddressHelper, metrics, 0);
+    }
+
+    /**
+     * Creates service caching decoded consent strings, total length of cached strings is limited by given max weight.
+     * Cache is disabled if max weight is not positive.
+     */
+    public TcfDefinerService(GdprConfig gdprConfig,
+                             Set<String> eeaCountries,
+                             Tcf2Service tcf2Service,
+                             GeoLocationService geoLocationService,
+                             BidderCatalog bidderCatalog,
+                             IpAddressHelper ipAddressHelper,
+                             Metrics metrics,
+                             long consentCacheMaxWeight) {
+
         this.gdprEnabled = gdprConfig != null && BooleanUtils.isNotFalse(gdprConfig.getEnabled());
         this.gdprDefaultValue = gdprConfig != null ? gdprConfig.getDefaultValue() : null;
         this.consentStringMeansInScope = gdprConfig != null
@@ -80,6 +98,15 @@ public class TcfDefinerService {
         this.bidderCatalog = Objects.requireNonNull(bidderCatalog);
         this.ipAddressHelper = Objects.requireNonNull(ipAddressHelper);
         this.metrics = Objects.requireNonNull(metrics);
+        this.consentCache = consentCacheMaxWeight > 0 ? createConsentCache(consentCacheMaxWeight) : null;
+    }
+
+    private static Map<String, TCString> createConsentCache(long maxWeight) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .<String, TCString>weigher((consentString, consent) -> consentString.length())
+                .build()
+                .asMap();
     }
 
     /**
@@ -342,6 +369,25 @@ public class TcfDefinerService {
     }
 
     private TCString decodeTcString(String consentString, RequestLogInfo requestLogInfo, List<String> warnings) {
+        if (consentCache == null) {
+            return decode(consentString, requestLogInfo, warnings);
+        }
+
+        final TCString cachedTcString = consentCache.get(consentString);
+        metrics.updatePrivacyTcfConsentCacheMetric(cachedTcString != null);
+        if (cachedTcString != null) {
+            return cachedTcString;
+        }
+
+        final TCString tcString = decode(consentString, requestLogInfo, warnings);
+        if (tcString != null && decodeAllFields(tcString)) {
+            consentCache.put(consentString, tcString);
+        }
+
+        return tcString;
+    }
+
+    private static TCString decode(String consentString, RequestLogInfo requestLogInfo, List<String> warnings) {
         try {
             return TCString.decode(consentString);
         } catch (Exception e) {
@@ -351,6 +397,44 @@ public class TcfDefinerService {
         }
     }
 
+    /**
+     * Decodes all lazily decoded fields of given {@link TCString}, so it can be shared between threads as
+     * read-only one.
+     * <p>
+     * Returns false if some field is corrupted, such consent is not cached and fails later as without caching.
+     */
+    private static boolean decodeAllFields(TCString tcString) {
+        try {
+            tcString.getCreated();
+            tcString.getLastUpdated();
+            tcString.getCmpId();
+            tcString.getCmpVersion();
+            tcString.getConsentScreen();
+            tcString.getConsentLanguage();
+            tcString.getVendorListVersion();
+            tcString.getTcfPolicyVersion();
+            tcString.isServiceSpecific();
+            tcString.getUseNonStandardStacks();
+            tcString.getPurposeOneTreatment();
+            tcString.getPublisherCC();
+            tcString.getPurposesConsent();
+            tcString.getPurposesLITransparency();
+            tcString.getVendorConsent();
+            tcString.getVendorLegitimateInterest();
+            tcString.getSpecialFeatureOptIns();
+            tcString.getPublisherRestrictions();
+            tcString.getAllowedVendors();
+            tcString.getDisclosedVendors();
+            tcString.getPubPurposesConsent();
+            tcString.getPubPurposesLITransparency();
+            tcString.getCustomPurposesConsent();
+            tcString.getCustomPurposesLITransparency();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
     private static void logWarn(String consent, String message, RequestLogInfo requestLogInfo) {
         if (requestLogInfo == null || requestLogInfo.getRequestType() == null) {
             final String exceptionMessage = "Parsing consent string:\"%s\" failed for undefined type with exception %s"
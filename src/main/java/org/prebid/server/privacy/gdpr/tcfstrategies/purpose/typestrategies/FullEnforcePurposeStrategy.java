@@ -10,10 +10,10 @@ import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.VendorV2;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Function;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -32,14 +32,10 @@ public class FullEnforcePurposeStrategy extends EnforcePurposeStrategy {
         final List<VendorPermission> allowedExcluded = allowedExcludedVendorPermission(excludedVendors,
                 publisherRestrictions);
 
-        final Map<VendorPermissionWithGvl, RestrictionType> vendorPermissionToRestriction = mapVendorPermission(
-                vendorsForPurpose, publisherRestrictions);
-
-        final List<VendorPermission> allowedVendorPermissions = vendorPermissionToRestriction.entrySet().stream()
-                .filter(permissionAndRestriction ->
-                        isAllowedByPublisherRestrictionAndFlexible(purpose, isEnforceVendors,
-                                permissionAndRestriction.getKey(), vendorConsent, permissionAndRestriction.getValue()))
-                .map(Map.Entry::getKey)
+        final List<VendorPermission> allowedVendorPermissions = vendorsForPurpose.stream()
+                .filter(vendorPermissionWithGvl -> isAllowedByPublisherRestrictionAndFlexible(purpose,
+                        isEnforceVendors, vendorPermissionWithGvl, vendorConsent,
+                        restrictionType(vendorPermissionWithGvl, publisherRestrictions)))
                 .map(VendorPermissionWithGvl::getVendorPermission)
                 .toList();
 
@@ -50,12 +46,16 @@ public class FullEnforcePurposeStrategy extends EnforcePurposeStrategy {
             Collection<VendorPermissionWithGvl> excludedVendors,
             Collection<PublisherRestriction> publisherRestrictions) {
 
-        final List<Integer> notAllowedVendorIds = publisherRestrictions.stream()
+        if (excludedVendors.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final Set<Integer> notAllowedVendorIds = publisherRestrictions.stream()
                 .filter(publisherRestriction -> publisherRestriction.getRestrictionType()
                         .equals(RestrictionType.NOT_ALLOWED))
                 .map(PublisherRestriction::getVendorIds)
                 .flatMap(vendorIds -> StreamSupport.stream(vendorIds.spliterator(), false))
-                .toList();
+                .collect(Collectors.toSet());
 
         return excludedVendors.stream()
                 .map(VendorPermissionWithGvl::getVendorPermission)
@@ -63,21 +63,11 @@ public class FullEnforcePurposeStrategy extends EnforcePurposeStrategy {
                 .toList();
     }
 
-    private boolean isNotRestricted(List<Integer> notAllowedVendorIds, VendorPermission vendorPermission) {
+    private boolean isNotRestricted(Set<Integer> notAllowedVendorIds, VendorPermission vendorPermission) {
         final Integer vendorId = vendorPermission.getVendorId();
         return vendorId == null || !notAllowedVendorIds.contains(vendorId);
     }
 
-    private Map<VendorPermissionWithGvl, RestrictionType> mapVendorPermission(
-            Collection<VendorPermissionWithGvl> vendorsForPurpose,
-            Collection<PublisherRestriction> publisherRestrictions) {
-
-        return vendorsForPurpose.stream()
-                .collect(Collectors.toMap(
-                        Function.identity(),
-                        vendorPermissionWithGvl -> restrictionType(vendorPermissionWithGvl, publisherRestrictions)));
-    }
-
     private RestrictionType restrictionType(VendorPermissionWithGvl vendorPermissionWithGvl,
                                             Collection<PublisherRestriction> publisherRestrictions) {
 
@@ -0,0 +1,282 @@
+package org.prebid.server.settings;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import lombok.Value;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.execution.DeadlineScheduler;
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+
+/**
+ * Cache of values loaded asynchronously by key.
+ * <p>
+ * Concurrent loads of the same key are coalesced, so only the first caller triggers loader and others wait for
+ * the same result. Values older than refresh period are still returned, but reloaded in background, so frequently
+ * requested values do not expire on request path. {@link PreBidException} messages of failed loads are cached too.
+ * <p>
+ * Loads run with timeout of the cache rather than of the caller triggered them, so result is not lost for other
+ * callers when the first one has little time left. Each caller waits for the load no longer than its own timeout.
+ */
+class CoalescingCache<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoalescingCache.class);
+
+    private final Map<String, CachedValue<T>> values;
+    private final Map<String, String> errors;
+    private final Map<String, Future<T>> loads;
+    private final long refreshAfterMillis;
+    private final long loadTimeoutMs;
+    private final TimeoutFactory timeoutFactory;
+    private final DeadlineScheduler deadlineScheduler;
+    private final Clock clock;
+    private final Metrics metrics;
+    private final MetricName cacheType;
+
+    /**
+     * Creates cache with given ttl and refresh period in seconds, refresh is disabled if period is not positive.
+     * Metrics are not updated if cache type is null.
+     */
+    CoalescingCache(int ttl,
+                    int refreshAfter,
+                    int size,
+                    long loadTimeoutMs,
+                    TimeoutFactory timeoutFactory,
+                    DeadlineScheduler deadlineScheduler,
+                    Clock clock,
+                    Metrics metrics,
+                    MetricName cacheType) {
+
+        values = SettingsCache.createCache(ttl, size);
+        errors = SettingsCache.createCache(ttl, size);
+        loads = new ConcurrentHashMap<>();
+        refreshAfterMillis = TimeUnit.SECONDS.toMillis(refreshAfter);
+        this.loadTimeoutMs = loadTimeoutMs;
+        this.timeoutFactory = Objects.requireNonNull(timeoutFactory);
+        this.deadlineScheduler = Objects.requireNonNull(deadlineScheduler);
+        this.clock = Objects.requireNonNull(clock);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.cacheType = cacheType;
+    }
+
+    /**
+     * Returns value of given key, loader is called with key and timeout of the load.
+     */
+    Future<T> get(String key, Timeout timeout, BiFunction<String, Timeout, Future<T>> loader) {
+        final CachedValue<T> cachedValue = values.get(key);
+        if (cachedValue != null) {
+            updateEventMetric(MetricName.hit);
+            if (isRefreshRequired(cachedValue)) {
+                updateEventMetric(MetricName.stale);
+                refresh(key, loader);
+            }
+
+            return Future.succeededFuture(cachedValue.getValue());
+        }
+
+        updateEventMetric(MetricName.miss);
+
+        final String preBidExceptionMessage = errors.get(key);
+        if (preBidExceptionMessage != null) {
+            return Future.failedFuture(new PreBidException(preBidExceptionMessage));
+        }
+
+        final Promise<T> promise = Promise.promise();
+        final Future<T> load = promise.future();
+        final Future<T> inFlightLoad = loads.putIfAbsent(key, load);
+        if (inFlightLoad != null) {
+            updateEventMetric(MetricName.coalesced);
+            return withDeadline(onCurrentContext(inFlightLoad), timeout, deadlineScheduler);
+        }
+
+        load(key, loader).onComplete(result -> {
+            completeLoad(key, load, () -> {
+                if (result.succeeded()) {
+                    values.put(key, CachedValue.of(result.result(), clock.millis()));
+                } else if (result.cause() instanceof PreBidException) {
+                    errors.put(key, result.cause().getMessage());
+                }
+            });
+            promise.handle(result);
+        });
+
+        return withDeadline(load, timeout, deadlineScheduler);
+    }
+
+    /**
+     * Removes value of given key. Load of this key in flight is forgotten, so its result is not cached.
+     */
+    void invalidate(String key) {
+        // loads go first, so load completed in between puts its value before it is removed
+        loads.remove(key);
+        values.remove(key);
+    }
+
+    void invalidateAll() {
+        loads.clear();
+        values.clear();
+    }
+
+    Map<String, T> snapshot() {
+        final Map<String, T> snapshot = new HashMap<>();
+        values.forEach((key, cachedValue) -> snapshot.put(key, cachedValue.getValue()));
+        return snapshot;
+    }
+
+    /**
+     * Puts values restored from snapshot, they are considered as loaded long ago, so they are refreshed in
+     * background on the first hit if refresh is enabled.
+     */
+    void restore(Map<String, T> snapshot) {
+        snapshot.entrySet().stream()
+                .filter(entry -> entry.getValue() != null)
+                .forEach(entry -> values.put(entry.getKey(), CachedValue.of(entry.getValue(), 0L)));
+    }
+
+    private boolean isRefreshRequired(CachedValue<T> cachedValue) {
+        return refreshAfterMillis > 0 && clock.millis() - cachedValue.getLoadedAt() >= refreshAfterMillis;
+    }
+
+    /**
+     * Reloads value in background, stale value is kept in cache if reload fails.
+     */
+    private void refresh(String key, BiFunction<String, Timeout, Future<T>> loader) {
+        final Promise<T> promise = Promise.promise();
+        final Future<T> load = promise.future();
+        if (loads.putIfAbsent(key, load) != null) {
+            return;
+        }
+
+        final long startTime = clock.millis();
+        load(key, loader).onComplete(result -> {
+            final long loadedAt = clock.millis();
+            updateRefreshMetrics(result, loadedAt - startTime);
+
+            completeLoad(key, load, () -> {
+                if (result.succeeded()) {
+                    values.put(key, CachedValue.of(result.result(), loadedAt));
+                }
+            });
+            if (result.failed()) {
+                logger.warn("Error occurred while refreshing cached value with key {0}: {1}",
+                        key, result.cause().getMessage());
+            }
+
+            promise.handle(result);
+        });
+    }
+
+    /**
+     * Updates cache with result of given load unless key was invalidated after load started.
+     * <p>
+     * Update is made while load is still registered, so it can't interleave with invalidation of the same key.
+     */
+    private void completeLoad(String key, Future<T> load, Runnable cacheUpdate) {
+        loads.computeIfPresent(key, (ignored, inFlightLoad) -> {
+            if (inFlightLoad != load) {
+                return inFlightLoad;
+            }
+
+            cacheUpdate.run();
+            return null;
+        });
+    }
+
+    private Future<T> load(String key, BiFunction<String, Timeout, Future<T>> loader) {
+        try {
+            return loader.apply(key, timeoutFactory.create(loadTimeoutMs));
+        } catch (Exception e) {
+            return Future.failedFuture(e);
+        }
+    }
+
+    /**
+     * Fails returned {@link Future} when given {@link Timeout} expires, the load itself goes on for other callers.
+     */
+    static <T> Future<T> withDeadline(Future<T> future, Timeout timeout, DeadlineScheduler deadlineScheduler) {
+        if (future.isComplete()) {
+            return future;
+        }
+        if (timeout.remaining() <= 0) {
+            return Future.failedFuture(timeoutException());
+        }
+
+        final Promise<T> promise = Promise.promise();
+        final DeadlineScheduler.Deadline deadline =
+                deadlineScheduler.schedule(timeout, ignored -> promise.tryFail(timeoutException()));
+        future.onComplete(result -> {
+            deadline.cancel();
+            if (result.succeeded()) {
+                promise.tryComplete(result.result());
+            } else {
+                promise.tryFail(result.cause());
+            }
+        });
+
+        return promise.future();
+    }
+
+    private static TimeoutException timeoutException() {
+        return new TimeoutException("Timed out while waiting for cached value to load");
+    }
+
+    private void updateEventMetric(MetricName event) {
+        if (cacheType != null) {
+            metrics.updateSettingsCacheEventMetric(cacheType, event);
+        }
+    }
+
+    private void updateRefreshMetrics(AsyncResult<T> result, long timeElapsed) {
+        if (cacheType != null) {
+            metrics.updateSettingsCacheRefreshTime(cacheType, MetricName.background, timeElapsed);
+            if (result.failed()) {
+                metrics.updateSettingsCacheRefreshErrorMetric(cacheType, MetricName.background);
+            }
+        }
+    }
+
+    /**
+     * Completes returned {@link Future} on context of the caller, since load could be triggered from another one.
+     */
+    static <T> Future<T> onCurrentContext(Future<T> future) {
+        final Context context = Vertx.currentContext();
+        if (context == null) {
+            return future;
+        }
+
+        final Promise<T> promise = Promise.promise();
+        future.onComplete(result -> {
+            if (Vertx.currentContext() == context) {
+                promise.handle(result);
+            } else {
+                context.runOnContext(ignored -> promise.handle(result));
+            }
+        });
+
+        return promise.future();
+    }
+
+    @Value(staticConstructor = "of")
+    private static class CachedValue<T> {
+
+        T value;
+
+        long loadedAt;
+    }
+}
@@ -0,0 +1,237 @@
+package org.prebid.server.settings;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import lombok.Value;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.execution.DeadlineScheduler;
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.settings.helper.StoredDataFetcher;
+import org.prebid.server.settings.helper.StoredItemResolver;
+import org.prebid.server.settings.model.StoredDataResult;
+import org.prebid.server.settings.model.StoredItem;
+
+import java.time.Clock;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads stored requests and imps missed in {@link SettingsCache} from original source.
+ * <p>
+ * Concurrent lookups missing the same ids of the same account are coalesced, so only the first of them goes to
+ * original source and others wait for its result. Stored items loaded longer than refresh period ago are still
+ * returned, but reloaded in background, so frequently requested items do not expire on request path.
+ * <p>
+ * As in {@link CoalescingCache}, loads run with timeout of the cache and each caller waits no longer than its own
+ * timeout.
+ */
+class CoalescingStoredDataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoalescingStoredDataCache.class);
+
+    private final SettingsCache cache;
+    private final Map<LoadedItem, Long> requestLoadedAt;
+    private final Map<LoadedItem, Long> impLoadedAt;
+    private final Map<LoadKey, Future<StoredDataResult>> loads;
+    private final long refreshAfterMillis;
+    private final long loadTimeoutMs;
+    private final TimeoutFactory timeoutFactory;
+    private final DeadlineScheduler deadlineScheduler;
+    private final Clock clock;
+
+    /**
+     * Creates cache over given {@link SettingsCache} with the same ttl and size, refresh is disabled if refresh period
+     * in seconds is not positive.
+     */
+    CoalescingStoredDataCache(SettingsCache cache,
+                              int ttl,
+                              int refreshAfter,
+                              int size,
+                              long loadTimeoutMs,
+                              TimeoutFactory timeoutFactory,
+                              DeadlineScheduler deadlineScheduler,
+                              Clock clock) {
+
+        this.cache = Objects.requireNonNull(cache);
+        requestLoadedAt = SettingsCache.createCache(ttl, size);
+        impLoadedAt = SettingsCache.createCache(ttl, size);
+        loads = new ConcurrentHashMap<>();
+        refreshAfterMillis = TimeUnit.SECONDS.toMillis(refreshAfter);
+        this.loadTimeoutMs = loadTimeoutMs;
+        this.timeoutFactory = Objects.requireNonNull(timeoutFactory);
+        this.deadlineScheduler = Objects.requireNonNull(deadlineScheduler);
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Retrieves stored data from cache and collects ids which were absent. For absent ids makes look up to original
+     * source, combines results and updates cache with missed stored item. In case when origin source returns failed
+     * {@link Future} propagates its result to caller. In successive call return {@link Future&lt;StoredDataResult&gt;}
+     * with all found stored items and error from origin source id call was made.
+     */
+    Future<StoredDataResult> get(
+            String accountId,
+            Set<String> requestIds,
+            Set<String> impIds,
+            Timeout timeout,
+            StoredDataFetcher<String, Set<String>, Set<String>, Timeout, Future<StoredDataResult>> retriever) {
+
+        // empty string account ID doesn't make sense
+        final String normalizedAccountId = StringUtils.stripToNull(accountId);
+
+        final Set<String> missedRequestIds = new HashSet<>();
+        final Set<String> staleRequestIds = new HashSet<>();
+        final Map<String, String> storedIdToRequest = getFromCache(normalizedAccountId, requestIds,
+                cache.getRequestCache(), requestLoadedAt, missedRequestIds, staleRequestIds);
+
+        final Set<String> missedImpIds = new HashSet<>();
+        final Set<String> staleImpIds = new HashSet<>();
+        final Map<String, String> storedIdToImp = getFromCache(normalizedAccountId, impIds,
+                cache.getImpCache(), impLoadedAt, missedImpIds, staleImpIds);
+
+        if (!staleRequestIds.isEmpty() || !staleImpIds.isEmpty()) {
+            refresh(LoadKey.of(normalizedAccountId, staleRequestIds, staleImpIds), retriever);
+        }
+
+        if (missedRequestIds.isEmpty() && missedImpIds.isEmpty()) {
+            return Future.succeededFuture(
+                    StoredDataResult.of(storedIdToRequest, storedIdToImp, Collections.emptyList()));
+        }
+
+        final Future<StoredDataResult> load = load(
+                LoadKey.of(normalizedAccountId, missedRequestIds, missedImpIds), retriever);
+
+        return CoalescingCache.withDeadline(load, timeout, deadlineScheduler).map(result -> {
+            storedIdToRequest.putAll(result.getStoredIdToRequest());
+            storedIdToImp.putAll(result.getStoredIdToImp());
+            return StoredDataResult.of(storedIdToRequest, storedIdToImp, result.getErrors());
+        });
+    }
+
+    private Map<String, String> getFromCache(String accountId,
+                                             Set<String> ids,
+                                             Map<String, Set<StoredItem>> itemCache,
+                                             Map<LoadedItem, Long> loadedAt,
+                                             Set<String> missedIds,
+                                             Set<String> staleIds) {
+
+        final Map<String, String> idToStoredItem = new HashMap<>(ids.size());
+
+        for (String id : ids) {
+            try {
+                final StoredItem storedItem = StoredItemResolver.resolve(null, accountId, id, itemCache.get(id));
+                idToStoredItem.put(id, storedItem.getData());
+
+                if (isRefreshRequired(loadedAt.get(LoadedItem.of(accountId, id)))) {
+                    staleIds.add(id);
+                }
+            } catch (PreBidException e) {
+                missedIds.add(id);
+            }
+        }
+
+        return idToStoredItem;
+    }
+
+    /**
+     * Only items loaded from original source by this cache are refreshed, items saved by cache updaters or restored
+     * from snapshot just expire.
+     */
+    private boolean isRefreshRequired(Long loadedAt) {
+        return refreshAfterMillis > 0 && loadedAt != null && clock.millis() - loadedAt >= refreshAfterMillis;
+    }
+
+    /**
+     * Reloads stored items in background, stale items are kept in cache if reload fails.
+     */
+    private void refresh(LoadKey key,
+                         StoredDataFetcher<String, Set<String>, Set<String>, Timeout,
+                                 Future<StoredDataResult>> retriever) {
+
+        if (loads.containsKey(key)) {
+            return;
+        }
+
+        load(key, retriever).onFailure(error -> logger.warn(
+                "Error occurred while refreshing stored data for account {0}, requests {1} and imps {2}: {3}",
+                key.getAccountId(), key.getRequestIds(), key.getImpIds(), error.getMessage()));
+    }
+
+    /**
+     * Returns load of given ids in flight or starts a new one which updates cache with found stored items.
+     */
+    private Future<StoredDataResult> load(LoadKey key,
+                                          StoredDataFetcher<String, Set<String>, Set<String>, Timeout,
+                                                  Future<StoredDataResult>> retriever) {
+
+        final Promise<StoredDataResult> promise = Promise.promise();
+        final Future<StoredDataResult> load = promise.future();
+        final Future<StoredDataResult> inFlightLoad = loads.putIfAbsent(key, load);
+        if (inFlightLoad != null) {
+            return CoalescingCache.onCurrentContext(inFlightLoad);
+        }
+
+        fetch(key, retriever).onComplete(result -> {
+            if (result.succeeded()) {
+                save(key.getAccountId(), result.result());
+            }
+            loads.remove(key, load);
+            promise.handle(result);
+        });
+
+        return load;
+    }
+
+    private Future<StoredDataResult> fetch(LoadKey key,
+                                           StoredDataFetcher<String, Set<String>, Set<String>, Timeout,
+                                                   Future<StoredDataResult>> retriever) {
+
+        try {
+            return retriever.apply(key.getAccountId(), key.getRequestIds(), key.getImpIds(),
+                    timeoutFactory.create(loadTimeoutMs));
+        } catch (Exception e) {
+            return Future.failedFuture(e);
+        }
+    }
+
+    private void save(String accountId, StoredDataResult result) {
+        final long loadedAt = clock.millis();
+
+        result.getStoredIdToRequest().forEach((id, value) -> {
+            cache.saveRequestCache(accountId, id, value);
+            requestLoadedAt.put(LoadedItem.of(accountId, id), loadedAt);
+        });
+        result.getStoredIdToImp().forEach((id, value) -> {
+            cache.saveImpCache(accountId, id, value);
+            impLoadedAt.put(LoadedItem.of(accountId, id), loadedAt);
+        });
+    }
+
+    @Value(staticConstructor = "of")
+    private static class LoadKey {
+
+        String accountId;
+
+        Set<String> requestIds;
+
+        Set<String> impIds;
+    }
+
+    @Value(staticConstructor = "of")
+    private static class LoadedItem {
+
+        String accountId;
+
+        String id;
+    }
+}
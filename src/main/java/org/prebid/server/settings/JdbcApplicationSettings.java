@@ -1,14 +1,17 @@
 package org.prebid.server.settings;
 
 import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonArray;
 import io.vertx.ext.sql.ResultSet;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.exception.PreBidException;
+import org.prebid.server.execution.DeadlineScheduler;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.json.DecodeException;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.helper.JdbcStoredDataResultMapper;
 import org.prebid.server.settings.helper.JdbcStoredResponseResultMapper;
 import org.prebid.server.settings.model.Account;
@@ -16,8 +19,10 @@ import org.prebid.server.settings.model.StoredDataResult;
 import org.prebid.server.settings.model.StoredResponseDataResult;
 import org.prebid.server.vertx.jdbc.JdbcClient;
 
+import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -33,6 +38,9 @@ import java.util.stream.IntStream;
  * <p>
  * In order to enable caching and reduce latency for read operations {@link JdbcApplicationSettings}
  * can be decorated by {@link CachingApplicationSettings}.
+ * <p>
+ * If batch window is configured, concurrent stored data lookups are fetched with one query per window
+ * by {@link JdbcStoredDataBatcher}.
  */
 public class JdbcApplicationSettings implements ApplicationSettings {
 
@@ -84,6 +92,11 @@ public class JdbcApplicationSettings implements ApplicationSettings {
      */
     private final String selectStoredResponsesQuery;
 
+    /**
+     * Stored data batchers by query, empty if batching is disabled.
+     */
+    private final Map<String, JdbcStoredDataBatcher> batchers;
+
     public JdbcApplicationSettings(JdbcClient jdbcClient,
                                    JacksonMapper mapper,
                                    String selectAccountQuery,
@@ -91,6 +104,26 @@ public class JdbcApplicationSettings implements ApplicationSettings {
                                    String selectAmpStoredRequestsQuery,
                                    String selectStoredResponsesQuery) {
 
+        this(jdbcClient, mapper, selectAccountQuery, selectStoredRequestsQuery, selectAmpStoredRequestsQuery,
+                selectStoredResponsesQuery, null, null, null, null, 0);
+    }
+
+    /**
+     * Creates settings fetching stored data in batches collected within given window,
+     * batching is disabled if window is not positive.
+     */
+    public JdbcApplicationSettings(JdbcClient jdbcClient,
+                                   JacksonMapper mapper,
+                                   String selectAccountQuery,
+                                   String selectStoredRequestsQuery,
+                                   String selectAmpStoredRequestsQuery,
+                                   String selectStoredResponsesQuery,
+                                   Vertx vertx,
+                                   DeadlineScheduler deadlineScheduler,
+                                   Metrics metrics,
+                                   Clock clock,
+                                   long batchWindowMs) {
+
         this.jdbcClient = Objects.requireNonNull(jdbcClient);
         this.mapper = Objects.requireNonNull(mapper);
         this.selectAccountQuery = Objects.requireNonNull(selectAccountQuery)
@@ -98,6 +131,16 @@ public class JdbcApplicationSettings implements ApplicationSettings {
         this.selectStoredRequestsQuery = Objects.requireNonNull(selectStoredRequestsQuery);
         this.selectAmpStoredRequestsQuery = Objects.requireNonNull(selectAmpStoredRequestsQuery);
         this.selectStoredResponsesQuery = Objects.requireNonNull(selectStoredResponsesQuery);
+
+        batchers = new HashMap<>();
+        if (batchWindowMs > 0) {
+            for (String query : List.of(this.selectStoredRequestsQuery, this.selectAmpStoredRequestsQuery)) {
+                batchers.computeIfAbsent(query, key -> new JdbcStoredDataBatcher(vertx, deadlineScheduler,
+                        (requestIds, impIds, timeout) ->
+                                executeStoredDataQuery(key, requestIds, impIds, Function.identity(), timeout),
+                        batchWindowMs, metrics, clock));
+            }
+        }
     }
 
     /**
@@ -201,25 +244,31 @@ public class JdbcApplicationSettings implements ApplicationSettings {
      */
     private Future<StoredDataResult> fetchStoredData(String query, String accountId, Set<String> requestIds,
                                                      Set<String> impIds, Timeout timeout) {
-        final Future<StoredDataResult> future;
-
         if (CollectionUtils.isEmpty(requestIds) && CollectionUtils.isEmpty(impIds)) {
-            future = Future.succeededFuture(
+            return Future.succeededFuture(
                     StoredDataResult.of(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyList()));
-        } else {
-            final List<Object> idsQueryParameters = new ArrayList<>();
-            IntStream.rangeClosed(1, StringUtils.countMatches(query, REQUEST_ID_PLACEHOLDER))
-                    .forEach(i -> idsQueryParameters.addAll(requestIds));
-            IntStream.rangeClosed(1, StringUtils.countMatches(query, IMP_ID_PLACEHOLDER))
-                    .forEach(i -> idsQueryParameters.addAll(impIds));
-
-            final String parametrizedQuery = createParametrizedQuery(query, requestIds.size(), impIds.size());
-            future = jdbcClient.executeQuery(parametrizedQuery, idsQueryParameters,
-                    result -> JdbcStoredDataResultMapper.map(result, accountId, requestIds, impIds),
-                    timeout);
         }
 
-        return future;
+        final JdbcStoredDataBatcher batcher = batchers.get(query);
+        return batcher != null
+                ? batcher.fetch(accountId, requestIds, impIds, timeout)
+                : executeStoredDataQuery(query, requestIds, impIds,
+                        result -> JdbcStoredDataResultMapper.map(result, accountId, requestIds, impIds), timeout);
+    }
+
+    /**
+     * Executes stored data query with given ids and maps its result.
+     */
+    private <T> Future<T> executeStoredDataQuery(String query, Set<String> requestIds, Set<String> impIds,
+                                                 Function<ResultSet, T> resultMapper, Timeout timeout) {
+        final List<Object> idsQueryParameters = new ArrayList<>();
+        IntStream.rangeClosed(1, StringUtils.countMatches(query, REQUEST_ID_PLACEHOLDER))
+                .forEach(i -> idsQueryParameters.addAll(requestIds));
+        IntStream.rangeClosed(1, StringUtils.countMatches(query, IMP_ID_PLACEHOLDER))
+                .forEach(i -> idsQueryParameters.addAll(impIds));
+
+        final String parametrizedQuery = createParametrizedQuery(query, requestIds.size(), impIds.size());
+        return jdbcClient.executeQuery(parametrizedQuery, idsQueryParameters, resultMapper, timeout);
     }
 
     /**
@@ -0,0 +1,250 @@
+package org.prebid.server.settings;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.ext.sql.ResultSet;
+import org.prebid.server.execution.DeadlineScheduler;
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.settings.helper.JdbcStoredDataResultMapper;
+import org.prebid.server.settings.model.StoredDataResult;
+import org.prebid.server.settings.model.StoredDataType;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Collects stored data lookups made within short window and fetches them from database with single query.
+ * <p>
+ * Ids of all lookups in batch are merged into IN-lists of one query. Each lookup gets {@link StoredDataResult}
+ * built from rows of its own ids only, so result is the same as if lookup was fetched alone.
+ * <p>
+ * Query runs with the longest timeout of batched lookups, so lookup with little time left doesn't shorten it for
+ * others, while each lookup fails on its own timeout.
+ */
+class JdbcStoredDataBatcher {
+
+    private static final int MAX_BATCH_IDS = 500;
+
+    private final Vertx vertx;
+    private final DeadlineScheduler deadlineScheduler;
+    private final StoredDataQuery query;
+    private final long windowMs;
+    private final Metrics metrics;
+    private final Clock clock;
+
+    private Batch pendingBatch;
+
+    JdbcStoredDataBatcher(Vertx vertx,
+                          DeadlineScheduler deadlineScheduler,
+                          StoredDataQuery query,
+                          long windowMs,
+                          Metrics metrics,
+                          Clock clock) {
+
+        if (windowMs <= 0) {
+            throw new IllegalArgumentException("windowMs must be positive");
+        }
+
+        this.vertx = Objects.requireNonNull(vertx);
+        this.deadlineScheduler = Objects.requireNonNull(deadlineScheduler);
+        this.query = Objects.requireNonNull(query);
+        this.windowMs = windowMs;
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    Future<StoredDataResult> fetch(String accountId, Set<String> requestIds, Set<String> impIds, Timeout timeout) {
+        if (timeout.remaining() <= 0) {
+            return Future.failedFuture(timeoutException());
+        }
+
+        final Lookup lookup = new Lookup(accountId, requestIds, impIds, timeout, Vertx.currentContext());
+        lookup.deadline = deadlineScheduler.schedule(timeout, ignored -> lookup.promise.tryFail(timeoutException()));
+
+        final Batch batch;
+        final boolean full;
+        synchronized (this) {
+            if (pendingBatch == null) {
+                final Batch newBatch = new Batch(clock.millis());
+                vertx.setTimer(windowMs, timerId -> flush(newBatch));
+                pendingBatch = newBatch;
+            }
+
+            batch = pendingBatch;
+            batch.add(lookup);
+            full = batch.idsCount() >= MAX_BATCH_IDS;
+        }
+
+        // there is no need to wait for window end if batch is big enough already
+        if (full) {
+            flush(batch);
+        }
+
+        return lookup.promise.future();
+    }
+
+    private void flush(Batch batch) {
+        synchronized (this) {
+            if (pendingBatch != batch) {
+                return;
+            }
+            pendingBatch = null;
+        }
+
+        metrics.updateDatabaseBatchSizeMetric(batch.lookups.size());
+
+        execute(batch).onComplete(result -> {
+            metrics.updateDatabaseBatchTimeMetric(clock.millis() - batch.createdAt);
+            batch.lookups.forEach(lookup -> complete(lookup, result));
+        });
+    }
+
+    private Future<ResultSet> execute(Batch batch) {
+        try {
+            return query.execute(batch.requestIds, batch.impIds, batch.timeout);
+        } catch (Exception e) {
+            return Future.failedFuture(e);
+        }
+    }
+
+    /**
+     * Completes lookup on context of its caller, since batch query could be started from another one.
+     */
+    private void complete(Lookup lookup, AsyncResult<ResultSet> result) {
+        lookup.deadline.cancel();
+
+        final Context context = lookup.context;
+        if (context == null || Vertx.currentContext() == context) {
+            tryComplete(lookup, toLookupResult(lookup, result));
+        } else {
+            context.runOnContext(ignored -> tryComplete(lookup, toLookupResult(lookup, result)));
+        }
+    }
+
+    /**
+     * Does nothing if lookup is already failed by its timeout.
+     */
+    private static void tryComplete(Lookup lookup, AsyncResult<StoredDataResult> result) {
+        if (result.succeeded()) {
+            lookup.promise.tryComplete(result.result());
+        } else {
+            lookup.promise.tryFail(result.cause());
+        }
+    }
+
+    private static TimeoutException timeoutException() {
+        return new TimeoutException("Timed out while executing SQL query");
+    }
+
+    private static AsyncResult<StoredDataResult> toLookupResult(Lookup lookup, AsyncResult<ResultSet> result) {
+        return result.map(resultSet -> JdbcStoredDataResultMapper.map(
+                lookupResultSet(resultSet, lookup), lookup.accountId, lookup.requestIds, lookup.impIds));
+    }
+
+    /**
+     * Returns {@link ResultSet} with rows of ids requested by given lookup only.
+     */
+    private static ResultSet lookupResultSet(ResultSet resultSet, Lookup lookup) {
+        if (resultSet == null || resultSet.getResults() == null) {
+            return resultSet;
+        }
+
+        final List<JsonArray> rows = resultSet.getResults().stream()
+                .filter(row -> isRequested(row, lookup))
+                .toList();
+
+        return new ResultSet(resultSet.getColumnNames(), rows, null);
+    }
+
+    private static boolean isRequested(JsonArray row, Lookup lookup) {
+        final String id;
+        final String type;
+        try {
+            id = row.getString(1);
+            type = row.getString(3);
+        } catch (IndexOutOfBoundsException | ClassCastException e) {
+            // malformed row is kept, so mapper reports it the same way as without batching
+            return true;
+        }
+
+        if (StoredDataType.request.name().equals(type)) {
+            return lookup.requestIds.contains(id);
+        }
+        if (StoredDataType.imp.name().equals(type)) {
+            return lookup.impIds.contains(id);
+        }
+        return lookup.requestIds.contains(id) || lookup.impIds.contains(id);
+    }
+
+    /**
+     * Executes stored data query for given ids.
+     */
+    @FunctionalInterface
+    interface StoredDataQuery {
+
+        Future<ResultSet> execute(Set<String> requestIds, Set<String> impIds, Timeout timeout);
+    }
+
+    private static class Lookup {
+
+        private final String accountId;
+        private final Set<String> requestIds;
+        private final Set<String> impIds;
+        private final Timeout timeout;
+        private final Context context;
+        private final Promise<StoredDataResult> promise;
+        private DeadlineScheduler.Deadline deadline;
+
+        private Lookup(String accountId, Set<String> requestIds, Set<String> impIds, Timeout timeout,
+                       Context context) {
+
+            this.accountId = accountId;
+            this.requestIds = requestIds;
+            this.impIds = impIds;
+            this.timeout = timeout;
+            this.context = context;
+            this.promise = Promise.promise();
+        }
+    }
+
+    /**
+     * Lookups of one window, guarded by batcher lock until batch is flushed.
+     */
+    private static class Batch {
+
+        private final long createdAt;
+        private final List<Lookup> lookups = new ArrayList<>();
+        private final Set<String> requestIds = new HashSet<>();
+        private final Set<String> impIds = new HashSet<>();
+        private Timeout timeout;
+
+        private Batch(long createdAt) {
+            this.createdAt = createdAt;
+        }
+
+        private void add(Lookup lookup) {
+            lookups.add(lookup);
+            requestIds.addAll(lookup.requestIds);
+            impIds.addAll(lookup.impIds);
+
+            // query serves lookups until the latest of their timeouts, each lookup fails on its own one
+            if (timeout == null || lookup.timeout.remaining() > timeout.remaining()) {
+                timeout = lookup.timeout;
+            }
+        }
+
+        private int idsCount() {
+            return requestIds.size() + impIds.size();
+        }
+    }
+}
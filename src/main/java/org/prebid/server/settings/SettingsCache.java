@@ -2,13 +2,16 @@ package org.prebid.server.settings;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.commons.collections4.MapUtils;
-import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.collections4.SetUtils;
+import org.prebid.server.settings.model.StoredDataSnapshot;
 import org.prebid.server.settings.model.StoredItem;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -19,20 +22,26 @@ public class SettingsCache implements CacheNotificationListener {
 
     private final Map<String, Set<StoredItem>> requestCache;
     private final Map<String, Set<StoredItem>> impCache;
+    private final StoredDataTreeCache storedDataTreeCache;
 
     public SettingsCache(int ttl, int size) {
+        this(ttl, size, null);
+    }
+
+    public SettingsCache(int ttl, int size, StoredDataTreeCache storedDataTreeCache) {
         if (ttl <= 0 || size <= 0) {
             throw new IllegalArgumentException("ttl and size must be positive");
         }
         requestCache = createCache(ttl, size);
         impCache = createCache(ttl, size);
+        this.storedDataTreeCache = storedDataTreeCache;
     }
 
-    static <T> Map<String, T> createCache(int ttl, int size) {
+    static <K, V> Map<K, V> createCache(int ttl, int size) {
         return Caffeine.newBuilder()
                 .expireAfterWrite(ttl, TimeUnit.SECONDS)
                 .maximumSize(size)
-                .<String, T>build()
+                .<K, V>build()
                 .asMap();
     }
 
@@ -54,13 +63,16 @@ public class SettingsCache implements CacheNotificationListener {
 
     private static void saveCachedValue(Map<String, Set<StoredItem>> cache,
                                         String accountId, String id, String value) {
-        final Set<StoredItem> values = ObjectUtils.defaultIfNull(cache.get(id), new HashSet<>());
+        // cached set is copied since it may be read concurrently, reloaded value replaces one of the same account
+        final Set<StoredItem> values = new HashSet<>(SetUtils.emptyIfNull(cache.get(id)));
+        values.removeIf(item -> Objects.equals(item.getAccountId(), accountId));
         values.add(StoredItem.of(accountId, value));
         cache.put(id, values);
     }
 
     /**
-     * Saves given stored requests and imps for NULL account.
+     * Saves given stored requests and imps for NULL account and parses them in advance if stored data trees are
+     * cached.
      * <p>
      * TODO: account should be added to all services uses this method
      */
@@ -72,6 +84,9 @@ public class SettingsCache implements CacheNotificationListener {
         if (MapUtils.isNotEmpty(imps)) {
             imps.forEach((key, value) -> impCache.put(key, Collections.singleton(StoredItem.of(null, value))));
         }
+        if (storedDataTreeCache != null) {
+            storedDataTreeCache.save(requests, imps);
+        }
     }
 
     @Override
@@ -79,4 +94,21 @@ public class SettingsCache implements CacheNotificationListener {
         requests.forEach(requestCache.keySet()::remove);
         imps.forEach(impCache.keySet()::remove);
     }
+
+    StoredDataSnapshot snapshot() {
+        return StoredDataSnapshot.of(new HashMap<>(requestCache), new HashMap<>(impCache));
+    }
+
+    void restore(StoredDataSnapshot snapshot) {
+        restoreCache(requestCache, snapshot.getRequests());
+        restoreCache(impCache, snapshot.getImps());
+    }
+
+    private static void restoreCache(Map<String, Set<StoredItem>> cache, Map<String, Set<StoredItem>> snapshot) {
+        MapUtils.emptyIfNull(snapshot).forEach((id, storedItems) -> {
+            if (storedItems != null) {
+                cache.put(id, new HashSet<>(storedItems));
+            }
+        });
+    }
 }
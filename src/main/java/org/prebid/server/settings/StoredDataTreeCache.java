@@ -0,0 +1,107 @@
+package org.prebid.server.settings;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
+import org.apache.commons.collections4.MapUtils;
+import org.prebid.server.json.DecodeException;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps parsed trees of stored requests and imps, so the same stored JSON is not parsed on every auction.
+ * <p>
+ * Trees are keyed by the stored JSON itself, so there is nothing to invalidate: the same stored data
+ * is shared between ids and accounts, and outdated entries are just evicted as least recently used.
+ * <p>
+ * Returned trees are shared between requests and must not be modified.
+ */
+public class StoredDataTreeCache implements CacheNotificationListener {
+
+    private final JacksonMapper mapper;
+    private final Metrics metrics;
+
+    private final Cache<String, JsonNode> cache;
+
+    public StoredDataTreeCache(long maxSize, JacksonMapper mapper, Metrics metrics) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+
+        this.mapper = Objects.requireNonNull(mapper);
+        this.metrics = Objects.requireNonNull(metrics);
+
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize)
+                .<String, JsonNode>weigher((storedData, tree) -> storedData.length())
+                .build();
+
+        metrics.createSettingsCacheGauge(MetricName.stored_data_tree, MetricName.size, cache::estimatedSize);
+        metrics.createSettingsCacheGauge(MetricName.stored_data_tree, MetricName.weight, this::weightedSize);
+    }
+
+    /**
+     * Returns parsed tree for the given stored data or throws {@link DecodeException} if it is not a valid JSON.
+     */
+    public JsonNode get(String storedData) {
+        final JsonNode cachedTree = cache.getIfPresent(storedData);
+        if (cachedTree != null) {
+            metrics.updateSettingsCacheEventMetric(MetricName.stored_data_tree, MetricName.hit);
+            return cachedTree;
+        }
+
+        metrics.updateSettingsCacheEventMetric(MetricName.stored_data_tree, MetricName.miss);
+
+        final JsonNode tree = parse(storedData);
+        cache.put(storedData, tree);
+        return tree;
+    }
+
+    /**
+     * Parses stored requests and imps in advance, so the first auction using them does not have to.
+     */
+    @Override
+    public void save(Map<String, String> requests, Map<String, String> imps) {
+        MapUtils.emptyIfNull(requests).values().forEach(this::saveQuietly);
+        MapUtils.emptyIfNull(imps).values().forEach(this::saveQuietly);
+    }
+
+    @Override
+    public void invalidate(List<String> requests, List<String> imps) {
+        // trees are keyed by stored data, so invalidated entries are never looked up again and will be evicted
+    }
+
+    private void saveQuietly(String storedData) {
+        if (storedData == null || cache.getIfPresent(storedData) != null) {
+            return;
+        }
+
+        try {
+            cache.put(storedData, parse(storedData));
+        } catch (DecodeException e) {
+            // invalid stored data will be reported by the auction using it
+        }
+    }
+
+    private JsonNode parse(String storedData) {
+        try {
+            return mapper.mapper().readTree(storedData);
+        } catch (JsonProcessingException e) {
+            throw new DecodeException(e.getMessage(), e);
+        }
+    }
+
+    private long weightedSize() {
+        return cache.policy().eviction()
+                .map(Policy.Eviction::weightedSize)
+                .map(weightedSize -> weightedSize.orElse(0L))
+                .orElse(0L);
+    }
+}
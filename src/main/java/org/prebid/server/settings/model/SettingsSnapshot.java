@@ -0,0 +1,22 @@
+package org.prebid.server.settings.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Cached accounts and stored data saved to snapshot.
+ */
+@AllArgsConstructor(staticName = "of")
+@Value
+public class SettingsSnapshot {
+
+    Map<String, Account> accounts;
+
+    StoredDataSnapshot storedData;
+
+    StoredDataSnapshot ampStoredData;
+
+    StoredDataSnapshot videoStoredData;
+}
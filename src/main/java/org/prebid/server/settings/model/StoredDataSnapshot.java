@@ -0,0 +1,19 @@
+package org.prebid.server.settings.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cached stored requests and imps saved to snapshot.
+ */
+@AllArgsConstructor(staticName = "of")
+@Value
+public class StoredDataSnapshot {
+
+    Map<String, Set<StoredItem>> requests;
+
+    Map<String, Set<StoredItem>> imps;
+}
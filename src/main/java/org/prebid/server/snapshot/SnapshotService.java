@@ -0,0 +1,155 @@
+package org.prebid.server.snapshot;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.vertx.core.Vertx;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.vertx.Initializable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Saves state of {@link Snapshottable} components to files periodically and on shutdown, and restores it on
+ * startup, so restarted instance does not serve first requests with cold caches.
+ * <p>
+ * Each snapshot is a gzipped JSON file with time of its creation. Snapshots older than max age are not restored.
+ */
+public class SnapshotService implements Initializable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotService.class);
+
+    private static final String FILE_EXTENSION = ".json.gz";
+    private static final String TEMP_FILE_EXTENSION = ".tmp";
+    private static final String CREATED_AT_FIELD = "created_at";
+    private static final String DATA_FIELD = "data";
+
+    private final Vertx vertx;
+    private final Path directory;
+    private final long savePeriodMs;
+    private final long maxAgeMs;
+    private final ObjectMapper mapper;
+    private final Metrics metrics;
+    private final Clock clock;
+
+    private final List<Snapshottable<?>> snapshottables;
+
+    public SnapshotService(Vertx vertx,
+                           String directory,
+                           long savePeriodMs,
+                           long maxAgeMs,
+                           JacksonMapper mapper,
+                           Metrics metrics,
+                           Clock clock) {
+
+        if (savePeriodMs <= 0 || maxAgeMs <= 0) {
+            throw new IllegalArgumentException("savePeriodMs and maxAgeMs must be positive");
+        }
+
+        this.vertx = Objects.requireNonNull(vertx);
+        this.directory = Paths.get(Objects.requireNonNull(directory));
+        this.savePeriodMs = savePeriodMs;
+        this.maxAgeMs = maxAgeMs;
+        this.mapper = Objects.requireNonNull(mapper).mapper();
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+
+        snapshottables = new CopyOnWriteArrayList<>();
+    }
+
+    @Override
+    public void initialize() {
+        vertx.setPeriodic(savePeriodMs, ignored -> vertx.<Void>executeBlocking(promise -> {
+            saveAll();
+            promise.complete();
+        }, ignoredResult -> {
+        }));
+    }
+
+    /**
+     * Restores state of given component from its snapshot, if there is a fresh one, and registers component
+     * to be saved.
+     * <p>
+     * Reads file on the calling thread, so it is expected to be called on startup only.
+     */
+    public <T> void restore(Snapshottable<T> snapshottable) {
+        snapshottables.add(snapshottable);
+
+        final String name = snapshottable.snapshotName();
+        final Path file = directory.resolve(name + FILE_EXTENSION);
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        try {
+            final JsonNode snapshot = read(file);
+
+            final long age = clock.millis() - snapshot.path(CREATED_AT_FIELD).asLong();
+            if (age > maxAgeMs) {
+                logger.warn("Snapshot {0} is not restored, it was created {1} ms ago", name, age);
+                metrics.updateSnapshotMetric(name, MetricName.stale);
+                return;
+            }
+
+            snapshottable.restore(mapper.convertValue(snapshot.path(DATA_FIELD), snapshottable.snapshotType()));
+            metrics.updateSnapshotMetric(name, MetricName.restored);
+            logger.info("Snapshot {0} created {1} ms ago was restored", name, age);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to restore snapshot {0}: {1}", name, e.getMessage());
+            metrics.updateSnapshotMetric(name, MetricName.err);
+        }
+    }
+
+    /**
+     * Saves snapshots of all registered components, blocks calling thread.
+     */
+    public void saveAll() {
+        snapshottables.forEach(this::save);
+    }
+
+    private void save(Snapshottable<?> snapshottable) {
+        final String name = snapshottable.snapshotName();
+        final Path file = directory.resolve(name + FILE_EXTENSION);
+        final Path tempFile = directory.resolve(name + FILE_EXTENSION + TEMP_FILE_EXTENSION);
+
+        try {
+            final ObjectNode snapshot = mapper.createObjectNode()
+                    .put(CREATED_AT_FIELD, clock.millis())
+                    .set(DATA_FIELD, mapper.valueToTree(snapshottable.snapshot()));
+
+            Files.createDirectories(directory);
+            try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(tempFile))) {
+                mapper.writeValue(output, snapshot);
+            }
+            // file is replaced at once, so snapshot is never read partially written
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            metrics.updateSnapshotMetric(name, MetricName.saved);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to save snapshot {0}: {1}", name, e.getMessage());
+            metrics.updateSnapshotMetric(name, MetricName.err);
+        }
+    }
+
+    private JsonNode read(Path file) throws IOException {
+        try (InputStream input = new GZIPInputStream(Files.newInputStream(file))) {
+            return mapper.readTree(input);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.prebid.server.snapshot;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+/**
+ * Denotes components which in-memory state can be saved to snapshot and restored from it after restart.
+ * <p>
+ * Snapshot is expected to be serializable by {@link org.prebid.server.json.JacksonMapper}.
+ */
+public interface Snapshottable<T> {
+
+    /**
+     * Returns name of snapshot, it must be unique among components.
+     */
+    String snapshotName();
+
+    TypeReference<T> snapshotType();
+
+    /**
+     * Returns current state, could be called from worker thread.
+     */
+    T snapshot();
+
+    /**
+     * Restores state from snapshot, called on startup before server starts accepting requests.
+     */
+    void restore(T snapshot);
+}
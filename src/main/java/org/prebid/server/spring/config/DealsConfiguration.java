@@ -47,6 +47,7 @@ import org.prebid.server.log.CriteriaManager;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.CachingApplicationSettings;
 import org.prebid.server.settings.SettingsCache;
+import org.prebid.server.snapshot.SnapshotService;
 import org.prebid.server.vertx.ContextRunner;
 import org.prebid.server.vertx.http.HttpClient;
 import org.springframework.beans.BeansException;
@@ -164,9 +165,10 @@ public class DealsConfiguration {
                 ApplicationEventService applicationEventService,
                 @Value("${auction.ad-server-currency}") String adServerCurrency,
                 Clock clock,
-                CriteriaLogManager criteriaLogManager) {
+                CriteriaLogManager criteriaLogManager,
+                @Autowired(required = false) SnapshotService snapshotService) {
 
-            return new LineItemService(maxDealsPerBidder,
+            final LineItemService lineItemService = new LineItemService(maxDealsPerBidder,
                     targetingService,
                     bidderCatalog,
                     conversionService,
@@ -174,6 +176,12 @@ public class DealsConfiguration {
                     adServerCurrency,
                     clock,
                     criteriaLogManager);
+
+            if (snapshotService != null) {
+                snapshotService.restore(lineItemService);
+            }
+
+            return lineItemService;
         }
 
         @Bean
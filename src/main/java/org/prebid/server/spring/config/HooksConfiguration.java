@@ -1,8 +1,8 @@
 package org.prebid.server.spring.config;
 
-import io.vertx.core.Vertx;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.prebid.server.execution.DeadlineScheduler;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.hooks.execution.HookCatalog;
 import org.prebid.server.hooks.execution.HookStageExecutor;
@@ -28,7 +28,7 @@ public class HooksConfiguration {
     HookStageExecutor hookStageExecutor(HooksConfigurationProperties hooksConfiguration,
                                         HookCatalog hookCatalog,
                                         TimeoutFactory timeoutFactory,
-                                        Vertx vertx,
+                                        DeadlineScheduler deadlineScheduler,
                                         Clock clock,
                                         JacksonMapper mapper) {
 
@@ -37,7 +37,7 @@ public class HooksConfiguration {
                 hooksConfiguration.getDefaultAccountExecutionPlan(),
                 hookCatalog,
                 timeoutFactory,
-                vertx,
+                deadlineScheduler,
                 clock,
                 mapper);
     }
@@ -8,6 +8,7 @@ import org.prebid.server.floors.BasicPriceFloorAdjuster;
 import org.prebid.server.floors.BasicPriceFloorEnforcer;
 import org.prebid.server.floors.BasicPriceFloorProcessor;
 import org.prebid.server.floors.BasicPriceFloorResolver;
+import org.prebid.server.floors.DeviceTypeClassifier;
 import org.prebid.server.floors.PriceFloorAdjuster;
 import org.prebid.server.floors.PriceFloorEnforcer;
 import org.prebid.server.floors.PriceFloorFetcher;
@@ -18,7 +19,10 @@ import org.prebid.server.geolocation.CountryCodeMapper;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.ApplicationSettings;
+import org.prebid.server.snapshot.SnapshotService;
 import org.prebid.server.vertx.http.HttpClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -36,9 +40,10 @@ public class PriceFloorsConfiguration {
             TimeoutFactory timeoutFactory,
             HttpClient httpClient,
             PriceFloorDebugProperties debugProperties,
-            JacksonMapper mapper) {
+            JacksonMapper mapper,
+            @Autowired(required = false) SnapshotService snapshotService) {
 
-        return new PriceFloorFetcher(
+        final PriceFloorFetcher priceFloorFetcher = new PriceFloorFetcher(
                 applicationSettings,
                 metrics,
                 vertx,
@@ -46,6 +51,12 @@ public class PriceFloorsConfiguration {
                 httpClient,
                 debugProperties,
                 mapper);
+
+        if (snapshotService != null) {
+            snapshotService.restore(priceFloorFetcher);
+        }
+
+        return priceFloorFetcher;
     }
 
     @Bean
@@ -61,14 +72,28 @@ public class PriceFloorsConfiguration {
         return PriceFloorEnforcer.noOp();
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "price-floors", name = "enabled", havingValue = "true")
+    DeviceTypeClassifier deviceTypeClassifier(
+            @Value("${price-floors.device-type-cache-size}") int deviceTypeCacheSize) {
+
+        return new DeviceTypeClassifier(deviceTypeCacheSize);
+    }
+
     @Bean
     @ConditionalOnProperty(prefix = "price-floors", name = "enabled", havingValue = "true")
     PriceFloorResolver basicPriceFloorResolver(CurrencyConversionService currencyConversionService,
                                                CountryCodeMapper countryCodeMapper,
+                                               DeviceTypeClassifier deviceTypeClassifier,
                                                Metrics metrics,
                                                JacksonMapper mapper) {
 
-        return new BasicPriceFloorResolver(currencyConversionService, countryCodeMapper, metrics, mapper);
+        return new BasicPriceFloorResolver(
+                currencyConversionService,
+                countryCodeMapper,
+                deviceTypeClassifier,
+                metrics,
+                mapper);
     }
 
     @Bean
@@ -6,7 +6,9 @@ import io.vertx.core.Vertx;
 import io.vertx.core.file.FileSystem;
 import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.net.JksOptions;
+import org.prebid.server.auction.AdaptiveTimeoutController;
 import org.prebid.server.auction.AmpResponsePostProcessor;
+import org.prebid.server.auction.AuctionBidderRequester;
 import org.prebid.server.auction.BidResponseCreator;
 import org.prebid.server.auction.BidResponsePostProcessor;
 import org.prebid.server.auction.DebugResolver;
@@ -53,6 +55,7 @@ import org.prebid.server.deals.DealsPopulator;
 import org.prebid.server.deals.DealsProcessor;
 import org.prebid.server.deals.events.ApplicationEventService;
 import org.prebid.server.events.EventsService;
+import org.prebid.server.execution.DeadlineScheduler;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.floors.PriceFloorAdjuster;
 import org.prebid.server.floors.PriceFloorEnforcer;
@@ -74,6 +77,7 @@ import org.prebid.server.optout.GoogleRecaptchaVerifier;
 import org.prebid.server.privacy.PrivacyExtractor;
 import org.prebid.server.privacy.gdpr.TcfDefinerService;
 import org.prebid.server.settings.ApplicationSettings;
+import org.prebid.server.settings.StoredDataTreeCache;
 import org.prebid.server.settings.model.BidValidationEnforcement;
 import org.prebid.server.spring.config.model.ExternalConversionProperties;
 import org.prebid.server.spring.config.model.HttpClientCircuitBreakerProperties;
@@ -454,8 +458,11 @@ public class ServiceConfiguration {
     @Scope(scopeName = VertxContextScope.NAME, proxyMode = ScopedProxyMode.INTERFACES)
     @ConditionalOnProperty(prefix = "http-client.circuit-breaker", name = "enabled", havingValue = "false",
             matchIfMissing = true)
-    BasicHttpClient basicHttpClient(Vertx vertx, HttpClientProperties httpClientProperties) {
-        return createBasicHttpClient(vertx, httpClientProperties);
+    BasicHttpClient basicHttpClient(Vertx vertx,
+                                    DeadlineScheduler deadlineScheduler,
+                                    HttpClientProperties httpClientProperties) {
+
+        return createBasicHttpClient(vertx, deadlineScheduler, httpClientProperties);
     }
 
     @Bean
@@ -470,13 +477,14 @@ public class ServiceConfiguration {
     @ConditionalOnProperty(prefix = "http-client.circuit-breaker", name = "enabled", havingValue = "true")
     CircuitBreakerSecuredHttpClient circuitBreakerSecuredHttpClient(
             Vertx vertx,
+            DeadlineScheduler deadlineScheduler,
             Metrics metrics,
             HttpClientProperties httpClientProperties,
             @Qualifier("httpClientCircuitBreakerProperties")
             HttpClientCircuitBreakerProperties circuitBreakerProperties,
             Clock clock) {
 
-        final HttpClient httpClient = createBasicHttpClient(vertx, httpClientProperties);
+        final HttpClient httpClient = createBasicHttpClient(vertx, deadlineScheduler, httpClientProperties);
 
         return new CircuitBreakerSecuredHttpClient(
                 vertx,
@@ -489,7 +497,10 @@ public class ServiceConfiguration {
                 clock);
     }
 
-    private static BasicHttpClient createBasicHttpClient(Vertx vertx, HttpClientProperties httpClientProperties) {
+    private static BasicHttpClient createBasicHttpClient(Vertx vertx,
+                                                         DeadlineScheduler deadlineScheduler,
+                                                         HttpClientProperties httpClientProperties) {
+
         final HttpClientOptions options = new HttpClientOptions()
                 .setMaxPoolSize(httpClientProperties.getMaxPoolSize())
                 .setIdleTimeoutUnit(TimeUnit.MILLISECONDS)
@@ -511,7 +522,7 @@ public class ServiceConfiguration {
                     .setKeyStoreOptions(jksOptions);
         }
 
-        return new BasicHttpClient(vertx, vertx.createHttpClient(options));
+        return new BasicHttpClient(deadlineScheduler, vertx.createHttpClient(options));
     }
 
     @Bean
@@ -577,6 +588,17 @@ public class ServiceConfiguration {
                 mapper);
     }
 
+    @Bean
+    AuctionBidderRequester auctionBidderRequester(
+            HttpBidderRequester httpBidderRequester,
+            BidRequestOrtbVersionConversionManager bidRequestOrtbVersionConversionManager,
+            Metrics metrics,
+            @Value("${auction.encoding-cache-enabled}") boolean encodingCacheEnabled) {
+
+        return new AuctionBidderRequester(
+                httpBidderRequester, bidRequestOrtbVersionConversionManager, metrics, encodingCacheEnabled);
+    }
+
     @Bean
     PrebidVersionProvider prebidVersionProvider(VersionInfo versionInfo) {
         return new PrebidVersionProvider(versionInfo.getVersion());
@@ -619,6 +641,7 @@ public class ServiceConfiguration {
             HookStageExecutor hookStageExecutor,
             CategoryMappingService categoryMappingService,
             @Value("${settings.targeting.truncate-attr-chars}") int truncateAttrChars,
+            @Value("${auction.native-request-cache-size}") int nativeRequestCacheSize,
             Clock clock,
             JacksonMapper mapper) {
 
@@ -633,6 +656,7 @@ public class ServiceConfiguration {
                 hookStageExecutor,
                 categoryMappingService,
                 truncateAttrChars,
+                nativeRequestCacheSize,
                 clock,
                 mapper);
     }
@@ -640,6 +664,7 @@ public class ServiceConfiguration {
     @Bean
     ExchangeService exchangeService(
             @Value("${auction.cache.expected-request-time-ms}") long expectedCacheTimeMs,
+            @Value("${auction.process-bids-on-arrival}") boolean processBidsOnArrival,
             BidderCatalog bidderCatalog,
             StoredResponseProcessor storedResponseProcessor,
             DealsProcessor dealsProcessor,
@@ -648,14 +673,14 @@ public class ServiceConfiguration {
             SupplyChainResolver supplyChainResolver,
             DebugResolver debugResolver,
             MediaTypeProcessor mediaTypeProcessor,
-            BidRequestOrtbVersionConversionManager bidRequestOrtbVersionConversionManager,
-            HttpBidderRequester httpBidderRequester,
+            AuctionBidderRequester auctionBidderRequester,
             ResponseBidValidator responseBidValidator,
             CurrencyConversionService currencyConversionService,
             BidResponseCreator bidResponseCreator,
             BidResponsePostProcessor bidResponsePostProcessor,
             HookStageExecutor hookStageExecutor,
             @Autowired(required = false) ApplicationEventService applicationEventService,
+            @Autowired(required = false) AdaptiveTimeoutController adaptiveTimeoutController,
             HttpInteractionLogger httpInteractionLogger,
             PriceFloorAdjuster priceFloorAdjuster,
             PriceFloorEnforcer priceFloorEnforcer,
@@ -667,6 +692,7 @@ public class ServiceConfiguration {
 
         return new ExchangeService(
                 expectedCacheTimeMs,
+                processBidsOnArrival,
                 bidderCatalog,
                 storedResponseProcessor,
                 dealsProcessor,
@@ -675,14 +701,14 @@ public class ServiceConfiguration {
                 supplyChainResolver,
                 debugResolver,
                 mediaTypeProcessor,
-                bidRequestOrtbVersionConversionManager,
-                httpBidderRequester,
+                auctionBidderRequester,
                 responseBidValidator,
                 currencyConversionService,
                 bidResponseCreator,
                 bidResponsePostProcessor,
                 hookStageExecutor,
                 applicationEventService,
+                adaptiveTimeoutController,
                 httpInteractionLogger,
                 priceFloorAdjuster,
                 priceFloorEnforcer,
@@ -693,6 +719,21 @@ public class ServiceConfiguration {
                 criteriaLogManager);
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "auction.adaptive-timeout", name = "enabled", havingValue = "true")
+    AdaptiveTimeoutController adaptiveTimeoutController(
+            @Value("${auction.adaptive-timeout.percentile}") double percentile,
+            @Value("${auction.adaptive-timeout.min-timeout-ms}") long minTimeoutMs,
+            @Value("${auction.adaptive-timeout.min-samples}") long minSamples,
+            @Value("${auction.adaptive-timeout.refresh-period-ms}") long refreshPeriodMs,
+            @Value("${auction.adaptive-timeout.exploration-rate}") double explorationRate,
+            Metrics metrics,
+            Clock clock) {
+
+        return new AdaptiveTimeoutController(
+                percentile, minTimeoutMs, minSamples, refreshPeriodMs, explorationRate, metrics, clock);
+    }
+
     @Bean
     StoredRequestProcessor storedRequestProcessor(
             @Value("${auction.stored-requests-timeout-ms}") long defaultTimeoutMs,
@@ -703,7 +744,8 @@ public class ServiceConfiguration {
             Metrics metrics,
             TimeoutFactory timeoutFactory,
             JacksonMapper mapper,
-            JsonMerger jsonMerger) {
+            JsonMerger jsonMerger,
+            @Autowired(required = false) StoredDataTreeCache storedDataTreeCache) {
 
         return new StoredRequestProcessor(
                 defaultTimeoutMs,
@@ -715,7 +757,8 @@ public class ServiceConfiguration {
                 metrics,
                 timeoutFactory,
                 mapper,
-                jsonMerger);
+                jsonMerger,
+                storedDataTreeCache);
     }
 
     @Bean
@@ -848,6 +891,15 @@ public class ServiceConfiguration {
         return new TimeoutFactory(clock);
     }
 
+    @Bean
+    DeadlineScheduler deadlineScheduler(Vertx vertx,
+                                        @Value("${vertx.deadline-tick-ms}") long tickMs,
+                                        Metrics metrics,
+                                        Clock clock) {
+
+        return new DeadlineScheduler(vertx, tickMs, metrics, clock);
+    }
+
     @Bean
     BidResponsePostProcessor bidResponsePostProcessor() {
         return BidResponsePostProcessor.noOp();
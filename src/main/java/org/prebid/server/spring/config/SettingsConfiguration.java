@@ -9,6 +9,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.UtilityClass;
 import org.apache.commons.lang3.ObjectUtils;
+import org.prebid.server.execution.DeadlineScheduler;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.floors.PriceFloorsConfigResolver;
 import org.prebid.server.json.JacksonMapper;
@@ -23,8 +24,10 @@ import org.prebid.server.settings.FileApplicationSettings;
 import org.prebid.server.settings.HttpApplicationSettings;
 import org.prebid.server.settings.JdbcApplicationSettings;
 import org.prebid.server.settings.SettingsCache;
+import org.prebid.server.settings.StoredDataTreeCache;
 import org.prebid.server.settings.service.HttpPeriodicRefreshService;
 import org.prebid.server.settings.service.JdbcPeriodicRefreshService;
+import org.prebid.server.snapshot.SnapshotService;
 import org.prebid.server.spring.config.model.CircuitBreakerProperties;
 import org.prebid.server.vertx.ContextRunner;
 import org.prebid.server.vertx.http.HttpClient;
@@ -83,8 +86,13 @@ public class SettingsConfiguration {
                 @Value("${settings.database.stored-requests-query}") String storedRequestsQuery,
                 @Value("${settings.database.amp-stored-requests-query}") String ampStoredRequestsQuery,
                 @Value("${settings.database.stored-responses-query}") String storedResponsesQuery,
+                @Value("${settings.database.batch-window-ms}") long batchWindowMs,
                 JdbcClient jdbcClient,
-                JacksonMapper jacksonMapper) {
+                JacksonMapper jacksonMapper,
+                Vertx vertx,
+                DeadlineScheduler deadlineScheduler,
+                Metrics metrics,
+                Clock clock) {
 
             return new JdbcApplicationSettings(
                     jdbcClient,
@@ -92,16 +100,24 @@ public class SettingsConfiguration {
                     accountQuery,
                     storedRequestsQuery,
                     ampStoredRequestsQuery,
-                    storedResponsesQuery);
+                    storedResponsesQuery,
+                    vertx,
+                    deadlineScheduler,
+                    metrics,
+                    clock,
+                    batchWindowMs);
         }
 
         @Bean
         @ConditionalOnProperty(prefix = "settings.database.circuit-breaker", name = "enabled", havingValue = "false",
                 matchIfMissing = true)
-        BasicJdbcClient basicJdbcClient(
-                Vertx vertx, JDBCClient vertxJdbcClient, Metrics metrics, Clock clock, ContextRunner contextRunner) {
+        BasicJdbcClient basicJdbcClient(DeadlineScheduler deadlineScheduler,
+                                        JDBCClient vertxJdbcClient,
+                                        Metrics metrics,
+                                        Clock clock,
+                                        ContextRunner contextRunner) {
 
-            return createBasicJdbcClient(vertx, vertxJdbcClient, metrics, clock, contextRunner);
+            return createBasicJdbcClient(deadlineScheduler, vertxJdbcClient, metrics, clock, contextRunner);
         }
 
         @Bean
@@ -114,18 +130,25 @@ public class SettingsConfiguration {
         @Bean
         @ConditionalOnProperty(prefix = "settings.database.circuit-breaker", name = "enabled", havingValue = "true")
         CircuitBreakerSecuredJdbcClient circuitBreakerSecuredJdbcClient(
-                Vertx vertx, JDBCClient vertxJdbcClient, Metrics metrics, Clock clock, ContextRunner contextRunner,
+                Vertx vertx, DeadlineScheduler deadlineScheduler, JDBCClient vertxJdbcClient, Metrics metrics,
+                Clock clock, ContextRunner contextRunner,
                 @Qualifier("databaseCircuitBreakerProperties") CircuitBreakerProperties circuitBreakerProperties) {
 
-            final JdbcClient jdbcClient = createBasicJdbcClient(vertx, vertxJdbcClient, metrics, clock, contextRunner);
+            final JdbcClient jdbcClient = createBasicJdbcClient(
+                    deadlineScheduler, vertxJdbcClient, metrics, clock, contextRunner);
             return new CircuitBreakerSecuredJdbcClient(vertx, jdbcClient, metrics,
                     circuitBreakerProperties.getOpeningThreshold(), circuitBreakerProperties.getOpeningIntervalMs(),
                     circuitBreakerProperties.getClosingIntervalMs(), clock);
         }
 
-        private static BasicJdbcClient createBasicJdbcClient(
-                Vertx vertx, JDBCClient vertxJdbcClient, Metrics metrics, Clock clock, ContextRunner contextRunner) {
-            final BasicJdbcClient basicJdbcClient = new BasicJdbcClient(vertx, vertxJdbcClient, metrics, clock);
+        private static BasicJdbcClient createBasicJdbcClient(DeadlineScheduler deadlineScheduler,
+                                                             JDBCClient vertxJdbcClient,
+                                                             Metrics metrics,
+                                                             Clock clock,
+                                                             ContextRunner contextRunner) {
+
+            final BasicJdbcClient basicJdbcClient =
+                    new BasicJdbcClient(deadlineScheduler, vertxJdbcClient, metrics, clock);
 
             contextRunner.<Void>runOnServiceContext(promise -> basicJdbcClient.initialize().onComplete(promise));
 
@@ -380,16 +403,31 @@ public class SettingsConfiguration {
                 @Qualifier("settingsCache") SettingsCache cache,
                 @Qualifier("ampSettingsCache") SettingsCache ampCache,
                 @Qualifier("videoSettingCache") SettingsCache videoCache,
-                Metrics metrics) {
+                TimeoutFactory timeoutFactory,
+                DeadlineScheduler deadlineScheduler,
+                Metrics metrics,
+                Clock clock,
+                @Autowired(required = false) SnapshotService snapshotService) {
 
-            return new CachingApplicationSettings(
+            final CachingApplicationSettings cachingApplicationSettings = new CachingApplicationSettings(
                     enrichingApplicationSettings,
                     cache,
                     ampCache,
                     videoCache,
+                    timeoutFactory,
+                    deadlineScheduler,
                     metrics,
+                    clock,
                     cacheProperties.getTtlSeconds(),
+                    ObjectUtils.defaultIfNull(cacheProperties.getRefreshAfterSeconds(), 0),
+                    cacheProperties.getLoadTimeoutMs(),
                     cacheProperties.getCacheSize());
+
+            if (snapshotService != null) {
+                snapshotService.restore(cachingApplicationSettings);
+            }
+
+            return cachingApplicationSettings;
         }
     }
 
@@ -410,20 +448,43 @@ public class SettingsConfiguration {
 
         @Bean
         @Qualifier("settingsCache")
-        SettingsCache settingsCache(ApplicationSettingsCacheProperties cacheProperties) {
-            return new SettingsCache(cacheProperties.getTtlSeconds(), cacheProperties.getCacheSize());
+        SettingsCache settingsCache(ApplicationSettingsCacheProperties cacheProperties,
+                                    @Autowired(required = false) StoredDataTreeCache storedDataTreeCache) {
+
+            return new SettingsCache(
+                    cacheProperties.getTtlSeconds(), cacheProperties.getCacheSize(), storedDataTreeCache);
         }
 
         @Bean
         @Qualifier("ampSettingsCache")
-        SettingsCache ampSettingsCache(ApplicationSettingsCacheProperties cacheProperties) {
-            return new SettingsCache(cacheProperties.getTtlSeconds(), cacheProperties.getCacheSize());
+        SettingsCache ampSettingsCache(ApplicationSettingsCacheProperties cacheProperties,
+                                       @Autowired(required = false) StoredDataTreeCache storedDataTreeCache) {
+
+            return new SettingsCache(
+                    cacheProperties.getTtlSeconds(), cacheProperties.getCacheSize(), storedDataTreeCache);
         }
 
         @Bean
         @Qualifier("videoSettingCache")
-        SettingsCache videoSettingCache(ApplicationSettingsCacheProperties cacheProperties) {
-            return new SettingsCache(cacheProperties.getTtlSeconds(), cacheProperties.getCacheSize());
+        SettingsCache videoSettingCache(ApplicationSettingsCacheProperties cacheProperties,
+                                        @Autowired(required = false) StoredDataTreeCache storedDataTreeCache) {
+
+            return new SettingsCache(
+                    cacheProperties.getTtlSeconds(), cacheProperties.getCacheSize(), storedDataTreeCache);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "settings.in-memory-cache", name = "stored-data-tree-max-size")
+    static class StoredDataTreeCacheConfiguration {
+
+        @Bean
+        StoredDataTreeCache storedDataTreeCache(
+                @Value("${settings.in-memory-cache.stored-data-tree-max-size}") @Min(1) long maxSize,
+                JacksonMapper mapper,
+                Metrics metrics) {
+
+            return new StoredDataTreeCache(maxSize, mapper, metrics);
         }
     }
 
@@ -441,5 +502,10 @@ public class SettingsConfiguration {
         @NotNull
         @Min(1)
         private Integer cacheSize;
+        @Min(1)
+        private Integer refreshAfterSeconds;
+        @NotNull
+        @Min(1)
+        private Long loadTimeoutMs;
     }
 }
@@ -0,0 +1,32 @@
+package org.prebid.server.spring.config;
+
+import io.vertx.core.Vertx;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.snapshot.SnapshotService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@ConditionalOnProperty(prefix = "snapshot", name = "enabled", havingValue = "true")
+public class SnapshotConfiguration {
+
+    /**
+     * Snapshots are saved once more on application shutdown.
+     */
+    @Bean(destroyMethod = "saveAll")
+    SnapshotService snapshotService(@Value("${snapshot.directory}") String directory,
+                                    @Value("${snapshot.save-period-ms}") long savePeriodMs,
+                                    @Value("${snapshot.max-age-ms}") long maxAgeMs,
+                                    Vertx vertx,
+                                    JacksonMapper mapper,
+                                    Metrics metrics,
+                                    Clock clock) {
+
+        return new SnapshotService(vertx, directory, savePeriodMs, maxAgeMs, mapper, metrics, clock);
+    }
+}
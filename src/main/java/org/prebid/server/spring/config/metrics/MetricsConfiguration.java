@@ -18,6 +18,7 @@ import org.apache.commons.lang3.ObjectUtils;
 import org.prebid.server.metric.AccountMetricsVerbosityResolver;
 import org.prebid.server.metric.CounterType;
 import org.prebid.server.metric.Metrics;
+import org.prebid.server.metric.TopAccountsTracker;
 import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
 import org.prebid.server.spring.env.YamlPropertySourceFactory;
 import org.prebid.server.vertx.CloseableAdapter;
@@ -35,6 +36,7 @@ import javax.annotation.PostConstruct;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -121,11 +123,17 @@ public class MetricsConfiguration {
     }
 
     @Bean
-    AccountMetricsVerbosityResolver accountMetricsVerbosity(AccountsProperties accountsProperties) {
+    AccountMetricsVerbosityResolver accountMetricsVerbosity(AccountsProperties accountsProperties, Clock clock) {
+        final int topSize = accountsProperties.getTopSize();
+        final TopAccountsTracker topAccountsTracker = topSize > 0
+                ? new TopAccountsTracker(topSize, accountsProperties.getTopRefreshPeriodMs(), clock)
+                : null;
+
         return new AccountMetricsVerbosityResolver(
                 accountsProperties.getDefaultVerbosity(),
                 accountsProperties.getBasicVerbosity(),
-                accountsProperties.getDetailedVerbosity());
+                accountsProperties.getDetailedVerbosity(),
+                topAccountsTracker);
     }
 
     @PostConstruct
@@ -210,5 +218,13 @@ public class MetricsConfiguration {
         private AccountMetricsVerbosityLevel defaultVerbosity;
         private List<String> basicVerbosity = new ArrayList<>();
         private List<String> detailedVerbosity = new ArrayList<>();
+
+        @NotNull
+        @Min(0)
+        private Integer topSize;
+
+        @NotNull
+        @Min(1)
+        private Long topRefreshPeriodMs;
     }
 }
@@ -0,0 +1,64 @@
+package org.prebid.server.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses data to gzip format.
+ * <p>
+ * Unlike {@link java.util.zip.GZIPOutputStream}, which allocates new {@link Deflater} with its native memory for every
+ * stream, deflaters and buffers here are reused per thread, so each event loop keeps its own ones.
+ */
+public final class GzipUtil {
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int TRAILER_SIZE = 8;
+    private static final byte[] HEADER = {
+            (byte) GZIP_MAGIC,
+            (byte) (GZIP_MAGIC >> 8),
+            Deflater.DEFLATED,
+            0, 0, 0, 0, 0, 0, 0};
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final ThreadLocal<Deflater> DEFLATERS =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+    private static final ThreadLocal<byte[]> BUFFERS = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    private GzipUtil() {
+    }
+
+    public static byte[] gzip(byte[] value) {
+        final Deflater deflater = DEFLATERS.get();
+        final byte[] buffer = BUFFERS.get();
+
+        final ByteArrayOutputStream result =
+                new ByteArrayOutputStream(HEADER.length + value.length / 2 + TRAILER_SIZE);
+        result.writeBytes(HEADER);
+
+        try {
+            deflater.setInput(value);
+            deflater.finish();
+            while (!deflater.finished()) {
+                result.write(buffer, 0, deflater.deflate(buffer));
+            }
+        } finally {
+            deflater.reset();
+        }
+
+        final CRC32 crc = new CRC32();
+        crc.update(value);
+        writeIntLittleEndian(result, (int) crc.getValue());
+        writeIntLittleEndian(result, value.length);
+
+        return result.toByteArray();
+    }
+
+    private static void writeIntLittleEndian(ByteArrayOutputStream output, int value) {
+        output.write(value);
+        output.write(value >> 8);
+        output.write(value >> 16);
+        output.write(value >> 24);
+    }
+}
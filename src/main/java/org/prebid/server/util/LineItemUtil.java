@@ -36,6 +36,14 @@ public class LineItemUtil {
         return extDealLine != null ? extDealLine.getLineItemId() : null;
     }
 
+    /**
+     * Extracts line item ID from the given {@link Bid} and its corresponding {@link Imp}.
+     */
+    public static String lineItemIdFrom(Bid bid, Imp imp, JacksonMapper mapper) {
+        final ExtDealLine extDealLine = imp != null ? extDealLineFrom(bid, imp, mapper) : null;
+        return extDealLine != null ? extDealLine.getLineItemId() : null;
+    }
+
     private static ExtDealLine extDealLineFrom(Bid bid, List<Imp> imps, JacksonMapper mapper) {
         final Imp correspondingImp = imps.stream()
                 .filter(imp -> Objects.equals(imp.getId(), bid.getImpid()))
@@ -18,6 +18,7 @@ import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.BidderAliases;
 import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.ImpIndex;
 import org.prebid.server.bidder.model.BidderBid;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.log.ConditionalLogger;
@@ -101,13 +102,13 @@ public class ResponseBidValidator {
             validateTypeSpecific(bidderBid, bidder);
             validateCurrency(bidderBid.getBidCurrency());
 
-            final Imp correspondingImp = findCorrespondingImp(bid, bidRequest);
+            final Imp correspondingImp = findCorrespondingImp(bid, auctionContext.getImpIndex());
             if (bidderBid.getType() == BidType.banner) {
                 warnings.addAll(validateBannerFields(bid, bidder, bidRequest, account, correspondingImp, aliases));
             }
 
             if (dealsEnabled) {
-                validateDealsFor(bidderBid, auctionContext.getBidRequest(), bidder, aliases, warnings);
+                validateDealsFor(bidderBid, correspondingImp, bidder, aliases, warnings);
             }
 
             warnings.addAll(validateSecureMarkup(bid, bidder, bidRequest, account, correspondingImp, aliases));
@@ -156,12 +157,12 @@ public class ResponseBidValidator {
         }
     }
 
-    private static Imp findCorrespondingImp(Bid bid, BidRequest bidRequest) throws ValidationException {
-        return bidRequest.getImp().stream()
-                .filter(imp -> Objects.equals(imp.getId(), bid.getImpid()))
-                .findFirst()
-                .orElseThrow(() -> exceptionAndLogOnePercent(
-                        "Bid \"%s\" has no corresponding imp in request".formatted(bid.getId())));
+    private static Imp findCorrespondingImp(Bid bid, ImpIndex impIndex) throws ValidationException {
+        final Imp imp = impIndex.get(bid.getImpid());
+        if (imp == null) {
+            throw exceptionAndLogOnePercent("Bid \"%s\" has no corresponding imp in request".formatted(bid.getId()));
+        }
+        return imp;
     }
 
     private static ValidationException exceptionAndLogOnePercent(String message) {
@@ -304,7 +305,7 @@ public class ResponseBidValidator {
     }
 
     private void validateDealsFor(BidderBid bidderBid,
-                                  BidRequest bidRequest,
+                                  Imp imp,
                                   String bidder,
                                   BidderAliases aliases,
                                   List<String> warnings) throws ValidationException {
@@ -312,11 +313,6 @@ public class ResponseBidValidator {
         final Bid bid = bidderBid.getBid();
         final String bidId = bid.getId();
 
-        final Imp imp = bidRequest.getImp().stream()
-                .filter(curImp -> Objects.equals(curImp.getId(), bid.getImpid()))
-                .findFirst()
-                .orElseThrow(() -> new ValidationException("Bid \"%s\" has no corresponding imp in request", bidId));
-
         final String dealId = bid.getDealid();
 
         if (isDealsOnlyImp(imp, bidder) && dealId == null) {
@@ -3,12 +3,13 @@ package org.prebid.server.vertx.http;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Promise;
-import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
 import org.prebid.server.exception.PreBidException;
+import org.prebid.server.execution.DeadlineScheduler;
+import org.prebid.server.execution.DeadlineScheduler.Deadline;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
 
 import java.util.Objects;
@@ -20,11 +21,11 @@ import java.util.function.Consumer;
  */
 public class BasicHttpClient implements HttpClient {
 
-    private final Vertx vertx;
+    private final DeadlineScheduler deadlineScheduler;
     private final io.vertx.core.http.HttpClient httpClient;
 
-    public BasicHttpClient(Vertx vertx, io.vertx.core.http.HttpClient httpClient) {
-        this.vertx = Objects.requireNonNull(vertx);
+    public BasicHttpClient(DeadlineScheduler deadlineScheduler, io.vertx.core.http.HttpClient httpClient) {
+        this.deadlineScheduler = Objects.requireNonNull(deadlineScheduler);
         this.httpClient = Objects.requireNonNull(httpClient);
     }
 
@@ -60,12 +61,13 @@ public class BasicHttpClient implements HttpClient {
 
             // Vert.x HttpClientRequest timeout doesn't aware of case when a part of the response body is received,
             // but remaining part is delayed. So, overall request/response timeout is involved to fix it.
-            final long timerId = vertx.setTimer(timeoutMs, id -> handleTimeout(promise, timeoutMs, httpClientRequest));
+            final Deadline deadline = deadlineScheduler.schedule(
+                    timeoutMs, ignored -> handleTimeout(promise, timeoutMs, httpClientRequest));
 
             httpClientRequest
                     .setFollowRedirects(true)
-                    .handler(response -> handleResponse(response, promise, timerId, maxResponseSize))
-                    .exceptionHandler(exception -> failResponse(exception, promise, timerId));
+                    .handler(response -> handleResponse(response, promise, deadline, maxResponseSize))
+                    .exceptionHandler(exception -> failResponse(exception, promise, deadline));
 
             if (headers != null) {
                 httpClientRequest.headers().addAll(headers);
@@ -94,7 +96,7 @@ public class BasicHttpClient implements HttpClient {
     }
 
     private void handleResponse(io.vertx.core.http.HttpClientResponse response,
-                                Promise<HttpClientResponse> promise, long timerId, long maxResponseSize) {
+                                Promise<HttpClientResponse> promise, Deadline deadline, long maxResponseSize) {
         final String contentLength = response.getHeader(HttpHeaders.CONTENT_LENGTH);
         final long responseBodySize = contentLength != null ? Long.parseLong(contentLength) : 0;
         if (responseBodySize > maxResponseSize) {
@@ -102,24 +104,24 @@ public class BasicHttpClient implements HttpClient {
                     new PreBidException(
                             "Response size %d exceeded %d bytes limit".formatted(responseBodySize, maxResponseSize)),
                     promise,
-                    timerId);
+                    deadline);
             return;
         }
 
         response
-                .bodyHandler(buffer -> successResponse(buffer.toString(), response, promise, timerId))
-                .exceptionHandler(exception -> failResponse(exception, promise, timerId));
+                .bodyHandler(buffer -> successResponse(buffer.getBytes(), response, promise, deadline))
+                .exceptionHandler(exception -> failResponse(exception, promise, deadline));
     }
 
-    private void successResponse(String body, io.vertx.core.http.HttpClientResponse response,
-                                 Promise<HttpClientResponse> promise, long timerId) {
-        vertx.cancelTimer(timerId);
+    private void successResponse(byte[] body, io.vertx.core.http.HttpClientResponse response,
+                                 Promise<HttpClientResponse> promise, Deadline deadline) {
+        deadline.cancel();
 
-        promise.tryComplete(HttpClientResponse.of(response.statusCode(), response.headers(), body));
+        promise.tryComplete(HttpClientResponse.ofBytes(response.statusCode(), response.headers(), body));
     }
 
-    private void failResponse(Throwable exception, Promise<HttpClientResponse> promise, long timerId) {
-        vertx.cancelTimer(timerId);
+    private void failResponse(Throwable exception, Promise<HttpClientResponse> promise, Deadline deadline) {
+        deadline.cancel();
 
         failResponse(exception, promise);
     }
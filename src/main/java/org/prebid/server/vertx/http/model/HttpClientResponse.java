@@ -1,15 +1,24 @@
 package org.prebid.server.vertx.http.model;
 
 import io.vertx.core.MultiMap;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
+import lombok.experimental.NonFinal;
+
+import java.nio.charset.StandardCharsets;
 
 /**
  * Holds Http client response data.
  * <p>
  * Should be created in "bodyHandler(...) after response has been read."
+ * <p>
+ * Body is kept as received bytes, its {@link String} representation is created on first {@link #getBody()} call.
  */
-@AllArgsConstructor(staticName = "of")
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 @Value
 public class HttpClientResponse {
 
@@ -17,5 +26,29 @@ public class HttpClientResponse {
 
     MultiMap headers;
 
+    @ToString.Exclude
+    byte[] bodyBytes;
+
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     String body;
+
+    public static HttpClientResponse of(int statusCode, MultiMap headers, String body) {
+        final byte[] bodyBytes = body != null ? body.getBytes(StandardCharsets.UTF_8) : null;
+        return new HttpClientResponse(statusCode, headers, bodyBytes, body);
+    }
+
+    public static HttpClientResponse ofBytes(int statusCode, MultiMap headers, byte[] bodyBytes) {
+        return new HttpClientResponse(statusCode, headers, bodyBytes, null);
+    }
+
+    @ToString.Include(name = "body")
+    public String getBody() {
+        if (body == null && bodyBytes != null) {
+            body = new String(bodyBytes, StandardCharsets.UTF_8);
+        }
+        return body;
+    }
 }
@@ -1,6 +1,5 @@
 package org.prebid.server.analytics.reporter.pubstack;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
@@ -23,9 +22,12 @@ import org.prebid.server.vertx.http.HttpClient;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import java.util.Set;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
@@ -34,6 +36,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -84,30 +87,24 @@ public class PubstackEventHandlerTest extends VertxTest {
         pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
 
         // then
-        @SuppressWarnings("unchecked") final AtomicReference<Set<String>> events =
-                (AtomicReference<Set<String>>) ReflectionTestUtils
-                        .getField(pubstackEventHandler, "events");
-        assertThat(events.get()).isEmpty();
+        assertThat(currentBatch().count()).isZero();
         verifyNoInteractions(httpClient);
     }
 
     @Test
-    public void handleShouldAddEventWithScopeIdAndIncreaseByteSize() throws JsonProcessingException {
+    public void handleShouldAddEventWithScopeIdAndIncreaseByteSize() throws IOException {
         // given and when
         final SetuidEvent setuidEvent = SetuidEvent.builder().bidder("bidder1").build();
         pubstackEventHandler.handle(setuidEvent);
 
         // then
-        final AtomicLong byteSize = (AtomicLong) ReflectionTestUtils.getField(pubstackEventHandler, "byteSize");
-        @SuppressWarnings("unchecked") final AtomicReference<Set<String>> events =
-                (AtomicReference<Set<String>>) ReflectionTestUtils
-                        .getField(pubstackEventHandler, "events");
         final ObjectNode eventJsonNode = mapper.valueToTree(setuidEvent);
         eventJsonNode.put("scope", "scopeId");
         final String eventJsonRow = mapper.writeValueAsString(eventJsonNode);
-        assertThat(byteSize.get()).isEqualTo(eventJsonRow.getBytes().length);
-        assertThat(events.get()).hasSize(1)
-                .containsOnly(eventJsonRow);
+        final PubstackEventsBatch batch = currentBatch();
+        assertThat(batch.byteSize()).isEqualTo(eventJsonRow.getBytes().length);
+        assertThat(batch.count()).isEqualTo(1);
+        assertThat(gunzip(batch.toGzippedBytes())).isEqualTo(eventJsonRow);
     }
 
     @Test
@@ -182,14 +179,32 @@ public class PubstackEventHandlerTest extends VertxTest {
         pubstackEventHandler.reportEvents();
 
         // then
-        verify(vertx).cancelTimer(anyLong());
+        verify(vertx).cancelTimer(1L);
         // one time in constructor and second after the send request
         verify(vertx, times(2)).setTimer(anyLong(), any());
-        final AtomicLong byteSize = (AtomicLong) ReflectionTestUtils.getField(pubstackEventHandler, "byteSize");
-        assertThat(byteSize.get()).isEqualTo(0);
-        final Long currentTimerId = (Long) ReflectionTestUtils.getField(pubstackEventHandler,
+        assertThat(currentBatch().byteSize()).isEqualTo(0);
+        final AtomicLong currentTimerId = (AtomicLong) ReflectionTestUtils.getField(pubstackEventHandler,
                 "reportTimerId");
-        assertThat(currentTimerId).isEqualTo(2);
+        assertThat(currentTimerId.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void sendEventsShouldCancelEveryReplacedReportTimer() {
+        // given
+        given(vertx.setTimer(anyLong(), any())).willReturn(2L, 3L);
+        given(httpClient.request(any(), anyString(), any(), (byte[]) any(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+
+        // when
+        pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
+        pubstackEventHandler.reportEvents();
+        pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder2").build());
+        pubstackEventHandler.reportEvents();
+
+        // then
+        verify(vertx).cancelTimer(1L);
+        verify(vertx).cancelTimer(2L);
+        verify(vertx, never()).cancelTimer(3L);
     }
 
     @Test
@@ -227,4 +242,16 @@ public class PubstackEventHandlerTest extends VertxTest {
         verify(vertx, times(2)).setTimer(anyLong(), any());
         verify(vertx).cancelTimer(anyLong());
     }
+
+    @SuppressWarnings("unchecked")
+    private PubstackEventsBatch currentBatch() {
+        return ((AtomicReference<PubstackEventsBatch>) ReflectionTestUtils.getField(pubstackEventHandler, "events"))
+                .get();
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
 }
@@ -0,0 +1,60 @@
+package org.prebid.server.analytics.reporter.pubstack;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PubstackEventsBatchTest {
+
+    @Test
+    public void addShouldIncreaseCountAndByteSize() {
+        // given
+        final PubstackEventsBatch batch = new PubstackEventsBatch();
+
+        // when
+        batch.add(bytes("{\"a\":1}"));
+        batch.add(bytes("{\"b\":2}"));
+
+        // then
+        assertThat(batch.count()).isEqualTo(2);
+        assertThat(batch.byteSize()).isEqualTo(14);
+    }
+
+    @Test
+    public void toGzippedBytesShouldReturnEventsSeparatedByNewLine() throws IOException {
+        // given
+        final PubstackEventsBatch batch = new PubstackEventsBatch();
+        batch.add(bytes("{\"a\":1}"));
+        batch.add(bytes("{\"b\":2}"));
+
+        // when
+        final byte[] result = batch.toGzippedBytes();
+
+        // then
+        assertThat(gunzip(result)).isEqualTo("{\"a\":1}\n{\"b\":2}");
+    }
+
+    @Test
+    public void toGzippedBytesShouldReturnEmptyContentForEmptyBatch() throws IOException {
+        // when
+        final byte[] result = new PubstackEventsBatch().toGzippedBytes();
+
+        // then
+        assertThat(gunzip(result)).isEmpty();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package org.prebid.server.auction;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.bidder.model.BidderError;
+import org.prebid.server.bidder.model.BidderSeatBid;
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.metric.Metrics;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class AdaptiveTimeoutControllerTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Metrics metrics;
+
+    private Clock clock;
+    private Timeout timeout;
+
+    private AdaptiveTimeoutController adaptiveTimeoutController;
+
+    @Before
+    public void setUp() {
+        clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
+        timeout = new TimeoutFactory(clock).create(500L);
+
+        adaptiveTimeoutController = new AdaptiveTimeoutController(0.9, 50L, 10L, 0L, 0.0, metrics, clock);
+    }
+
+    @Test
+    public void creationShouldFailOnInvalidPercentile() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new AdaptiveTimeoutController(1.5, 50L, 10L, 0L, 0.0, metrics, clock))
+                .withMessage("Percentile should be greater than 0 and not greater than 1");
+    }
+
+    @Test
+    public void bidderTimeoutShouldReturnAuctionTimeoutIfBidderHasNotEnoughResponses() {
+        // given
+        givenResponseTimes("bidder", 9, 100);
+
+        // when
+        final Timeout result = adaptiveTimeoutController.bidderTimeout("bidder", timeout);
+
+        // then
+        assertThat(result).isSameAs(timeout);
+        verify(metrics, never()).updateAdapterAdaptiveTimeout(anyString(), anyLong());
+    }
+
+    @Test
+    public void bidderTimeoutShouldReturnTimeoutAtPercentileOfBidderResponseTimes() {
+        // given
+        givenResponseTimes("bidder", 95, 100);
+        givenResponseTimes("bidder", 5, 450);
+
+        // when
+        final Timeout result = adaptiveTimeoutController.bidderTimeout("bidder", timeout);
+
+        // then
+        assertThat(result.remaining()).isEqualTo(100L);
+        verify(metrics).updateAdapterAdaptiveTimeout("bidder", 100L);
+        assertThat(adaptiveTimeoutController.bidderTimeout("otherBidder", timeout)).isSameAs(timeout);
+    }
+
+    @Test
+    public void bidderTimeoutShouldNotReturnTimeoutShorterThanMinTimeout() {
+        // given
+        givenResponseTimes("bidder", 20, 10);
+
+        // when
+        final Timeout result = adaptiveTimeoutController.bidderTimeout("bidder", timeout);
+
+        // then
+        assertThat(result.remaining()).isEqualTo(50L);
+    }
+
+    @Test
+    public void bidderTimeoutShouldReturnAuctionTimeoutIfBidderIsSlowerThanRemainingTime() {
+        // given
+        givenResponseTimes("bidder", 20, 600);
+
+        // when
+        final Timeout result = adaptiveTimeoutController.bidderTimeout("bidder", timeout);
+
+        // then
+        assertThat(result).isSameAs(timeout);
+    }
+
+    @Test
+    public void creationShouldFailOnInvalidExplorationRate() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new AdaptiveTimeoutController(0.9, 50L, 10L, 0L, 1.5, metrics, clock))
+                .withMessage("Exploration rate should be between 0 and 1");
+    }
+
+    @Test
+    public void bidderTimeoutShouldReturnAuctionTimeoutForExploration() {
+        // given
+        adaptiveTimeoutController = new AdaptiveTimeoutController(0.9, 50L, 10L, 0L, 1.0, metrics, clock);
+        givenResponseTimes("bidder", 20, 100);
+
+        // when
+        final Timeout result = adaptiveTimeoutController.bidderTimeout("bidder", timeout);
+
+        // then
+        assertThat(result).isSameAs(timeout);
+        verify(metrics, never()).updateAdapterAdaptiveTimeout(anyString(), anyLong());
+    }
+
+    @Test
+    public void bidderTimeoutShouldGrowBackWhenBidderBecomesSlowerThanShortenedTimeout() {
+        // given
+        givenResponseTimes("bidder", 20, 100);
+        final Timeout shortenedTimeout = adaptiveTimeoutController.bidderTimeout("bidder", timeout);
+
+        // when
+        final BidderResponse timedOutResponse = givenTimedOutBidderResponse(100);
+        for (int i = 0; i < 10; i++) {
+            adaptiveTimeoutController.updateBidderResponse("bidder", timedOutResponse, timeout, shortenedTimeout);
+        }
+
+        // then
+        assertThat(shortenedTimeout.remaining()).isEqualTo(100L);
+        assertThat(adaptiveTimeoutController.bidderTimeout("bidder", timeout)).isSameAs(timeout);
+    }
+
+    @Test
+    public void updateBidderResponseShouldNotRecordResponseTimeOfErrors() {
+        // given
+        final BidderSeatBid seatBid = BidderSeatBid.of(
+                emptyList(), emptyList(), singletonList(BidderError.badServerResponse("Error")), emptyList());
+        final BidderResponse bidderResponse = BidderResponse.of("bidder", seatBid, 10);
+
+        // when
+        for (int i = 0; i < 20; i++) {
+            adaptiveTimeoutController.updateBidderResponse("bidder", bidderResponse, timeout, timeout);
+        }
+
+        // then
+        assertThat(adaptiveTimeoutController.bidderTimeout("bidder", timeout)).isSameAs(timeout);
+    }
+
+    @Test
+    public void updateBidderResponseShouldIncrementLostMetricIfBidderTimedOutWithShortenedTimeout() {
+        // given
+        final BidderResponse bidderResponse = givenTimedOutBidderResponse(100);
+
+        // when
+        adaptiveTimeoutController.updateBidderResponse("bidder", bidderResponse, timeout, timeout.minus(400L));
+
+        // then
+        verify(metrics).updateAdapterAdaptiveTimeoutLost("bidder");
+    }
+
+    @Test
+    public void updateBidderResponseShouldNotIncrementLostMetricIfBidderTimedOutWithAuctionTimeout() {
+        // given
+        final BidderResponse bidderResponse = givenTimedOutBidderResponse(500);
+
+        // when
+        adaptiveTimeoutController.updateBidderResponse("bidder", bidderResponse, timeout, timeout);
+
+        // then
+        verify(metrics, never()).updateAdapterAdaptiveTimeoutLost(anyString());
+    }
+
+    private void givenResponseTimes(String bidder, int count, int responseTime) {
+        final BidderResponse bidderResponse = BidderResponse.of(bidder, BidderSeatBid.empty(), responseTime);
+
+        for (int i = 0; i < count; i++) {
+            adaptiveTimeoutController.updateBidderResponse(bidder, bidderResponse, timeout, timeout);
+        }
+    }
+
+    private static BidderResponse givenTimedOutBidderResponse(int responseTime) {
+        final BidderSeatBid seatBid = BidderSeatBid.of(
+                emptyList(), emptyList(), singletonList(BidderError.timeout("Timed out")), emptyList());
+        return BidderResponse.of("bidder", seatBid, responseTime);
+    }
+}
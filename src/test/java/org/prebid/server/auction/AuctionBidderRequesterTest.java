@@ -0,0 +1,180 @@
+package org.prebid.server.auction;
+
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Device;
+import io.vertx.core.Future;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.VertxTest;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.BidderRequest;
+import org.prebid.server.auction.versionconverter.BidRequestOrtbVersionConversionManager;
+import org.prebid.server.auction.versionconverter.OrtbVersion;
+import org.prebid.server.bidder.Bidder;
+import org.prebid.server.bidder.HttpBidderRequester;
+import org.prebid.server.bidder.model.BidderSeatBid;
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.model.CaseInsensitiveMultiMap;
+import org.prebid.server.proto.openrtb.ext.request.ExtDevice;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+public class AuctionBidderRequesterTest extends VertxTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private HttpBidderRequester httpBidderRequester;
+    @Mock
+    private BidRequestOrtbVersionConversionManager ortbVersionConversionManager;
+    @Mock
+    private Metrics metrics;
+    @Mock
+    private Bidder<?> bidder;
+
+    private ExtDevice extDevice;
+
+    private BidderRequest bidderRequest;
+
+    private AuctionContext auctionContext;
+
+    private Timeout timeout;
+
+    private List<String> encodedRequests;
+
+    @Before
+    public void setUp() {
+        extDevice = ExtDevice.empty();
+        final BidRequest bidRequest = BidRequest.builder()
+                .device(Device.builder().ua("ua").ext(extDevice).build())
+                .build();
+        bidderRequest = BidderRequest.of("bidder", null, null, bidRequest);
+
+        auctionContext = AuctionContext.builder().bidRequest(bidRequest).build();
+        // device is encoded into cache of auction before modification
+        auctionContext.getEncodingCache().use(() -> jacksonMapper.encodeToString(bidRequest.getDevice()));
+        extDevice.addProperty("property", TextNode.valueOf("value"));
+
+        timeout = new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault())).create(500L);
+
+        given(ortbVersionConversionManager.convertFromAuctionSupportedVersion(any(), any(), any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        encodedRequests = new ArrayList<>();
+        given(httpBidderRequester.requestBids(any(), any(), any(), any(), anyBoolean())).willAnswer(invocation -> {
+            final BidderRequest request = invocation.getArgument(1);
+            encodedRequests.add(jacksonMapper.encodeToString(request.getBidRequest().getDevice()));
+            return Future.succeededFuture(BidderSeatBid.empty());
+        });
+    }
+
+    @Test
+    public void requestBidsShouldEncodeRequestWithEncodingCacheOfAuctionIfEnabled() {
+        // given
+        final AuctionBidderRequester auctionBidderRequester = new AuctionBidderRequester(
+                httpBidderRequester, ortbVersionConversionManager, metrics, true);
+
+        // when
+        final Future<BidderSeatBid> result = auctionBidderRequester.requestBids(
+                bidder, bidderRequest, auctionContext, timeout, CaseInsensitiveMultiMap.empty(), false);
+
+        // then
+        assertThat(result.result()).isEqualTo(BidderSeatBid.empty());
+        assertThat(encodedRequests).containsExactly("{\"ua\":\"ua\",\"ext\":{}}");
+    }
+
+    @Test
+    public void requestBidsShouldNotUseEncodingCacheOfAuctionIfDisabled() {
+        // given
+        final AuctionBidderRequester auctionBidderRequester = new AuctionBidderRequester(
+                httpBidderRequester, ortbVersionConversionManager, metrics, false);
+
+        // when
+        auctionBidderRequester.requestBids(
+                bidder, bidderRequest, auctionContext, timeout, CaseInsensitiveMultiMap.empty(), false);
+
+        // then
+        assertThat(encodedRequests).containsExactly("{\"ua\":\"ua\",\"ext\":{\"property\":\"value\"}}");
+    }
+
+    @Test
+    public void requestBidsShouldSendRequestConvertedToOrtbVersionOfBidder() {
+        // given
+        final BidRequest convertedBidRequest = BidRequest.builder().id("converted").build();
+        given(ortbVersionConversionManager.convertFromAuctionSupportedVersion(
+                same(bidderRequest.getBidRequest()),
+                eq(OrtbVersion.ORTB_2_5),
+                same(auctionContext.getOrtbConversionCache())))
+                .willReturn(convertedBidRequest);
+
+        final AuctionBidderRequester auctionBidderRequester = new AuctionBidderRequester(
+                httpBidderRequester, ortbVersionConversionManager, metrics, false);
+
+        // when
+        auctionBidderRequester.requestBids(
+                bidder,
+                BidderRequest.of("bidder", OrtbVersion.ORTB_2_5, null, bidderRequest.getBidRequest()),
+                auctionContext,
+                timeout,
+                CaseInsensitiveMultiMap.empty(),
+                false);
+
+        // then
+        verify(httpBidderRequester).requestBids(
+                same(bidder),
+                eq(BidderRequest.of("bidder", OrtbVersion.ORTB_2_5, null, convertedBidRequest)),
+                same(timeout),
+                any(),
+                eq(false));
+    }
+
+    @Test
+    public void updateOrtbConversionMetricsShouldReportConversionTimeOfAuction() {
+        // given
+        auctionContext.getOrtbConversionCache().recordConversionTime(100L);
+        auctionContext.getOrtbConversionCache().recordConversionTime(200L);
+
+        final AuctionBidderRequester auctionBidderRequester = new AuctionBidderRequester(
+                httpBidderRequester, ortbVersionConversionManager, metrics, false);
+
+        // when
+        auctionBidderRequester.updateOrtbConversionMetrics(auctionContext);
+
+        // then
+        verify(metrics).updateOrtbConversionTimeMetric(300L);
+    }
+
+    @Test
+    public void updateOrtbConversionMetricsShouldNotReportMetricIfNothingWasConverted() {
+        // given
+        final AuctionBidderRequester auctionBidderRequester = new AuctionBidderRequester(
+                httpBidderRequester, ortbVersionConversionManager, metrics, false);
+
+        // when
+        auctionBidderRequester.updateOrtbConversionMetrics(auctionContext);
+
+        // then
+        verifyNoInteractions(metrics);
+    }
+}
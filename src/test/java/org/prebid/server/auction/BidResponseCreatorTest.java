@@ -1091,6 +1091,72 @@ public class BidResponseCreatorTest extends VertxTest {
         verify(cacheService, never()).cacheBidsOpenrtb(anyList(), any(), any(), any());
     }
 
+    @Test
+    public void shouldAddTypeToNativeBidAdmOfEachBidIfNativeRequestCacheIsEnabled() throws JsonProcessingException {
+        // given
+        final BidResponseCreator bidResponseCreator = new BidResponseCreator(
+                cacheService,
+                bidderCatalog,
+                vastModifier,
+                eventsService,
+                storedRequestProcessor,
+                winningBidComparatorFactory,
+                idGenerator,
+                hookStageExecutor,
+                categoryMappingService,
+                0,
+                10,
+                clock,
+                jacksonMapper);
+
+        final Request nativeRequest = Request.builder()
+                .assets(singletonList(Asset.builder()
+                        .id(123)
+                        .img(ImageObject.builder().type(1).build())
+                        .build()))
+                .build();
+
+        final BidRequest bidRequest = BidRequest.builder()
+                .cur(singletonList("USD"))
+                .tmax(1000L)
+                .imp(singletonList(Imp.builder()
+                        .id(IMP_ID)
+                        .xNative(Native.builder().request(mapper.writeValueAsString(nativeRequest)).build())
+                        .build()))
+                .build();
+
+        final String adm = mapper.writeValueAsString(Response.builder()
+                .assets(singletonList(com.iab.openrtb.response.Asset.builder()
+                        .id(123)
+                        .img(com.iab.openrtb.response.ImageObject.builder().build())
+                        .build()))
+                .build());
+
+        final Bid bid1 = Bid.builder().id("bidId1").price(BigDecimal.ONE).impid(IMP_ID).adm(adm).build();
+        final Bid bid2 = Bid.builder().id("bidId2").price(BigDecimal.ONE).impid(IMP_ID).adm(adm).build();
+        final List<BidderResponse> bidderResponses = asList(
+                BidderResponse.of("bidder1", givenSeatBid(BidderBid.of(bid1, xNative, "USD")), 100),
+                BidderResponse.of("bidder2", givenSeatBid(BidderBid.of(bid2, xNative, "USD")), 100));
+
+        // when
+        bidResponseCreator.create(toAuctionParticipant(bidderResponses), givenAuctionContext(bidRequest),
+                CACHE_INFO, MULTI_BIDS);
+        final BidResponse bidResponse =
+                bidResponseCreator.create(toAuctionParticipant(bidderResponses), givenAuctionContext(bidRequest),
+                        CACHE_INFO, MULTI_BIDS).result();
+
+        // then
+        assertThat(bidResponse.getSeatbid()).hasSize(2)
+                .flatExtracting(SeatBid::getBid)
+                .extracting(Bid::getAdm)
+                .extracting(bidAdm -> mapper.readValue(bidAdm, Response.class))
+                .flatExtracting(Response::getAssets)
+                .containsOnly(com.iab.openrtb.response.Asset.builder()
+                        .id(123)
+                        .img(com.iab.openrtb.response.ImageObject.builder().type(1).build())
+                        .build());
+    }
+
     @Test
     public void shouldReturnEmptyAssetIfImageTypeIsEmpty() throws JsonProcessingException {
         // given
@@ -1569,6 +1635,7 @@ public class BidResponseCreatorTest extends VertxTest {
                 hookStageExecutor,
                 categoryMappingService,
                 20,
+                0,
                 clock,
                 jacksonMapper);
 
@@ -3674,6 +3741,7 @@ public class BidResponseCreatorTest extends VertxTest {
                 hookStageExecutor,
                 categoryMappingService,
                 truncateAttrChars,
+                0,
                 clock,
                 jacksonMapper);
     }
@@ -7,6 +7,7 @@ import org.prebid.server.proto.openrtb.ext.request.ExtPriceGranularity;
 
 import java.math.BigDecimal;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -134,4 +135,33 @@ public class CpmRangeTest {
         // then
         assertThat(result).isNull();
     }
+
+    @Test
+    public void fromCpmShouldReturnSameResultForCompiledPriceGranularity() {
+        // given
+        final PriceGranularity priceGranularity = PriceGranularity.createFromExtPriceGranularity(
+                ExtPriceGranularity.of(3, asList(
+                        ExtGranularityRange.of(BigDecimal.valueOf(2.5), BigDecimal.valueOf(0.3)),
+                        ExtGranularityRange.of(BigDecimal.valueOf(7), BigDecimal.valueOf(0.7)))));
+        final PriceGranularity compiledPriceGranularity = priceGranularity.compiled();
+
+        // when and then
+        assertThat(compiledPriceGranularity.getBuckets()).isNotNull();
+        for (String cpm : asList("0", "0.299999", "0.3", "2.5", "2.500001", "2.79", "6.999999", "7", "7.1", "-1")) {
+            assertThat(CpmRange.fromCpm(new BigDecimal(cpm), compiledPriceGranularity))
+                    .isEqualTo(CpmRange.fromCpm(new BigDecimal(cpm), priceGranularity));
+        }
+    }
+
+    @Test
+    public void fromCpmShouldRoundPriceWithMoreThanSixDecimalPlacesForCompiledPriceGranularity() {
+        // given
+        final PriceGranularity priceGranularity = PriceGranularity.createFromString("high");
+
+        // when
+        final String cpm = CpmRange.fromCpm(new BigDecimal("3.8799999999"), priceGranularity);
+
+        // then
+        assertThat(cpm).isEqualTo("3.87");
+    }
 }
@@ -232,6 +232,8 @@ public class ExchangeServiceTest extends VertxTest {
     @Mock
     private HttpBidderRequester httpBidderRequester;
 
+    private AuctionBidderRequester auctionBidderRequester;
+
     @Mock
     private ResponseBidValidator responseBidValidator;
 
@@ -348,6 +350,8 @@ public class ExchangeServiceTest extends VertxTest {
                 .willAnswer(inv -> inv.getArgument(0));
         given(storedResponseProcessor.updateStoredBidResponse(any()))
                 .willAnswer(inv -> inv.getArgument(0));
+        given(storedResponseProcessor.updateParticipationStoredBidResponse(any()))
+                .willAnswer(inv -> inv.getArgument(0));
 
         given(priceFloorEnforcer.enforce(any(), any(), any()))
                 .willAnswer(inv -> inv.getArgument(1));
@@ -359,8 +363,10 @@ public class ExchangeServiceTest extends VertxTest {
         given(criteriaLogManager.traceResponse(any(), any(), any(), anyBoolean()))
                 .willAnswer(inv -> inv.getArgument(1));
 
-        given(ortbVersionConversionManager.convertFromAuctionSupportedVersion(any(), any()))
+        given(ortbVersionConversionManager.convertFromAuctionSupportedVersion(any(), any(), any()))
                 .willAnswer(invocation -> invocation.getArgument(0));
+        auctionBidderRequester =
+                new AuctionBidderRequester(httpBidderRequester, ortbVersionConversionManager, metrics, false);
 
         clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
         timeout = new TimeoutFactory(clock).create(500);
@@ -368,6 +374,7 @@ public class ExchangeServiceTest extends VertxTest {
 
         exchangeService = new ExchangeService(
                 0,
+                false,
                 bidderCatalog,
                 storedResponseProcessor,
                 dealsProcessor,
@@ -376,14 +383,14 @@ public class ExchangeServiceTest extends VertxTest {
                 supplyChainResolver,
                 debugResolver,
                 new NoOpMediaTypeProcessor(),
-                ortbVersionConversionManager,
-                httpBidderRequester,
+                auctionBidderRequester,
                 responseBidValidator,
                 currencyService,
                 bidResponseCreator,
                 bidResponsePostProcessor,
                 hookStageExecutor,
                 applicationEventService,
+                null,
                 httpInteractionLogger,
                 priceFloorAdjuster,
                 priceFloorEnforcer,
@@ -399,6 +406,7 @@ public class ExchangeServiceTest extends VertxTest {
         assertThatIllegalArgumentException()
                 .isThrownBy(() -> new ExchangeService(
                         -1,
+                        false,
                         bidderCatalog,
                         storedResponseProcessor,
                         dealsProcessor,
@@ -407,14 +415,14 @@ public class ExchangeServiceTest extends VertxTest {
                         supplyChainResolver,
                         debugResolver,
                         null,
-                        ortbVersionConversionManager,
-                        httpBidderRequester,
+                        auctionBidderRequester,
                         responseBidValidator,
                         currencyService,
                         bidResponseCreator,
                         bidResponsePostProcessor,
                         hookStageExecutor,
                         applicationEventService,
+                        null,
                         httpInteractionLogger,
                         priceFloorAdjuster,
                         priceFloorEnforcer,
@@ -677,6 +685,7 @@ public class ExchangeServiceTest extends VertxTest {
         // given
         exchangeService = new ExchangeService(
                 100,
+                false,
                 bidderCatalog,
                 storedResponseProcessor,
                 dealsProcessor,
@@ -685,14 +694,14 @@ public class ExchangeServiceTest extends VertxTest {
                 supplyChainResolver,
                 debugResolver,
                 new NoOpMediaTypeProcessor(),
-                ortbVersionConversionManager,
-                httpBidderRequester,
+                auctionBidderRequester,
                 responseBidValidator,
                 currencyService,
                 bidResponseCreator,
                 bidResponsePostProcessor,
                 hookStageExecutor,
                 applicationEventService,
+                null,
                 httpInteractionLogger,
                 priceFloorAdjuster,
                 priceFloorEnforcer,
@@ -2704,6 +2713,7 @@ public class ExchangeServiceTest extends VertxTest {
         // given
         exchangeService = new ExchangeService(
                 100,
+                false,
                 bidderCatalog,
                 storedResponseProcessor,
                 dealsProcessor,
@@ -2712,14 +2722,14 @@ public class ExchangeServiceTest extends VertxTest {
                 supplyChainResolver,
                 debugResolver,
                 new NoOpMediaTypeProcessor(),
-                ortbVersionConversionManager,
-                httpBidderRequester,
+                auctionBidderRequester,
                 responseBidValidator,
                 currencyService,
                 bidResponseCreator,
                 bidResponsePostProcessor,
                 hookStageExecutor,
                 applicationEventService,
+                null,
                 httpInteractionLogger,
                 priceFloorAdjuster,
                 priceFloorEnforcer,
@@ -2847,6 +2857,71 @@ public class ExchangeServiceTest extends VertxTest {
         verify(metrics, times(3)).updateAdapterRequestErrorMetric("bidder", MetricName.unknown_error);
     }
 
+    @Test
+    public void shouldValidateAndAdjustBidsOnArrivalIfProcessingBidsOnArrivalIsEnabled() {
+        // given
+        exchangeService = new ExchangeService(
+                0,
+                true,
+                bidderCatalog,
+                storedResponseProcessor,
+                dealsProcessor,
+                privacyEnforcementService,
+                fpdResolver,
+                supplyChainResolver,
+                debugResolver,
+                new NoOpMediaTypeProcessor(),
+                auctionBidderRequester,
+                responseBidValidator,
+                currencyService,
+                bidResponseCreator,
+                bidResponsePostProcessor,
+                hookStageExecutor,
+                applicationEventService,
+                null,
+                httpInteractionLogger,
+                priceFloorAdjuster,
+                priceFloorEnforcer,
+                bidAdjustmentFactorResolver,
+                metrics,
+                clock,
+                jacksonMapper,
+                criteriaLogManager);
+
+        givenBidder("bidder1", mock(Bidder.class), givenSeatBid(asList(
+                givenBid(Bid.builder().id("valid_bid").impid("impId").price(BigDecimal.valueOf(2.0)).build()),
+                givenBid(Bid.builder().id("invalid_bid").impid("impId").price(BigDecimal.ZERO).build()))));
+        givenBidder("bidder2", mock(Bidder.class), givenSeatBid(singletonList(
+                givenBid(Bid.builder().id("bid2").impid("impId").price(BigDecimal.ONE).build()))));
+
+        final BidRequest bidRequest = givenBidRequest(
+                singletonList(givenImp(doubleMap("bidder1", 1, "bidder2", 2), identity())),
+                identity());
+        final AuctionContext givenContext = givenRequestContext(bidRequest);
+
+        given(currencyService.convertCurrency(any(), any(), any(), any())).willReturn(TEN);
+
+        // when
+        exchangeService.holdAuction(givenContext);
+
+        // then
+        final List<AuctionParticipation> auctionParticipations = captureAuctionParticipations();
+        assertThat(auctionParticipations)
+                .extracting(AuctionParticipation::getBidderResponse)
+                .flatExtracting(bidderResponse -> bidderResponse.getSeatBid().getBids())
+                .extracting(BidderBid::getBid)
+                .extracting(Bid::getId, Bid::getPrice)
+                .containsExactlyInAnyOrder(tuple("valid_bid", TEN), tuple("bid2", TEN));
+        assertThat(givenContext.getDebugWarnings()).containsExactly(
+                "Dropped bid 'invalid_bid'. Does not contain a positive (or zero if there is a deal) 'price'");
+
+        verify(storedResponseProcessor, times(2)).updateParticipationStoredBidResponse(any());
+        verify(storedResponseProcessor, never()).updateStoredBidResponse(any());
+        verify(priceFloorEnforcer, times(2)).enforce(any(), any(), any());
+        verify(metrics).updateAdapterRequestGotbidsMetrics(eq("bidder1"), any());
+        verify(metrics).updateAdapterRequestGotbidsMetrics(eq("bidder2"), any());
+    }
+
     @Test
     public void shouldDropBidIfPrebidExceptionWasThrownDuringCurrencyConversion() {
         // given
@@ -4400,6 +4475,7 @@ public class ExchangeServiceTest extends VertxTest {
 
         exchangeService = new ExchangeService(
                 100,
+                false,
                 bidderCatalog,
                 storedResponseProcessor,
                 dealsProcessor,
@@ -4408,14 +4484,14 @@ public class ExchangeServiceTest extends VertxTest {
                 supplyChainResolver,
                 debugResolver,
                 mediaTypeProcessor,
-                ortbVersionConversionManager,
-                httpBidderRequester,
+                auctionBidderRequester,
                 responseBidValidator,
                 currencyService,
                 bidResponseCreator,
                 bidResponsePostProcessor,
                 hookStageExecutor,
                 applicationEventService,
+                null,
                 httpInteractionLogger,
                 priceFloorAdjuster,
                 priceFloorEnforcer,
@@ -4437,7 +4513,7 @@ public class ExchangeServiceTest extends VertxTest {
     @Test
     public void shouldConvertBidRequestOpenRTBVersionToConfiguredByBidder() {
         // given
-        given(ortbVersionConversionManager.convertFromAuctionSupportedVersion(any(), any())).willAnswer(
+        given(ortbVersionConversionManager.convertFromAuctionSupportedVersion(any(), any(), any())).willAnswer(
                 invocation -> ((BidRequest) invocation.getArgument(0))
                         .toBuilder()
                         .source(null)
@@ -9,6 +9,7 @@ import java.math.BigDecimal;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
@@ -111,4 +112,41 @@ public class PriceGranularityTest {
                 ExtGranularityRange.of(BigDecimal.valueOf(3), BigDecimal.valueOf(0.01)),
                 ExtGranularityRange.of(BigDecimal.valueOf(8), BigDecimal.valueOf(0.05)));
     }
+
+    @Test
+    public void createFromStringShouldReturnCompiledPriceGranularity() {
+        // given and when
+        final PriceGranularity priceGranularity = PriceGranularity.createFromString("dense");
+
+        // then
+        assertThat(priceGranularity.getBuckets()).isNotNull();
+        assertThat(priceGranularity.compiled()).isSameAs(priceGranularity);
+    }
+
+    @Test
+    public void compiledShouldReturnSameInstanceIfIncrementIsNotWholeNumberOfMicros() {
+        // given
+        final PriceGranularity priceGranularity = PriceGranularity.createFromExtPriceGranularity(
+                ExtPriceGranularity.of(2, singletonList(
+                        ExtGranularityRange.of(BigDecimal.valueOf(5), new BigDecimal("0.0000001")))));
+
+        // when
+        final PriceGranularity result = priceGranularity.compiled();
+
+        // then
+        assertThat(result).isSameAs(priceGranularity);
+        assertThat(result.getBuckets()).isNull();
+    }
+
+    @Test
+    public void compiledShouldReturnSameInstanceIfRangesAreNotAscending() {
+        // given
+        final PriceGranularity priceGranularity = PriceGranularity.createFromExtPriceGranularity(
+                ExtPriceGranularity.of(2, asList(
+                        ExtGranularityRange.of(BigDecimal.valueOf(10), BigDecimal.valueOf(0.1)),
+                        ExtGranularityRange.of(BigDecimal.valueOf(5), BigDecimal.valueOf(0.05)))));
+
+        // when and then
+        assertThat(priceGranularity.compiled()).isSameAs(priceGranularity);
+    }
 }
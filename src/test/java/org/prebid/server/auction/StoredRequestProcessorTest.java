@@ -89,7 +89,8 @@ public class StoredRequestProcessorTest extends VertxTest {
                 metrics,
                 timeoutFactory,
                 jacksonMapper,
-                new JsonMerger(jacksonMapper));
+                new JsonMerger(jacksonMapper),
+                null);
     }
 
     @Test
@@ -188,7 +189,8 @@ public class StoredRequestProcessorTest extends VertxTest {
                 metrics,
                 timeoutFactory,
                 jacksonMapper,
-                new JsonMerger(jacksonMapper));
+                new JsonMerger(jacksonMapper),
+                null);
 
         final BidRequest bidRequest = givenBidRequest(builder -> builder
                 .id("request-id")
@@ -235,7 +237,8 @@ public class StoredRequestProcessorTest extends VertxTest {
                 metrics,
                 timeoutFactory,
                 jacksonMapper,
-                new JsonMerger(jacksonMapper));
+                new JsonMerger(jacksonMapper),
+                null);
 
         final BidRequest bidRequest = givenBidRequest(builder -> builder
                 .app(App.builder().build())
@@ -328,7 +331,8 @@ public class StoredRequestProcessorTest extends VertxTest {
                 metrics,
                 timeoutFactory,
                 jacksonMapper,
-                new JsonMerger(jacksonMapper));
+                new JsonMerger(jacksonMapper),
+                null);
 
         given(applicationSettings.getAmpStoredData(any(), anySet(), anySet(), any()))
                 .willReturn(Future.succeededFuture(StoredDataResult.of(
@@ -362,7 +366,8 @@ public class StoredRequestProcessorTest extends VertxTest {
                 metrics,
                 timeoutFactory,
                 jacksonMapper,
-                new JsonMerger(jacksonMapper));
+                new JsonMerger(jacksonMapper),
+                null);
 
         given(applicationSettings.getAmpStoredData(any(), anySet(), anySet(), any()))
                 .willReturn(Future.succeededFuture(StoredDataResult.of(
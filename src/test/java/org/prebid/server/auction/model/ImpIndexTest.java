@@ -0,0 +1,116 @@
+package org.prebid.server.auction.model;
+
+import com.iab.openrtb.request.Asset;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Imp;
+import org.junit.Test;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.proto.openrtb.ext.request.ExtImpPrebid;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class ImpIndexTest {
+
+    @Test
+    public void getShouldReturnImpById() {
+        // given
+        final Imp imp1 = Imp.builder().id("impId1").build();
+        final Imp imp2 = Imp.builder().id("impId2").build();
+        final ImpIndex impIndex = ImpIndex.of(BidRequest.builder().imp(asList(imp1, imp2)).build());
+
+        // when and then
+        assertThat(impIndex.get("impId2")).isSameAs(imp2);
+        assertThat(impIndex.get("impId1")).isSameAs(imp1);
+        assertThat(impIndex.get("unknown")).isNull();
+    }
+
+    @Test
+    public void getShouldReturnFirstImpIfIdIsDuplicated() {
+        // given
+        final Imp imp1 = Imp.builder().id("impId").secure(1).build();
+        final Imp imp2 = Imp.builder().id("impId").secure(0).build();
+        final ImpIndex impIndex = ImpIndex.of(BidRequest.builder().imp(asList(imp1, imp2)).build());
+
+        // when and then
+        assertThat(impIndex.get("impId")).isSameAs(imp1);
+    }
+
+    @Test
+    public void getShouldReturnNullIfBidRequestIsAbsent() {
+        assertThat(ImpIndex.of(null).get("impId")).isNull();
+    }
+
+    @Test
+    public void extImpPrebidShouldApplyResolverOnlyOnce() {
+        // given
+        final Imp imp = Imp.builder().id("impId").build();
+        final ImpIndex impIndex = ImpIndex.of(BidRequest.builder().imp(singletonList(imp)).build());
+
+        final ExtImpPrebid extImpPrebid = ExtImpPrebid.builder().build();
+        final AtomicInteger calls = new AtomicInteger();
+        final Function<Imp, ExtImpPrebid> resolver = resolvedImp -> {
+            calls.incrementAndGet();
+            return extImpPrebid;
+        };
+
+        // when
+        impIndex.extImpPrebid("impId", resolver);
+        final ExtImpPrebid result = impIndex.extImpPrebid("impId", resolver);
+
+        // then
+        assertThat(result).isSameAs(extImpPrebid);
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(impIndex.extImpPrebid("unknown", resolver)).isNull();
+    }
+
+    @Test
+    public void nativeAssetsShouldApplyResolverAgainIfItFailed() {
+        // given
+        final Imp imp = Imp.builder().id("impId").build();
+        final ImpIndex impIndex = ImpIndex.of(BidRequest.builder().imp(singletonList(imp)).build());
+
+        final Map<Integer, Asset> assets = singletonMap(1, Asset.builder().id(1).build());
+        final AtomicInteger calls = new AtomicInteger();
+        final Function<Imp, Map<Integer, Asset>> resolver = resolvedImp -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new PreBidException("error");
+            }
+            return assets;
+        };
+
+        // when
+        assertThatExceptionOfType(PreBidException.class).isThrownBy(() -> impIndex.nativeAssets("impId", resolver));
+        impIndex.nativeAssets("impId", resolver);
+        final Map<Integer, Asset> result = impIndex.nativeAssets("impId", resolver);
+
+        // then
+        assertThat(result).isSameAs(assets);
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void auctionContextShouldRebuildImpIndexForUpdatedBidRequest() {
+        // given
+        final Imp imp = Imp.builder().id("impId").build();
+        final AuctionContext auctionContext = AuctionContext.builder()
+                .bidRequest(BidRequest.builder().imp(singletonList(imp)).build())
+                .build();
+        final Imp updatedImp = imp.toBuilder().secure(1).build();
+
+        // when
+        final AuctionContext updatedAuctionContext =
+                auctionContext.with(BidRequest.builder().imp(singletonList(updatedImp)).build());
+
+        // then
+        assertThat(auctionContext.getImpIndex().get("impId")).isSameAs(imp);
+        assertThat(updatedAuctionContext.getImpIndex().get("impId")).isSameAs(updatedImp);
+    }
+}
@@ -12,6 +12,7 @@ import com.iab.openrtb.request.Site;
 import com.iab.openrtb.request.Source;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.net.impl.SocketAddressImpl;
 import io.vertx.ext.web.RoutingContext;
@@ -62,6 +63,8 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.prebid.server.assertion.FutureAssertion.assertThat;
 
@@ -211,7 +214,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 debugResolver,
                 jacksonMapper);
 
-        given(routingContext.getBodyAsString()).willReturn("body");
+        given(routingContext.getBody()).willReturn(Buffer.buffer("body"));
 
         // when
         final Future<?> future = target.fromRequest(routingContext, 0L);
@@ -226,7 +229,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
     @Test
     public void shouldReturnFailedFutureIfRequestBodyCouldNotBeParsed() {
         // given
-        given(routingContext.getBodyAsString()).willReturn("body");
+        given(routingContext.getBody()).willReturn(Buffer.buffer("body"));
 
         // when
         final Future<?> future = target.fromRequest(routingContext, 0L);
@@ -246,7 +249,8 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .site(Site.builder().domain("example.com").build())
                 .build();
 
-        givenBidRequest(receivedBidRequest);
+        final Buffer body = spy(Buffer.buffer(bidRequestToString(receivedBidRequest)));
+        given(routingContext.getBody()).willReturn(body);
 
         final String rawModifiedBidRequest = bidRequestToString(BidRequest.builder()
                 .app(App.builder().bundle("org.company.application").build())
@@ -259,6 +263,8 @@ public class AuctionRequestFactoryTest extends VertxTest {
         target.fromRequest(routingContext, 0L);
 
         // then
+        verify(body, never()).getByteBuf();
+
         final ArgumentCaptor<BidRequest> captor = ArgumentCaptor.forClass(BidRequest.class);
         verify(ortb2RequestFactory).enrichAuctionContext(any(), any(), captor.capture(), anyLong());
 
@@ -267,6 +273,29 @@ public class AuctionRequestFactoryTest extends VertxTest {
         assertThat(capturedRequest.getApp()).isEqualTo(App.builder().bundle("org.company.application").build());
     }
 
+    @Test
+    public void shouldUseIncomingBodyIfEntrypointHooksDidNotModifyIt() {
+        // given
+        final BidRequest receivedBidRequest = BidRequest.builder()
+                .site(Site.builder().domain("example.com").build())
+                .build();
+
+        final Buffer body = spy(Buffer.buffer(bidRequestToString(receivedBidRequest)));
+        given(routingContext.getBody()).willReturn(body);
+
+        // when
+        target.fromRequest(routingContext, 0L);
+
+        // then
+        verify(body).getByteBuf();
+
+        final ArgumentCaptor<BidRequest> captor = ArgumentCaptor.forClass(BidRequest.class);
+        verify(ortb2RequestFactory).enrichAuctionContext(any(), any(), captor.capture(), anyLong());
+
+        assertThat(captor.getValue()).isEqualTo(receivedBidRequest);
+        verify(ortbTypesResolver).normalizeBidRequest(any(), eq(bidRequestToString(receivedBidRequest)), any(), any());
+    }
+
     @Test
     public void shouldReturnFailedFutureIfEntrypointHookRejectedRequest() {
         // given
@@ -411,7 +440,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
 
         requestNode.with("ext").with("prebid").with("data").set("eidpermissions", eidPermissionNode);
 
-        given(routingContext.getBodyAsString()).willReturn(requestNode.toString());
+        given(routingContext.getBody()).willReturn(Buffer.buffer(requestNode.toString()));
 
         // when
         final Future<?> result = target.fromRequest(routingContext, 0L);
@@ -447,7 +476,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .putArray("eidpermissions");
         arrayNode.add(eidPermissionNode);
 
-        given(routingContext.getBodyAsString()).willReturn(requestNode.toString());
+        given(routingContext.getBody()).willReturn(Buffer.buffer(requestNode.toString()));
 
         // when
         final Future<?> result = target.fromRequest(routingContext, 0L);
@@ -489,7 +518,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         target.fromRequest(routingContext, 0L).result();
 
         // then
-        verify(ortbTypesResolver).normalizeBidRequest(any(), any(), any());
+        verify(ortbTypesResolver).normalizeBidRequest(any(), any(), any(), any());
     }
 
     @Test
@@ -649,7 +678,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
 
     private void givenBidRequest(BidRequest bidRequest) {
         try {
-            given(routingContext.getBodyAsString()).willReturn(mapper.writeValueAsString(bidRequest));
+            given(routingContext.getBody()).willReturn(Buffer.buffer(mapper.writeValueAsString(bidRequest)));
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
@@ -61,4 +61,38 @@ public class BidRequestConversionManagerTest extends VertxTest {
                 .extracting(BidRequest::getId)
                 .isEqualTo("2.5");
     }
+
+    @Test
+    public void convertFromAuctionSupportedVersionShouldRecordConversionTimeToConversionCache() {
+        // given
+        final BidRequest bidRequest = BidRequest.builder().build();
+        final OrtbConversionCache conversionCache = new OrtbConversionCache();
+
+        // when
+        final BidRequest result = ortbVersionConversionManager
+                .convertFromAuctionSupportedVersion(bidRequest, OrtbVersion.ORTB_2_5, conversionCache);
+
+        // then
+        assertThat(result)
+                .extracting(BidRequest::getId)
+                .isEqualTo("2.5");
+        assertThat(conversionCache.conversionTimeNanos()).isPositive();
+    }
+
+    @Test
+    public void convertFromAuctionSupportedVersionShouldNotRecordConversionTimeIfVersionIsTheSame() {
+        // given
+        given(ortbVersionConverterFactory.getConverter(eq(OrtbVersion.ORTB_2_6), eq(OrtbVersion.ORTB_2_6)))
+                .willReturn(BidRequestOrtbVersionConverter.identity());
+        final BidRequest bidRequest = BidRequest.builder().build();
+        final OrtbConversionCache conversionCache = new OrtbConversionCache();
+
+        // when
+        final BidRequest result = ortbVersionConversionManager
+                .convertFromAuctionSupportedVersion(bidRequest, OrtbVersion.ORTB_2_6, conversionCache);
+
+        // then
+        assertThat(result).isSameAs(bidRequest);
+        assertThat(conversionCache.conversionTimeNanos()).isZero();
+    }
 }
@@ -22,6 +22,7 @@ import com.iab.openrtb.request.Video;
 import org.junit.Before;
 import org.junit.Test;
 import org.prebid.server.VertxTest;
+import org.prebid.server.auction.versionconverter.OrtbConversionCache;
 import org.prebid.server.proto.openrtb.ext.request.ExtRegs;
 import org.prebid.server.proto.openrtb.ext.request.ExtSource;
 import org.prebid.server.proto.openrtb.ext.request.ExtUser;
@@ -243,6 +244,45 @@ public class BidRequestOrtb26To25ConverterTest extends VertxTest {
         });
     }
 
+    @Test
+    public void convertShouldReuseConvertedPartsWithSameConversionCache() {
+        // given
+        final Imp sharedImp = givenImp(imp -> imp.rwdd(1));
+        final Video sharedVideo = Video.builder().maxseq(1).build();
+        final Site site = Site.builder().kwarray(singletonList("kwarray")).build();
+        final Device device = Device.builder().langb("langb").build();
+        final Regs regs = Regs.builder().gdpr(1).build();
+
+        final BidRequest bidRequest1 = givenBidRequest(request -> request
+                .imp(asList(sharedImp, givenImp(imp -> imp.id("impId1").video(sharedVideo))))
+                .site(site)
+                .device(device)
+                .regs(regs));
+        final BidRequest bidRequest2 = givenBidRequest(request -> request
+                .imp(asList(sharedImp, givenImp(imp -> imp.id("impId2").video(sharedVideo))))
+                .site(site)
+                .device(device)
+                .regs(regs));
+
+        final OrtbConversionCache conversionCache = new OrtbConversionCache();
+
+        // when
+        final BidRequest result1 = converter.convert(bidRequest1, conversionCache);
+        final BidRequest result2 = converter.convert(bidRequest2, conversionCache);
+
+        // then
+        assertThat(result2).isNotSameAs(result1);
+        assertThat(result2.getImp().get(0)).isSameAs(result1.getImp().get(0));
+        assertThat(result2.getImp().get(1).getId()).isEqualTo("impId2");
+        assertThat(result2.getImp().get(1).getVideo())
+                .isSameAs(result1.getImp().get(1).getVideo())
+                .isEqualTo(Video.builder().build());
+        assertThat(result2.getSite()).isSameAs(result1.getSite()).isEqualTo(Site.builder().build());
+        assertThat(result2.getDevice()).isSameAs(result1.getDevice()).isEqualTo(Device.builder().build());
+        assertThat(result2.getRegs()).isSameAs(result1.getRegs());
+        assertThat(result2).isEqualTo(converter.convert(bidRequest2));
+    }
+
     private static BidRequest givenBidRequest(UnaryOperator<BidRequest.BidRequestBuilder> bidRequestCustomizer) {
         return bidRequestCustomizer.apply(BidRequest.builder().imp(emptyList())).build();
     }
@@ -161,6 +161,41 @@ public class LineItemServiceTest extends VertxTest {
         assertThat(lineItemService.getLineItemById("lineItem2")).isNotNull();
     }
 
+    @Test
+    public void snapshotShouldReturnMetadataOfTrackedLineItems() {
+        // given
+        final LineItemMetaData lineItemMetaData = givenLineItemMetaData("lineItem1", now, "1",
+                singletonList(givenDeliverySchedule("planId1", now.minusHours(1),
+                        now.plusHours(1), now, singleton(Token.of(1, 100)))), Function.identity());
+        lineItemService.updateLineItems(singletonList(lineItemMetaData), true);
+
+        // when
+        final List<LineItemMetaData> snapshot = lineItemService.snapshot();
+
+        // then
+        assertThat(snapshot).containsExactly(lineItemMetaData);
+    }
+
+    @Test
+    public void restoreShouldTrackNotExpiredLineItemsFromSnapshot() {
+        // given
+        final List<LineItemMetaData> snapshot = asList(
+                givenLineItemMetaData("lineItem1", now, "1",
+                        singletonList(givenDeliverySchedule("planId1", now.minusHours(1),
+                                now.plusHours(1), now, singleton(Token.of(1, 100)))),
+                        builder -> builder.endTimeStamp(now.minusHours(1))),
+                givenLineItemMetaData("lineItem2", now, "2",
+                        singletonList(givenDeliverySchedule("planId1", now.minusHours(1),
+                                now.plusHours(1), now, singleton(Token.of(1, 100)))), Function.identity()));
+
+        // when
+        lineItemService.restore(snapshot);
+
+        // then
+        assertThat(lineItemService.getLineItemById("lineItem1")).isNull();
+        assertThat(lineItemService.getLineItemById("lineItem2")).isNotNull();
+    }
+
     @Test
     public void updateLineItemsShouldRemoveLineItemIfItHasEndTimeInPastInMemory() {
         // given
@@ -552,6 +587,40 @@ public class LineItemServiceTest extends VertxTest {
                 .build()).build())).isFalse();
     }
 
+    @Test
+    public void accountHasDealsShouldReturnFalseWhenLineItemsWereInvalidatedByIds() {
+        // given
+        final List<LineItemMetaData> planResponse = singletonList(
+                givenLineItemMetaData("lineItem1", "1001", "rubicon",
+                        singletonList(givenDeliverySchedule("planId1", now.minusHours(1), now.plusHours(1),
+                                emptySet())), now));
+        lineItemService.updateLineItems(planResponse, true);
+
+        // when
+        lineItemService.invalidateLineItemsByIds(singletonList("lineItem1"));
+
+        // then
+        assertThat(lineItemService.accountHasDeals(AuctionContext.builder().account(Account.builder().id("1001")
+                .build()).build())).isFalse();
+    }
+
+    @Test
+    public void accountHasDealsShouldReturnFalseWhenAllLineItemsWereInvalidated() {
+        // given
+        final List<LineItemMetaData> planResponse = singletonList(
+                givenLineItemMetaData("lineItem1", "1001", "rubicon",
+                        singletonList(givenDeliverySchedule("planId1", now.minusHours(1), now.plusHours(1),
+                                emptySet())), now));
+        lineItemService.updateLineItems(planResponse, true);
+
+        // when
+        lineItemService.invalidateLineItems();
+
+        // then
+        assertThat(lineItemService.accountHasDeals(AuctionContext.builder().account(Account.builder().id("1001")
+                .build()).build())).isFalse();
+    }
+
     @Test
     public void findMatchingLineItemsShouldReturnEmptyListWhenLineItemsIsEmpty() {
         // given
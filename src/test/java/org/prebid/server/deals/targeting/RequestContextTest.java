@@ -407,6 +407,45 @@ public class RequestContextTest extends VertxTest {
         assertThat(context.lookupString(category).getValues()).containsExactly("value");
     }
 
+    @Test
+    public void lookupStringShouldReturnDeviceExtValuesForDifferentCategories() {
+        // given
+        final ExtDevice extDevice = ExtDevice.of(null, null);
+        extDevice.addProperty("vendor", obj("attribute", "value").set("other", obj("attribute", "otherValue")));
+        final RequestContext context = new RequestContext(
+                request(r -> r.device(device(d -> d.ext(extDevice)))),
+                imp(identity()),
+                null,
+                aliases,
+                txnLog,
+                jacksonMapper);
+
+        // when and then
+        assertThat(context.lookupString(
+                new TargetingCategory(TargetingCategory.Type.deviceExt, "vendor.attribute")).getValues())
+                .containsExactly("value");
+        assertThat(context.lookupString(
+                new TargetingCategory(TargetingCategory.Type.deviceExt, "vendor.other.attribute")).getValues())
+                .containsExactly("otherValue");
+    }
+
+    @Test
+    public void lookupStringShouldReturnEmptyResultWhenDeviceExtIsMissing() {
+        // given
+        final TargetingCategory category = new TargetingCategory(TargetingCategory.Type.deviceExt,
+                "vendor.attribute");
+        final RequestContext context = new RequestContext(
+                request(r -> r.device(device(identity()))),
+                imp(identity()),
+                null,
+                aliases,
+                txnLog,
+                jacksonMapper);
+
+        // when and then
+        assertThat(context.lookupString(category)).isEqualTo(LookupResult.empty());
+    }
+
     @Test
     public void lookupStringShouldReturnSimpleBidderParam() {
         // given
@@ -0,0 +1,208 @@
+package org.prebid.server.execution;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.execution.DeadlineScheduler.Deadline;
+import org.prebid.server.metric.Metrics;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@RunWith(VertxUnitRunner.class)
+public class DeadlineSchedulerTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Metrics metrics;
+
+    private final Clock clock = Clock.systemDefaultZone();
+
+    private Vertx vertx;
+
+    private DeadlineScheduler deadlineScheduler;
+
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+
+        deadlineScheduler = new DeadlineScheduler(vertx, 5L, metrics, clock);
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void scheduleShouldCallHandlerNotBeforeDeadline(TestContext context) {
+        // given
+        final AtomicLong scheduledAt = new AtomicLong();
+        final AtomicLong calledAt = new AtomicLong();
+
+        // when
+        final Async async = context.async();
+        vertx.runOnContext(ignored -> {
+            scheduledAt.set(clock.millis());
+            deadlineScheduler.schedule(50L, timedOut -> {
+                calledAt.set(clock.millis());
+                async.complete();
+            });
+        });
+        async.await();
+
+        // then
+        assertThat(calledAt.get() - scheduledAt.get()).isGreaterThanOrEqualTo(50L);
+        verify(metrics).updateDeadlineLatenessMetric(anyLong());
+    }
+
+    @Test
+    public void scheduleShouldCallHandlerWhenTimeoutExpires(TestContext context) {
+        // given
+        final Timeout timeout = new TimeoutFactory(clock).create(30L);
+
+        // when
+        final Async async = context.async();
+        vertx.runOnContext(ignored -> deadlineScheduler.schedule(timeout, timedOut -> async.complete()));
+        async.await();
+
+        // then
+        assertThat(timeout.remaining()).isZero();
+    }
+
+    @Test
+    public void scheduleShouldNotCallHandlerOfCancelledDeadline(TestContext context) {
+        // given
+        final AtomicBoolean cancelledCalled = new AtomicBoolean();
+
+        // when
+        final Async async = context.async();
+        vertx.runOnContext(ignored -> {
+            deadlineScheduler.schedule(20L, timedOut -> cancelledCalled.set(true)).cancel();
+            deadlineScheduler.schedule(60L, timedOut -> async.complete());
+        });
+        async.await();
+
+        // then
+        assertThat(cancelledCalled.get()).isFalse();
+    }
+
+    @Test
+    public void cancelShouldRemoveDeadlineIfCalledFromOtherThread(TestContext context) {
+        // given
+        final AtomicReference<Deadline> deadline = new AtomicReference<>();
+        final AtomicBoolean cancelledCalled = new AtomicBoolean();
+
+        final Async scheduled = context.async();
+        vertx.runOnContext(ignored -> {
+            deadline.set(deadlineScheduler.schedule(100L, timedOut -> cancelledCalled.set(true)));
+            scheduled.complete();
+        });
+        scheduled.await();
+
+        // when
+        deadline.get().cancel();
+
+        final Async async = context.async();
+        vertx.runOnContext(ignored -> deadlineScheduler.schedule(150L, timedOut -> async.complete()));
+        async.await();
+
+        // then
+        assertThat(cancelledCalled.get()).isFalse();
+    }
+
+    @Test
+    public void creationShouldRegisterGaugeOfPendingDeadlines(TestContext context) {
+        // given
+        final ArgumentCaptor<LongSupplier> pendingCaptor = ArgumentCaptor.forClass(LongSupplier.class);
+        verify(metrics).createDeadlinesPendingGauge(pendingCaptor.capture());
+
+        final AtomicReference<Context> vertxContext = new AtomicReference<>();
+        final AtomicReference<Deadline> deadline = new AtomicReference<>();
+        final Async scheduled = context.async();
+        vertx.runOnContext(ignored -> {
+            vertxContext.set(Vertx.currentContext());
+            deadline.set(deadlineScheduler.schedule(1000L, timedOut -> {
+            }));
+            scheduled.complete();
+        });
+        scheduled.await();
+
+        // when
+        final long pendingBeforeCancel = pendingCaptor.getValue().getAsLong();
+
+        final Async cancelled = context.async();
+        vertxContext.get().runOnContext(ignored -> {
+            deadline.get().cancel();
+            cancelled.complete();
+        });
+        cancelled.await();
+
+        // then
+        assertThat(pendingBeforeCancel).isEqualTo(1L);
+        assertThat(pendingCaptor.getValue().getAsLong()).isZero();
+    }
+
+    @Test
+    public void scheduleShouldUseVertxTimerOutsideOfEventLoopContext() {
+        // given
+        final Vertx vertx = mock(Vertx.class);
+        given(vertx.setTimer(anyLong(), any())).willReturn(123L);
+
+        final DeadlineScheduler deadlineScheduler = new DeadlineScheduler(vertx, 5L, metrics, clock);
+
+        // when
+        deadlineScheduler.schedule(100L, timedOut -> {
+        }).cancel();
+
+        // then
+        verify(vertx).setTimer(eq(100L), any());
+        verify(vertx).cancelTimer(eq(123L));
+    }
+
+    @Test
+    public void vertxTimersShouldCreateSchedulerUsingVertxTimerOnEventLoopContext(TestContext context) {
+        // given
+        final Vertx vertx = mock(Vertx.class);
+
+        final DeadlineScheduler deadlineScheduler = DeadlineScheduler.vertxTimers(vertx);
+
+        // when
+        final Async async = context.async();
+        this.vertx.runOnContext(ignored -> {
+            deadlineScheduler.schedule(100L, timedOut -> {
+            });
+            async.complete();
+        });
+        async.await();
+
+        // then
+        verify(vertx).setTimer(eq(100L), any());
+        verify(vertx, never()).setPeriodic(anyLong(), any());
+    }
+}
@@ -72,6 +72,7 @@ public class BasicPriceFloorResolverTest extends VertxTest {
         priceFloorResolver = new BasicPriceFloorResolver(
                 currencyConversionService,
                 countryCodeMapper,
+                new DeviceTypeClassifier(100),
                 metrics,
                 jacksonMapper);
     }
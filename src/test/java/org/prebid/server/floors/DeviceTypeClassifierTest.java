@@ -0,0 +1,52 @@
+package org.prebid.server.floors;
+
+import org.junit.Test;
+import org.prebid.server.floors.model.DeviceType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DeviceTypeClassifierTest {
+
+    private final DeviceTypeClassifier target = new DeviceTypeClassifier(100);
+
+    @Test
+    public void creationShouldFailOnNonPositiveCacheSize() {
+        assertThatThrownBy(() -> new DeviceTypeClassifier(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("cacheSize must be positive");
+    }
+
+    @Test
+    public void classifyShouldReturnPhoneForPhoneUserAgents() {
+        assertThat(target.classify("iPhone")).isEqualTo(DeviceType.phone);
+        assertThat(target.classify("Android. SomeMobile")).isEqualTo(DeviceType.phone);
+        assertThat(target.classify("Mobile. Some Android")).isEqualTo(DeviceType.phone);
+    }
+
+    @Test
+    public void classifyShouldReturnTabletForTabletUserAgents() {
+        assertThat(target.classify("iPad")).isEqualTo(DeviceType.tablet);
+        assertThat(target.classify("Windows NT touch")).isEqualTo(DeviceType.tablet);
+        assertThat(target.classify("Android")).isEqualTo(DeviceType.tablet);
+    }
+
+    @Test
+    public void classifyShouldReturnDesktopWhenUserAgentDoesNotMatchAnyPattern() {
+        assertThat(target.classify("Some UA")).isEqualTo(DeviceType.desktop);
+    }
+
+    @Test
+    public void classifyShouldMatchWholeUserAgent() {
+        assertThat(target.classify("Some iPhone")).isEqualTo(DeviceType.desktop);
+    }
+
+    @Test
+    public void classifyShouldReturnSameResultForRepeatedUserAgent() {
+        // given
+        target.classify("iPhone");
+
+        // when and then
+        assertThat(target.classify("iPhone")).isEqualTo(DeviceType.phone);
+    }
+}
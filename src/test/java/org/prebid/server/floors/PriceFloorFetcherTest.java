@@ -32,12 +32,15 @@ import org.prebid.server.vertx.http.HttpClient;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
 
 import java.math.BigDecimal;
+import java.util.Map;
 import java.util.concurrent.TimeoutException;
 import java.util.function.UnaryOperator;
 
 import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static java.util.function.UnaryOperator.identity;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -500,6 +503,56 @@ public class PriceFloorFetcherTest extends VertxTest {
         verifyNoMoreInteractions(vertx);
     }
 
+    @Test
+    public void snapshotShouldReturnSuccessfullyFetchedRules() {
+        // given
+        given(httpClient.get(anyString(), anyLong(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, MultiMap.caseInsensitiveMultiMap(),
+                        jacksonMapper.encodeToString(givenPriceFloorData()))));
+        priceFloorFetcher.fetch(givenAccount(identity()));
+
+        // when
+        final Map<String, PriceFloorData> snapshot = priceFloorFetcher.snapshot();
+
+        // then
+        assertThat(snapshot).containsOnly(entry("1001", givenPriceFloorData()));
+    }
+
+    @Test
+    public void fetchShouldReturnRestoredRulesAndStartFetching() {
+        // given
+        priceFloorFetcher.restore(singletonMap("1001", givenPriceFloorData()));
+        given(httpClient.get(anyString(), anyLong(), anyLong()))
+                .willReturn(Future.failedFuture(new PreBidException("failed")));
+
+        // when
+        final FetchResult firstInvocationResult = priceFloorFetcher.fetch(givenAccount(identity()));
+        final FetchResult secondInvocationResult = priceFloorFetcher.fetch(givenAccount(identity()));
+
+        // then
+        assertThat(firstInvocationResult).isEqualTo(FetchResult.of(givenPriceFloorData(), FetchStatus.success));
+        assertThat(secondInvocationResult).isEqualTo(FetchResult.of(givenPriceFloorData(), FetchStatus.success));
+        verify(httpClient).get(anyString(), anyLong(), anyLong());
+        verify(vertx).setTimer(eq(600000L), any());
+    }
+
+    @Test
+    public void fetchShouldDropRestoredRulesIfFetchIsDisabledForAccount() {
+        // given
+        priceFloorFetcher.restore(singletonMap("1001", givenPriceFloorData()));
+
+        // when
+        final FetchResult firstInvocationResult =
+                priceFloorFetcher.fetch(givenAccount(config -> config.enabled(false)));
+        final FetchResult secondInvocationResult =
+                priceFloorFetcher.fetch(givenAccount(config -> config.enabled(false)));
+
+        // then
+        assertThat(firstInvocationResult).isEqualTo(FetchResult.of(givenPriceFloorData(), FetchStatus.success));
+        assertThat(secondInvocationResult).isEqualTo(FetchResult.of(null, FetchStatus.none));
+        verifyNoInteractions(httpClient);
+    }
+
     private Account givenAccount(UnaryOperator<
             AccountPriceFloorsFetchConfig.AccountPriceFloorsFetchConfigBuilder> configCustomizer) {
 
@@ -0,0 +1,120 @@
+package org.prebid.server.floors;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PriceFloorRulesIndexTest {
+
+    @Test
+    public void findRuleShouldReturnExactMatch() {
+        // given
+        final PriceFloorRulesIndex index = PriceFloorRulesIndex.of("|", Map.of(
+                "site.com|banner", BigDecimal.ONE,
+                "*|banner", BigDecimal.TEN));
+
+        // when
+        final String rule = index.findRule(List.of(List.of("site.com"), List.of("banner")));
+
+        // then
+        assertThat(rule).isEqualTo("site.com|banner");
+        assertThat(index.floorForRule(rule)).isEqualTo(BigDecimal.ONE);
+    }
+
+    @Test
+    public void findRuleShouldMatchRulesCaseInsensitively() {
+        // given
+        final PriceFloorRulesIndex index = PriceFloorRulesIndex.of("|", Map.of("Site.com|BANNER", BigDecimal.ONE));
+
+        // when
+        final String rule = index.findRule(List.of(List.of("site.com"), List.of("banner")));
+
+        // then
+        assertThat(rule).isEqualTo("site.com|banner");
+        assertThat(index.floorForRule(rule)).isEqualTo(BigDecimal.ONE);
+    }
+
+    @Test
+    public void findRuleShouldPreferRulesWithWildcardsInLaterPositions() {
+        // given
+        final PriceFloorRulesIndex index = PriceFloorRulesIndex.of("|", Map.of(
+                "*|banner|300x250", BigDecimal.ONE,
+                "site.com|banner|*", BigDecimal.TEN,
+                "site.com|*|*", BigDecimal.ZERO));
+
+        // when
+        final String rule = index.findRule(List.of(List.of("site.com"), List.of("banner"), List.of("300x250")));
+
+        // then
+        assertThat(rule).isEqualTo("site.com|banner|*");
+    }
+
+    @Test
+    public void findRuleShouldPreferRulesWithLessWildcards() {
+        // given
+        final PriceFloorRulesIndex index = PriceFloorRulesIndex.of("|", Map.of(
+                "site.com|*|*", BigDecimal.ONE,
+                "*|banner|300x250", BigDecimal.TEN));
+
+        // when
+        final String rule = index.findRule(List.of(List.of("site.com"), List.of("banner"), List.of("300x250")));
+
+        // then
+        assertThat(rule).isEqualTo("*|banner|300x250");
+    }
+
+    @Test
+    public void findRuleShouldMatchAnyOfDesiredValues() {
+        // given
+        final PriceFloorRulesIndex index = PriceFloorRulesIndex.of("|", Map.of(
+                "video-instream|300x250", BigDecimal.ONE));
+
+        // when
+        final String rule = index.findRule(List.of(List.of("video", "video-instream"), List.of("300x250")));
+
+        // then
+        assertThat(rule).isEqualTo("video-instream|300x250");
+    }
+
+    @Test
+    public void findRuleShouldMatchOnlyWildcardForImplicitWildcard() {
+        // given
+        final PriceFloorRulesIndex index = PriceFloorRulesIndex.of("|", Map.of(
+                "site.com|banner", BigDecimal.ONE,
+                "*|banner", BigDecimal.TEN));
+
+        // when
+        final String rule = index.findRule(List.of(List.of("*"), List.of("banner")));
+
+        // then
+        assertThat(rule).isEqualTo("*|banner");
+    }
+
+    @Test
+    public void findRuleShouldReturnNullWhenNoRuleMatches() {
+        // given
+        final PriceFloorRulesIndex index = PriceFloorRulesIndex.of("|", Map.of("site.com|banner", BigDecimal.ONE));
+
+        // when
+        final String rule = index.findRule(List.of(List.of("other.com"), List.of("video")));
+
+        // then
+        assertThat(rule).isNull();
+    }
+
+    @Test
+    public void findRuleShouldMatchValuesContainingDelimiter() {
+        // given
+        final PriceFloorRulesIndex index = PriceFloorRulesIndex.of(".", Map.of("site.com.banner", BigDecimal.ONE));
+
+        // when
+        final String rule = index.findRule(List.of(List.of("site.com"), List.of("banner")));
+
+        // then
+        assertThat(rule).isEqualTo("site.com.banner");
+    }
+}
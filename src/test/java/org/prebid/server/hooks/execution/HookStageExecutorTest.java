@@ -30,6 +30,7 @@ import org.prebid.server.auction.model.BidderResponse;
 import org.prebid.server.auction.model.DebugContext;
 import org.prebid.server.bidder.model.BidderBid;
 import org.prebid.server.bidder.model.BidderSeatBid;
+import org.prebid.server.execution.DeadlineScheduler;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.hooks.execution.model.EndpointExecutionPlan;
 import org.prebid.server.hooks.execution.model.ExecutionAction;
@@ -2860,7 +2861,7 @@ public class HookStageExecutorTest extends VertxTest {
                 defaultAccountExecutionPlan,
                 hookCatalog,
                 timeoutFactory,
-                vertx,
+                DeadlineScheduler.vertxTimers(vertx),
                 clock,
                 jacksonMapper);
     }
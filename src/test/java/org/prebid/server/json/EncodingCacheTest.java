@@ -0,0 +1,90 @@
+package org.prebid.server.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Device;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.request.User;
+import org.junit.Test;
+import org.prebid.server.VertxTest;
+import org.prebid.server.proto.openrtb.ext.request.ExtDevice;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EncodingCacheTest extends VertxTest {
+
+    @Test
+    public void useShouldNotChangeEncodedValue() {
+        // given
+        final BidRequest bidRequest = BidRequest.builder()
+                .id("requestId")
+                .imp(singletonList(Imp.builder().id("impId").build()))
+                .device(Device.builder().ua("ua").ip("ip").build())
+                .user(User.builder().buyeruid("buyerUid").build())
+                .build();
+
+        // when
+        final String result = new EncodingCache().use(() -> jacksonMapper.encodeToString(bidRequest));
+
+        // then
+        assertThat(result).isEqualTo(jacksonMapper.encodeToString(bidRequest));
+    }
+
+    @Test
+    public void useShouldEncodeSameInstanceOnlyOnce() {
+        // given
+        final ExtDevice extDevice = ExtDevice.empty();
+        final Device device = Device.builder().ua("ua").ext(extDevice).build();
+        final BidRequest bidRequest1 = BidRequest.builder().id("requestId1").device(device).build();
+        final BidRequest bidRequest2 = BidRequest.builder().id("requestId2").device(device).build();
+
+        final EncodingCache encodingCache = new EncodingCache();
+
+        // when
+        final String result1 = encodingCache.use(() -> jacksonMapper.encodeToString(bidRequest1));
+        // modified to detect whether device is encoded again
+        extDevice.addProperty("property", TextNode.valueOf("value"));
+        final String result2 = encodingCache.use(() -> jacksonMapper.encodeToString(bidRequest2));
+
+        // then
+        assertThat(result1).isEqualTo("{\"id\":\"requestId1\",\"device\":{\"ua\":\"ua\",\"ext\":{}}}");
+        assertThat(result2).isEqualTo("{\"id\":\"requestId2\",\"device\":{\"ua\":\"ua\",\"ext\":{}}}");
+    }
+
+    @Test
+    public void useShouldNotChangeValueConvertedToTree() {
+        // given
+        final BidRequest bidRequest = BidRequest.builder()
+                .id("requestId")
+                .device(Device.builder().ua("ua").ip("ip").build())
+                .user(User.builder().buyeruid("buyerUid").build())
+                .build();
+
+        // when
+        final JsonNode result = new EncodingCache().use(() -> mapper.valueToTree(bidRequest));
+
+        // then
+        assertThat(result).isEqualTo(mapper.valueToTree(bidRequest));
+        assertThat(result.get("device").get("ua").textValue()).isEqualTo("ua");
+    }
+
+    @Test
+    public void encodingShouldNotUseCacheOutsideOfUse() {
+        // given
+        final ExtDevice extDevice = ExtDevice.empty();
+        final BidRequest bidRequest = BidRequest.builder()
+                .device(Device.builder().ext(extDevice).build())
+                .build();
+
+        new EncodingCache().use(() -> jacksonMapper.encodeToString(bidRequest));
+        extDevice.addProperty("property", TextNode.valueOf("value"));
+
+        // when
+        final String result = jacksonMapper.encodeToString(bidRequest);
+
+        // then
+        assertThat(result).isEqualTo("{\"device\":{\"ext\":{\"property\":\"value\"}}}");
+    }
+}
@@ -7,9 +7,13 @@ import com.iab.openrtb.request.Site;
 import org.junit.Before;
 import org.junit.Test;
 import org.prebid.server.VertxTest;
+import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.proto.openrtb.ext.request.ExtBidderConfigOrtb;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class JsonMergerTest extends VertxTest {
 
@@ -72,4 +76,57 @@ public class JsonMergerTest extends VertxTest {
         assertThat(result).isEqualTo(site);
     }
 
+    @Test
+    public void mergeShouldGiveOriginalObjectPriorityOverStoredData() {
+        // given
+        final Site site = Site.builder()
+                .page("originalPage")
+                .publisher(Publisher.builder().id("originalId").build())
+                .cat(singletonList("originalCat"))
+                .build();
+        final ObjectNode storedData = mapper.valueToTree(Site.builder()
+                .page("storedPage")
+                .domain("storedDomain")
+                .publisher(Publisher.builder().id("storedId").name("storedName").build())
+                .cat(asList("storedCat1", "storedCat2"))
+                .build());
+
+        // when
+        final Site result = target.merge(site, storedData, "id", Site.class);
+
+        // then
+        assertThat(result).isEqualTo(Site.builder()
+                .page("originalPage")
+                .domain("storedDomain")
+                .publisher(Publisher.builder().id("originalId").name("storedName").build())
+                .cat(singletonList("originalCat"))
+                .build());
+    }
+
+    @Test
+    public void mergeShouldNotModifyStoredData() {
+        // given
+        final Site site = Site.builder()
+                .page("originalPage")
+                .publisher(Publisher.builder().id("originalId").build())
+                .build();
+        final ObjectNode storedData = mapper.valueToTree(Site.builder()
+                .page("storedPage")
+                .publisher(Publisher.builder().id("storedId").build())
+                .build());
+        final ObjectNode storedDataCopy = storedData.deepCopy();
+
+        // when
+        target.merge(site, storedData, "id", Site.class);
+
+        // then
+        assertThat(storedData).isEqualTo(storedDataCopy);
+    }
+
+    @Test
+    public void mergeShouldFailOnInvalidStoredData() {
+        assertThatThrownBy(() -> target.merge(Site.builder().build(), "invalid", "id", Site.class))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Can't parse Json for stored request with id id");
+    }
 }
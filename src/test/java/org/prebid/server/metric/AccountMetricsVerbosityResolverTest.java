@@ -1,16 +1,31 @@
 package org.prebid.server.metric;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
 import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
 import org.prebid.server.settings.model.Account;
 import org.prebid.server.settings.model.AccountMetricsConfig;
 
+import java.util.Set;
+
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 public class AccountMetricsVerbosityResolverTest {
 
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private TopAccountsTracker topAccountsTracker;
+
     private AccountMetricsVerbosityResolver verbosity;
 
     @Before
@@ -45,4 +60,76 @@ public class AccountMetricsVerbosityResolverTest {
         // when and then
         assertThat(verbosity.forAccount(account)).isEqualTo(AccountMetricsVerbosityLevel.basic);
     }
+
+    @Test
+    public void forAccountShouldReturnAtMostBasicLevelForAccountOutOfTop() {
+        // given
+        verbosity = givenResolverWithTopAccountsTracker(AccountMetricsVerbosityLevel.detailed);
+        given(topAccountsTracker.isTop(any())).willReturn(false);
+
+        // when and then
+        assertThat(verbosity.forAccount(Account.empty("3"))).isEqualTo(AccountMetricsVerbosityLevel.basic);
+    }
+
+    @Test
+    public void forAccountShouldReturnDefaultLevelForTopAccount() {
+        // given
+        verbosity = givenResolverWithTopAccountsTracker(AccountMetricsVerbosityLevel.detailed);
+        given(topAccountsTracker.isTop(any())).willReturn(true);
+
+        // when and then
+        assertThat(verbosity.forAccount(Account.empty("3"))).isEqualTo(AccountMetricsVerbosityLevel.detailed);
+    }
+
+    @Test
+    public void metricsAccountIdShouldReturnOtherForAccountOutOfTop() {
+        // given
+        verbosity = givenResolverWithTopAccountsTracker(AccountMetricsVerbosityLevel.detailed);
+        given(topAccountsTracker.isTop(any())).willReturn(false);
+
+        // when and then
+        assertThat(verbosity.metricsAccountId("3")).isEqualTo("other");
+    }
+
+    @Test
+    public void metricsAccountIdShouldReturnAccountIdForConfiguredAccount() {
+        // given
+        verbosity = givenResolverWithTopAccountsTracker(AccountMetricsVerbosityLevel.detailed);
+
+        // when and then
+        assertThat(verbosity.metricsAccountId("2")).isEqualTo("2");
+        verifyNoInteractions(topAccountsTracker);
+    }
+
+    @Test
+    public void metricsAccountIdShouldReturnAccountIdWhenTopAccountsAreNotTracked() {
+        assertThat(verbosity.metricsAccountId("3")).isEqualTo("3");
+    }
+
+    @Test
+    public void recordRequestShouldReturnAccountsDroppedFromTop() {
+        // given
+        verbosity = givenResolverWithTopAccountsTracker(AccountMetricsVerbosityLevel.detailed);
+        given(topAccountsTracker.record(any())).willReturn(Set.of("4"));
+
+        // when and then
+        assertThat(verbosity.recordRequest("3")).containsOnly("4");
+    }
+
+    @Test
+    public void recordRequestShouldNotTrackConfiguredAccount() {
+        // given
+        verbosity = givenResolverWithTopAccountsTracker(AccountMetricsVerbosityLevel.detailed);
+
+        // when and then
+        assertThat(verbosity.recordRequest("1")).isEmpty();
+        verifyNoInteractions(topAccountsTracker);
+    }
+
+    private AccountMetricsVerbosityResolver givenResolverWithTopAccountsTracker(
+            AccountMetricsVerbosityLevel defaultVerbosity) {
+
+        return new AccountMetricsVerbosityResolver(defaultVerbosity, singletonList("1"), singletonList("2"),
+                topAccountsTracker);
+    }
 }
@@ -28,9 +28,14 @@ import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -57,6 +62,8 @@ public class MetricsTest {
     public void setUp() {
         metricRegistry = new MetricRegistry();
         given(accountMetricsVerbosityResolver.forAccount(any())).willReturn(AccountMetricsVerbosityLevel.detailed);
+        given(accountMetricsVerbosityResolver.metricsAccountId(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
 
         metrics = new Metrics(metricRegistry, CounterType.counter, accountMetricsVerbosityResolver);
     }
@@ -415,6 +422,15 @@ public class MetricsTest {
         assertThat(metricRegistry.timer("request_time").getCount()).isOne();
     }
 
+    @Test
+    public void updateOrtbConversionTimeMetricShouldUpdateMetricInNanos() {
+        // when
+        metrics.updateOrtbConversionTimeMetric(1500L);
+
+        // then
+        assertThat(metricRegistry.timer("ortb_conversion_time").getSnapshot().getMax()).isEqualTo(1500L);
+    }
+
     @Test
     public void updateRequestTypeMetricShouldIncrementMetric() {
         // when
@@ -974,6 +990,28 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("privacy.tcf.v1.vendorlist.fallback").getCount()).isEqualTo(1);
     }
 
+    @Test
+    public void updatePrivacyTcfConsentCacheMetricShouldIncrementMetrics() {
+        // when
+        metrics.updatePrivacyTcfConsentCacheMetric(true);
+        metrics.updatePrivacyTcfConsentCacheMetric(false);
+
+        // then
+        assertThat(metricRegistry.counter("privacy.tcf.consent-cache.hit").getCount()).isOne();
+        assertThat(metricRegistry.counter("privacy.tcf.consent-cache.miss").getCount()).isOne();
+    }
+
+    @Test
+    public void updatePrivacyTcfPermissionsCacheMetricShouldIncrementMetrics() {
+        // when
+        metrics.updatePrivacyTcfPermissionsCacheMetric(true);
+        metrics.updatePrivacyTcfPermissionsCacheMetric(false);
+
+        // then
+        assertThat(metricRegistry.counter("privacy.tcf.permissions-cache.hit").getCount()).isOne();
+        assertThat(metricRegistry.counter("privacy.tcf.permissions-cache.miss").getCount()).isOne();
+    }
+
     @Test
     public void shouldNotUpdateAccountMetricsIfVerbosityIsNone() {
         // given
@@ -996,6 +1034,83 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("account.accountId.rubicon.bids_received").getCount()).isZero();
     }
 
+    @Test
+    public void updateAccountRequestMetricsShouldRemoveMetricsOfAccountsDroppedFromTop() {
+        // given
+        metrics.updateAccountRequestMetrics(Account.empty("dropped"), MetricName.openrtb2web);
+        metrics.updateAdapterRequestNobidMetrics(RUBICON, Account.empty("dropped"));
+
+        given(accountMetricsVerbosityResolver.recordRequest(any())).willReturn(singleton("dropped"));
+
+        // when
+        metrics.updateAccountRequestMetrics(Account.empty(ACCOUNT_ID), MetricName.openrtb2web);
+
+        // then
+        assertThat(metricRegistry.getNames())
+                .noneMatch(name -> name.startsWith("account.dropped."))
+                .contains("account.accountId.requests");
+    }
+
+    @Test
+    public void updateAccountRequestMetricsShouldRemoveMetricsOfDroppedAccountOnlyWhenAccountIdsContainDots() {
+        // given
+        metrics.updateAccountRequestMetrics(Account.empty("dropped"), MetricName.openrtb2web);
+        metrics.updateAccountRequestMetrics(Account.empty("dropped.requests"), MetricName.openrtb2web);
+
+        given(accountMetricsVerbosityResolver.recordRequest(any())).willReturn(singleton("dropped"));
+
+        // when
+        metrics.updateAccountRequestMetrics(Account.empty(ACCOUNT_ID), MetricName.openrtb2web);
+
+        // then
+        assertThat(metricRegistry.getNames())
+                .doesNotContain("account.dropped.requests")
+                .contains("account.dropped.requests.requests");
+    }
+
+    @Test
+    public void updateAccountRequestMetricsShouldKeepMetricsOfAccountRequestedWhileBeingEvicted()
+            throws InterruptedException {
+
+        // given
+        given(accountMetricsVerbosityResolver.forAccount(any())).willReturn(AccountMetricsVerbosityLevel.basic);
+        given(accountMetricsVerbosityResolver.recordRequest(any())).willReturn(emptySet());
+        given(accountMetricsVerbosityResolver.recordRequest("evicting")).willReturn(singleton(ACCOUNT_ID));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            final Account account = Account.empty(i % 2 == 0 ? "evicting" : ACCOUNT_ID);
+            executor.execute(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    metrics.updateAccountRequestMetrics(account, MetricName.openrtb2web);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        metrics.updateAccountRequestMetrics(Account.empty(ACCOUNT_ID), MetricName.openrtb2web);
+
+        // then
+        assertThat(metricRegistry.counter("account.accountId.requests").getCount()).isPositive();
+    }
+
+    @Test
+    public void shouldSubmitAccountMetricsUnderAccountIdResolvedByVerbosityResolver() {
+        // given
+        given(accountMetricsVerbosityResolver.metricsAccountId(any())).willReturn("other");
+
+        // when
+        metrics.updateAccountRequestMetrics(Account.empty(ACCOUNT_ID), MetricName.openrtb2web);
+        metrics.updateAccountRequestRejectedByInvalidAccountMetrics(ACCOUNT_ID);
+
+        // then
+        assertThat(metricRegistry.counter("account.other.requests").getCount()).isOne();
+        assertThat(metricRegistry.counter("account.other.requests.rejected.invalid-account").getCount()).isOne();
+    }
+
     @Test
     public void shouldUpdateAccountRequestsMetricOnlyIfVerbosityIsBasic() {
         // given
@@ -1036,6 +1151,17 @@ public class MetricsTest {
         assertThat(metricRegistry.timer("db_query_time").getCount()).isOne();
     }
 
+    @Test
+    public void shouldUpdateDatabaseBatchMetrics() {
+        // when
+        metrics.updateDatabaseBatchSizeMetric(3);
+        metrics.updateDatabaseBatchTimeMetric(5L);
+
+        // then
+        assertThat(metricRegistry.histogram("db_batch_size").getSnapshot().getMax()).isEqualTo(3L);
+        assertThat(metricRegistry.timer("db_batch_time").getCount()).isOne();
+    }
+
     @Test
     public void shouldCreateDatabaseCircuitBreakerGaugeMetric() {
         // when
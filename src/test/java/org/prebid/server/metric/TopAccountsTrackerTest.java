@@ -0,0 +1,179 @@
+package org.prebid.server.metric;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import java.time.Clock;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+
+public class TopAccountsTrackerTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Clock clock;
+
+    private ExecutorService otherThreadExecutor;
+
+    private TopAccountsTracker target;
+
+    @Before
+    public void setUp() {
+        given(clock.millis()).willReturn(0L);
+        otherThreadExecutor = Executors.newSingleThreadExecutor();
+
+        target = new TopAccountsTracker(2, 1000L, clock);
+    }
+
+    @After
+    public void tearDown() {
+        otherThreadExecutor.shutdownNow();
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveTopSize() {
+        assertThatThrownBy(() -> new TopAccountsTracker(0, 1000L, clock))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("topSize must be positive");
+    }
+
+    @Test
+    public void recordShouldMakeAccountTopWhileTopIsNotFull() {
+        // when
+        target.record("1");
+        target.record("2");
+        target.record("3");
+
+        // then
+        assertThat(target.isTop("1")).isTrue();
+        assertThat(target.isTop("2")).isTrue();
+        assertThat(target.isTop("3")).isFalse();
+    }
+
+    @Test
+    public void recordShouldReplaceTopAccountsWithMostRequestedOnRefresh() {
+        // given
+        target.record("1");
+        target.record("2");
+        for (int i = 0; i < 5; i++) {
+            target.record("3");
+            target.record("4");
+        }
+        givenFirstRefresh();
+        given(clock.millis()).willReturn(2000L);
+
+        // when
+        final Set<String> droppedAccounts = target.record("4");
+
+        // then
+        assertThat(droppedAccounts).containsOnly("1", "2");
+        assertThat(target.isTop("3")).isTrue();
+        assertThat(target.isTop("4")).isTrue();
+        assertThat(target.isTop("1")).isFalse();
+    }
+
+    @Test
+    public void recordShouldNotRefreshTopAccountsBeforeRefreshPeriod() {
+        // given
+        target.record("1");
+        target.record("2");
+        for (int i = 0; i < 5; i++) {
+            target.record("3");
+        }
+        given(clock.millis()).willReturn(999L);
+
+        // when
+        final Set<String> droppedAccounts = target.record("3");
+
+        // then
+        assertThat(droppedAccounts).isEmpty();
+        assertThat(target.isTop("3")).isFalse();
+    }
+
+    @Test
+    public void recordShouldKeepTopAccountsOnFirstRefreshAsSketchesOfOtherThreadsAreNotHandedOverYet() {
+        // given
+        target.record("1");
+        target.record("2");
+        for (int i = 0; i < 5; i++) {
+            target.record("3");
+        }
+        given(clock.millis()).willReturn(1000L);
+
+        // when
+        final Set<String> droppedAccounts = target.record("3");
+
+        // then
+        assertThat(droppedAccounts).isEmpty();
+        assertThat(target.isTop("1")).isTrue();
+        assertThat(target.isTop("3")).isFalse();
+    }
+
+    @Test
+    public void recordShouldKeepMonitoringHeavyAccountWhenSketchIsFull() {
+        // given
+        for (int i = 0; i < 30; i++) {
+            target.record("heavy");
+        }
+        for (int i = 0; i < 100; i++) {
+            target.record("tail-" + i);
+        }
+        givenFirstRefresh();
+        given(clock.millis()).willReturn(2000L);
+
+        // when
+        target.record("heavy");
+
+        // then
+        assertThat(target.isTop("heavy")).isTrue();
+    }
+
+    @Test
+    public void recordShouldTakeRequestsRecordedByOtherThreadsIntoAccountAfterTheyAreHandedOver()
+            throws ExecutionException, InterruptedException {
+
+        // given
+        target.record("1");
+        target.record("2");
+        recordInOtherThread("3", 5);
+        given(clock.millis()).willReturn(1000L);
+        target.record("1");
+
+        // when
+        recordInOtherThread("3", 1);
+        given(clock.millis()).willReturn(2000L);
+        final Set<String> droppedAccounts = target.record("1");
+
+        // then
+        assertThat(droppedAccounts).containsOnly("2");
+        assertThat(target.isTop("3")).isTrue();
+    }
+
+    private void givenFirstRefresh() {
+        given(clock.millis()).willReturn(1000L);
+        target.record("first-refresh");
+    }
+
+    private void recordInOtherThread(String accountId, int times)
+            throws ExecutionException, InterruptedException {
+
+        otherThreadExecutor.submit(() -> {
+            for (int i = 0; i < times; i++) {
+                target.record(accountId);
+            }
+        }).get();
+    }
+}
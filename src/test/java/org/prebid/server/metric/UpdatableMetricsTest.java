@@ -187,6 +187,33 @@ public class UpdatableMetricsTest {
         assertThat(metricRegistry.getGauges()).doesNotContainKey("opened");
     }
 
+    @Test
+    public void incCounterShouldRegisterCounterAgainAfterItWasRemoved() {
+        // given
+        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter, MetricName::toString);
+        updatableMetrics.incCounter(MetricName.requests, 5);
+
+        // when
+        updatableMetrics.removeMetric(MetricName.requests);
+        updatableMetrics.incCounter(MetricName.requests, 2);
+
+        // then
+        assertThat(metricRegistry.counter("requests").getCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void incCounterShouldIncrementMeterForMeterCounterType() {
+        // given
+        updatableMetrics = givenUpdatableMetricsWith(CounterType.meter);
+
+        // when
+        updatableMetrics.incCounter(MetricName.requests, 3);
+        updatableMetrics.incCounter(MetricName.requests);
+
+        // then
+        assertThat(metricRegistry.meter("requests").getCount()).isEqualTo(4);
+    }
+
     private UpdatableMetrics givenUpdatableMetricsWith(CounterType counterType) {
         return new UpdatableMetrics(metricRegistry, counterType, MetricName::toString);
     }
@@ -10,6 +10,7 @@ import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.prebid.server.VertxTest;
 import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
 import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
@@ -35,6 +36,7 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyCollection;
@@ -46,6 +48,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.prebid.server.assertion.FutureAssertion.assertThat;
 import static org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode.FOUR;
@@ -74,6 +77,8 @@ public class Tcf2ServiceTest extends VertxTest {
     private SpecialFeaturesStrategy specialFeaturesStrategyOne;
     @Mock
     private TCString tcString;
+    @Mock
+    private Metrics metrics;
 
     private Tcf2Service target;
 
@@ -177,6 +182,46 @@ public class Tcf2ServiceTest extends VertxTest {
         verify(vendorListService).forVersion(10);
     }
 
+    @Test
+    public void permissionsForShouldReturnCopyOfCachedPermissionsIfCacheIsEnabled() {
+        // given
+        target = new Tcf2Service(gdprConfig, purposeStrategies, specialFeaturesStrategies, vendorListService,
+                bidderCatalog, metrics, 100);
+        given(bidderCatalog.nameByVendorId(any())).willReturn("rubicon");
+
+        // when
+        final Future<Collection<VendorPermission>> firstResult = target.permissionsFor(singleton(1), tcString);
+        final Future<Collection<VendorPermission>> secondResult = target.permissionsFor(singleton(1), tcString);
+
+        // then
+        final VendorPermission expectedVendorPermission =
+                VendorPermission.of(1, "rubicon", PrivacyEnforcementAction.restrictAll());
+        assertThat(secondResult).succeededWith(singletonList(expectedVendorPermission));
+        assertThat(secondResult.result().iterator().next().getPrivacyEnforcementAction())
+                .isNotSameAs(firstResult.result().iterator().next().getPrivacyEnforcementAction());
+
+        verify(specialFeaturesStrategyOne).processSpecialFeaturesStrategy(any(), any(), anyCollection());
+        verify(metrics).updatePrivacyTcfPermissionsCacheMetric(false);
+        verify(metrics).updatePrivacyTcfPermissionsCacheMetric(true);
+    }
+
+    @Test
+    public void permissionsForShouldNotCachePermissionsIfVendorListServiceIsFailed() {
+        // given
+        target = new Tcf2Service(gdprConfig, purposeStrategies, specialFeaturesStrategies, vendorListService,
+                bidderCatalog, metrics, 100);
+        given(vendorListService.forVersion(anyInt())).willReturn(Future.failedFuture("Bad version"));
+        given(bidderCatalog.nameByVendorId(any())).willReturn("rubicon");
+
+        // when
+        target.permissionsFor(singleton(1), tcString);
+        target.permissionsFor(singleton(1), tcString);
+
+        // then
+        verify(specialFeaturesStrategyOne, times(2)).processSpecialFeaturesStrategy(any(), any(), anyCollection());
+        verifyNoInteractions(metrics);
+    }
+
     @Test
     public void permissionsForShouldReturnByGdprPurposeAndDowngradeToBasicTypeWhenVendorListServiceIsFailed() {
         // given
@@ -411,6 +411,34 @@ public class TcfDefinerServiceTest {
                 .containsExactly(true, "CPBCa-mPBCa-mAAAAAENA0CAAEAAAAAAACiQAaQAwAAgAgABoAAAAAA", true);
     }
 
+    @Test
+    public void resolveTcfContextShouldReuseDecodedConsentStringIfCacheIsEnabled() {
+        // given
+        tcfDefinerService = new TcfDefinerService(
+                GdprConfig.builder().enabled(true).build(),
+                singleton(EEA_COUNTRY),
+                tcf2Service,
+                geoLocationService,
+                bidderCatalog,
+                ipAddressHelper,
+                metrics,
+                1000L);
+
+        final Privacy privacy = Privacy.of("1", "CPBCa-mPBCa-mAAAAAENA0CAAEAAAAAAACiQAaQAwAAgAgABoAAAAAA", null, null);
+
+        // when
+        final Future<TcfContext> firstResult = tcfDefinerService.resolveTcfContext(
+                privacy, null, null, MetricName.setuid, null, null);
+        final Future<TcfContext> secondResult = tcfDefinerService.resolveTcfContext(
+                privacy, null, null, MetricName.setuid, null, null);
+
+        // then
+        assertThat(secondResult.result().getConsent()).isSameAs(firstResult.result().getConsent());
+        assertThat(secondResult.result().isConsentValid()).isTrue();
+        verify(metrics).updatePrivacyTcfConsentCacheMetric(false);
+        verify(metrics).updatePrivacyTcfConsentCacheMetric(true);
+    }
+
     @Test
     public void resolveTcfContextShouldReturnTcfContextWithConsentValidAsFalse() {
         // when
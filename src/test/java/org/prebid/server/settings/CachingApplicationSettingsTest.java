@@ -1,20 +1,26 @@
 package org.prebid.server.settings;
 
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.exception.PreBidException;
+import org.prebid.server.execution.DeadlineScheduler;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.metric.MetricName;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.model.Account;
 import org.prebid.server.settings.model.AccountAuctionConfig;
+import org.prebid.server.settings.model.AccountStatus;
+import org.prebid.server.settings.model.SettingsSnapshot;
 import org.prebid.server.settings.model.StoredDataResult;
 import org.prebid.server.settings.model.StoredResponseDataResult;
 
@@ -31,12 +37,15 @@ import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -50,23 +59,32 @@ public class CachingApplicationSettingsTest {
     private ApplicationSettings applicationSettings;
     @Mock
     private Metrics metrics;
+    @Mock
+    private DeadlineScheduler deadlineScheduler;
+    @Mock
+    private DeadlineScheduler.Deadline deadline;
 
     private CachingApplicationSettings cachingApplicationSettings;
 
+    @Mock
+    private Clock clock;
+
     private Timeout timeout;
 
     @Before
     public void setUp() {
+        given(clock.millis()).willReturn(1000L);
         timeout = new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault())).create(500L);
+        given(deadlineScheduler.schedule(any(Timeout.class), any())).willReturn(deadline);
 
-        cachingApplicationSettings = new CachingApplicationSettings(
-                applicationSettings,
-                new SettingsCache(360, 100),
-                new SettingsCache(360, 100),
-                new SettingsCache(360, 100),
-                metrics,
-                360,
-                100);
+        cachingApplicationSettings = givenCachingApplicationSettings(360, 60);
+    }
+
+    @Test
+    public void creationShouldFailWhenRefreshAfterIsNotLessThanTtl() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> givenCachingApplicationSettings(360, 360))
+                .withMessage("refreshAfter must be less than ttl");
     }
 
     @Test
@@ -78,7 +96,7 @@ public class CachingApplicationSettingsTest {
                         .priceGranularity("med")
                         .build())
                 .build();
-        given(applicationSettings.getAccountById(eq("accountId"), same(timeout)))
+        given(applicationSettings.getAccountById(eq("accountId"), any()))
                 .willReturn(Future.succeededFuture(account));
 
         // when
@@ -88,7 +106,7 @@ public class CachingApplicationSettingsTest {
         // then
         assertThat(future.succeeded()).isTrue();
         assertThat(future.result()).isSameAs(account);
-        verify(applicationSettings).getAccountById(eq("accountId"), same(timeout));
+        verify(applicationSettings).getAccountById(eq("accountId"), any());
         verifyNoMoreInteractions(applicationSettings);
     }
 
@@ -159,7 +177,7 @@ public class CachingApplicationSettingsTest {
                         .priceGranularity("med")
                         .build())
                 .build();
-        given(applicationSettings.getAccountById(eq("accountId"), same(timeout)))
+        given(applicationSettings.getAccountById(eq("accountId"), any()))
                 .willReturn(Future.succeededFuture(account));
 
         // when
@@ -171,10 +189,150 @@ public class CachingApplicationSettingsTest {
         verify(metrics).updateSettingsCacheEventMetric(eq(MetricName.account), eq(MetricName.hit));
     }
 
+    @Test
+    public void getAccountByIdShouldCoalesceConcurrentLoadsOfSameAccount() {
+        // given
+        final Promise<Account> promise = Promise.promise();
+        given(applicationSettings.getAccountById(eq("accountId"), any())).willReturn(promise.future());
+
+        // when
+        final Future<Account> first = cachingApplicationSettings.getAccountById("accountId", timeout);
+        final Future<Account> second = cachingApplicationSettings.getAccountById("accountId", timeout);
+        promise.complete(Account.empty("accountId"));
+
+        // then
+        verify(applicationSettings).getAccountById(eq("accountId"), any());
+        assertThat(first.result()).isEqualTo(Account.empty("accountId"));
+        assertThat(second.result()).isEqualTo(Account.empty("accountId"));
+        verify(metrics).updateSettingsCacheEventMetric(eq(MetricName.account), eq(MetricName.coalesced));
+    }
+
+    @Test
+    public void getAccountByIdShouldLoadAccountWithTimeoutOfCacheRatherThanOfCaller() {
+        // given
+        given(applicationSettings.getAccountById(eq("accountId"), any()))
+                .willReturn(Future.succeededFuture(Account.empty("accountId")));
+
+        // when
+        cachingApplicationSettings.getAccountById("accountId", timeout);
+
+        // then
+        final ArgumentCaptor<Timeout> timeoutCaptor = ArgumentCaptor.forClass(Timeout.class);
+        verify(applicationSettings).getAccountById(eq("accountId"), timeoutCaptor.capture());
+        assertThat(timeoutCaptor.getValue()).isNotSameAs(timeout);
+        assertThat(timeoutCaptor.getValue().remaining()).isEqualTo(1000L);
+    }
+
+    @Test
+    public void getAccountByIdShouldFailCoalescedCallerOnItsOwnTimeoutWithoutFailingLoad() {
+        // given
+        final Promise<Account> promise = Promise.promise();
+        given(applicationSettings.getAccountById(eq("accountId"), any())).willReturn(promise.future());
+        final Timeout shortTimeout = new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault()))
+                .create(10L);
+
+        final Future<Account> first = cachingApplicationSettings.getAccountById("accountId", timeout);
+        final Future<Account> second = cachingApplicationSettings.getAccountById("accountId", shortTimeout);
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Handler<Void>> deadlineHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(deadlineScheduler).schedule(same(shortTimeout), deadlineHandlerCaptor.capture());
+
+        // when
+        deadlineHandlerCaptor.getValue().handle(null);
+        promise.complete(Account.empty("accountId"));
+
+        // then
+        assertThat(second.failed()).isTrue();
+        assertThat(second.cause()).isInstanceOf(TimeoutException.class);
+        assertThat(first.result()).isEqualTo(Account.empty("accountId"));
+        verify(deadline, times(2)).cancel();
+    }
+
+    @Test
+    public void getAccountByIdShouldFailRightAwayWhenCallerTimeoutIsExpired() {
+        // given
+        given(applicationSettings.getAccountById(eq("accountId"), any()))
+                .willReturn(Promise.<Account>promise().future());
+        final Timeout expiredTimeout = timeout.minus(500L);
+
+        // when
+        final Future<Account> future = cachingApplicationSettings.getAccountById("accountId", expiredTimeout);
+
+        // then
+        assertThat(future.failed()).isTrue();
+        assertThat(future.cause()).isInstanceOf(TimeoutException.class);
+        verify(applicationSettings).getAccountById(eq("accountId"), any());
+    }
+
+    @Test
+    public void getAccountByIdShouldNotCacheAccountWhichLoadStartedBeforeInvalidation() {
+        // given
+        final Promise<Account> promise = Promise.promise();
+        final Account freshAccount = Account.builder().id("accountId").status(AccountStatus.inactive).build();
+        given(applicationSettings.getAccountById(eq("accountId"), any()))
+                .willReturn(promise.future(), Future.succeededFuture(freshAccount));
+
+        final Future<Account> staleFuture = cachingApplicationSettings.getAccountById("accountId", timeout);
+        cachingApplicationSettings.invalidateAccountCache("accountId");
+        promise.complete(Account.empty("accountId"));
+
+        // when
+        final Future<Account> future = cachingApplicationSettings.getAccountById("accountId", timeout);
+
+        // then
+        assertThat(staleFuture.result()).isEqualTo(Account.empty("accountId"));
+        assertThat(future.result()).isSameAs(freshAccount);
+        verify(applicationSettings, times(2)).getAccountById(eq("accountId"), any());
+    }
+
+    @Test
+    public void getAccountByIdShouldReturnStaleAccountAndRefreshItInBackground() {
+        // given
+        final Account staleAccount = Account.builder().id("accountId").build();
+        final Account refreshedAccount = Account.builder().id("accountId").status(AccountStatus.inactive).build();
+        given(applicationSettings.getAccountById(eq("accountId"), any()))
+                .willReturn(Future.succeededFuture(staleAccount), Future.succeededFuture(refreshedAccount));
+
+        cachingApplicationSettings.getAccountById("accountId", timeout);
+        given(clock.millis()).willReturn(61_000L);
+
+        // when
+        final Future<Account> staleFuture = cachingApplicationSettings.getAccountById("accountId", timeout);
+        final Future<Account> refreshedFuture = cachingApplicationSettings.getAccountById("accountId", timeout);
+
+        // then
+        assertThat(staleFuture.result()).isSameAs(staleAccount);
+        assertThat(refreshedFuture.result()).isSameAs(refreshedAccount);
+        verify(applicationSettings, times(2)).getAccountById(eq("accountId"), any());
+        verify(metrics).updateSettingsCacheEventMetric(eq(MetricName.account), eq(MetricName.stale));
+        verify(metrics).updateSettingsCacheRefreshTime(eq(MetricName.account), eq(MetricName.background), eq(0L));
+    }
+
+    @Test
+    public void getAccountByIdShouldKeepStaleAccountWhenRefreshFails() {
+        // given
+        final Account account = Account.empty("accountId");
+        given(applicationSettings.getAccountById(eq("accountId"), any()))
+                .willReturn(Future.succeededFuture(account), Future.failedFuture(new PreBidException("error")));
+
+        cachingApplicationSettings.getAccountById("accountId", timeout);
+        given(clock.millis()).willReturn(61_000L);
+
+        // when
+        cachingApplicationSettings.getAccountById("accountId", timeout);
+        final Future<Account> future = cachingApplicationSettings.getAccountById("accountId", timeout);
+
+        // then
+        assertThat(future.result()).isSameAs(account);
+        verify(metrics, times(2))
+                .updateSettingsCacheRefreshErrorMetric(eq(MetricName.account), eq(MetricName.background));
+    }
+
     @Test
     public void getCategoriesShouldReturnResultFromCacheOnSuccessiveCalls() {
         // given
-        given(applicationSettings.getCategories(eq("adServer"), eq("publisher"), same(timeout)))
+        given(applicationSettings.getCategories(eq("adServer"), eq("publisher"), any()))
                 .willReturn(Future.succeededFuture(singletonMap("iab", "id")));
 
         // when
@@ -185,7 +343,7 @@ public class CachingApplicationSettingsTest {
         // then
         assertThat(future.succeeded()).isTrue();
         assertThat(future.result()).isEqualTo(singletonMap("iab", "id"));
-        verify(applicationSettings).getCategories(eq("adServer"), eq("publisher"), same(timeout));
+        verify(applicationSettings).getCategories(eq("adServer"), eq("publisher"), any());
         verifyNoMoreInteractions(applicationSettings);
     }
 
@@ -251,7 +409,7 @@ public class CachingApplicationSettingsTest {
     @Test
     public void getStoredDataShouldReturnResultOnSuccessiveCalls() {
         // given
-        given(applicationSettings.getStoredData(any(), eq(singleton("reqid")), eq(singleton("impid")), same(timeout)))
+        given(applicationSettings.getStoredData(any(), eq(singleton("reqid")), eq(singleton("impid")), any()))
                 .willReturn(Future.succeededFuture(StoredDataResult.of(
                         singletonMap("reqid", "json"), singletonMap("impid", "json2"), emptyList())));
 
@@ -266,7 +424,7 @@ public class CachingApplicationSettingsTest {
         assertThat(future.result()).isEqualTo(StoredDataResult.of(
                 singletonMap("reqid", "json"), singletonMap("impid", "json2"), emptyList()));
         verify(applicationSettings)
-                .getStoredData(eq("1001"), eq(singleton("reqid")), eq(singleton("impid")), same(timeout));
+                .getStoredData(eq("1001"), eq(singleton("reqid")), eq(singleton("impid")), any());
         verifyNoMoreInteractions(applicationSettings);
     }
 
@@ -322,12 +480,79 @@ public class CachingApplicationSettingsTest {
         assertThat(future.failed()).isTrue();
         assertThat(future.cause()).hasMessage("error");
         verify(applicationSettings)
-                .getStoredData(eq("1001"), eq(singleton("reqid")), eq(emptySet()), same(timeout));
+                .getStoredData(eq("1001"), eq(singleton("reqid")), eq(emptySet()), any());
         verify(applicationSettings)
-                .getStoredData(eq("1002"), eq(singleton("reqid")), eq(emptySet()), same(timeout));
+                .getStoredData(eq("1002"), eq(singleton("reqid")), eq(emptySet()), any());
+        verifyNoMoreInteractions(applicationSettings);
+    }
+
+    @Test
+    public void getStoredDataShouldCoalesceConcurrentLoadsOfSameIds() {
+        // given
+        final Promise<StoredDataResult> promise = Promise.promise();
+        given(applicationSettings.getStoredData(any(), any(), any(), any())).willReturn(promise.future());
+
+        // when
+        final Future<StoredDataResult> firstFuture =
+                cachingApplicationSettings.getStoredData("1001", singleton("reqid"), emptySet(), timeout);
+        final Future<StoredDataResult> secondFuture =
+                cachingApplicationSettings.getStoredData("1001", singleton("reqid"), emptySet(), timeout);
+        promise.complete(StoredDataResult.of(singletonMap("reqid", "json"), emptyMap(), emptyList()));
+
+        // then
+        assertThat(firstFuture.result().getStoredIdToRequest()).containsOnly(entry("reqid", "json"));
+        assertThat(secondFuture.result().getStoredIdToRequest()).containsOnly(entry("reqid", "json"));
+        verify(applicationSettings).getStoredData(eq("1001"), eq(singleton("reqid")), eq(emptySet()), any());
+    }
+
+    @Test
+    public void getStoredDataShouldReturnStaleDataAndRefreshItInBackground() {
+        // given
+        given(applicationSettings.getStoredData(any(), any(), any(), any()))
+                .willReturn(
+                        Future.succeededFuture(StoredDataResult.of(
+                                singletonMap("reqid", "stale"), emptyMap(), emptyList())),
+                        Future.succeededFuture(StoredDataResult.of(
+                                singletonMap("reqid", "refreshed"), emptyMap(), emptyList())));
+
+        cachingApplicationSettings.getStoredData("1001", singleton("reqid"), emptySet(), timeout);
+        given(clock.millis()).willReturn(61_000L);
+
+        // when
+        final Future<StoredDataResult> staleFuture =
+                cachingApplicationSettings.getStoredData("1001", singleton("reqid"), emptySet(), timeout);
+        final Future<StoredDataResult> refreshedFuture =
+                cachingApplicationSettings.getStoredData("1001", singleton("reqid"), emptySet(), timeout);
+
+        // then
+        assertThat(staleFuture.result().getStoredIdToRequest()).containsOnly(entry("reqid", "stale"));
+        assertThat(refreshedFuture.result().getStoredIdToRequest()).containsOnly(entry("reqid", "refreshed"));
+        verify(applicationSettings, times(2))
+                .getStoredData(eq("1001"), eq(singleton("reqid")), eq(emptySet()), any());
         verifyNoMoreInteractions(applicationSettings);
     }
 
+    @Test
+    public void getStoredDataShouldKeepStaleDataWhenRefreshFails() {
+        // given
+        given(applicationSettings.getStoredData(any(), any(), any(), any()))
+                .willReturn(
+                        Future.succeededFuture(StoredDataResult.of(
+                                singletonMap("reqid", "json"), emptyMap(), emptyList())),
+                        Future.failedFuture("error"));
+
+        cachingApplicationSettings.getStoredData("1001", singleton("reqid"), emptySet(), timeout);
+        given(clock.millis()).willReturn(61_000L);
+
+        // when
+        cachingApplicationSettings.getStoredData("1001", singleton("reqid"), emptySet(), timeout);
+        final Future<StoredDataResult> future =
+                cachingApplicationSettings.getStoredData("1001", singleton("reqid"), emptySet(), timeout);
+
+        // then
+        assertThat(future.result().getStoredIdToRequest()).containsOnly(entry("reqid", "json"));
+    }
+
     @Test
     public void getStoredResponseShouldPropagateFailure() {
         // given
@@ -344,4 +569,50 @@ public class CachingApplicationSettingsTest {
                 .isInstanceOf(InvalidRequestException.class)
                 .hasMessage("error");
     }
+
+    @Test
+    public void snapshotShouldReturnCachedAccounts() {
+        // given
+        final Account account = Account.builder().id("accountId").build();
+        given(applicationSettings.getAccountById(eq("accountId"), any()))
+                .willReturn(Future.succeededFuture(account));
+
+        cachingApplicationSettings.getAccountById("accountId", timeout);
+
+        // when
+        final SettingsSnapshot snapshot = cachingApplicationSettings.snapshot();
+
+        // then
+        assertThat(snapshot.getAccounts()).containsOnly(entry("accountId", account));
+    }
+
+    @Test
+    public void getAccountByIdShouldReturnRestoredAccountWithoutCallingDelegate() {
+        // given
+        final Account account = Account.builder().id("accountId").build();
+        cachingApplicationSettings.restore(SettingsSnapshot.of(singletonMap("accountId", account), null, null, null));
+
+        // when
+        final Future<Account> future = cachingApplicationSettings.getAccountById("accountId", timeout);
+
+        // then
+        assertThat(future.result()).isSameAs(account);
+        verify(applicationSettings, never()).getAccountById(anyString(), any());
+    }
+
+    private CachingApplicationSettings givenCachingApplicationSettings(int ttl, int refreshAfter) {
+        return new CachingApplicationSettings(
+                applicationSettings,
+                new SettingsCache(360, 100),
+                new SettingsCache(360, 100),
+                new SettingsCache(360, 100),
+                new TimeoutFactory(clock),
+                deadlineScheduler,
+                metrics,
+                clock,
+                ttl,
+                refreshAfter,
+                1000L,
+                100);
+    }
 }
@@ -1,5 +1,6 @@
 package org.prebid.server.settings;
 
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
@@ -19,6 +20,7 @@ import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.prebid.server.VertxTest;
 import org.prebid.server.exception.PreBidException;
+import org.prebid.server.execution.DeadlineScheduler;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.metric.Metrics;
@@ -50,6 +52,7 @@ import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.TimeoutException;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
@@ -59,6 +62,8 @@ import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
 
 @RunWith(VertxUnitRunner.class)
 public class JdbcApplicationSettingsTest extends VertxTest {
@@ -644,6 +649,106 @@ public class JdbcApplicationSettingsTest extends VertxTest {
         }));
     }
 
+    @Test
+    public void getStoredDataShouldFetchConcurrentLookupsWithinBatchWindowWithOneQuery(TestContext context) {
+        // given
+        jdbcApplicationSettings = new JdbcApplicationSettings(
+                jdbcClient(),
+                jacksonMapper,
+                SELECT_ACCOUNT_QUERY,
+                SELECT_QUERY,
+                SELECT_QUERY,
+                SELECT_RESPONSE_QUERY,
+                vertx,
+                DeadlineScheduler.vertxTimers(vertx),
+                metrics,
+                clock,
+                100L);
+
+        // when
+        final Future<StoredDataResult> firstFuture = jdbcApplicationSettings.getStoredData(
+                "1001", singleton("1"), singleton("4"), timeout);
+        final Future<StoredDataResult> secondFuture = jdbcApplicationSettings.getVideoStoredData(
+                "1001", new HashSet<>(asList("2", "3")), emptySet(), timeout);
+
+        // then
+        final Async async = context.async();
+        CompositeFuture.all(firstFuture, secondFuture).onComplete(context.asyncAssertSuccess(result -> {
+            assertThat(firstFuture.result()).isEqualTo(
+                    StoredDataResult.of(singletonMap("1", "value1"), singletonMap("4", "value4"), emptyList()));
+            assertThat(secondFuture.result()).isEqualTo(StoredDataResult.of(singletonMap("2", "value2"), emptyMap(),
+                    singletonList("No stored request found for id: 3")));
+            verify(metrics).updateDatabaseBatchSizeMetric(2);
+            verify(metrics).updateDatabaseQueryTimeMetric(anyLong());
+            async.complete();
+        }));
+    }
+
+    @Test
+    public void getStoredDataShouldReturnErrorForBatchedLookupIfNothingWasFoundForIt(TestContext context) {
+        // given
+        jdbcApplicationSettings = new JdbcApplicationSettings(
+                jdbcClient(),
+                jacksonMapper,
+                SELECT_ACCOUNT_QUERY,
+                SELECT_QUERY,
+                SELECT_QUERY,
+                SELECT_RESPONSE_QUERY,
+                vertx,
+                DeadlineScheduler.vertxTimers(vertx),
+                metrics,
+                clock,
+                100L);
+
+        // when
+        final Future<StoredDataResult> firstFuture = jdbcApplicationSettings.getStoredData(
+                "1001", singleton("1"), emptySet(), timeout);
+        final Future<StoredDataResult> secondFuture = jdbcApplicationSettings.getStoredData(
+                "1001", singleton("3"), emptySet(), timeout);
+
+        // then
+        final Async async = context.async();
+        CompositeFuture.all(firstFuture, secondFuture).onComplete(context.asyncAssertSuccess(result -> {
+            assertThat(firstFuture.result()).isEqualTo(
+                    StoredDataResult.of(singletonMap("1", "value1"), emptyMap(), emptyList()));
+            assertThat(secondFuture.result()).isEqualTo(StoredDataResult.of(emptyMap(), emptyMap(),
+                    singletonList("No stored requests for ids [3] were found")));
+            async.complete();
+        }));
+    }
+
+    @Test
+    public void getStoredDataShouldFailOnlyBatchedLookupWhichTimeoutExpired(TestContext context) {
+        // given
+        jdbcApplicationSettings = new JdbcApplicationSettings(
+                jdbcClient(),
+                jacksonMapper,
+                SELECT_ACCOUNT_QUERY,
+                SELECT_QUERY,
+                SELECT_QUERY,
+                SELECT_RESPONSE_QUERY,
+                vertx,
+                DeadlineScheduler.vertxTimers(vertx),
+                metrics,
+                clock,
+                100L);
+
+        // when
+        final Future<StoredDataResult> shortTimeoutFuture = jdbcApplicationSettings.getStoredData(
+                "1001", singleton("1"), emptySet(), new TimeoutFactory(clock).create(10L));
+        final Future<StoredDataResult> future = jdbcApplicationSettings.getStoredData(
+                "1001", singleton("2"), emptySet(), timeout);
+
+        // then
+        final Async async = context.async();
+        CompositeFuture.join(shortTimeoutFuture, future).onComplete(context.asyncAssertFailure(cause -> {
+            assertThat(cause).isInstanceOf(TimeoutException.class);
+            assertThat(future.result()).isEqualTo(
+                    StoredDataResult.of(singletonMap("2", "value2"), emptyMap(), emptyList()));
+            async.complete();
+        }));
+    }
+
     @Test
     public void getCategoriesShouldReturnFailedFutureWithUnsupportedPrebidException() {
         // given and when
@@ -657,7 +762,7 @@ public class JdbcApplicationSettingsTest extends VertxTest {
     }
 
     private JdbcClient jdbcClient() {
-        return new BasicJdbcClient(vertx, JDBCClient.createShared(vertx,
+        return new BasicJdbcClient(DeadlineScheduler.vertxTimers(vertx), JDBCClient.createShared(vertx,
                 new JsonObject()
                         .put("jdbcUrl", JDBC_URL)
                         .put("driver_class", "org.h2.Driver")
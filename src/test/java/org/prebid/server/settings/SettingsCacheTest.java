@@ -48,6 +48,20 @@ public class SettingsCacheTest {
                 .containsEntry("impId1", singleton(StoredItem.of("1001", "impValue1")));
     }
 
+    @Test
+    public void saveRequestCacheShouldReplaceValueOfSameAccountOnly() {
+        // given
+        settingsCache.saveRequestCache("1001", "reqId1", "reqValue1");
+        settingsCache.saveRequestCache("1002", "reqId1", "reqValue2");
+
+        // when
+        settingsCache.saveRequestCache("1001", "reqId1", "reqValue3");
+
+        // then
+        assertThat(settingsCache.getRequestCache().get("reqId1"))
+                .containsOnly(StoredItem.of("1001", "reqValue3"), StoredItem.of("1002", "reqValue2"));
+    }
+
     @Test
     public void saveShouldAddNewItemsToCache() {
         // when
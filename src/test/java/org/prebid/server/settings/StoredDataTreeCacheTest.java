@@ -0,0 +1,105 @@
+package org.prebid.server.settings;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.VertxTest;
+import org.prebid.server.json.DecodeException;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class StoredDataTreeCacheTest extends VertxTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Metrics metrics;
+
+    private StoredDataTreeCache target;
+
+    @Before
+    public void setUp() {
+        target = new StoredDataTreeCache(1000, jacksonMapper, metrics);
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveMaxSize() {
+        assertThatThrownBy(() -> new StoredDataTreeCache(0, jacksonMapper, metrics))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("maxSize must be positive");
+    }
+
+    @Test
+    public void creationShouldRegisterSizeAndWeightGauges() {
+        // then
+        verify(metrics).createSettingsCacheGauge(eq(MetricName.stored_data_tree), eq(MetricName.size), any());
+        verify(metrics).createSettingsCacheGauge(eq(MetricName.stored_data_tree), eq(MetricName.weight), any());
+    }
+
+    @Test
+    public void getShouldReturnParsedTree() {
+        // when
+        final JsonNode result = target.get("{\"id\":\"value\"}");
+
+        // then
+        assertThat(result).isEqualTo(mapper.createObjectNode().put("id", "value"));
+        verify(metrics).updateSettingsCacheEventMetric(MetricName.stored_data_tree, MetricName.miss);
+    }
+
+    @Test
+    public void getShouldReturnSameTreeForSameStoredData() {
+        // given
+        final JsonNode firstResult = target.get("{\"id\":\"value\"}");
+
+        // when
+        final JsonNode secondResult = target.get("{\"id\":\"value\"}");
+
+        // then
+        assertThat(secondResult).isSameAs(firstResult);
+        verify(metrics).updateSettingsCacheEventMetric(MetricName.stored_data_tree, MetricName.hit);
+    }
+
+    @Test
+    public void getShouldThrowDecodeExceptionOnInvalidJson() {
+        assertThatThrownBy(() -> target.get("invalid"))
+                .isInstanceOf(DecodeException.class);
+    }
+
+    @Test
+    public void saveShouldParseStoredRequestsAndImpsInAdvance() {
+        // given
+        target.save(singletonMap("reqId", "{\"id\":\"req\"}"), singletonMap("impId", "{\"id\":\"imp\"}"));
+
+        // when
+        final JsonNode request = target.get("{\"id\":\"req\"}");
+        final JsonNode imp = target.get("{\"id\":\"imp\"}");
+
+        // then
+        assertThat(request).isEqualTo(mapper.createObjectNode().put("id", "req"));
+        assertThat(imp).isEqualTo(mapper.createObjectNode().put("id", "imp"));
+        verify(metrics, never()).updateSettingsCacheEventMetric(MetricName.stored_data_tree, MetricName.miss);
+    }
+
+    @Test
+    public void saveShouldSkipInvalidStoredData() {
+        // when
+        target.save(singletonMap("reqId", "invalid"), null);
+
+        // then
+        assertThatThrownBy(() -> target.get("invalid"))
+                .isInstanceOf(DecodeException.class);
+    }
+}
@@ -0,0 +1,161 @@
+package org.prebid.server.snapshot;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.vertx.core.Vertx;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.VertxTest;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.util.Map;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+public class SnapshotServiceTest extends VertxTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    private Vertx vertx;
+    @Mock
+    private Metrics metrics;
+    @Mock
+    private Clock clock;
+
+    private SnapshotService snapshotService;
+
+    @Before
+    public void setUp() {
+        given(clock.millis()).willReturn(1000L);
+
+        snapshotService = new SnapshotService(
+                vertx, temporaryFolder.getRoot().getPath(), 60000L, 500L, jacksonMapper, metrics, clock);
+    }
+
+    @Test
+    public void creationShouldFailOnNotPositiveSavePeriod() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new SnapshotService(
+                vertx, temporaryFolder.getRoot().getPath(), 0L, 500L, jacksonMapper, metrics, clock));
+    }
+
+    @Test
+    public void initializeShouldScheduleSaving() {
+        // when
+        snapshotService.initialize();
+
+        // then
+        verify(vertx).setPeriodic(anyLong(), any());
+    }
+
+    @Test
+    public void restoreShouldRestoreSavedSnapshot() {
+        // given
+        final TestSnapshottable saved = new TestSnapshottable(singletonMap("key", "value"));
+        snapshotService.restore(saved);
+        snapshotService.saveAll();
+
+        final TestSnapshottable restored = new TestSnapshottable(null);
+
+        // when
+        snapshotService.restore(restored);
+
+        // then
+        assertThat(restored.data).containsOnly(Map.entry("key", "value"));
+        verify(metrics).updateSnapshotMetric("test", MetricName.saved);
+        verify(metrics).updateSnapshotMetric("test", MetricName.restored);
+    }
+
+    @Test
+    public void restoreShouldSkipStaleSnapshot() {
+        // given
+        snapshotService.restore(new TestSnapshottable(singletonMap("key", "value")));
+        snapshotService.saveAll();
+
+        given(clock.millis()).willReturn(2000L);
+        final TestSnapshottable restored = new TestSnapshottable(null);
+
+        // when
+        snapshotService.restore(restored);
+
+        // then
+        assertThat(restored.data).isNull();
+        verify(metrics).updateSnapshotMetric("test", MetricName.stale);
+    }
+
+    @Test
+    public void restoreShouldTolerateCorruptedSnapshot() throws IOException {
+        // given
+        Files.write(temporaryFolder.getRoot().toPath().resolve("test.json.gz"),
+                "corrupted".getBytes(StandardCharsets.UTF_8));
+
+        final TestSnapshottable restored = new TestSnapshottable(null);
+
+        // when
+        snapshotService.restore(restored);
+
+        // then
+        assertThat(restored.data).isNull();
+        verify(metrics).updateSnapshotMetric("test", MetricName.err);
+    }
+
+    @Test
+    public void restoreShouldNotRestoreAnythingIfThereIsNoSnapshot() {
+        // given
+        final TestSnapshottable restored = new TestSnapshottable(null);
+
+        // when
+        snapshotService.restore(restored);
+
+        // then
+        assertThat(restored.data).isNull();
+    }
+
+    private static class TestSnapshottable implements Snapshottable<Map<String, String>> {
+
+        private Map<String, String> data;
+
+        private TestSnapshottable(Map<String, String> data) {
+            this.data = data;
+        }
+
+        @Override
+        public String snapshotName() {
+            return "test";
+        }
+
+        @Override
+        public TypeReference<Map<String, String>> snapshotType() {
+            return new TypeReference<>() {
+            };
+        }
+
+        @Override
+        public Map<String, String> snapshot() {
+            return data;
+        }
+
+        @Override
+        public void restore(Map<String, String> snapshot) {
+            data = snapshot;
+        }
+    }
+}
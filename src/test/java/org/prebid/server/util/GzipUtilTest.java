@@ -0,0 +1,54 @@
+package org.prebid.server.util;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GzipUtilTest {
+
+    @Test
+    public void gzipShouldReturnCompressedValue() throws IOException {
+        // given
+        final byte[] value = "{\"id\":\"requestId\"}".getBytes(StandardCharsets.UTF_8);
+
+        // when
+        final byte[] result = GzipUtil.gzip(value);
+
+        // then
+        assertThat(gunzip(result)).isEqualTo(value);
+    }
+
+    @Test
+    public void gzipShouldReturnSameResultOnSuccessiveCalls() throws IOException {
+        // given
+        final byte[] value = "value".repeat(10_000).getBytes(StandardCharsets.UTF_8);
+
+        // when
+        final byte[] first = GzipUtil.gzip(value);
+        final byte[] second = GzipUtil.gzip(value);
+
+        // then
+        assertThat(second).isEqualTo(first);
+        assertThat(gunzip(second)).isEqualTo(value);
+    }
+
+    @Test
+    public void gzipShouldCompressEmptyValue() throws IOException {
+        // when
+        final byte[] result = GzipUtil.gzip(new byte[0]);
+
+        // then
+        assertThat(gunzip(result)).isEmpty();
+    }
+
+    private static byte[] gunzip(byte[] value) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(value))) {
+            return gzip.readAllBytes();
+        }
+    }
+}
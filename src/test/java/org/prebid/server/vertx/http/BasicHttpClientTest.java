@@ -19,6 +19,7 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.mockito.stubbing.Answer;
+import org.prebid.server.execution.DeadlineScheduler;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
@@ -66,7 +67,7 @@ public class BasicHttpClientTest {
         given(httpClientResponse.bodyHandler(any())).willReturn(httpClientResponse);
         given(httpClientResponse.exceptionHandler(any())).willReturn(httpClientResponse);
 
-        httpClient = new BasicHttpClient(vertx, wrappedHttpClient);
+        httpClient = new BasicHttpClient(DeadlineScheduler.vertxTimers(vertx), wrappedHttpClient);
     }
 
     @Test
@@ -100,6 +101,24 @@ public class BasicHttpClientTest {
         assertThat(future.succeeded()).isTrue();
     }
 
+    @Test
+    public void requestShouldReturnResponseWithReceivedBody() {
+        // given
+        given(httpClientRequest.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(httpClientResponse));
+
+        given(httpClientResponse.bodyHandler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(Buffer.buffer("response")));
+
+        // when
+        final Future<org.prebid.server.vertx.http.model.HttpClientResponse> future =
+                httpClient.request(HttpMethod.GET, null, null, (String) null, 1L);
+
+        // then
+        assertThat(future.result().getBodyBytes()).isEqualTo("response".getBytes());
+        assertThat(future.result().getBody()).isEqualTo("response");
+    }
+
     @Test
     public void requestShouldAllowFollowingRedirections() {
         // when
@@ -157,7 +176,8 @@ public class BasicHttpClientTest {
     public void requestShouldFailIfHttpRequestTimedOut(TestContext context) {
         // given
         final Vertx vertx = Vertx.vertx();
-        final BasicHttpClient httpClient = new BasicHttpClient(vertx, vertx.createHttpClient());
+        final BasicHttpClient httpClient =
+                new BasicHttpClient(DeadlineScheduler.vertxTimers(vertx), vertx.createHttpClient());
         final int serverPort = 7777;
 
         startServer(serverPort, 2000L, 0L);
@@ -179,7 +199,8 @@ public class BasicHttpClientTest {
     public void requestShouldFailIfHttpResponseTimedOut(TestContext context) {
         // given
         final Vertx vertx = Vertx.vertx();
-        final BasicHttpClient httpClient = new BasicHttpClient(vertx, vertx.createHttpClient());
+        final BasicHttpClient httpClient =
+                new BasicHttpClient(DeadlineScheduler.vertxTimers(vertx), vertx.createHttpClient());
         final int serverPort = 8888;
 
         startServer(serverPort, 0L, 2000L);
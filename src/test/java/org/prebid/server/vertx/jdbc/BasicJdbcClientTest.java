@@ -15,6 +15,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
+import org.prebid.server.execution.DeadlineScheduler;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.metric.Metrics;
@@ -50,6 +51,7 @@ public class BasicJdbcClientTest {
     @Mock
     private Metrics metrics;
 
+    private DeadlineScheduler deadlineScheduler;
     private Clock clock;
     private BasicJdbcClient jdbcClient;
 
@@ -60,15 +62,19 @@ public class BasicJdbcClientTest {
         clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
         timeout = new TimeoutFactory(clock).create(500L);
 
-        jdbcClient = new BasicJdbcClient(vertx, vertxJdbcClient, metrics, clock);
+        deadlineScheduler = DeadlineScheduler.vertxTimers(vertx);
+
+        jdbcClient = new BasicJdbcClient(deadlineScheduler, vertxJdbcClient, metrics, clock);
     }
 
     @Test
     public void creationShouldFailOnNullArguments() {
         assertThatNullPointerException().isThrownBy(() -> new BasicJdbcClient(null, null, null, null));
-        assertThatNullPointerException().isThrownBy(() -> new BasicJdbcClient(vertx, null, null, null));
-        assertThatNullPointerException().isThrownBy(() -> new BasicJdbcClient(vertx, vertxJdbcClient, null, null));
-        assertThatNullPointerException().isThrownBy(() -> new BasicJdbcClient(vertx, vertxJdbcClient, metrics, null));
+        assertThatNullPointerException().isThrownBy(() -> new BasicJdbcClient(deadlineScheduler, null, null, null));
+        assertThatNullPointerException()
+                .isThrownBy(() -> new BasicJdbcClient(deadlineScheduler, vertxJdbcClient, null, null));
+        assertThatNullPointerException()
+                .isThrownBy(() -> new BasicJdbcClient(deadlineScheduler, vertxJdbcClient, metrics, null));
     }
 
     @Test